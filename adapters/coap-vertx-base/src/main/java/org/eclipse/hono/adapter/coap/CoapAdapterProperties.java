@@ -34,6 +34,13 @@ public class CoapAdapterProperties extends ProtocolAdapterProperties {
      * The default maximum size of device cache.
      */
     public static final long DEFAULT_DEVICE_CACHE_MAX_SIZE = 1000000L;
+    /**
+     * The default number of seconds that resolved devices are kept in the device cache.
+     * <p>
+     * This is also the maximum period of time that a device can still complete DTLS handshakes
+     * using a key that has been removed or changed in the Credentials service.
+     */
+    public static final int DEFAULT_DEVICE_CACHE_TIMEOUT = 60;
 
     private String idSplitRegex = DEFAULT_ID_SPLIT_REGEX;
     private String networkConfig = null;
@@ -43,6 +50,7 @@ public class CoapAdapterProperties extends ProtocolAdapterProperties {
     private int coapThreads = 2;
     private int deviceCacheMinSize = DEFAULT_DEVICE_CACHE_MIN_SIZE;
     private long deviceCacheMaxSize = DEFAULT_DEVICE_CACHE_MAX_SIZE;
+    private int deviceCacheTimeout = DEFAULT_DEVICE_CACHE_TIMEOUT;
 
     /**
      * Gets the regular expression used for splitting up
@@ -210,6 +218,39 @@ public class CoapAdapterProperties extends ProtocolAdapterProperties {
         this.deviceCacheMaxSize = size;
     }
 
+    /**
+     * Gets the number of seconds that resolved devices and their pre-shared keys
+     * are kept in the device cache.
+     * <p>
+     * Entries are refreshed in the background once half of this period has elapsed,
+     * so that DTLS handshakes of devices which connect regularly do not need to wait
+     * for the Credentials service. However, a key that has been removed or changed in
+     * the Credentials service may still be used for up to this period.
+     * <p>
+     * The default value is {@link #DEFAULT_DEVICE_CACHE_TIMEOUT}.
+     *
+     * @return The timeout in seconds.
+     */
+    public final int getDeviceCacheTimeout() {
+        return deviceCacheTimeout;
+    }
+
+    /**
+     * Sets the number of seconds that resolved devices and their pre-shared keys
+     * are kept in the device cache.
+     * <p>
+     * Setting this property to 0 disables caching.
+     *
+     * @param timeout The timeout in seconds.
+     * @throws IllegalArgumentException if timeout is &lt; 0.
+     */
+    public final void setDeviceCacheTimeout(final int timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("cache timeout must not be negative");
+        }
+        this.deviceCacheTimeout = timeout;
+    }
+
     /**
      * Gets the number of connector threads.
      * 
@@ -23,6 +23,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.SecretKey;
 
@@ -42,6 +43,9 @@ import org.eclipse.hono.util.CredentialsObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
@@ -61,9 +65,18 @@ public class DefaultDeviceResolver implements ApplicationLevelInfoSupplier, PskS
     private final Context context;
     private final CoapAdapterProperties config;
     private final CredentialsClientFactory credentialsClientFactory;
+    /**
+     * The devices resolved from handshake identities.
+     */
+    private final AsyncLoadingCache<String, ResolvedDevice> devices;
 
     /**
      * Creates a new resolver.
+     * <p>
+     * The resolver keeps the devices and pre-shared keys that have been looked up
+     * in a local cache as configured by the <em>deviceCache</em> properties.
+     * If the cache is enabled, handshakes of devices which are not in the cache
+     * fail while the device is being looked up in the background.
      * 
      * @param vertxContext The vert.x context to run on.
      * @param config The configuration properties.
@@ -78,6 +91,20 @@ public class DefaultDeviceResolver implements ApplicationLevelInfoSupplier, PskS
         this.context = Objects.requireNonNull(vertxContext);
         this.config = Objects.requireNonNull(config);
         this.credentialsClientFactory = Objects.requireNonNull(credentialsClientFactory);
+
+        if (config.getDeviceCacheMaxSize() > 0 && config.getDeviceCacheTimeout() > 0) {
+            final long timeoutMillis = TimeUnit.SECONDS.toMillis(config.getDeviceCacheTimeout());
+            this.devices = Caffeine.newBuilder()
+                    .initialCapacity(config.getDeviceCacheMinSize())
+                    .maximumSize(config.getDeviceCacheMaxSize())
+                    .expireAfterWrite(timeoutMillis, TimeUnit.MILLISECONDS)
+                    // prefetch keys of devices that connect regularly so that their
+                    // handshakes never need to wait for the Credentials service
+                    .refreshAfterWrite(timeoutMillis / 2, TimeUnit.MILLISECONDS)
+                    .buildAsync((identity, executor) -> loadDevice(identity));
+        } else {
+            this.devices = null;
+        }
     }
 
     /**
@@ -111,28 +138,12 @@ public class DefaultDeviceResolver implements ApplicationLevelInfoSupplier, PskS
         final Map<String, Object> result = new HashMap<>();
 
         if (clientIdentity instanceof PreSharedKeyIdentity) {
-            final PreSharedKeyDeviceIdentity deviceIdentity = getHandshakeIdentity(clientIdentity.getName());
-            final CompletableFuture<CredentialsObject> credentialsResult = new CompletableFuture<>();
-            context.runOnContext(go -> {
-                credentialsClientFactory
-                .getOrCreateCredentialsClient(deviceIdentity.getTenantId())
-                .compose(client -> client.get(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, deviceIdentity.getAuthId()))
-                .setHandler(attempt -> {
-                    if (attempt.succeeded()) {
-                        credentialsResult.complete(attempt.result());
-                    } else {
-                        credentialsResult.completeExceptionally(attempt.cause());
-                    }
-                });
-            });
-            try {
-                // client will only wait a limited period of time,
-                // so no need to use get(Long, TimeUnit) here
-                final CredentialsObject credentials = credentialsResult.join();
-                result.put("hono-device", new Device(deviceIdentity.getTenantId(), credentials.getDeviceId()));
-            } catch (final CompletionException e) {
-                LOG.debug("could not resolve authenticated principal [type: {}, tenant-id: {}, auth-id: {}]",
-                        clientIdentity.getClass(), deviceIdentity.getTenantId(), deviceIdentity.getAuthId(), e);
+            final ResolvedDevice resolvedDevice = resolve(clientIdentity.getName());
+            if (resolvedDevice == null) {
+                LOG.debug("could not resolve authenticated principal [type: {}, identity: {}]",
+                        clientIdentity.getClass(), clientIdentity.getName());
+            } else {
+                result.put("hono-device", resolvedDevice.device);
             }
         } else {
             LOG.info("unsupported Principal type: {}", clientIdentity.getClass());
@@ -144,47 +155,88 @@ public class DefaultDeviceResolver implements ApplicationLevelInfoSupplier, PskS
     public SecretKey getKey(final PskPublicInformation identity) {
 
         LOG.debug("getting PSK secret for identity [{}]", identity);
-        final PreSharedKeyDeviceIdentity handshakeIdentity = getHandshakeIdentity(identity.getPublicInfoAsString());
-        if (handshakeIdentity == null) {
+        final ResolvedDevice resolvedDevice = resolve(identity.getPublicInfoAsString());
+        if (resolvedDevice == null) {
             return null;
         }
+        // Scandium destroys the key after the handshake so we need to
+        // hand out a copy in order to keep the cached key usable
+        return SecretUtil.create(resolvedDevice.key);
+    }
 
-        final CompletableFuture<SecretKey> secret = new CompletableFuture<>();
+    /**
+     * Resolves the device and pre-shared key for an identity used in a PSK based DTLS handshake.
+     * <p>
+     * Scandium's {@link PskStore} is synchronous and is invoked on the connector's (handshake)
+     * threads. If the cache is enabled, this method therefore never blocks the calling thread.
+     * Resolved devices are served from the local cache. If no entry exists for the identity yet,
+     * the look up is started in the background and {@code null} is returned immediately, so that
+     * Scandium discards the handshake message. The device's retransmission or next handshake
+     * attempt is then served from the cache. Concurrent look ups for the same
+     * identity are coalesced into a single request to the Credentials service.
+     * <p>
+     * If the cache is disabled, the calling thread waits for the outcome of the look up.
+     *
+     * @param identity The identity used by the device.
+     * @return The resolved device or {@code null} if the identity could not be resolved (yet).
+     */
+    private ResolvedDevice resolve(final String identity) {
+
+        try {
+            if (devices == null) {
+                // credentials client will wait limited time only
+                return loadDevice(identity).join();
+            }
+            final CompletableFuture<ResolvedDevice> result = devices.get(identity);
+            if (!result.isDone()) {
+                LOG.debug("PSK identity [{}] is being looked up, failing handshake", identity);
+                return null;
+            }
+            return result.getNow(null);
+        } catch (final CompletionException e) {
+            LOG.debug("error retrieving credentials for PSK identity [{}]", identity, e.getCause());
+            return null;
+        }
+    }
+
+    private CompletableFuture<ResolvedDevice> loadDevice(final String identity) {
+
+        final PreSharedKeyDeviceIdentity handshakeIdentity = getHandshakeIdentity(identity);
+        if (handshakeIdentity == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final CompletableFuture<ResolvedDevice> result = new CompletableFuture<>();
         context.runOnContext((v) -> {
             getSharedKeyForDevice(handshakeIdentity)
             .setHandler((getAttempt) -> {
                 if (getAttempt.succeeded()) {
-                    secret.complete(getAttempt.result());
+                    result.complete(getAttempt.result());
                 } else {
-                    secret.completeExceptionally(getAttempt.cause());
+                    result.completeExceptionally(getAttempt.cause());
                 }
             });
         });
-        try {
-            // credentials client will wait limited time only
-            return secret.join();
-        } catch (final CompletionException e) {
-            LOG.debug("error retrieving credentials for PSK identity [{}]", identity);
-            return null;
-        }
+        return result;
     }
 
     /**
      * Gets the pre-shared key for an identity used by a device in a PSK based DTLS
      * handshake.
-     * <p>
-     * On success, add hono device to cache.
      * 
      * @param handshakeIdentity The identity used by the device.
-     * @return A future completed with the key or failed with a {@link ServiceInvocationException}.
+     * @return A future completed with the key and the device that it belongs to
+     *         or failed with a {@link ServiceInvocationException}.
      */
-    private Future<SecretKey> getSharedKeyForDevice(final PreSharedKeyDeviceIdentity handshakeIdentity) {
+    private Future<ResolvedDevice> getSharedKeyForDevice(final PreSharedKeyDeviceIdentity handshakeIdentity) {
 
         return credentialsClientFactory
                 .getOrCreateCredentialsClient(handshakeIdentity.getTenantId())
                 .compose(client -> client.get(handshakeIdentity.getType(), handshakeIdentity.getAuthId()))
                 .compose((credentials) -> Optional.ofNullable(getCandidateKey(credentials))
-                        .map(secret -> Future.succeededFuture(secret))
+                        .map(secret -> Future.succeededFuture(new ResolvedDevice(
+                                secret,
+                                new Device(handshakeIdentity.getTenantId(), credentials.getDeviceId()))))
                         .orElseGet(() -> Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_UNAUTHORIZED,
                                 "no shared key registered for identity"))));
     }
@@ -216,4 +268,18 @@ public class DefaultDeviceResolver implements ApplicationLevelInfoSupplier, PskS
         final String splitRegex = config.isSingleTenant() ? null : config.getIdSplitRegex();
         return PreSharedKeyDeviceIdentity.create(identity, splitRegex);
     }
+
+    /**
+     * A device and the pre-shared key it uses for authentication.
+     */
+    private static final class ResolvedDevice {
+
+        private final SecretKey key;
+        private final Device device;
+
+        ResolvedDevice(final SecretKey key, final Device device) {
+            this.key = key;
+            this.device = device;
+        }
+    }
 }
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.adapter.coap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.crypto.SecretKey;
+
+import org.eclipse.californium.elements.auth.AdditionalInfo;
+import org.eclipse.californium.elements.auth.PreSharedKeyIdentity;
+import org.eclipse.californium.scandium.dtls.PskPublicInformation;
+import org.eclipse.californium.scandium.util.SecretUtil;
+import org.eclipse.hono.auth.Device;
+import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.client.CredentialsClient;
+import org.eclipse.hono.client.CredentialsClientFactory;
+import org.eclipse.hono.util.CredentialsConstants;
+import org.eclipse.hono.util.CredentialsObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+/**
+ * Verifies behavior of {@link DefaultDeviceResolver}.
+ *
+ */
+public class DefaultDeviceResolverTest {
+
+    private static final byte[] KEY = "secret".getBytes(StandardCharsets.UTF_8);
+
+    private Context context;
+    private CoapAdapterProperties config;
+    private CredentialsClient credentialsClient;
+    private CredentialsClientFactory credentialsClientFactory;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+
+        context = mock(Context.class);
+        doAnswer(invocation -> {
+            final Handler<Void> handler = invocation.getArgument(0);
+            handler.handle(null);
+            return null;
+        }).when(context).runOnContext(any(Handler.class));
+
+        config = new CoapAdapterProperties();
+        credentialsClient = mock(CredentialsClient.class);
+        when(credentialsClient.get(eq(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY), eq("device")))
+            .thenReturn(Future.succeededFuture(CredentialsObject.fromPresharedKey("4711", "device", KEY, null, null)));
+        when(credentialsClient.get(eq(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY), eq("unknown")))
+            .thenReturn(Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND)));
+        credentialsClientFactory = mock(CredentialsClientFactory.class);
+        when(credentialsClientFactory.getOrCreateCredentialsClient(anyString()))
+            .thenReturn(Future.succeededFuture(credentialsClient));
+    }
+
+    /**
+     * Verifies that the resolver serves the keys and devices of identities that have
+     * already been resolved from its cache.
+     */
+    @Test
+    public void testGetKeyAndInfoUseCachedDevice() {
+
+        final DefaultDeviceResolver resolver = new DefaultDeviceResolver(context, config, credentialsClientFactory);
+
+        final SecretKey key = resolver.getKey(new PskPublicInformation("device@tenant"));
+        assertNotNull(key);
+        assertArrayEquals(KEY, key.getEncoded());
+        // Scandium destroys the key once the handshake is done
+        SecretUtil.destroy(key);
+
+        assertArrayEquals(KEY, resolver.getKey(new PskPublicInformation("device@tenant")).getEncoded());
+        final AdditionalInfo info = resolver.getInfo(new PreSharedKeyIdentity("device@tenant"));
+        final Device device = info.get("hono-device", Device.class);
+        assertEquals("tenant", device.getTenantId());
+        assertEquals("4711", device.getDeviceId());
+
+        verify(credentialsClient, times(1)).get(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "device");
+    }
+
+    /**
+     * Verifies that the resolver does not cache failed look ups.
+     */
+    @Test
+    public void testGetKeyDoesNotCacheUnknownIdentities() {
+
+        final DefaultDeviceResolver resolver = new DefaultDeviceResolver(context, config, credentialsClientFactory);
+
+        assertNull(resolver.getKey(new PskPublicInformation("unknown@tenant")));
+        assertNull(resolver.getKey(new PskPublicInformation("unknown@tenant")));
+        verify(credentialsClient, times(2)).get(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "unknown");
+    }
+
+    /**
+     * Verifies that the resolver does not block the handshake thread while looking up
+     * an identity that is not in the cache yet but fails the handshake instead.
+     */
+    @Test
+    public void testGetKeyFailsFastWhileLookingUpDevice() {
+
+        final Context asyncContext = mock(Context.class);
+        final AtomicReference<Handler<Void>> lookUp = new AtomicReference<>();
+        doAnswer(invocation -> {
+            lookUp.set(invocation.getArgument(0));
+            return null;
+        }).when(asyncContext).runOnContext(any(Handler.class));
+        final DefaultDeviceResolver resolver = new DefaultDeviceResolver(asyncContext, config, credentialsClientFactory);
+
+        // the first handshake fails immediately while the device is being looked up
+        assertNull(resolver.getKey(new PskPublicInformation("device@tenant")));
+        assertNull(resolver.getKey(new PskPublicInformation("device@tenant")));
+        assertNotNull(lookUp.get());
+        lookUp.get().handle(null);
+
+        // and the next handshake is served from the cache
+        assertArrayEquals(KEY, resolver.getKey(new PskPublicInformation("device@tenant")).getEncoded());
+        verify(asyncContext, times(1)).runOnContext(any(Handler.class));
+        verify(credentialsClient, times(1)).get(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "device");
+    }
+
+    /**
+     * Verifies that the resolver looks up the credentials for every handshake
+     * if the cache is disabled.
+     */
+    @Test
+    public void testGetKeyWithDisabledCache() {
+
+        config.setDeviceCacheTimeout(0);
+        final DefaultDeviceResolver resolver = new DefaultDeviceResolver(context, config, credentialsClientFactory);
+
+        assertArrayEquals(KEY, resolver.getKey(new PskPublicInformation("device@tenant")).getEncoded());
+        assertArrayEquals(KEY, resolver.getKey(new PskPublicInformation("device@tenant")).getEncoded());
+        verify(credentialsClient, times(2)).get(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "device");
+    }
+}
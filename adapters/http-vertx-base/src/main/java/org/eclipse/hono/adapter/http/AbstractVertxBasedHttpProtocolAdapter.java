@@ -82,6 +82,8 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
     protected static final String DEFAULT_UPLOADS_DIRECTORY = "/tmp";
 
     private static final String KEY_TIMER_ID = "timerId";
+    private static final String SPAN_NAME_UPLOAD_TELEMETRY = "upload " + MetricsTags.EndpointType.TELEMETRY.getCanonicalName();
+    private static final String SPAN_NAME_UPLOAD_EVENT = "upload " + MetricsTags.EndpointType.EVENT.getCanonicalName();
 
     private HttpServer server;
     private HttpServer insecureServer;
@@ -622,8 +624,8 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
                 ? authenticatedDevice.getDeviceId()
                 : null;
         final Span currentSpan = TracingHelper
-                .buildChildSpan(tracer, TracingHandler.serverSpanContext(ctx),
-                        "upload " + endpoint.getCanonicalName())
+                .buildSamplingAwareChildSpan(tracer, TracingHandler.serverSpanContext(ctx),
+                        endpoint == MetricsTags.EndpointType.EVENT ? SPAN_NAME_UPLOAD_EVENT : SPAN_NAME_UPLOAD_TELEMETRY)
                 .ignoreActiveSpan()
                 .withTag(Tags.COMPONENT.getKey(), getTypeName())
                 .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT)
@@ -103,6 +103,8 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
     private static final int IANA_MQTT_PORT = 1883;
     private static final int IANA_SECURE_MQTT_PORT = 8883;
     private static final String KEY_TOPIC_FILTER = "filter";
+    private static final String SPAN_NAME_UPLOAD_TELEMETRY = "upload " + MetricsTags.EndpointType.TELEMETRY;
+    private static final String SPAN_NAME_UPLOAD_EVENT = "upload " + MetricsTags.EndpointType.EVENT;
 
     private MqttAdapterMetrics metrics = MqttAdapterMetrics.NOOP;
 
@@ -824,8 +826,15 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
                 });
     }
 
-    private Future<Void> checkTopic(final MqttContext context) {
-        if (context.topic() == null) {
+    /**
+     * Checks if a message has been published to a well formed topic.
+     * 
+     * @param context The context in which the MQTT message has been published.
+     * @return A succeeded future if the topic is well formed. Otherwise, a future failed
+     *         with a {@link ClientErrorException} containing the 400 Bad Request status code.
+     */
+    protected final Future<Void> checkTopic(final MqttContext context) {
+        if (!context.hasValidTopic()) {
             return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST, "malformed topic name"));
         } else {
             return Future.succeededFuture();
@@ -911,7 +920,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
         final Future<TenantObject> tenantTracker = getTenantConfiguration(tenant, ctx.getTracingContext());
 
         return tenantTracker
-                .compose(tenantObject -> uploadMessage(ctx, tenantObject, deviceId, payload, getTelemetrySender(tenant),
+                .compose(tenantObject -> uploadMessage(ctx, tenantObject, deviceId, payload, getTelemetrySender(tenantObject),
                         ctx.endpoint()))
                 .compose(success -> {
                     metrics.reportTelemetry(
@@ -1112,7 +1121,8 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
                     String.format("Content-Type %s does not match payload", ctx.contentType())));
         }
 
-        final Span currentSpan = TracingHelper.buildChildSpan(tracer, ctx.getTracingContext(), "upload " + endpoint)
+        final Span currentSpan = TracingHelper.buildSamplingAwareChildSpan(tracer, ctx.getTracingContext(),
+                endpoint == MetricsTags.EndpointType.EVENT ? SPAN_NAME_UPLOAD_EVENT : SPAN_NAME_UPLOAD_TELEMETRY)
                 .ignoreActiveSpan()
                 .withTag(Tags.COMPONENT.getKey(), getTypeName())
                 .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT)
@@ -1493,8 +1503,11 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
             final OptionalInt traceSamplingPriority) {
         final CommandHandler<T> cmdHandler = new CommandHandler<>(vertx, getConfig());
         endpoint.closeHandler(v -> close(endpoint, authenticatedDevice, cmdHandler, traceSamplingPriority));
+        // the publish handler is always run on the connection's event loop thread
+        // so that a single parser can be used for the topics of all messages
+        final PublishTopic publishTopic = new PublishTopic();
         endpoint.publishHandler(
-                message -> handlePublishedMessage(MqttContext.fromPublishPacket(message, endpoint, authenticatedDevice)));
+                message -> handlePublishedMessage(MqttContext.fromPublishPacket(message, endpoint, authenticatedDevice, publishTopic)));
         endpoint.publishAcknowledgeHandler(msgId -> cmdHandler.handlePubAck(msgId, afterCommandPublished));
         endpoint.subscribeHandler(subscribeMsg -> onSubscribe(endpoint, authenticatedDevice, subscribeMsg, cmdHandler,
                 traceSamplingPriority));
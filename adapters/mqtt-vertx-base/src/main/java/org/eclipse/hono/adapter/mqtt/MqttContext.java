@@ -14,7 +14,6 @@
 package org.eclipse.hono.adapter.mqtt;
 
 import java.util.Objects;
-import java.util.Optional;
 
 import org.eclipse.hono.auth.Device;
 import org.eclipse.hono.service.metric.MetricsTags;
@@ -36,11 +35,18 @@ public final class MqttContext extends MapBasedExecutionContext {
     private MqttPublishMessage message;
     private MqttEndpoint deviceEndpoint;
     private Device authenticatedDevice;
+    private boolean topicValid;
+    private String topicEndpoint;
+    private String topicTenantId;
+    private String topicResourceId;
+    private String topicPath;
+    private boolean topicHasPropertyBag;
     private ResourceIdentifier topic;
     private String contentType;
     private Sample timer;
     private MetricsTags.EndpointType endpoint;
     private PropertyBag propertyBag;
+    private boolean propertyBagParsed;
 
     private MqttContext() {
     }
@@ -76,24 +82,49 @@ public final class MqttContext extends MapBasedExecutionContext {
             final MqttEndpoint deviceEndpoint,
             final Device authenticatedDevice) {
 
+        return fromPublishPacket(publishedMessage, deviceEndpoint, authenticatedDevice, new PublishTopic());
+    }
+
+    /**
+     * Creates a new context for a published message using a given parser
+     * for the message's topic.
+     * <p>
+     * The segments of the topic are copied to the context, i.e. the parser can be
+     * reused for the next message once this method has returned. Protocol adapters
+     * are therefore encouraged to use a single parser per device connection.
+     * 
+     * @param publishedMessage The published MQTT message.
+     * @param deviceEndpoint The endpoint representing the device
+     *                       that has published the message.
+     * @param authenticatedDevice The authenticated device identity.
+     * @param topicParser The parser to use for the message's topic.
+     * @return The context.
+     * @throws NullPointerException if message, endpoint or parser are {@code null}.
+     */
+    public static MqttContext fromPublishPacket(
+            final MqttPublishMessage publishedMessage,
+            final MqttEndpoint deviceEndpoint,
+            final Device authenticatedDevice,
+            final PublishTopic topicParser) {
+
         Objects.requireNonNull(publishedMessage);
         Objects.requireNonNull(deviceEndpoint);
+        Objects.requireNonNull(topicParser);
 
         final MqttContext result = new MqttContext();
         result.message = publishedMessage;
         result.deviceEndpoint = deviceEndpoint;
         result.authenticatedDevice = authenticatedDevice;
-        if (publishedMessage.topicName() != null) {
-            try {
-                Optional.ofNullable(PropertyBag.fromTopic(publishedMessage.topicName()))
-                        .ifPresentOrElse(propertyBag -> {
-                            result.topic = ResourceIdentifier.fromString(propertyBag.topicWithoutPropertyBag());
-                            result.propertyBag = propertyBag;
-                        }, () -> result.topic = ResourceIdentifier.fromString(publishedMessage.topicName()));
-                result.endpoint = MetricsTags.EndpointType.fromString(result.topic.getEndpoint());
-            } catch (final IllegalArgumentException e) {
-                // malformed topic
+        if (publishedMessage.topicName() != null && topicParser.parse(publishedMessage.topicName())) {
+            result.topicValid = true;
+            result.topicEndpoint = topicParser.getEndpoint();
+            result.topicTenantId = topicParser.getTenantId();
+            result.topicResourceId = topicParser.getResourceId();
+            result.topicHasPropertyBag = topicParser.hasPropertyBag();
+            if (topicParser.hasAdditionalSegments()) {
+                result.topicPath = topicParser.getPath();
             }
+            result.endpoint = MetricsTags.EndpointType.fromString(result.topicEndpoint);
         }
         return result;
     }
@@ -161,14 +192,35 @@ public final class MqttContext extends MapBasedExecutionContext {
 
     /**
      * Gets the topic that the message has been published to.
+     * <p>
+     * The resource identifier is created from the parsed topic on first access.
+     * Callers that only need to know whether the topic is well formed or which
+     * endpoint it refers to should use {@link #hasValidTopic()} and {@link #endpoint()}
+     * instead.
      * 
      * @return The topic or {@code null} if the topic could not be
      *         parsed into a resource identifier.
      */
     public ResourceIdentifier topic() {
+        if (topic == null && topicValid) {
+            if (topicPath != null) {
+                topic = ResourceIdentifier.fromString(topicPath);
+            } else {
+                topic = ResourceIdentifier.from(topicEndpoint, topicTenantId, topicResourceId);
+            }
+        }
         return topic;
     }
 
+    /**
+     * Checks if the message has been published to a well formed topic.
+     * 
+     * @return {@code true} if the topic starts with a non-empty endpoint segment.
+     */
+    public boolean hasValidTopic() {
+        return topicValid;
+    }
+
     /**
      * Gets the tenant that the device belongs to that published
      * the message.
@@ -181,13 +233,31 @@ public final class MqttContext extends MapBasedExecutionContext {
 
         if (authenticatedDevice != null) {
             return authenticatedDevice.getTenantId();
-        } else if (topic != null) {
-            return topic.getTenantId();
         } else {
-            return null;
+            return topicTenantId;
         }
     }
 
+    /**
+     * Gets the tenant segment of the topic that the message has been published to.
+     * 
+     * @return The tenant identifier or {@code null} if the topic is not well formed
+     *         or does not contain a tenant identifier.
+     */
+    public String topicTenantId() {
+        return topicTenantId;
+    }
+
+    /**
+     * Gets the device ID segment of the topic that the message has been published to.
+     * 
+     * @return The device identifier or {@code null} if the topic is not well formed
+     *         or does not contain a device identifier.
+     */
+    public String topicResourceId() {
+        return topicResourceId;
+    }
+
     /**
      * Gets the property bag object from the <em>property-bag</em>
      * set in the message's topic.
@@ -196,6 +266,10 @@ public final class MqttContext extends MapBasedExecutionContext {
      *         there is no property bag set in the topic.
      */
     public PropertyBag propertyBag(){
+        if (!propertyBagParsed && topicHasPropertyBag) {
+            propertyBag = PropertyBag.fromTopic(message.topicName());
+        }
+        propertyBagParsed = true;
         return this.propertyBag;
     }
 
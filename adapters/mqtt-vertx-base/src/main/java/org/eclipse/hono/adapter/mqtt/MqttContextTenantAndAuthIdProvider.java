@@ -49,11 +49,10 @@ public class MqttContextTenantAndAuthIdProvider extends BaseExecutionContextTena
             return getTenantViaCert(context, spanContext)
                     .recover(thr -> getTenantFromAuthHeader(context, spanContext));
         }
-        if (context.topic() != null && context.topic().getTenantId() != null
-                && context.topic().getResourceId() != null) {
+        if (context.topicTenantId() != null && context.topicResourceId() != null) {
             // unauthenticated request
-            final String tenantId = context.topic().getTenantId();
-            final String deviceId = context.topic().getResourceId();
+            final String tenantId = context.topicTenantId();
+            final String deviceId = context.topicResourceId();
             return tenantClientFactory.getOrCreateTenantClient()
                     .compose(tenantClient -> tenantClient.get(tenantId, spanContext))
                     .map(tenantObject -> new TenantObjectWithAuthId(tenantObject, deviceId));
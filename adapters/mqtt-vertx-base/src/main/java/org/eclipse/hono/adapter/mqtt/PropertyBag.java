@@ -14,23 +14,23 @@ package org.eclipse.hono.adapter.mqtt;
 
 import io.netty.handler.codec.http.QueryStringDecoder;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * A collection of methods for processing <em>property-bag</em> set at the end of a topic.
- *
+ * <p>
+ * The properties are not decoded up front. Instead, the <em>property-bag</em> is scanned
+ * for a property when its value is requested and only the value of that property is decoded.
  */
 public final class PropertyBag {
 
-    private final Map<String, List<String>> properties;
-    private final String topicWithoutPropertyBag;
+    private final String topic;
+    private final int propertyBagIndex;
+    private String topicWithoutPropertyBag;
 
-    private PropertyBag(final String topicWithoutPropertyBag, final Map<String, List<String>> properties) {
-        this.topicWithoutPropertyBag = topicWithoutPropertyBag;
-        this.properties = properties;
+    private PropertyBag(final String topic, final int propertyBagIndex) {
+        this.topic = topic;
+        this.propertyBagIndex = propertyBagIndex;
     }
 
     /**
@@ -46,15 +46,75 @@ public final class PropertyBag {
 
         Objects.requireNonNull(topic);
 
-        final int index = topic.lastIndexOf("/?");
+        final int index = indexOf(topic);
         if (index > 0) {
-            return new PropertyBag(
-                    topic.substring(0, index),
-                    new QueryStringDecoder(topic.substring(index)).parameters());
+            return new PropertyBag(topic, index);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the index of the <em>property-bag</em> in a topic.
+     *
+     * @param topic The topic.
+     * @return The index of the "/?" sequence starting the property-bag
+     *         or a value &lt;= 0 if the topic contains no property-bag.
+     */
+    static int indexOf(final String topic) {
+        return topic.lastIndexOf("/?");
+    }
+
+    /**
+     * Gets a property value from the <em>property-bag</em> of a topic.
+     * <p>
+     * The property-bag is parsed like the query component of a URI, i.e. properties
+     * are separated by {@code &} or {@code ;} and names and values are URL decoded.
+     *
+     * @param topic The topic.
+     * @param propertyBagIndex The index of the property-bag as returned by {@link #indexOf(String)}.
+     * @param name The property name.
+     * @return The (first) property value or {@code null} if the property is not set.
+     */
+    static String getProperty(final String topic, final int propertyBagIndex, final String name) {
+
+        final int end = topic.length();
+        int start = propertyBagIndex + 2;
+        while (start < end) {
+            int separator = start;
+            int equalsSign = -1;
+            while (separator < end) {
+                final char c = topic.charAt(separator);
+                if (c == '&' || c == ';') {
+                    break;
+                } else if (c == '=' && equalsSign == -1) {
+                    equalsSign = separator;
+                }
+                separator++;
+            }
+            final int nameEnd = equalsSign == -1 ? separator : equalsSign;
+            if (nameEnd > start && nameMatches(topic, start, nameEnd, name)) {
+                return equalsSign == -1 ? "" : decode(topic, equalsSign + 1, separator);
+            }
+            start = separator + 1;
         }
         return null;
     }
 
+    private static boolean nameMatches(final String topic, final int start, final int end, final String name) {
+
+        for (int i = start; i < end; i++) {
+            final char c = topic.charAt(i);
+            if (c == '%' || c == '+') {
+                return name.equals(decode(topic, start, end));
+            }
+        }
+        return end - start == name.length() && topic.regionMatches(start, name, 0, name.length());
+    }
+
+    private static String decode(final String topic, final int start, final int end) {
+        return QueryStringDecoder.decodeComponent(topic.substring(start, end));
+    }
+
     /**
      * Gets a property value from the <em>property-bag</em>.
      *
@@ -62,10 +122,7 @@ public final class PropertyBag {
      * @return The property value or {@code null} if the property is not set.
      */
     public String getProperty(final String name) {
-        return Optional.ofNullable(properties)
-                .map(props -> props.get(name))
-                .map(values -> values.get(0))
-                .orElse(null);
+        return getProperty(topic, propertyBagIndex, name);
     }    
 
     /**
@@ -74,6 +131,9 @@ public final class PropertyBag {
      * @return The topic without the <em>property-bag</em>.
      */
     public String topicWithoutPropertyBag() {
+        if (topicWithoutPropertyBag == null) {
+            topicWithoutPropertyBag = topic.substring(0, propertyBagIndex);
+        }
         return topicWithoutPropertyBag;
     }
 }
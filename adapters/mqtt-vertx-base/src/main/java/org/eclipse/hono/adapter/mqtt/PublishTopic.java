@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.adapter.mqtt;
+
+import java.util.Objects;
+
+import org.eclipse.hono.util.CommandConstants;
+import org.eclipse.hono.util.EventConstants;
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.eclipse.hono.util.TelemetryConstants;
+
+/**
+ * A flyweight for the name of a topic that a device has published a message to.
+ * <p>
+ * The topic is expected to consist of an endpoint, a tenant and a device ID segment, optionally
+ * followed by further segments and/or a <em>property-bag</em>, e.g.
+ * {@code telemetry/tenant/device/?hono-ttl=30}.
+ * <p>
+ * Parsing a topic only determines the boundaries of the segments and does not allocate any
+ * objects. The tenant and device ID are extracted from the topic when they are requested for the
+ * first time. The properties contained in the property-bag are decoded only when requested,
+ * one property at a time. An instance can be reused for parsing another topic.
+ * <p>
+ * Instances of this class are not thread safe.
+ */
+public final class PublishTopic {
+
+    private static final String[] KNOWN_ENDPOINTS = {
+            TelemetryConstants.TELEMETRY_ENDPOINT,
+            TelemetryConstants.TELEMETRY_ENDPOINT_SHORT,
+            EventConstants.EVENT_ENDPOINT,
+            EventConstants.EVENT_ENDPOINT_SHORT,
+            CommandConstants.COMMAND_ENDPOINT,
+            CommandConstants.COMMAND_ENDPOINT_SHORT,
+            CommandConstants.COMMAND_LEGACY_ENDPOINT,
+            CommandConstants.COMMAND_RESPONSE_ENDPOINT
+    };
+
+    private String topic;
+    private boolean valid;
+    private int pathEnd;
+    private int propertyBagIndex;
+    private int endpointEnd;
+    private int tenantStart;
+    private int tenantEnd;
+    private int resourceStart;
+    private int resourceEnd;
+    private boolean additionalSegments;
+
+    private String endpoint;
+    private String tenantId;
+    private String resourceId;
+
+    /**
+     * Parses a topic name.
+     * <p>
+     * Any state resulting from parsing a previous topic is discarded.
+     *
+     * @param topicName The topic name.
+     * @return {@code true} if the topic name is well formed, i.e. starts with a non-empty endpoint segment.
+     * @throws NullPointerException if topic name is {@code null}.
+     */
+    public boolean parse(final String topicName) {
+
+        this.topic = Objects.requireNonNull(topicName);
+        this.endpoint = null;
+        this.tenantId = null;
+        this.resourceId = null;
+
+        propertyBagIndex = PropertyBag.indexOf(topicName);
+        pathEnd = propertyBagIndex > 0 ? propertyBagIndex : topicName.length();
+
+        endpointEnd = segmentEnd(0);
+        tenantStart = Math.min(endpointEnd + 1, pathEnd);
+        tenantEnd = segmentEnd(tenantStart);
+        resourceStart = Math.min(tenantEnd + 1, pathEnd);
+        resourceEnd = segmentEnd(resourceStart);
+        additionalSegments = resourceEnd < pathEnd;
+
+        valid = endpointEnd > 0;
+        return valid;
+    }
+
+    private int segmentEnd(final int start) {
+        final int index = topic.indexOf('/', start);
+        return index == -1 || index > pathEnd ? pathEnd : index;
+    }
+
+    /**
+     * Checks if the last parsed topic is well formed.
+     *
+     * @return {@code true} if the topic is well formed.
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Gets the endpoint segment of the topic.
+     * <p>
+     * The constant defined for the endpoint is returned for well known endpoints.
+     *
+     * @return The endpoint or {@code null} if the topic is not well formed.
+     */
+    public String getEndpoint() {
+
+        if (!valid) {
+            return null;
+        }
+        if (endpoint == null) {
+            for (final String knownEndpoint : KNOWN_ENDPOINTS) {
+                if (knownEndpoint.length() == endpointEnd && topic.startsWith(knownEndpoint)) {
+                    endpoint = knownEndpoint;
+                    return endpoint;
+                }
+            }
+            endpoint = topic.substring(0, endpointEnd);
+        }
+        return endpoint;
+    }
+
+    /**
+     * Gets the tenant segment of the topic.
+     *
+     * @return The tenant or {@code null} if the topic is not well formed or
+     *         the segment is empty.
+     */
+    public String getTenantId() {
+
+        if (tenantId == null && valid && tenantEnd > tenantStart) {
+            tenantId = topic.substring(tenantStart, tenantEnd);
+        }
+        return tenantId;
+    }
+
+    /**
+     * Gets the device ID segment of the topic.
+     *
+     * @return The device ID or {@code null} if the topic is not well formed or
+     *         the segment is empty.
+     */
+    public String getResourceId() {
+
+        if (resourceId == null && valid && resourceEnd > resourceStart) {
+            resourceId = topic.substring(resourceStart, resourceEnd);
+        }
+        return resourceId;
+    }
+
+    /**
+     * Checks if the topic contains further segments following the device ID segment.
+     *
+     * @return {@code true} if the topic contains additional segments.
+     */
+    public boolean hasAdditionalSegments() {
+        return valid && additionalSegments;
+    }
+
+    /**
+     * Gets the topic without the <em>property-bag</em>.
+     *
+     * @return The path or {@code null} if the topic is not well formed.
+     */
+    public String getPath() {
+
+        if (!valid) {
+            return null;
+        }
+        return pathEnd == topic.length() ? topic : topic.substring(0, pathEnd);
+    }
+
+    /**
+     * Checks if the topic contains a <em>property-bag</em>.
+     *
+     * @return {@code true} if the topic contains a property-bag.
+     */
+    public boolean hasPropertyBag() {
+        return propertyBagIndex > 0;
+    }
+
+    /**
+     * Gets a property value from the topic's <em>property-bag</em>.
+     * <p>
+     * Only the value of the requested property is decoded.
+     *
+     * @param name The property name.
+     * @return The property value or {@code null} if the topic does not contain
+     *         a property-bag or the property is not set.
+     * @throws NullPointerException if name is {@code null}.
+     */
+    public String getProperty(final String name) {
+
+        Objects.requireNonNull(name);
+        if (!hasPropertyBag()) {
+            return null;
+        }
+        return PropertyBag.getProperty(topic, propertyBagIndex, name);
+    }
+
+    /**
+     * Creates a resource identifier for the topic (without property-bag).
+     * <p>
+     * The resulting identifier is the same as the one returned by
+     * {@link ResourceIdentifier#fromString(String)} for the topic without the property-bag.
+     *
+     * @return The identifier or {@code null} if the topic is not well formed.
+     */
+    public ResourceIdentifier toResourceIdentifier() {
+
+        if (!valid) {
+            return null;
+        } else if (additionalSegments) {
+            return ResourceIdentifier.fromString(getPath());
+        } else {
+            return ResourceIdentifier.from(getEndpoint(), getTenantId(), getResourceId());
+        }
+    }
+}
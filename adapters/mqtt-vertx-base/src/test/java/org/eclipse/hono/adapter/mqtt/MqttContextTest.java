@@ -90,6 +90,60 @@ public class MqttContextTest {
                 MetricsTags.EndpointType.COMMAND);
     }
 
+    /**
+     * Verifies that a context keeps the segments of its topic when the parser
+     * that has been used for creating the context is reused for another topic.
+     */
+    @Test
+    public void testContextIsNotAffectedByReusedParser() {
+
+        final PublishTopic parser = new PublishTopic();
+        final MqttContext context = MqttContext.fromPublishPacket(
+                newMessage(TelemetryConstants.TELEMETRY_ENDPOINT, "tenant", "device"),
+                mock(MqttEndpoint.class), null, parser);
+        final MqttContext otherContext = MqttContext.fromPublishPacket(
+                newMessage(EventConstants.EVENT_ENDPOINT, "other-tenant", "other-device"),
+                mock(MqttEndpoint.class), null, parser);
+
+        assertTrue(context.hasValidTopic());
+        assertEquals(MetricsTags.EndpointType.TELEMETRY, context.endpoint());
+        assertEquals("tenant", context.tenant());
+        assertEquals("device", context.topicResourceId());
+        assertEquals("telemetry/tenant/device", context.topic().toString());
+        assertEquals(MetricsTags.EndpointType.EVENT, otherContext.endpoint());
+        assertEquals("other-tenant", otherContext.tenant());
+    }
+
+    /**
+     * Verifies that a topic consisting of more than three segments is retained
+     * in the resource identifier.
+     */
+    @Test
+    public void testTopicContainsAdditionalSegments() {
+
+        final MqttPublishMessage msg = mock(MqttPublishMessage.class);
+        when(msg.topicName()).thenReturn("command///res/1010f8ab0b53-bd96-4d99-9d9c-56b868474a6a/200");
+        final MqttContext context = MqttContext.fromPublishPacket(msg, mock(MqttEndpoint.class));
+
+        assertTrue(context.hasValidTopic());
+        assertEquals("command///res/1010f8ab0b53-bd96-4d99-9d9c-56b868474a6a/200", context.topic().toString());
+    }
+
+    /**
+     * Verifies that a topic without endpoint segment is considered malformed.
+     */
+    @Test
+    public void testTopicWithoutEndpointIsInvalid() {
+
+        final MqttPublishMessage msg = mock(MqttPublishMessage.class);
+        when(msg.topicName()).thenReturn("/tenant/device");
+        final MqttContext context = MqttContext.fromPublishPacket(msg, mock(MqttEndpoint.class));
+
+        assertFalse(context.hasValidTopic());
+        assertNull(context.topic());
+        assertNull(context.endpoint());
+    }
+
     private static void assertEndpoint(final MqttPublishMessage msg, final MetricsTags.EndpointType expectedEndpoint) {
         final MqttContext context = MqttContext.fromPublishPacket(msg, mock(MqttEndpoint.class));
         assertEquals(expectedEndpoint, context.endpoint());
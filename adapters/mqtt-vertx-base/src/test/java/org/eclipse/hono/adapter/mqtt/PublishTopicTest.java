@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.adapter.mqtt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.eclipse.hono.util.TelemetryConstants;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies behavior of {@link PublishTopic}.
+ *
+ */
+public class PublishTopicTest {
+
+    private final PublishTopic topic = new PublishTopic();
+
+    /**
+     * Verifies that the segments of a topic are extracted.
+     */
+    @Test
+    public void testParseExtractsSegments() {
+
+        assertTrue(topic.parse("telemetry/tenant/device"));
+        assertSame(TelemetryConstants.TELEMETRY_ENDPOINT, topic.getEndpoint());
+        assertEquals("tenant", topic.getTenantId());
+        assertEquals("device", topic.getResourceId());
+        assertFalse(topic.hasPropertyBag());
+        assertNull(topic.getProperty("hono-ttl"));
+
+        // the instance can be reused for another topic
+        assertTrue(topic.parse("e//4711"));
+        assertEquals("e", topic.getEndpoint());
+        assertNull(topic.getTenantId());
+        assertEquals("4711", topic.getResourceId());
+    }
+
+    /**
+     * Verifies that the path of a topic excludes the property-bag.
+     */
+    @Test
+    public void testGetPathExcludesPropertyBag() {
+
+        assertTrue(topic.parse("telemetry/tenant/device"));
+        assertEquals("telemetry/tenant/device", topic.getPath());
+        assertFalse(topic.hasAdditionalSegments());
+
+        assertTrue(topic.parse("command///res/4711/200/?hono-ttl=30"));
+        assertEquals("command///res/4711/200", topic.getPath());
+        assertTrue(topic.hasAdditionalSegments());
+
+        assertFalse(topic.parse("/tenant/device"));
+        assertNull(topic.getPath());
+        assertFalse(topic.hasAdditionalSegments());
+    }
+
+    /**
+     * Verifies that the properties of the property-bag are decoded on request.
+     */
+    @Test
+    public void testGetPropertyDecodesProperty() {
+
+        assertTrue(topic.parse("event/tenant/device/?hono-ttl=30&flag;my%20prop=a+b%26c"));
+        assertTrue(topic.hasPropertyBag());
+        assertEquals("device", topic.getResourceId());
+        assertEquals("30", topic.getProperty("hono-ttl"));
+        assertEquals("", topic.getProperty("flag"));
+        assertEquals("a b&c", topic.getProperty("my prop"));
+        assertNull(topic.getProperty("unknown"));
+    }
+
+    /**
+     * Verifies that the resource identifier created from the parsed topic
+     * is the same as the one created by {@link ResourceIdentifier#fromString(String)}.
+     */
+    @Test
+    public void testToResourceIdentifierMatchesFromString() {
+
+        final String[] topicNames = {
+                "telemetry",
+                "telemetry/",
+                "telemetry/tenant",
+                "telemetry//",
+                "telemetry//device",
+                "telemetry/tenant/device",
+                "telemetry/tenant/device/",
+                "command//device/res/1010f8ab0b53-bd96-4d99-9d9c-ef4ed8a0b7e6/200",
+                "unknown/tenant/device/more"
+        };
+        for (final String topicName : topicNames) {
+            assertTrue(topic.parse(topicName));
+            assertArrayEquals(
+                    ResourceIdentifier.fromString(topicName).toPath(),
+                    topic.toResourceIdentifier().toPath(),
+                    topicName);
+        }
+        assertTrue(topic.parse("telemetry/tenant/device/?hono-ttl=30"));
+        assertEquals("telemetry/tenant/device", topic.toResourceIdentifier().toString());
+    }
+
+    /**
+     * Verifies that topics without an endpoint are considered malformed.
+     */
+    @Test
+    public void testParseRejectsMissingEndpoint() {
+
+        assertFalse(topic.parse(""));
+        assertFalse(topic.parse("/tenant/device"));
+        assertNull(topic.getEndpoint());
+        assertNull(topic.getTenantId());
+        assertNull(topic.toResourceIdentifier());
+    }
+}
@@ -19,7 +19,6 @@ import org.eclipse.hono.adapter.mqtt.AbstractVertxBasedMqttProtocolAdapter;
 import org.eclipse.hono.adapter.mqtt.MqttContext;
 import org.eclipse.hono.adapter.mqtt.MqttProtocolAdapterProperties;
 import org.eclipse.hono.client.ClientErrorException;
-import org.eclipse.hono.service.metric.MetricsTags;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.ResourceIdentifier;
 
@@ -60,21 +59,20 @@ public final class VertxBasedMqttProtocolAdapter extends AbstractVertxBasedMqttP
     Future<ResourceIdentifier> mapTopic(final MqttContext context) {
 
         final Future<ResourceIdentifier> result = Future.future();
-        final ResourceIdentifier topic = context.topic();
         final MqttQoS qos = context.message().qosLevel();
 
-        switch (MetricsTags.EndpointType.fromString(topic.getEndpoint())) {
+        switch (context.endpoint()) {
             case TELEMETRY:
                 if (MqttQoS.EXACTLY_ONCE.equals(qos)) {
                     // client tries to send telemetry message using QoS 2
                     result.fail(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST, "QoS 2 not supported for telemetry messages"));
                 } else {
-                    result.complete(topic);
+                    result.complete(context.topic());
                 }
                 break;
             case EVENT:
                 if (MqttQoS.AT_LEAST_ONCE.equals(qos)) {
-                    result.complete(topic);
+                    result.complete(context.topic());
                 } else {
                     // client tries to send event message using QoS 0 or 2
                     result.fail(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST, "Only QoS 1 supported for event messages"));
@@ -85,12 +83,12 @@ public final class VertxBasedMqttProtocolAdapter extends AbstractVertxBasedMqttP
                     // client tries to send control message using QoS 2
                     result.fail(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST, "QoS 2 not supported for command response messages"));
                 } else {
-                    result.complete(topic);
+                    result.complete(context.topic());
                 }
                 break;
             default:
                 // MQTT client is trying to publish on a not supported endpoint
-                log.debug("no such endpoint [{}]", topic.getEndpoint());
+                log.debug("no such endpoint [topic: {}]", context.message().topicName());
                 result.fail(new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND, "no such endpoint"));
         }
         return result;
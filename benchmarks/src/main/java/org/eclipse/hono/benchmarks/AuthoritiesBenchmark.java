@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.auth.Activity;
+import org.eclipse.hono.auth.Authorities;
+import org.eclipse.hono.auth.AuthoritiesImpl;
+import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.EventConstants;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.eclipse.hono.util.TelemetryConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the authorization checks performed by {@link AuthoritiesImpl}.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthoritiesBenchmark {
+
+    private final ResourceIdentifier telemetryResource = ResourceIdentifier.from(
+            TelemetryConstants.TELEMETRY_ENDPOINT, Constants.DEFAULT_TENANT, "4711");
+    private final ResourceIdentifier registrationResource = ResourceIdentifier.from(
+            RegistrationConstants.REGISTRATION_ENDPOINT, Constants.DEFAULT_TENANT, null);
+    private Authorities authorities;
+
+    /**
+     * Sets up the authorities granted to the user.
+     */
+    @Setup
+    public void setUp() {
+        authorities = new AuthoritiesImpl()
+                .addResource(TelemetryConstants.TELEMETRY_ENDPOINT, "*", Activity.WRITE)
+                .addResource(EventConstants.EVENT_ENDPOINT, "*", Activity.WRITE)
+                .addOperation(RegistrationConstants.REGISTRATION_ENDPOINT, "*", "*");
+    }
+
+    /**
+     * Checks if the user is authorized to write to a tenant's telemetry endpoint.
+     *
+     * @return {@code true} if the user is authorized.
+     */
+    @Benchmark
+    public boolean isAuthorizedForActivity() {
+        return authorities.isAuthorized(telemetryResource, Activity.WRITE);
+    }
+
+    /**
+     * Checks if the user is authorized to read from a tenant's telemetry endpoint.
+     *
+     * @return {@code true} if the user is authorized.
+     */
+    @Benchmark
+    public boolean isNotAuthorizedForActivity() {
+        return authorities.isAuthorized(telemetryResource, Activity.READ);
+    }
+
+    /**
+     * Checks if the user is authorized to execute an operation.
+     *
+     * @return {@code true} if the user is authorized.
+     */
+    @Benchmark
+    public boolean isAuthorizedForOperation() {
+        return authorities.isAuthorized(registrationResource, RegistrationConstants.ACTION_ASSERT);
+    }
+}
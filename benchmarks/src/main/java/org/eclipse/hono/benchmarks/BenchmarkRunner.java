@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs Hono's micro benchmarks.
+ * <p>
+ * All standard JMH command line options are supported. In addition to the
+ * profilers given on the command line, the {@link GCProfiler} is always added
+ * so that the normalized allocation rate (<em>gc.alloc.rate.norm</em>) is
+ * reported for each benchmark. This allows tracking regressions regarding the
+ * amount of garbage produced for each message.
+ *
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        // prevent instantiation
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args The JMH command line options.
+     * @throws CommandLineOptionException if the command line options are invalid.
+     * @throws RunnerException if the benchmarks could not be run.
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        final Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
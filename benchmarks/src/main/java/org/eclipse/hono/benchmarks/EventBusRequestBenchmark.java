@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.util.CredentialsConstants;
+import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.EventBusMessageCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Benchmarks for the throughput of registry requests that are sent via the vert.x event bus
+ * from a protocol endpoint to a service implementation and back.
+ * <p>
+ * The <em>json</em> variant sends the JSON representation of the request and response
+ * messages, which the event bus copies on each hop. The <em>codec</em> variant sends the
+ * messages using the {@link EventBusMessageCodec}.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class EventBusRequestBenchmark {
+
+    private static final String ADDRESS = "registry.credentials";
+
+    /**
+     * The way that messages are sent via the event bus.
+     */
+    @Param({ "json", "codec" })
+    public String encoding;
+
+    private Vertx vertx;
+    private boolean useCodec;
+    private JsonObject credentials;
+
+    /**
+     * Sets up the event bus consumer simulating the Credentials service.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        vertx = Vertx.vertx();
+        useCodec = "codec".equals(encoding);
+        EventBusMessageCodec.register(vertx.eventBus());
+
+        final JsonArray secrets = new JsonArray();
+        for (int i = 0; i < 3; i++) {
+            secrets.add(new JsonObject()
+                    .put(CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION, CredentialsConstants.HASH_FUNCTION_BCRYPT)
+                    .put(CredentialsConstants.FIELD_SECRETS_PWD_HASH, "$2a$10$UK9lmSMlYmeXqABkTrDRsu1nlZRnAmGnBdPIWZoDajtjyxX18Dry.")
+                    .put(CredentialsConstants.FIELD_SECRETS_NOT_BEFORE, "2019-01-01T00:00:00Z")
+                    .put(CredentialsConstants.FIELD_SECRETS_NOT_AFTER, "2029-01-01T00:00:00Z"));
+        }
+        credentials = new JsonObject()
+                .put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, "4711")
+                .put(CredentialsConstants.FIELD_AUTH_ID, "sensor1")
+                .put(CredentialsConstants.FIELD_TYPE, CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD)
+                .put(CredentialsConstants.FIELD_ENABLED, true)
+                .put(CredentialsConstants.FIELD_SECRETS, secrets);
+
+        vertx.eventBus().consumer(ADDRESS, msg -> {
+            final EventBusMessage request = EventBusMessage.fromBody(msg.body());
+            // like the file based registry, the response contains the stored credentials
+            final EventBusMessage response = request.getResponse(200).setJsonPayload(credentials);
+            if (useCodec) {
+                msg.reply(response.copy());
+            } else {
+                msg.reply(response.toJson());
+            }
+        });
+    }
+
+    /**
+     * Closes the vert.x instance.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        vertx.close();
+    }
+
+    /**
+     * Sends a request for credentials and waits for the response.
+     *
+     * @return The response.
+     */
+    @Benchmark
+    public EventBusMessage getCredentials() {
+
+        final EventBusMessage request = EventBusMessage.forOperation(CredentialsConstants.CredentialsAction.get.toString())
+                .setTenant("DEFAULT_TENANT")
+                .setJsonPayload(new JsonObject()
+                        .put(CredentialsConstants.FIELD_TYPE, CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD)
+                        .put(CredentialsConstants.FIELD_AUTH_ID, "sensor1"));
+        final CompletableFuture<EventBusMessage> result = new CompletableFuture<>();
+        vertx.eventBus().send(ADDRESS, useCodec ? request : request.toJson(), reply -> {
+            if (reply.succeeded()) {
+                result.complete(EventBusMessage.fromBody(reply.result().body()));
+            } else {
+                result.completeExceptionally(reply.cause());
+            }
+        });
+        return result.join();
+    }
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.eclipse.hono.util.TelemetryConstants;
+import org.eclipse.hono.util.TenantObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Benchmarks for the {@link MessageHelper} methods that are invoked
+ * for every message published by a device.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageHelperBenchmark {
+
+    private final ResourceIdentifier target = ResourceIdentifier.from(
+            TelemetryConstants.TELEMETRY_ENDPOINT, Constants.DEFAULT_TENANT, "4711");
+    private final Buffer payload = Buffer.buffer("{\"temp\": 5}");
+    private final Duration timeToLive = Duration.ofSeconds(30);
+    private TenantObject tenant;
+    private JsonObject deviceDefaults;
+    private Message message;
+
+    /**
+     * Sets up the tenant and the message to read properties from.
+     */
+    @Setup
+    public void setUp() {
+        tenant = TenantObject.from(Constants.DEFAULT_TENANT, true)
+                .setDefaults(new JsonObject().put("customer", "ACME Inc."));
+        deviceDefaults = new JsonObject().put(MessageHelper.SYS_PROPERTY_CONTENT_TYPE, "application/json");
+        message = MessageHelper.newMessage(target, "telemetry", null, payload, tenant, deviceDefaults,
+                10, timeToLive, Constants.PROTOCOL_ADAPTER_TYPE_MQTT, true, false);
+        MessageHelper.addTenantId(message, Constants.DEFAULT_TENANT);
+    }
+
+    /**
+     * Creates a new message including all Hono specific properties.
+     *
+     * @return The message.
+     */
+    @Benchmark
+    public Message newMessage() {
+        return MessageHelper.newMessage(target, "telemetry", null, payload, tenant, deviceDefaults,
+                10, timeToLive, Constants.PROTOCOL_ADAPTER_TYPE_MQTT, true, false);
+    }
+
+    /**
+     * Creates a new message without adding default properties.
+     *
+     * @return The message.
+     */
+    @Benchmark
+    public Message newMessageWithoutDefaults() {
+        return MessageHelper.newMessage(target, "telemetry", "application/json", payload, tenant, null,
+                null, null, Constants.PROTOCOL_ADAPTER_TYPE_MQTT, false, false);
+    }
+
+    /**
+     * Gets the device identifier from a message.
+     *
+     * @return The identifier.
+     */
+    @Benchmark
+    public String getDeviceId() {
+        return MessageHelper.getDeviceId(message);
+    }
+
+    /**
+     * Gets the tenant identifier from a message.
+     *
+     * @return The identifier.
+     */
+    @Benchmark
+    public String getTenantId() {
+        return MessageHelper.getTenantId(message);
+    }
+
+    /**
+     * Gets the <em>time until disconnect</em> from a message.
+     *
+     * @return The number of seconds.
+     */
+    @Benchmark
+    public Integer getTimeUntilDisconnect() {
+        return MessageHelper.getTimeUntilDisconnect(message);
+    }
+
+    /**
+     * Checks if the device that a message originates from is currently connected.
+     *
+     * @return {@code true} if the device is connected.
+     */
+    @Benchmark
+    public boolean isDeviceCurrentlyConnected() {
+        return MessageHelper.isDeviceCurrentlyConnected(message);
+    }
+
+    /**
+     * Gets the payload of a message.
+     *
+     * @return The payload.
+     */
+    @Benchmark
+    public Buffer getPayload() {
+        return MessageHelper.getPayload(message);
+    }
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.service.metric.MetricsTags;
+import org.eclipse.hono.service.metric.MicrometerBasedMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Vertx;
+
+/**
+ * Benchmarks for reporting a telemetry message to Micrometer.
+ * <p>
+ * Compares {@link MicrometerBasedMetrics}, which keeps the meters per tenant,
+ * with looking up the meters in the registry for every message, which is what
+ * the protocol adapters used to do.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private static final String TENANT = "DEFAULT_TENANT";
+
+    private Vertx vertx;
+    private MeterRegistry registry;
+    private MicrometerBasedMetrics metrics;
+
+    /**
+     * Creates the registry and the metrics instance.
+     */
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerBasedMetrics(registry, vertx) {
+        };
+    }
+
+    /**
+     * Closes the vert.x instance.
+     */
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    /**
+     * Reports a telemetry message by means of the meters kept per tenant.
+     */
+    @Benchmark
+    public void reportTelemetry() {
+        metrics.reportTelemetry(
+                MetricsTags.EndpointType.TELEMETRY,
+                TENANT,
+                null,
+                MetricsTags.ProcessingOutcome.FORWARDED,
+                MetricsTags.QoS.AT_MOST_ONCE,
+                128,
+                MetricsTags.TtdStatus.NONE,
+                metrics.startTimer());
+    }
+
+    /**
+     * Reports a telemetry message by means of meters that are looked up in the registry.
+     */
+    @Benchmark
+    public void reportTelemetryWithRegistryLookup() {
+        final Timer.Sample sample = Timer.start(registry);
+        final Tags tags = Tags.of(MetricsTags.EndpointType.TELEMETRY.asTag())
+                .and(MetricsTags.getTenantTag(TENANT))
+                .and(MetricsTags.ProcessingOutcome.FORWARDED.asTag())
+                .and(MetricsTags.QoS.AT_MOST_ONCE.asTag())
+                .and(MetricsTags.TtdStatus.NONE.asTag());
+        sample.stop(registry.timer(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED, tags));
+        DistributionSummary.builder(MicrometerBasedMetrics.METER_MESSAGES_PAYLOAD)
+            .baseUnit("bytes")
+            .minimumExpectedValue(0L)
+            .tags(tags)
+            .register(registry)
+            .record(128);
+    }
+}
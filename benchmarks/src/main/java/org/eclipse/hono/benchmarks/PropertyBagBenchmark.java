@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.adapter.mqtt.PropertyBag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for extracting the <em>property-bag</em> from the topic
+ * of an MQTT PUBLISH packet.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyBagBenchmark {
+
+    private final String topicWithoutPropertyBag = "telemetry/DEFAULT_TENANT/4711";
+    private final String topicWithPropertyBag = "telemetry/DEFAULT_TENANT/4711/?hono-ttl=30&param2=value2";
+
+    /**
+     * Processes a topic that does not contain a property bag.
+     *
+     * @return The property bag.
+     */
+    @Benchmark
+    public PropertyBag fromTopicWithoutPropertyBag() {
+        return PropertyBag.fromTopic(topicWithoutPropertyBag);
+    }
+
+    /**
+     * Processes a topic that contains a property bag.
+     *
+     * @return The property bag.
+     */
+    @Benchmark
+    public PropertyBag fromTopicWithPropertyBag() {
+        return PropertyBag.fromTopic(topicWithPropertyBag);
+    }
+
+    /**
+     * Processes a topic that contains a property bag and gets one of the properties.
+     *
+     * @return The property value.
+     */
+    @Benchmark
+    public String fromTopicAndGetProperty() {
+        return PropertyBag.fromTopic(topicWithPropertyBag).getProperty("hono-ttl");
+    }
+}
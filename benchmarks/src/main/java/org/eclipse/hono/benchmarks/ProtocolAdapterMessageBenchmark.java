@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.config.ProtocolAdapterProperties;
+import org.eclipse.hono.service.AbstractProtocolAdapterBase;
+import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.eclipse.hono.util.TelemetryConstants;
+import org.eclipse.hono.util.TenantObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.proton.ProtonHelper;
+
+/**
+ * Benchmarks for the creation of the downstream AMQP message that a protocol adapter
+ * performs for every message published by a device.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocolAdapterMessageBenchmark {
+
+    /**
+     * Indicates whether default properties should be added to the messages.
+     */
+    @Param({"true", "false"})
+    public boolean defaultsEnabled;
+
+    private final ResourceIdentifier target = ResourceIdentifier.from(
+            TelemetryConstants.TELEMETRY_ENDPOINT, Constants.DEFAULT_TENANT, "4711");
+    private final Buffer payload = Buffer.buffer("{\"temp\": 5}");
+    private final Duration timeToLive = Duration.ofSeconds(30);
+    private BenchmarkProtocolAdapter adapter;
+    private TenantObject tenant;
+    private JsonObject registrationInfo;
+
+    /**
+     * Sets up the protocol adapter and the tenant and device information.
+     */
+    @Setup
+    public void setUp() {
+        final ProtocolAdapterProperties config = new ProtocolAdapterProperties();
+        config.setDefaultsEnabled(defaultsEnabled);
+        adapter = new BenchmarkProtocolAdapter();
+        adapter.setConfig(config);
+        tenant = TenantObject.from(Constants.DEFAULT_TENANT, true)
+                .setDefaults(new JsonObject().put("customer", "ACME Inc."));
+        registrationInfo = new JsonObject()
+                .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, "4711")
+                .put(RegistrationConstants.FIELD_PAYLOAD_DEFAULTS, new JsonObject()
+                        .put(MessageHelper.SYS_PROPERTY_CONTENT_TYPE, "application/json"));
+    }
+
+    /**
+     * Creates a new downstream message.
+     *
+     * @return The message.
+     */
+    @Benchmark
+    public Message newMessage() {
+        return adapter.createMessage(target, "telemetry", null, payload, tenant, registrationInfo, 10, timeToLive);
+    }
+
+    /**
+     * Adds Hono specific properties to an existing message.
+     *
+     * @return The message.
+     */
+    @Benchmark
+    public Message addProperties() {
+        final Message msg = ProtonHelper.message();
+        MessageHelper.setPayload(msg, "application/json", payload);
+        return adapter.addMessageProperties(msg, target, "telemetry", tenant, registrationInfo, 10, timeToLive);
+    }
+
+    /**
+     * A protocol adapter that exposes the message creation methods.
+     */
+    private static final class BenchmarkProtocolAdapter extends AbstractProtocolAdapterBase<ProtocolAdapterProperties> {
+
+        @Override
+        public int getPortDefaultValue() {
+            return 0;
+        }
+
+        @Override
+        public int getInsecurePortDefaultValue() {
+            return 0;
+        }
+
+        @Override
+        protected int getActualPort() {
+            return 0;
+        }
+
+        @Override
+        protected int getActualInsecurePort() {
+            return 0;
+        }
+
+        @Override
+        protected String getTypeName() {
+            return Constants.PROTOCOL_ADAPTER_TYPE_MQTT;
+        }
+
+        Message createMessage(
+                final ResourceIdentifier target,
+                final String publishAddress,
+                final String contentType,
+                final Buffer payload,
+                final TenantObject tenant,
+                final JsonObject registrationInfo,
+                final Integer timeUntilDisconnect,
+                final Duration timeToLive) {
+            return super.newMessage(target, publishAddress, contentType, payload, tenant, registrationInfo,
+                    timeUntilDisconnect, timeToLive);
+        }
+
+        Message addMessageProperties(
+                final Message msg,
+                final ResourceIdentifier target,
+                final String publishAddress,
+                final TenantObject tenant,
+                final JsonObject registrationInfo,
+                final Integer timeUntilDisconnect,
+                final Duration timeToLive) {
+            return super.addProperties(msg, target, publishAddress, tenant, registrationInfo,
+                    timeUntilDisconnect, timeToLive);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.benchmarks;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.crypto.SecretKey;
+
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.californium.elements.EndpointContext;
+import org.eclipse.californium.elements.MessageCallback;
+import org.eclipse.californium.elements.RawData;
+import org.eclipse.californium.scandium.DTLSConnector;
+import org.eclipse.californium.scandium.config.DtlsConnectorConfig;
+import org.eclipse.californium.scandium.dtls.PskPublicInformation;
+import org.eclipse.californium.scandium.dtls.cipher.CipherSuite;
+import org.eclipse.californium.scandium.dtls.pskstore.PskStore;
+import org.eclipse.californium.scandium.util.SecretUtil;
+import org.eclipse.californium.scandium.util.ServerNames;
+import org.eclipse.hono.adapter.coap.CoapAdapterProperties;
+import org.eclipse.hono.adapter.coap.DefaultDeviceResolver;
+import org.eclipse.hono.client.CredentialsClient;
+import org.eclipse.hono.client.CredentialsClientFactory;
+import org.eclipse.hono.util.CredentialsObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * Benchmarks for the number of PSK based DTLS handshakes per second that the CoAP adapter
+ * can perform when using the {@link DefaultDeviceResolver} and the Credentials service is
+ * slow to respond.
+ * <p>
+ * A DTLS server connector is configured like the CoAP adapter's secure endpoint, i.e. with the
+ * resolver as PSK store and the default number of connector threads. Each operation performs
+ * a full handshake with the server for one of a fixed set of identities. If the cache is enabled,
+ * all identities are resolved before the benchmark starts, i.e. the benchmark measures the steady
+ * state of devices which connect regularly. Handshakes that fail are retried the way a device would.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class PskHandshakeBenchmark {
+
+    private static final int DEVICES = 1000;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long HANDSHAKE_TIMEOUT_MILLIS = 2000;
+    private static final byte[] KEY = "secret".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAYLOAD = "hello".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The number of milliseconds that the simulated Credentials service takes to respond.
+     */
+    @Param({ "5" })
+    public long credentialsServiceLatency;
+
+    /**
+     * The number of seconds that resolved devices are kept in the cache. A value of 0 disables caching.
+     */
+    @Param({ "0", "60" })
+    public int deviceCacheTimeout;
+
+    private Vertx vertx;
+    private DTLSConnector server;
+    private String[] identities;
+
+    /**
+     * Starts the DTLS server using a simulated Credentials service.
+     *
+     * @throws IOException if the server cannot be started.
+     * @throws InterruptedException if the thread has been interrupted while warming up the cache.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+
+        vertx = Vertx.vertx();
+        final CoapAdapterProperties config = new CoapAdapterProperties();
+        config.setDeviceCacheTimeout(deviceCacheTimeout);
+        final DefaultDeviceResolver resolver = new DefaultDeviceResolver(
+                vertx.getOrCreateContext(), config, newCredentialsClientFactory());
+
+        final DtlsConnectorConfig.Builder dtlsConfig = new DtlsConnectorConfig.Builder();
+        dtlsConfig.setAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        dtlsConfig.setConnectionThreadCount(config.getConnectorThreads());
+        dtlsConfig.setApplicationLevelInfoSupplier(resolver);
+        dtlsConfig.setPskStore(resolver);
+        dtlsConfig.setSupportedCipherSuites(CipherSuite.TLS_PSK_WITH_AES_128_CCM_8);
+        dtlsConfig.setServerOnly(true);
+        server = new DTLSConnector(dtlsConfig.build());
+        server.setRawDataReceiver(data -> {});
+        server.start();
+
+        identities = new String[DEVICES];
+        for (int i = 0; i < DEVICES; i++) {
+            identities[i] = "device-" + i + "@" + "tenant";
+        }
+        if (deviceCacheTimeout > 0) {
+            for (final String identity : identities) {
+                // the resolver looks up unknown identities in the background
+                while (resolver.getKey(new PskPublicInformation(identity)) == null) {
+                    Thread.sleep(1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the DTLS server and closes the vert.x instance.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.destroy();
+        vertx.close();
+    }
+
+    /**
+     * A DTLS client representing the devices that connect on a particular benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Device implements PskStore {
+
+        private DTLSConnector client;
+        private PskPublicInformation identity;
+
+        /**
+         * Starts the DTLS client.
+         *
+         * @throws IOException if the client cannot be started.
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+
+            final DtlsConnectorConfig.Builder dtlsConfig = new DtlsConnectorConfig.Builder();
+            dtlsConfig.setAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            dtlsConfig.setClientOnly();
+            dtlsConfig.setConnectionThreadCount(1);
+            dtlsConfig.setPskStore(this);
+            dtlsConfig.setSupportedCipherSuites(CipherSuite.TLS_PSK_WITH_AES_128_CCM_8);
+            client = new DTLSConnector(dtlsConfig.build());
+            client.setRawDataReceiver(data -> {});
+            client.start();
+        }
+
+        /**
+         * Stops the DTLS client.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            client.destroy();
+        }
+
+        @Override
+        public SecretKey getKey(final PskPublicInformation pskIdentity) {
+            return SecretUtil.create(KEY, "PSK");
+        }
+
+        @Override
+        public SecretKey getKey(final ServerNames serverNames, final PskPublicInformation pskIdentity) {
+            return getKey(pskIdentity);
+        }
+
+        @Override
+        public PskPublicInformation getIdentity(final InetSocketAddress inetAddress) {
+            return identity;
+        }
+
+        @Override
+        public PskPublicInformation getIdentity(final InetSocketAddress peerAddress, final ServerNames virtualHost) {
+            return identity;
+        }
+
+        /**
+         * Performs a full handshake with a server, retrying failed attempts.
+         *
+         * @param server The server's address.
+         * @param deviceIdentity The identity to use in the handshake.
+         * @return The number of attempts it took to complete the handshake.
+         * @throws InterruptedException if the thread has been interrupted.
+         * @throws IllegalStateException if the handshake did not succeed.
+         */
+        int handshake(final InetSocketAddress server, final String deviceIdentity) throws InterruptedException {
+
+            identity = new PskPublicInformation(deviceIdentity);
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                client.clearConnectionState();
+                final CompletableFuture<Void> result = new CompletableFuture<>();
+                client.send(RawData.outbound(PAYLOAD, new AddressEndpointContext(server), new MessageCallback() {
+
+                    @Override
+                    public void onConnecting() {
+                    }
+
+                    @Override
+                    public void onDtlsRetransmission(final int flight) {
+                    }
+
+                    @Override
+                    public void onContextEstablished(final EndpointContext context) {
+                    }
+
+                    @Override
+                    public void onSent() {
+                        result.complete(null);
+                    }
+
+                    @Override
+                    public void onError(final Throwable error) {
+                        result.completeExceptionally(error);
+                    }
+                }, false));
+                try {
+                    result.get(HANDSHAKE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    return attempt;
+                } catch (final ExecutionException | TimeoutException e) {
+                    // try again like a device would do
+                }
+            }
+            throw new IllegalStateException("failed to complete handshake");
+        }
+    }
+
+    /**
+     * Performs a DTLS handshake for a randomly chosen identity.
+     *
+     * @param device The DTLS client to use.
+     * @return The number of attempts it took to complete the handshake.
+     * @throws InterruptedException if the thread has been interrupted.
+     */
+    @Benchmark
+    public int handshake(final Device device) throws InterruptedException {
+        final String identity = identities[ThreadLocalRandom.current().nextInt(DEVICES)];
+        return device.handshake(server.getAddress(), identity);
+    }
+
+    private CredentialsClientFactory newCredentialsClientFactory() {
+
+        final CredentialsClient client = (CredentialsClient) Proxy.newProxyInstance(
+                CredentialsClient.class.getClassLoader(),
+                new Class<?>[] { CredentialsClient.class },
+                (proxy, method, args) -> {
+                    if ("get".equals(method.getName())) {
+                        final String authId = (String) args[1];
+                        final Future<CredentialsObject> result = Future.future();
+                        vertx.setTimer(credentialsServiceLatency, tid -> result.complete(
+                                CredentialsObject.fromPresharedKey(authId, authId, KEY, null, null)));
+                        return result;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        return (CredentialsClientFactory) Proxy.newProxyInstance(
+                CredentialsClientFactory.class.getClassLoader(),
+                new Class<?>[] { CredentialsClientFactory.class },
+                (proxy, method, args) -> {
+                    if ("getOrCreateCredentialsClient".equals(method.getName())) {
+                        return Future.succeededFuture(client);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
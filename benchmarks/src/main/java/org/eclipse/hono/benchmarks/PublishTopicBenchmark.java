@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.adapter.mqtt.AbstractVertxBasedMqttProtocolAdapter;
+import org.eclipse.hono.adapter.mqtt.MqttContext;
+import org.eclipse.hono.adapter.mqtt.MqttProtocolAdapterProperties;
+import org.eclipse.hono.adapter.mqtt.PublishTopic;
+import org.eclipse.hono.auth.Device;
+import org.eclipse.hono.client.DownstreamSender;
+import org.eclipse.hono.client.DownstreamSenderFactory;
+import org.eclipse.hono.client.RegistrationClient;
+import org.eclipse.hono.client.RegistrationClientFactory;
+import org.eclipse.hono.client.TenantClient;
+import org.eclipse.hono.client.TenantClientFactory;
+import org.eclipse.hono.service.metric.MetricsTags;
+import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.eclipse.hono.util.TenantObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mqtt.MqttEndpoint;
+import io.vertx.mqtt.messages.MqttPublishMessage;
+
+/**
+ * Benchmarks for processing the topic of an MQTT PUBLISH packet.
+ * <p>
+ * Compares the {@link PublishTopic} flyweight with parsing the topic into a
+ * {@link ResourceIdentifier} and decoding the complete <em>property-bag</em>
+ * up front, which is what the MQTT adapter used to do for every message
+ * before checking the topic and uploading the message.
+ * <p>
+ * The <em>upload</em> benchmarks run the MQTT adapter's processing of a published
+ * telemetry message, i.e. checking the topic, validating the address and uploading
+ * the message, using service clients which complete immediately.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublishTopicBenchmark {
+
+    private final String topic = "telemetry/DEFAULT_TENANT/4711";
+    private final String topicWithPropertyBag = "telemetry/DEFAULT_TENANT/4711/?hono-ttl=30&param2=value2";
+    private final PublishTopic publishTopic = new PublishTopic();
+    private final Device device = new Device(Constants.DEFAULT_TENANT, "4711");
+    private final MqttPublishMessage message = MqttPublishMessage.create(
+            1, MqttQoS.AT_MOST_ONCE, false, false, topic, Unpooled.wrappedBuffer("{\"temp\": 5}".getBytes()));
+    private final MqttEndpoint endpoint = newProxy(MqttEndpoint.class, null);
+    private BenchmarkMqttProtocolAdapter adapter;
+
+    /**
+     * Sets up the protocol adapter.
+     *
+     * @throws IllegalStateException if the adapter fails to process a message.
+     */
+    @Setup
+    public void setUp() {
+
+        final TenantObject tenant = TenantObject.from(Constants.DEFAULT_TENANT, true);
+        final JsonObject registrationAssertion = new JsonObject()
+                .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, "4711");
+        final TenantClient tenantClient = newProxy(TenantClient.class, Future.succeededFuture(tenant));
+        final RegistrationClient registrationClient = newProxy(
+                RegistrationClient.class, Future.succeededFuture(registrationAssertion));
+        final DownstreamSender sender = newProxy(DownstreamSender.class, Future.succeededFuture());
+
+        adapter = new BenchmarkMqttProtocolAdapter();
+        adapter.setConfig(new MqttProtocolAdapterProperties());
+        adapter.setTenantClientFactory(newProxy(TenantClientFactory.class, Future.succeededFuture(tenantClient)));
+        adapter.setRegistrationClientFactory(newProxy(
+                RegistrationClientFactory.class, Future.succeededFuture(registrationClient)));
+        adapter.setDownstreamSenderFactory(newProxy(DownstreamSenderFactory.class, Future.succeededFuture(sender)));
+
+        if (uploadWithParserPerMessage().failed() || uploadWithReusedParser().failed()) {
+            throw new IllegalStateException("adapter failed to process message");
+        }
+    }
+
+    /**
+     * Creates a proxy that returns the same result for all method invocations.
+     *
+     * @param <T> The type of the proxy.
+     * @param type The interface to implement.
+     * @param result The result to return.
+     * @return The proxy.
+     */
+    private static <T> T newProxy(final Class<T> type, final Object result) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[] { type },
+                (proxy, method, args) -> result));
+    }
+
+    /**
+     * Processes a published message using a new parser for the topic.
+     *
+     * @return The outcome of processing the message.
+     */
+    @Benchmark
+    public Future<Void> uploadWithParserPerMessage() {
+        return adapter.publish(MqttContext.fromPublishPacket(message, endpoint, device));
+    }
+
+    /**
+     * Processes a published message using a parser that is reused for all messages,
+     * like the MQTT adapter does for the messages published on a connection.
+     *
+     * @return The outcome of processing the message.
+     */
+    @Benchmark
+    public Future<Void> uploadWithReusedParser() {
+        return adapter.publish(MqttContext.fromPublishPacket(message, endpoint, device, publishTopic));
+    }
+
+    /**
+     * Parses a topic into a resource identifier and gets the segments.
+     *
+     * @param blackhole The blackhole to consume the segments.
+     */
+    @Benchmark
+    public void resourceIdentifier(final Blackhole blackhole) {
+        final ResourceIdentifier resource = ResourceIdentifier.fromString(topic);
+        blackhole.consume(MetricsTags.EndpointType.fromString(resource.getEndpoint()));
+        blackhole.consume(resource.getTenantId());
+        blackhole.consume(resource.getResourceId());
+    }
+
+    /**
+     * Parses a topic into a resource identifier after decoding its property-bag
+     * and gets the segments and a property.
+     *
+     * @param blackhole The blackhole to consume the segments and property.
+     */
+    @Benchmark
+    public void resourceIdentifierWithPropertyBag(final Blackhole blackhole) {
+        final int index = topicWithPropertyBag.lastIndexOf("/?");
+        final Map<String, List<String>> properties = new QueryStringDecoder(topicWithPropertyBag.substring(index))
+                .parameters();
+        final ResourceIdentifier resource = ResourceIdentifier.fromString(topicWithPropertyBag.substring(0, index));
+        blackhole.consume(MetricsTags.EndpointType.fromString(resource.getEndpoint()));
+        blackhole.consume(resource.getTenantId());
+        blackhole.consume(resource.getResourceId());
+        blackhole.consume(properties.get(Constants.HEADER_TIME_TO_LIVE).get(0));
+    }
+
+    /**
+     * Parses a topic using a reused flyweight and gets the endpoint.
+     *
+     * @return The endpoint type.
+     */
+    @Benchmark
+    public MetricsTags.EndpointType publishTopic() {
+        publishTopic.parse(topic);
+        return MetricsTags.EndpointType.fromString(publishTopic.getEndpoint());
+    }
+
+    /**
+     * Parses a topic using a reused flyweight and gets the segments.
+     *
+     * @param blackhole The blackhole to consume the segments.
+     */
+    @Benchmark
+    public void publishTopicAndGetSegments(final Blackhole blackhole) {
+        publishTopic.parse(topic);
+        blackhole.consume(MetricsTags.EndpointType.fromString(publishTopic.getEndpoint()));
+        blackhole.consume(publishTopic.getTenantId());
+        blackhole.consume(publishTopic.getResourceId());
+    }
+
+    /**
+     * Parses a topic containing a property-bag using a reused flyweight and
+     * gets the segments and a property.
+     *
+     * @param blackhole The blackhole to consume the segments and property.
+     */
+    @Benchmark
+    public void publishTopicWithPropertyBag(final Blackhole blackhole) {
+        publishTopic.parse(topicWithPropertyBag);
+        blackhole.consume(MetricsTags.EndpointType.fromString(publishTopic.getEndpoint()));
+        blackhole.consume(publishTopic.getTenantId());
+        blackhole.consume(publishTopic.getResourceId());
+        blackhole.consume(publishTopic.getProperty(Constants.HEADER_TIME_TO_LIVE));
+    }
+
+    /**
+     * Parses a topic using a reused flyweight and creates a resource identifier from it.
+     *
+     * @return The identifier.
+     */
+    @Benchmark
+    public ResourceIdentifier publishTopicToResourceIdentifier() {
+        publishTopic.parse(topic);
+        return publishTopic.toResourceIdentifier();
+    }
+
+    /**
+     * An MQTT adapter that processes published messages like the standard MQTT adapter.
+     */
+    private static final class BenchmarkMqttProtocolAdapter
+            extends AbstractVertxBasedMqttProtocolAdapter<MqttProtocolAdapterProperties> {
+
+        @Override
+        protected String getTypeName() {
+            return Constants.PROTOCOL_ADAPTER_TYPE_MQTT;
+        }
+
+        @Override
+        protected Future<Void> onPublishedMessage(final MqttContext ctx) {
+            return validateAddress(ctx.topic(), ctx.authenticatedDevice())
+                    .compose(address -> uploadMessage(ctx, address, ctx.message()));
+        }
+
+        Future<Void> publish(final MqttContext ctx) {
+            return checkTopic(ctx).compose(ok -> onPublishedMessage(ctx));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.eclipse.hono.util.TelemetryConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for creating {@link ResourceIdentifier}s from the address
+ * information contained in device messages.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceIdentifierBenchmark {
+
+    private final String address = "telemetry/DEFAULT_TENANT/4711";
+    private final String addressWithoutTenant = "telemetry//4711";
+    private final String tenantId = "DEFAULT_TENANT";
+    private final String deviceId = "4711";
+
+    /**
+     * Parses an address containing endpoint, tenant and device ID.
+     *
+     * @return The identifier.
+     */
+    @Benchmark
+    public ResourceIdentifier fromString() {
+        return ResourceIdentifier.fromString(address);
+    }
+
+    /**
+     * Parses an address that does not contain a tenant ID.
+     *
+     * @return The identifier.
+     */
+    @Benchmark
+    public ResourceIdentifier fromStringAssumingDefaultTenant() {
+        return ResourceIdentifier.fromStringAssumingDefaultTenant(addressWithoutTenant);
+    }
+
+    /**
+     * Creates an identifier from its segments.
+     *
+     * @return The identifier.
+     */
+    @Benchmark
+    public ResourceIdentifier from() {
+        return ResourceIdentifier.from(TelemetryConstants.TELEMETRY_ENDPOINT, tenantId, deviceId);
+    }
+
+    /**
+     * Creates an identifier from its segments and gets its base path.
+     *
+     * @return The base path.
+     */
+    @Benchmark
+    public String fromAndGetBasePath() {
+        return ResourceIdentifier.from(TelemetryConstants.TELEMETRY_ENDPOINT, tenantId, deviceId).getBasePath();
+    }
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.TenantObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the {@link TenantObject} checks that protocol adapters
+ * perform for every message published by a device.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TenantObjectBenchmark {
+
+    private TenantObject tenantWithoutAdapterConfigs;
+    private TenantObject tenantWithAdapterConfigs;
+    private TenantObject precompiledTenantWithAdapterConfigs;
+
+    /**
+     * Sets up the tenants.
+     */
+    @Setup
+    public void setUp() {
+        tenantWithoutAdapterConfigs = TenantObject.from(Constants.DEFAULT_TENANT, true);
+        tenantWithAdapterConfigs = TenantObject.from(Constants.DEFAULT_TENANT, true)
+                .addAdapterConfiguration(TenantObject.newAdapterConfig(Constants.PROTOCOL_ADAPTER_TYPE_HTTP, true))
+                .addAdapterConfiguration(TenantObject.newAdapterConfig(Constants.PROTOCOL_ADAPTER_TYPE_AMQP, true))
+                .addAdapterConfiguration(TenantObject.newAdapterConfig(Constants.PROTOCOL_ADAPTER_TYPE_COAP, false))
+                .addAdapterConfiguration(TenantObject.newAdapterConfig(Constants.PROTOCOL_ADAPTER_TYPE_MQTT, true));
+        precompiledTenantWithAdapterConfigs = TenantObject.from(Constants.DEFAULT_TENANT, true)
+                .setAdapterConfigurations(tenantWithAdapterConfigs.getAdapterConfigurations())
+                .precompile();
+    }
+
+    /**
+     * Checks if an adapter is enabled for a tenant that has no adapter specific configuration.
+     *
+     * @return {@code true} if the adapter is enabled.
+     */
+    @Benchmark
+    public boolean isAdapterEnabledWithoutAdapterConfigs() {
+        return tenantWithoutAdapterConfigs.isAdapterEnabled(Constants.PROTOCOL_ADAPTER_TYPE_MQTT);
+    }
+
+    /**
+     * Checks if an adapter is enabled for a tenant that has adapter specific configuration.
+     *
+     * @return {@code true} if the adapter is enabled.
+     */
+    @Benchmark
+    public boolean isAdapterEnabledWithAdapterConfigs() {
+        return tenantWithAdapterConfigs.isAdapterEnabled(Constants.PROTOCOL_ADAPTER_TYPE_MQTT);
+    }
+
+    /**
+     * Gets the maximum time until disconnect for an adapter type.
+     *
+     * @return The number of seconds.
+     */
+    @Benchmark
+    public int getMaxTimeUntilDisconnect() {
+        return tenantWithAdapterConfigs.getMaxTimeUntilDisconnect(Constants.PROTOCOL_ADAPTER_TYPE_MQTT);
+    }
+
+    /**
+     * Checks if an adapter is enabled for a precompiled tenant that has adapter specific configuration.
+     *
+     * @return {@code true} if the adapter is enabled.
+     */
+    @Benchmark
+    public boolean isAdapterEnabledWithPrecompiledAdapterConfigs() {
+        return precompiledTenantWithAdapterConfigs.isAdapterEnabled(Constants.PROTOCOL_ADAPTER_TYPE_MQTT);
+    }
+
+    /**
+     * Gets the maximum time until disconnect for an adapter type from a precompiled tenant.
+     *
+     * @return The number of seconds.
+     */
+    @Benchmark
+    public int getMaxTimeUntilDisconnectPrecompiled() {
+        return precompiledTenantWithAdapterConfigs.getMaxTimeUntilDisconnect(Constants.PROTOCOL_ADAPTER_TYPE_MQTT);
+    }
+}
@@ -20,6 +20,7 @@ import java.util.function.Consumer;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.impl.ApplicationClientFactoryImpl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.proton.ProtonDelivery;
@@ -41,6 +42,18 @@ public interface ApplicationClientFactory extends ConnectionLifecycle<HonoConnec
         return new ApplicationClientFactoryImpl(connection);
     }
 
+    /**
+     * Creates a new factory for an existing connection.
+     *
+     * @param connection The connection to use.
+     * @param meterRegistry The registry to report metrics of the created consumers to.
+     * @return The factory.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    static ApplicationClientFactory create(final HonoConnection connection, final MeterRegistry meterRegistry) {
+        return new ApplicationClientFactoryImpl(connection, meterRegistry);
+    }
+
     /**
      * Creates a client for consuming data from Hono's north bound <em>Telemetry API</em>.
      *
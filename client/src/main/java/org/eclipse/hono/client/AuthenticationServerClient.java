@@ -14,9 +14,23 @@
 package org.eclipse.hono.client;
 
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import javax.security.sasl.AuthenticationException;
 
 import org.eclipse.hono.auth.HonoUser;
@@ -27,10 +41,15 @@ import org.eclipse.hono.util.MessageHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonClientOptions;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonMessageHandler;
@@ -39,13 +58,56 @@ import io.vertx.proton.sasl.MechanismMismatchException;
 
 /**
  * A client for retrieving a token from an authentication service via AMQP 1.0.
- *
+ * <p>
+ * The authentication service authenticates the SASL exchange of a connection, i.e. a separate
+ * connection needs to be established for each set of credentials to be verified. In order to
+ * reduce the number of connections, the client
+ * <ul>
+ * <li>uses a single connection for all concurrent requests to verify the same credentials and</li>
+ * <li>caches the tokens issued by the authentication service for verified credentials.</li>
+ * </ul>
+ * <p>
+ * Instances of this class are not thread safe and are expected to be used on a single
+ * vert.x context only.
  */
 public final class AuthenticationServerClient {
 
+    /**
+     * The name of the meter for the duration of the exchanges with the authentication service.
+     */
+    public static final String METER_AUTHENTICATION_DURATION = "hono.client.authentication.duration";
+    /**
+     * The name of the meter for lookups of tokens in the client's cache.
+     */
+    public static final String METER_TOKEN_CACHE_LOOKUPS = "hono.client.authentication.cache.lookups";
+    /**
+     * The default maximum number of tokens to cache.
+     */
+    public static final int DEFAULT_TOKEN_CACHE_MAX_SIZE = 1000;
+    /**
+     * The default maximum period of time that a token is cached for.
+     */
+    public static final Duration DEFAULT_TOKEN_CACHE_TIMEOUT = Duration.ofMinutes(5);
+
     private static final Logger LOG = LoggerFactory.getLogger(AuthenticationServerClient.class);
+    private static final String TAG_OUTCOME = "outcome";
+    private static final String TAG_RESULT = "result";
+    private static final String CACHE_KEY_ALGORITHM = "HmacSHA256";
+
     private final ConnectionFactory factory;
     private final Vertx vertx;
+    private final Map<String, List<Handler<AsyncResult<HonoUser>>>> pendingRequests = new HashMap<>();
+    private final Map<String, CachedToken> tokenCache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Mac cacheKeyMac;
+    private final Clock clock;
+
+    private int tokenCacheMaxSize = DEFAULT_TOKEN_CACHE_MAX_SIZE;
+    private Duration tokenCacheTimeout = DEFAULT_TOKEN_CACHE_TIMEOUT;
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+    private Timer successfulExchanges;
+    private Timer failedExchanges;
+    private Counter cacheHits;
+    private Counter cacheMisses;
 
     /**
      * Creates a client for a remote authentication server.
@@ -53,20 +115,120 @@ public final class AuthenticationServerClient {
      * @param vertx The Vert.x instance to run on.
      * @param connectionFactory The factory.
      * @throws NullPointerException if any of the parameters is {@code null}.
+     * @throws IllegalStateException if the JVM does not support HMAC-SHA256.
      */
     public AuthenticationServerClient(
             final Vertx vertx,
             final ConnectionFactory connectionFactory) {
+        this(vertx, connectionFactory, Clock.systemUTC());
+    }
+
+    AuthenticationServerClient(
+            final Vertx vertx,
+            final ConnectionFactory connectionFactory,
+            final Clock clock) {
 
         this.vertx = Objects.requireNonNull(vertx);
         this.factory = Objects.requireNonNull(connectionFactory);
+        this.clock = Objects.requireNonNull(clock);
+        this.cacheKeyMac = newCacheKeyMac();
+        initMeters();
+    }
+
+    /**
+     * Creates the MAC for computing the keys of cached tokens.
+     * <p>
+     * The MAC uses a random key that is never exposed, so that the cache keys
+     * cannot be used for checking guessed passwords.
+     */
+    private static Mac newCacheKeyMac() {
+
+        final byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        try {
+            final Mac mac = Mac.getInstance(CACHE_KEY_ALGORITHM);
+            mac.init(new SecretKeySpec(key, CACHE_KEY_ALGORITHM));
+            return mac;
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("JVM does not support " + CACHE_KEY_ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Sets the maximum number of tokens to cache.
+     * <p>
+     * A token issued by the authentication service is cached for half of its remaining
+     * lifetime so that clients presenting a cached token are not disconnected right away
+     * because the token expires. The period is limited by the
+     * {@linkplain #setTokenCacheTimeout(Duration) token cache timeout}.
+     * <p>
+     * The default value of this property is {@value #DEFAULT_TOKEN_CACHE_MAX_SIZE}.
+     *
+     * @param maxSize The maximum number of tokens. A value of 0 disables caching.
+     * @throws IllegalArgumentException if size is &lt; 0.
+     */
+    public void setTokenCacheMaxSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("max size must be >= 0");
+        }
+        this.tokenCacheMaxSize = maxSize;
+        tokenCache.clear();
+    }
+
+    /**
+     * Sets the maximum period of time that a token is cached for.
+     * <p>
+     * The expiration time contained in a token is not verified by this client.
+     * This property therefore limits the period of time that a token is reused
+     * regardless of its claimed lifetime.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TOKEN_CACHE_TIMEOUT}.
+     *
+     * @param timeout The maximum period of time.
+     * @throws NullPointerException if timeout is {@code null}.
+     * @throws IllegalArgumentException if timeout is negative.
+     */
+    public void setTokenCacheTimeout(final Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("timeout must not be negative");
+        }
+        this.tokenCacheTimeout = timeout;
+    }
+
+    /**
+     * Sets the registry to report metrics to.
+     * <p>
+     * The duration of the exchanges with the authentication service is reported by means of a timer
+     * named {@value #METER_AUTHENTICATION_DURATION} having an <em>outcome</em> tag, which is either
+     * <em>success</em> or <em>failure</em>. Lookups of tokens in the cache are reported by means of
+     * a counter named {@value #METER_TOKEN_CACHE_LOOKUPS} having a <em>result</em> tag, which is
+     * either <em>hit</em> or <em>miss</em>.
+     * <p>
+     * By default, the metrics are reported to Micrometer's global registry.
+     *
+     * @param registry The registry.
+     * @throws NullPointerException if registry is {@code null}.
+     */
+    public void setMeterRegistry(final MeterRegistry registry) {
+        this.meterRegistry = Objects.requireNonNull(registry);
+        initMeters();
+    }
+
+    private void initMeters() {
+        successfulExchanges = Timer.builder(METER_AUTHENTICATION_DURATION).tag(TAG_OUTCOME, "success").register(meterRegistry);
+        failedExchanges = Timer.builder(METER_AUTHENTICATION_DURATION).tag(TAG_OUTCOME, "failure").register(meterRegistry);
+        cacheHits = Counter.builder(METER_TOKEN_CACHE_LOOKUPS).tag(TAG_RESULT, "hit").register(meterRegistry);
+        cacheMisses = Counter.builder(METER_TOKEN_CACHE_LOOKUPS).tag(TAG_RESULT, "miss").register(meterRegistry);
     }
 
     /**
      * Verifies a Subject DN with a remote authentication server using SASL EXTERNAL.
      * <p>
      * This method currently always fails the handler because there is no way (yet) in vertx-proton
-     * to perform a SASL EXTERNAL exchange including an authorization id.
+     * to perform a SASL EXTERNAL exchange including an authorization id. Consequently, no
+     * exchange with the authentication server takes place so that the outcome is neither
+     * cached nor reported by means of the {@value #METER_AUTHENTICATION_DURATION} timer.
      * 
      * @param authzid The identity to act as.
      * @param subjectDn The Subject DN.
@@ -81,6 +243,9 @@ public final class AuthenticationServerClient {
 
     /**
      * Verifies username/password credentials with a remote authentication server using SASL PLAIN.
+     * <p>
+     * A token that has been issued for the same credentials before and that is still cached
+     * is returned without connecting to the authentication server.
      * 
      * @param authzid The identity to act as.
      * @param authcid The username.
@@ -91,6 +256,43 @@ public final class AuthenticationServerClient {
     public void verifyPlain(final String authzid, final String authcid, final String password,
             final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
 
+        final String key = getCacheKey(authzid, authcid, password);
+        final HonoUser cachedUser = getCachedUser(key);
+        if (cachedUser != null) {
+            LOG.debug("using cached token for [authcid: {}]", authcid);
+            authenticationResultHandler.handle(Future.succeededFuture(cachedUser));
+            return;
+        }
+
+        final List<Handler<AsyncResult<HonoUser>>> waitingHandlers = pendingRequests.get(key);
+        if (waitingHandlers != null) {
+            LOG.debug("waiting for pending verification of credentials [authcid: {}]", authcid);
+            waitingHandlers.add(authenticationResultHandler);
+            return;
+        }
+        final List<Handler<AsyncResult<HonoUser>>> handlers = new ArrayList<>();
+        handlers.add(authenticationResultHandler);
+        pendingRequests.put(key, handlers);
+
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        retrieveToken(authcid, password, s -> {
+            pendingRequests.remove(key);
+            final AsyncResult<HonoUser> result;
+            if (s.succeeded()) {
+                sample.stop(successfulExchanges);
+                putCachedUser(key, s.result());
+                result = Future.succeededFuture(s.result());
+            } else {
+                sample.stop(failedExchanges);
+                result = Future.failedFuture(s.cause());
+            }
+            handlers.forEach(handler -> handler.handle(result));
+        });
+    }
+
+    private void retrieveToken(final String authcid, final String password,
+            final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
+
         final ProtonClientOptions options = new ProtonClientOptions();
         options.setReconnectAttempts(3).setReconnectInterval(50);
         options.addEnabledSaslMechanism(AuthenticationConstants.MECHANISM_PLAIN);
@@ -114,6 +316,87 @@ public final class AuthenticationServerClient {
         });
     }
 
+    private String getCacheKey(final String authzid, final String authcid, final String password) {
+
+        // do not keep the password in memory
+        update(cacheKeyMac, authzid);
+        update(cacheKeyMac, authcid);
+        update(cacheKeyMac, password);
+        return Base64.getEncoder().encodeToString(cacheKeyMac.doFinal());
+    }
+
+    private static void update(final Mac mac, final String value) {
+        // prefix each value with its length to prevent ambiguous concatenations
+        final byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        mac.update((byte) (bytes.length >>> 24));
+        mac.update((byte) (bytes.length >>> 16));
+        mac.update((byte) (bytes.length >>> 8));
+        mac.update((byte) bytes.length);
+        mac.update(bytes);
+    }
+
+    private HonoUser getCachedUser(final String key) {
+
+        if (tokenCacheMaxSize == 0) {
+            return null;
+        }
+        final CachedToken cachedToken = tokenCache.get(key);
+        if (cachedToken == null) {
+            cacheMisses.increment();
+            return null;
+        } else if (cachedToken.isExpired(clock.instant())) {
+            tokenCache.remove(key);
+            cacheMisses.increment();
+            return null;
+        } else {
+            cacheHits.increment();
+            return cachedToken.user;
+        }
+    }
+
+    private void putCachedUser(final String key, final HonoUser user) {
+
+        if (tokenCacheMaxSize == 0) {
+            return;
+        }
+        final Instant expirationTime = getExpirationTime(user.getToken());
+        if (expirationTime == null) {
+            return;
+        }
+        final Instant now = clock.instant();
+        final Instant halfLifetime = now.plusMillis((expirationTime.toEpochMilli() - now.toEpochMilli()) / 2);
+        final Instant maxCachedUntil = now.plus(tokenCacheTimeout);
+        final Instant cachedUntil = halfLifetime.isBefore(maxCachedUntil) ? halfLifetime : maxCachedUntil;
+        if (cachedUntil.isAfter(now)) {
+            tokenCache.put(key, new CachedToken(user, cachedUntil));
+            if (tokenCache.size() > tokenCacheMaxSize) {
+                // evict least recently used token
+                tokenCache.remove(tokenCache.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * Gets the expiration time from the claims of a JWT.
+     * <p>
+     * The token's signature is not validated because the token has been received
+     * from the authentication service directly.
+     */
+    private static Instant getExpirationTime(final String token) {
+
+        final String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            final JsonObject claims = new JsonObject(new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8));
+            return Optional.ofNullable(claims.getLong("exp")).map(Instant::ofEpochSecond).orElse(null);
+        } catch (final RuntimeException e) {
+            LOG.debug("cannot determine expiration time of token issued by Authentication service", e);
+            return null;
+        }
+    }
+
     private ServiceInvocationException mapConnectionFailureToServiceInvocationException(final Throwable connectionFailureCause) {
         final ServiceInvocationException exception;
         if (connectionFailureCause == null) {
@@ -181,4 +464,19 @@ public final class AuthenticationServerClient {
         recv.open();
         return result;
     }
+
+    private static final class CachedToken {
+
+        private final HonoUser user;
+        private final Instant cachedUntil;
+
+        CachedToken(final HonoUser user, final Instant cachedUntil) {
+            this.user = user;
+            this.cachedUntil = cachedUntil;
+        }
+
+        boolean isExpired(final Instant now) {
+            return now.isAfter(cachedUntil);
+        }
+    }
 }
@@ -16,6 +16,7 @@ package org.eclipse.hono.client;
 import org.eclipse.hono.client.impl.CommandConsumer;
 import org.eclipse.hono.client.impl.CommandConsumerFactoryImpl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 
@@ -37,6 +38,23 @@ public interface CommandConsumerFactory extends ConnectionLifecycle<HonoConnecti
         return new CommandConsumerFactoryImpl(connection, gatewayMapper);
     }
 
+    /**
+     * Creates a new factory for an existing connection.
+     *
+     * @param connection The connection to the AMQP network.
+     * @param gatewayMapper The component mapping a command device id to the corresponding gateway device id.
+     * @param meterRegistry The registry to report the number of queued and running command consumer
+     *                      link re-creations to.
+     * @return The factory.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    static CommandConsumerFactory create(
+            final HonoConnection connection,
+            final GatewayMapper gatewayMapper,
+            final MeterRegistry meterRegistry) {
+        return new CommandConsumerFactoryImpl(connection, gatewayMapper, meterRegistry);
+    }
+
     /**
      * Creates a command consumer for a device.
      * <p>
@@ -17,6 +17,7 @@ package org.eclipse.hono.client;
 import org.eclipse.hono.cache.CacheProvider;
 import org.eclipse.hono.client.impl.CredentialsClientFactoryImpl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Future;
 
 /**
@@ -49,6 +50,24 @@ public interface CredentialsClientFactory extends ConnectionLifecycle<HonoConnec
         return new CredentialsClientFactoryImpl(connection, cacheProvider);
     }
 
+    /**
+     * Creates a new factory for an existing connection.
+     *
+     * @param connection The connection to use.
+     * @param cacheProvider The cache provider to use for creating caches for credential objects
+     *                      or {@code null} if credential objects should not be cached.
+     * @param meterRegistry The registry that the clients created by the factory report
+     *                      response cache lookups to.
+     * @return The factory.
+     * @throws NullPointerException if connection or meter registry are {@code null}.
+     */
+    static CredentialsClientFactory create(
+            final HonoConnection connection,
+            final CacheProvider cacheProvider,
+            final MeterRegistry meterRegistry) {
+        return new CredentialsClientFactoryImpl(connection, cacheProvider, meterRegistry);
+    }
+
     /**
      * Gets a client for interacting with Hono's <em>Credentials</em> API.
      * <p>
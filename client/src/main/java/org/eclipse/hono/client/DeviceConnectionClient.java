@@ -13,6 +13,10 @@
 
 package org.eclipse.hono.client;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
 import io.opentracing.SpanContext;
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
@@ -64,4 +68,58 @@ public interface DeviceConnectionClient extends RequestResponseClient {
      * @throws NullPointerException if device id is {@code null}.
      */
     Future<JsonObject> getLastKnownGatewayForDevice(String deviceId, SpanContext context);
+
+    /**
+     * Sets the last known gateways of multiple devices by means of a single request.
+     * <p>
+     * Implementations may split up the update into multiple requests if a single request
+     * would exceed the maximum message size supported by the service.
+     *
+     * @param gatewayIdsByDeviceId The gateway ids (or the device ids if the last message came from the
+     *            device directly) by device id.
+     * @param context The currently active OpenTracing span or {@code null} if no span is currently active.
+     *            An implementation should use this as the parent for any span it creates for tracing
+     *            the execution of this operation.
+     * @return A future indicating whether the operation succeeded or not.
+     * @throws NullPointerException if the map of gateway ids is {@code null}.
+     */
+    Future<Void> setLastKnownGatewaysForDevices(Map<String, String> gatewayIdsByDeviceId, SpanContext context);
+
+    /**
+     * Updates the last known gateway of a device in the local cache of this client, if any.
+     * <p>
+     * The service is not invoked. This method is intended to be used for making a gateway
+     * that is going to be set by other means, e.g. with some delay, visible to look ups
+     * by means of this client right away.
+     * <p>
+     * This default implementation does nothing.
+     *
+     * @param deviceId The device id.
+     * @param gatewayId The gateway id (or the device id if the last message came from the device directly).
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    default void updateLastKnownGatewayInCache(final String deviceId, final String gatewayId) {
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(gatewayId);
+    }
+
+    /**
+     * Gets the gateways that last acted on behalf of multiple devices by means of a single request.
+     *
+     * @param deviceIds The device ids.
+     * @param context The currently active OpenTracing span or {@code null} if no span is currently active.
+     *            An implementation should use this as the parent for any span it creates for tracing
+     *            the execution of this operation.
+     * @return A future indicating the result of the operation.
+     *         <p>
+     *         The future will succeed if a response with status 200 has been received from the device connection service.
+     *         In that case the value of the future will contain a <em>devices</em> property with an array of
+     *         JSON objects containing a <em>device-id</em> and a <em>gateway-id</em> property for each of
+     *         the given devices that a last known gateway is assigned to.
+     *         <p>
+     *         In case a status other then 200 is received, the future will fail with a
+     *         {@link ServiceInvocationException} containing the (error) status code returned by the service.
+     * @throws NullPointerException if device ids is {@code null}.
+     */
+    Future<JsonObject> getLastKnownGatewaysForDevices(Set<String> deviceIds, SpanContext context);
 }
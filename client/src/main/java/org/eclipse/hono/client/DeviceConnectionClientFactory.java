@@ -14,8 +14,10 @@
 
 package org.eclipse.hono.client;
 
+import org.eclipse.hono.cache.CacheProvider;
 import org.eclipse.hono.client.impl.DeviceConnectionClientFactoryImpl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Future;
 
 /**
@@ -32,7 +34,48 @@ public interface DeviceConnectionClientFactory extends ConnectionLifecycle<HonoC
      * @throws NullPointerException if connection is {@code null}
      */
     static DeviceConnectionClientFactory create(final HonoConnection connection) {
-        return new DeviceConnectionClientFactoryImpl(connection);
+        return new DeviceConnectionClientFactoryImpl(connection, null);
+    }
+
+    /**
+     * Creates a new factory for an existing connection.
+     * <p>
+     * The clients created by the factory keep the last known gateways of devices in a
+     * near cache for the connection's <em>responseCacheDefaultTimeout</em>. The gateways
+     * set by means of any client created with the same cache provider are put to the
+     * near cache as well.
+     *
+     * @param connection The connection to use.
+     * @param cacheProvider The cache provider to use for creating the near caches
+     *                      or {@code null} if last known gateways should not be cached.
+     * @return The factory.
+     * @throws NullPointerException if connection is {@code null}
+     */
+    static DeviceConnectionClientFactory create(final HonoConnection connection, final CacheProvider cacheProvider) {
+        return new DeviceConnectionClientFactoryImpl(connection, cacheProvider);
+    }
+
+    /**
+     * Creates a new factory for an existing connection.
+     * <p>
+     * The clients created by the factory keep the last known gateways of devices in a
+     * near cache for the connection's <em>responseCacheDefaultTimeout</em>. The gateways
+     * set by means of any client created with the same cache provider are put to the
+     * near cache as well.
+     *
+     * @param connection The connection to use.
+     * @param cacheProvider The cache provider to use for creating the near caches
+     *                      or {@code null} if last known gateways should not be cached.
+     * @param meterRegistry The registry that the clients created by the factory report
+     *                      response cache lookups to.
+     * @return The factory.
+     * @throws NullPointerException if connection or meter registry are {@code null}.
+     */
+    static DeviceConnectionClientFactory create(
+            final HonoConnection connection,
+            final CacheProvider cacheProvider,
+            final MeterRegistry meterRegistry) {
+        return new DeviceConnectionClientFactoryImpl(connection, cacheProvider, meterRegistry);
     }
 
     /**
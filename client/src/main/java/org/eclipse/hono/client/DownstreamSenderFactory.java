@@ -14,7 +14,10 @@
 
 package org.eclipse.hono.client;
 
+import java.util.List;
+
 import org.eclipse.hono.client.impl.DownstreamSenderFactoryImpl;
+import org.eclipse.hono.client.impl.PooledDownstreamSenderFactory;
 
 import io.vertx.core.Future;
 
@@ -35,6 +38,24 @@ public interface DownstreamSenderFactory extends ConnectionLifecycle<HonoConnect
         return new DownstreamSenderFactoryImpl(connection);
     }
 
+    /**
+     * Creates a new factory which distributes the sender links among multiple connections.
+     * <p>
+     * The links of a particular tenant are always created on the same connection.
+     *
+     * @param connections The connections to use. The connections are expected to be
+     *                    configured for the same peer.
+     * @return The factory.
+     * @throws NullPointerException if connections is {@code null}
+     * @throws IllegalArgumentException if the list of connections is empty.
+     */
+    static DownstreamSenderFactory create(final List<HonoConnection> connections) {
+        if (connections.size() == 1) {
+            return create(connections.get(0));
+        }
+        return new PooledDownstreamSenderFactory(connections);
+    }
+
     /**
      * Gets a client for sending data to Hono's south bound <em>Telemetry</em> API.
      * <p>
@@ -17,6 +17,7 @@ package org.eclipse.hono.client;
 import org.eclipse.hono.cache.CacheProvider;
 import org.eclipse.hono.client.impl.RegistrationClientFactoryImpl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Future;
 
 /**
@@ -49,6 +50,24 @@ public interface RegistrationClientFactory extends ConnectionLifecycle<HonoConne
         return new RegistrationClientFactoryImpl(connection, cacheProvider);
     }
 
+    /**
+     * Creates a new factory for an existing connection.
+     *
+     * @param connection The connection to use.
+     * @param cacheProvider The cache provider to use for creating caches for tenant objects
+     *                      or {@code null} if tenant objects should not be cached.
+     * @param meterRegistry The registry that the clients created by the factory report
+     *                      response cache lookups to.
+     * @return The factory.
+     * @throws NullPointerException if connection or meter registry are {@code null}.
+     */
+    static RegistrationClientFactory create(
+            final HonoConnection connection,
+            final CacheProvider cacheProvider,
+            final MeterRegistry meterRegistry) {
+        return new RegistrationClientFactoryImpl(connection, cacheProvider, meterRegistry);
+    }
+
     /**
      * Gets a client for invoking operations on a service implementing Hono's <em>Device Registration</em> API.
      *
@@ -33,10 +33,23 @@ public class RequestResponseClientConfigProperties extends ClientConfigPropertie
      * The default timeout for cached responses in seconds until they are considered invalid.
      */
     public static final long DEFAULT_RESPONSE_CACHE_TIMEOUT = 600L;
+    /**
+     * The default timeout for cached <em>404 Not Found</em> responses in seconds.
+     * A value of 0 means that such responses are not cached.
+     */
+    public static final long DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT = 0L;
+    /**
+     * The default period of time in seconds during which an expired response may still
+     * be served from the cache while it is being revalidated.
+     * A value of 0 means that expired responses are never served.
+     */
+    public static final long DEFAULT_RESPONSE_CACHE_STALE_TIMEOUT = 0L;
 
     private int responseCacheMinSize = DEFAULT_RESPONSE_CACHE_MIN_SIZE;
     private long responseCacheMaxSize = DEFAULT_RESPONSE_CACHE_MAX_SIZE;
     private long responseCacheDefaultTimeout = DEFAULT_RESPONSE_CACHE_TIMEOUT;
+    private long responseCacheNegativeTimeout = DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT;
+    private long responseCacheStaleTimeout = DEFAULT_RESPONSE_CACHE_STALE_TIMEOUT;
 
     /**
      * Gets the minimum size of the response cache.
@@ -129,4 +142,72 @@ public class RequestResponseClientConfigProperties extends ClientConfigPropertie
         }
         this.responseCacheDefaultTimeout = timeout;
     }
+
+    /**
+     * Gets the period of time after which cached <em>404 Not Found</em> responses are
+     * considered invalid.
+     * <p>
+     * This timeout is only used for responses that do not contain a cache directive.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT}.
+     *
+     * @return The timeout in seconds. A value of 0 indicates that such responses are not cached.
+     */
+    public final long getResponseCacheNegativeTimeout() {
+        return responseCacheNegativeTimeout;
+    }
+
+    /**
+     * Sets the period of time after which cached <em>404 Not Found</em> responses should be
+     * considered invalid.
+     * <p>
+     * Caching these responses prevents repeated invocations of the remote service for
+     * unknown resources, e.g. devices that are not registered. The timeout should therefore
+     * be chosen considerably shorter than the default timeout for regular responses.
+     * <p>
+     * This timeout is only used for responses that do not contain a cache directive.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT}.
+     *
+     * @param timeout The timeout in seconds. A value of 0 disables caching of such responses.
+     * @throws IllegalArgumentException if timeout is &lt; 0.
+     */
+    public final void setResponseCacheNegativeTimeout(final long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("negative cache timeout must not be negative");
+        }
+        this.responseCacheNegativeTimeout = timeout;
+    }
+
+    /**
+     * Gets the period of time during which an expired response may still be served from the
+     * cache while it is being revalidated.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RESPONSE_CACHE_STALE_TIMEOUT}.
+     *
+     * @return The period in seconds. A value of 0 indicates that expired responses are never served.
+     */
+    public final long getResponseCacheStaleTimeout() {
+        return responseCacheStaleTimeout;
+    }
+
+    /**
+     * Sets the period of time during which an expired response may still be served from the
+     * cache while it is being revalidated.
+     * <p>
+     * If set to a value &gt; 0, a request for which the cache only contains an expired response
+     * is answered with the expired response right away. At the same time, a single request is
+     * sent to the remote service in the background in order to refresh the cached response.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RESPONSE_CACHE_STALE_TIMEOUT}.
+     *
+     * @param timeout The period in seconds. A value of 0 disables serving expired responses.
+     * @throws IllegalArgumentException if timeout is &lt; 0.
+     */
+    public final void setResponseCacheStaleTimeout(final long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("stale cache timeout must not be negative");
+        }
+        this.responseCacheStaleTimeout = timeout;
+    }
 }
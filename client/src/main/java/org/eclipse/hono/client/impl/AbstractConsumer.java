@@ -13,12 +13,18 @@
 
 package org.eclipse.hono.client.impl;
 
+import java.util.function.BiFunction;
+
 import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.client.MessageConsumer;
+import org.eclipse.hono.config.ClientConfigProperties;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonReceiver;
 
 /**
@@ -27,6 +33,7 @@ import io.vertx.proton.ProtonReceiver;
 public abstract class AbstractConsumer extends AbstractHonoClient implements MessageConsumer {
 
     private Handler<String> localCloseHandler;
+    private AdaptiveCreditController creditController;
 
     /**
      * Creates an abstract message consumer.
@@ -40,6 +47,60 @@ public abstract class AbstractConsumer extends AbstractHonoClient implements Mes
         this.receiver = receiver;
     }
 
+    /**
+     * Creates a consumer for the messages of a tenant.
+     * <p>
+     * If {@linkplain ClientConfigProperties#isAdaptiveCreditEnabled() adaptive credit}
+     * is enabled in the connection's configuration, the receiver link is created without
+     * pre-fetching and its credit is managed by an {@link AdaptiveCreditController} using
+     * the number of initial credits as the maximum credit. Otherwise, the link is created
+     * with the number of initial credits as fixed pre-fetch size.
+     *
+     * @param con The connection to the server.
+     * @param endpoint The endpoint to consume messages from.
+     * @param tenantId The tenant to consume messages for.
+     * @param messageHandler The handler to invoke with each message received.
+     * @param closeHook The handler to invoke when the link is closed by the peer (may be {@code null}).
+     * @param consumerFactory The function to create the consumer for the established link with.
+     * @param meterRegistry The registry to report the credit of the link to if adaptive credit is enabled.
+     * @return A future indicating the outcome.
+     */
+    static Future<MessageConsumer> create(
+            final HonoConnection con,
+            final String endpoint,
+            final String tenantId,
+            final ProtonMessageHandler messageHandler,
+            final Handler<String> closeHook,
+            final BiFunction<HonoConnection, ProtonReceiver, AbstractConsumer> consumerFactory,
+            final MeterRegistry meterRegistry) {
+
+        final String sourceAddress = String.format("%s/%s", endpoint, tenantId);
+        final ClientConfigProperties config = con.getConfig();
+        if (config == null || !config.isAdaptiveCreditEnabled()) {
+            return con.createReceiver(
+                    sourceAddress,
+                    ProtonQoS.AT_LEAST_ONCE,
+                    messageHandler,
+                    closeHook)
+                    .compose(receiver -> Future.succeededFuture(consumerFactory.apply(con, receiver)));
+        }
+
+        final AdaptiveCreditController controller = new AdaptiveCreditController(
+                Math.max(1, config.getInitialCredits()), meterRegistry, endpoint, tenantId);
+        return con.createReceiver(
+                sourceAddress,
+                ProtonQoS.AT_LEAST_ONCE,
+                controller.wrap(messageHandler),
+                0,
+                controller.wrapCloseHook(closeHook))
+                .map(receiver -> {
+                    controller.start(receiver);
+                    final AbstractConsumer consumer = consumerFactory.apply(con, receiver);
+                    consumer.creditController = controller;
+                    return consumer;
+                });
+    }
+
     /**
      * Sets a handler which will be invoked after this consumer has been
      * locally closed.
@@ -50,6 +111,18 @@ public abstract class AbstractConsumer extends AbstractHonoClient implements Mes
         this.localCloseHandler = handler;
     }
 
+    /**
+     * Releases the resources held for this consumer's link after the
+     * connection to the server has been lost.
+     * <p>
+     * In particular, removes the gauges reporting the link's credit.
+     */
+    void onDisconnect() {
+        if (creditController != null) {
+            creditController.close();
+        }
+    }
+
     @Override
     public int getRemainingCredit() {
         return receiver.getCredit() - receiver.getQueued();
@@ -63,6 +136,9 @@ public abstract class AbstractConsumer extends AbstractHonoClient implements Mes
     @Override
     public void close(final Handler<AsyncResult<Void>> closeHandler) {
 
+        if (creditController != null) {
+            creditController.close();
+        }
         closeLinks(ok -> {
             if (localCloseHandler != null) {
                 localCloseHandler.handle(receiver.getSource().getAddress());
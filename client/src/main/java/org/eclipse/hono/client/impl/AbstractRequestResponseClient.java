@@ -14,12 +14,16 @@ package org.eclipse.hono.client.impl;
 
 import java.net.HttpURLConnection;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import org.apache.qpid.proton.amqp.messaging.Accepted;
@@ -46,6 +50,9 @@ import org.eclipse.hono.util.TriTuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.tag.Tags;
@@ -71,6 +78,11 @@ import io.vertx.proton.ProtonSender;
 public abstract class AbstractRequestResponseClient<R extends RequestResponseResult<?>>
         extends AbstractHonoClient implements RequestResponseClient {
 
+    /**
+     * The name of the counter that is used for reporting response cache lookups.
+     */
+    public static final String METER_CACHE_LOOKUPS = "hono.client.cache.lookups";
+
     private static final Logger LOG = LoggerFactory.getLogger(AbstractRequestResponseClient.class);
     private static final int[] CACHEABLE_STATUS_CODES = new int[] {
                             HttpURLConnection.HTTP_OK,
@@ -95,6 +107,15 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
      * A cache to use for responses received from the service.
      */
     private ExpiringValueCache<Object, R> responseCache;
+    /**
+     * The result handlers of the callers waiting for the outcome of an outstanding
+     * request, indexed by the request's cache key.
+     */
+    private final Map<Object, List<Future<R>>> pendingRequests = new ConcurrentHashMap<>();
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+    private Counter cacheHits;
+    private Counter cacheMisses;
+    private Counter cacheStaleHits;
 
     private long requestTimeoutMillis;
 
@@ -231,6 +252,25 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         LOG.info("enabling caching of responses from {}", getName());
     }
 
+    /**
+     * Sets the registry to report response cache lookups to.
+     * <p>
+     * The number of lookups is reported by means of a counter named {@value #METER_CACHE_LOOKUPS}
+     * having tags for the endpoint name and the <em>result</em> of the lookup, which is one of
+     * <em>hit</em>, <em>miss</em> or <em>stale</em>.
+     * <p>
+     * By default, the lookups are reported to Micrometer's global registry.
+     *
+     * @param registry The registry.
+     * @throws NullPointerException if registry is {@code null}.
+     */
+    public final void setMeterRegistry(final MeterRegistry registry) {
+        this.meterRegistry = Objects.requireNonNull(registry);
+        this.cacheHits = null;
+        this.cacheMisses = null;
+        this.cacheStaleHits = null;
+    }
+
     /**
      * Gets the default value for the period of time after which an entry in the response cache
      * is considered invalid.
@@ -253,6 +293,50 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         }
     }
 
+    /**
+     * Gets the period of time after which a cached <em>404 Not Found</em> response
+     * is considered invalid.
+     * <p>
+     * The value is derived from the configuration properties as follows:
+     * <ol>
+     * <li>if the properties are of type {@link RequestResponseClientConfigProperties}
+     * then the value of its <em>responseCacheNegativeTimeout</em> property is used</li>
+     * <li>otherwise the {@linkplain RequestResponseClientConfigProperties#DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT
+     * default negative timeout value} is used</li>
+     * </ol>
+     *
+     * @return The timeout period in seconds.
+     */
+    protected final long getResponseCacheNegativeTimeout() {
+        if (connection.getConfig() instanceof RequestResponseClientConfigProperties) {
+            return ((RequestResponseClientConfigProperties) connection.getConfig()).getResponseCacheNegativeTimeout();
+        } else {
+            return RequestResponseClientConfigProperties.DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT;
+        }
+    }
+
+    /**
+     * Gets the period of time during which an expired response may still be
+     * served from the cache while it is being revalidated.
+     * <p>
+     * The value is derived from the configuration properties as follows:
+     * <ol>
+     * <li>if the properties are of type {@link RequestResponseClientConfigProperties}
+     * then the value of its <em>responseCacheStaleTimeout</em> property is used</li>
+     * <li>otherwise the {@linkplain RequestResponseClientConfigProperties#DEFAULT_RESPONSE_CACHE_STALE_TIMEOUT
+     * default stale timeout value} is used</li>
+     * </ol>
+     *
+     * @return The period in seconds.
+     */
+    protected final long getResponseCacheStaleTimeout() {
+        if (connection.getConfig() instanceof RequestResponseClientConfigProperties) {
+            return ((RequestResponseClientConfigProperties) connection.getConfig()).getResponseCacheStaleTimeout();
+        } else {
+            return RequestResponseClientConfigProperties.DEFAULT_RESPONSE_CACHE_STALE_TIMEOUT;
+        }
+    }
+
     /**
      * Sets the period of time after which any requests are considered to have timed out.
      * <p>
@@ -983,13 +1067,176 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
                 TracingHelper.TAG_CACHE_HIT.set(currentSpan, result != null);
             }
             if (result == null) {
+                countCacheLookup(CacheLookupResult.MISS);
                 return Future.failedFuture("cache miss");
             } else {
+                countCacheLookup(CacheLookupResult.HIT);
                 return Future.succeededFuture(result);
             }
         }
     }
 
+    /**
+     * Gets a response from the cache or from the peer.
+     * <p>
+     * If the cache contains a valid response for the key, the response is returned.
+     * <p>
+     * Otherwise, if the cache contains a response that has expired less than
+     * {@linkplain #getResponseCacheStaleTimeout() stale timeout} seconds ago,
+     * the expired response is returned right away and the given function is invoked
+     * in order to refresh the cached response in the background. At most one such
+     * revalidation request is outstanding per key at any time.
+     * <p>
+     * Otherwise, the given function is invoked in order to get the response from the peer.
+     * <p>
+     * Requests for the same key are coalesced, i.e. if a request for the key is already
+     * outstanding, the given function is not invoked but the returned future is completed
+     * with the outcome of the outstanding request instead. This is also the case if no
+     * cache has been set.
+     * <p>
+     * Sets a tag on the given span according to whether there was a cache hit.
+     *
+     * @param key The key to get the response for.
+     * @param currentSpan The span to mark.
+     * @param requestSender The function to invoke for getting the response from the peer.
+     *                      The function is expected to send the request using the given key
+     *                      as the cache key. The span passed in to the function is to be used for
+     *                      tracing the request but must not be finished by the function.
+     * @return A future containing the response.
+     * @throws NullPointerException if current span or request sender are {@code null}.
+     */
+    protected final Future<R> getResponseFromCacheOrPeer(
+            final Object key,
+            final Span currentSpan,
+            final Function<Span, Future<R>> requestSender) {
+
+        Objects.requireNonNull(currentSpan);
+        Objects.requireNonNull(requestSender);
+
+        if (key == null) {
+            return requestSender.apply(currentSpan);
+        } else if (responseCache == null) {
+            return sendCoalescedRequest(key, currentSpan, requestSender);
+        }
+
+        final R result = responseCache.get(key);
+        if (result != null) {
+            TracingHelper.TAG_CACHE_HIT.set(currentSpan, Boolean.TRUE);
+            countCacheLookup(CacheLookupResult.HIT);
+            return Future.succeededFuture(result);
+        }
+
+        if (getResponseCacheStaleTimeout() > 0) {
+            final R staleResult = responseCache.get(new StaleCacheKey(key));
+            if (staleResult != null) {
+                TracingHelper.TAG_CACHE_HIT.set(currentSpan, Boolean.TRUE);
+                currentSpan.log("serving expired response from cache");
+                countCacheLookup(CacheLookupResult.STALE);
+                revalidate(key, currentSpan, requestSender);
+                return Future.succeededFuture(staleResult);
+            }
+        }
+
+        TracingHelper.TAG_CACHE_HIT.set(currentSpan, Boolean.FALSE);
+        countCacheLookup(CacheLookupResult.MISS);
+        return sendCoalescedRequest(key, currentSpan, requestSender);
+    }
+
+    /**
+     * Sends a request unless a request for the same key is already outstanding.
+     *
+     * @param key The key of the request.
+     * @param currentSpan The span to use for tracing the request.
+     * @param requestSender The function to invoke for sending the request.
+     * @return A future indicating the outcome of the (shared) request.
+     */
+    private Future<R> sendCoalescedRequest(
+            final Object key,
+            final Span currentSpan,
+            final Function<Span, Future<R>> requestSender) {
+
+        final Future<R> result = Future.future();
+        final AtomicBoolean outstanding = new AtomicBoolean(true);
+        pendingRequests.compute(key, (k, existingWaiters) -> {
+            if (existingWaiters == null) {
+                outstanding.set(false);
+                final List<Future<R>> waiters = new ArrayList<>(1);
+                waiters.add(result);
+                return waiters;
+            } else {
+                existingWaiters.add(result);
+                return existingWaiters;
+            }
+        });
+
+        if (outstanding.get()) {
+            LOG.trace("joining outstanding request [endpoint: {}, key: {}]", getName(), key);
+            currentSpan.log("joining outstanding request for same resource");
+            return result;
+        }
+
+        Future<R> response;
+        try {
+            response = requestSender.apply(currentSpan);
+        } catch (final RuntimeException e) {
+            response = Future.failedFuture(e);
+        }
+        response.setHandler(ar -> {
+            final List<Future<R>> completedWaiters = pendingRequests.remove(key);
+            if (completedWaiters != null) {
+                completedWaiters.forEach(waiter -> waiter.handle(ar));
+            }
+        });
+        return result;
+    }
+
+    private void revalidate(final Object key, final Span currentSpan, final Function<Span, Future<R>> requestSender) {
+
+        if (pendingRequests.containsKey(key)) {
+            currentSpan.log("revalidation of cached response already in progress");
+        } else {
+            LOG.debug("revalidating cached response [endpoint: {}, key: {}]", getName(), key);
+            final Span revalidationSpan = newFollowingSpan(currentSpan.context(), "revalidate cached response");
+            sendCoalescedRequest(key, revalidationSpan, requestSender).setHandler(ar -> {
+                if (ar.failed()) {
+                    LOG.debug("failed to revalidate cached response [endpoint: {}, key: {}]", getName(), key, ar.cause());
+                    TracingHelper.logError(revalidationSpan, ar.cause());
+                }
+                revalidationSpan.finish();
+            });
+        }
+    }
+
+    private void countCacheLookup(final CacheLookupResult result) {
+
+        switch (result) {
+        case HIT:
+            if (cacheHits == null) {
+                cacheHits = newCacheLookupCounter(result);
+            }
+            cacheHits.increment();
+            break;
+        case STALE:
+            if (cacheStaleHits == null) {
+                cacheStaleHits = newCacheLookupCounter(result);
+            }
+            cacheStaleHits.increment();
+            break;
+        default:
+            if (cacheMisses == null) {
+                cacheMisses = newCacheLookupCounter(result);
+            }
+            cacheMisses.increment();
+        }
+    }
+
+    private Counter newCacheLookupCounter(final CacheLookupResult result) {
+        return Counter.builder(METER_CACHE_LOOKUPS)
+                .tag("endpoint", getName())
+                .tag("result", result.getValue())
+                .register(meterRegistry);
+    }
+
     /**
      * Adds a response to the cache.
      * <p>
@@ -1001,11 +1248,21 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
      * one of the codes defined by <a href="https://tools.ietf.org/html/rfc2616#section-13.4">
      * RFC 2616, Section 13.4 Response Cacheability</a>, the response is put to the cache using
      * the default timeout returned by {@link #getResponseCacheDefaultTimeout()}<li>
+     * <li>else if the response does not contain any cache directive and the response's status code is
+     * <em>404 Not Found</em>, the response is put to the cache using the timeout returned by
+     * {@link #getResponseCacheNegativeTimeout()}</li>
      * <li>else if the response contains a <em>max-age</em> directive, the response
      * is put to the cache using the max age from the directive.</li>
      * <li>else if the response contains a <em>no-cache</em> directive, the response
      * is not put to the cache.</li>
      * </ol>
+     * <p>
+     * If a {@linkplain #getResponseCacheStaleTimeout() stale timeout} is configured, the response is
+     * additionally kept in the cache for that period of time after it has expired so that it can be
+     * served while being revalidated.
+     * <p>
+     * A <em>404 Not Found</em> response that is not put to the cache removes any response that has
+     * been cached for the key before, so that the (no longer existing) resource is not served anymore.
      * 
      * @param key The key to use for the response.
      * @param response The response to cache.
@@ -1021,15 +1278,26 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
                     .orElseGet(() -> {
                         if (isCacheableStatusCode(response.getStatus())) {
                             return CacheDirective.maxAgeDirective(getResponseCacheDefaultTimeout());
+                        } else if (response.getStatus() == HttpURLConnection.HTTP_NOT_FOUND
+                                && getResponseCacheNegativeTimeout() > 0) {
+                            return CacheDirective.maxAgeDirective(getResponseCacheNegativeTimeout());
                         } else {
                             return CacheDirective.noCacheDirective();
                         }
                     });
 
-            if (cacheDirective.isCachingAllowed()) {
-                if (cacheDirective.getMaxAge() > 0) {
-                    responseCache.put(key, response, Duration.ofSeconds(cacheDirective.getMaxAge()));
+            if (cacheDirective.isCachingAllowed() && cacheDirective.getMaxAge() > 0) {
+                responseCache.put(key, response, Duration.ofSeconds(cacheDirective.getMaxAge()));
+                final long staleTimeout = getResponseCacheStaleTimeout();
+                if (staleTimeout > 0) {
+                    responseCache.put(
+                            new StaleCacheKey(key),
+                            response,
+                            Duration.ofSeconds(cacheDirective.getMaxAge() + staleTimeout));
                 }
+            } else if (response.getStatus() == HttpURLConnection.HTTP_NOT_FOUND) {
+                responseCache.remove(key);
+                responseCache.remove(new StaleCacheKey(key));
             }
         }
     }
@@ -1099,4 +1367,58 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
             return resultMapper.apply(resultValue);
         });
     }
+
+    /**
+     * The possible outcomes of a response cache lookup.
+     */
+    private enum CacheLookupResult {
+
+        HIT("hit"),
+        MISS("miss"),
+        STALE("stale");
+
+        private final String value;
+
+        CacheLookupResult(final String value) {
+            this.value = value;
+        }
+
+        String getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * The key under which a copy of a cached response is kept after the
+     * response has expired.
+     */
+    private static final class StaleCacheKey {
+
+        private final Object key;
+
+        StaleCacheKey(final Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (obj instanceof StaleCacheKey) {
+                return key.equals(((StaleCacheKey) obj).key);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + 1;
+        }
+
+        @Override
+        public String toString() {
+            return "stale:" + key;
+        }
+    }
 }
@@ -21,6 +21,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import org.apache.qpid.proton.amqp.messaging.Accepted;
 import org.apache.qpid.proton.amqp.messaging.Modified;
@@ -47,6 +49,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonSender;
 
 /**
@@ -73,7 +76,9 @@ public abstract class AbstractSender extends AbstractHonoClient implements Messa
      */
     protected final String targetAddress;
 
+    private final String messageIdPrefix;
     private Handler<Void> drainHandler;
+    private HashedTimeoutWheel timeoutWheel;
 
     /**
      * Creates a new sender.
@@ -95,6 +100,7 @@ public abstract class AbstractSender extends AbstractHonoClient implements Messa
         this.sender = Objects.requireNonNull(sender);
         this.tenantId = Objects.requireNonNull(tenantId);
         this.targetAddress = targetAddress;
+        this.messageIdPrefix = getClass().getSimpleName() + "-";
         if (sender.isOpen()) {
             this.offeredCapabilities = Optional.ofNullable(sender.getRemoteOfferedCapabilities())
                     .map(caps -> Collections.unmodifiableList(Arrays.asList(caps)))
@@ -132,6 +138,7 @@ public abstract class AbstractSender extends AbstractHonoClient implements Messa
     public final void close(final Handler<AsyncResult<Void>> closeHandler) {
         Objects.requireNonNull(closeHandler);
         log.debug("closing sender ...");
+        stopDeliveryTimeouts();
         closeLinks(ok -> closeHandler.handle(Future.succeededFuture()));
     }
 
@@ -251,27 +258,23 @@ public abstract class AbstractSender extends AbstractHonoClient implements Messa
         Objects.requireNonNull(currentSpan);
 
         final Future<ProtonDelivery> result = Future.future();
-        final String messageId = String.format("%s-%d", getClass().getSimpleName(), MESSAGE_COUNTER.getAndIncrement());
+        final String messageId = newMessageId();
         message.setMessageId(messageId);
         logMessageIdAndSenderInfo(currentSpan, messageId);
 
-        final Long timerId = connection.getConfig().getSendMessageTimeout() > 0
-                ? connection.getVertx().setTimer(connection.getConfig().getSendMessageTimeout(), id -> {
-                    if (!result.isComplete()) {
-                        final ServerErrorException exception = new ServerErrorException(
-                                HttpURLConnection.HTTP_UNAVAILABLE,
-                                "waiting for delivery update timed out after " + connection.getConfig().getSendMessageTimeout() + "ms");
-                        log.debug("waiting for delivery update timed out for message [message ID: {}] after {}ms",
-                                messageId, connection.getConfig().getSendMessageTimeout());
-                        result.fail(exception);
-                    }
-                })
-                : null;
+        final HashedTimeoutWheel.Timeout timeout = startDeliveryTimeout(timeoutReached -> {
+            if (!result.isComplete()) {
+                final ServerErrorException exception = new ServerErrorException(
+                        HttpURLConnection.HTTP_UNAVAILABLE,
+                        "waiting for delivery update timed out after " + connection.getConfig().getSendMessageTimeout() + "ms");
+                log.debug("waiting for delivery update timed out for message [message ID: {}] after {}ms",
+                        messageId, connection.getConfig().getSendMessageTimeout());
+                result.fail(exception);
+            }
+        });
 
         sender.send(message, deliveryUpdated -> {
-            if (timerId != null) {
-                connection.getVertx().cancelTimer(timerId);
-            }
+            timeout.cancel();
             final DeliveryState remoteState = deliveryUpdated.getRemoteState();
             if (result.isComplete()) {
                 log.debug("ignoring received delivery update for message [message ID: {}]: waiting for the update has already timed out", messageId);
@@ -319,6 +322,114 @@ public abstract class AbstractSender extends AbstractHonoClient implements Messa
         });
     }
 
+    /**
+     * Creates a new identifier for a message to be sent.
+     * <p>
+     * The identifier consists of the simple name of this sender's class
+     * and a (JVM wide) sequence number.
+     *
+     * @return The identifier.
+     */
+    protected final String newMessageId() {
+        return messageIdPrefix + MESSAGE_COUNTER.getAndIncrement();
+    }
+
+    /**
+     * Starts tracking the timeout for the delivery update of a message that is about to be sent.
+     * <p>
+     * The given handler is invoked once the {@linkplain ClientConfigProperties#getSendMessageTimeout()
+     * send message timeout} has elapsed, unless the returned timeout has been cancelled before.
+     * Depending on {@link ClientConfigProperties#isSendMessageTimeoutWheelEnabled()}, the timeout
+     * is either tracked by means of a separate vert.x timer or by means of a timing wheel that is
+     * shared by all messages sent over this sender's link.
+     * <p>
+     * This method must be invoked on the connection's vert.x context.
+     *
+     * @param timeoutHandler The handler to invoke when the timeout has been reached.
+     * @return The timeout. The timeout needs to be cancelled once the delivery update
+     *         for the message has been received.
+     *         If no send message timeout is configured, a timeout that never fires is returned.
+     * @throws NullPointerException if handler is {@code null}.
+     */
+    protected final HashedTimeoutWheel.Timeout startDeliveryTimeout(final Handler<Void> timeoutHandler) {
+
+        Objects.requireNonNull(timeoutHandler);
+        final ClientConfigProperties config = connection.getConfig();
+        if (config.getSendMessageTimeout() <= 0) {
+            return HashedTimeoutWheel.Timeout.NOOP;
+        } else if (config.isSendMessageTimeoutWheelEnabled()) {
+            if (timeoutWheel == null) {
+                timeoutWheel = new HashedTimeoutWheel(connection.getVertx());
+            }
+            return timeoutWheel.schedule(config.getSendMessageTimeout(), timeoutHandler);
+        } else {
+            final long timerId = connection.getVertx().setTimer(config.getSendMessageTimeout(),
+                    id -> timeoutHandler.handle(null));
+            return () -> connection.getVertx().cancelTimer(timerId);
+        }
+    }
+
+    /**
+     * Sets the timing wheel to use for tracking delivery timeouts.
+     * <p>
+     * This method is intended for testing purposes only. By default, a wheel is
+     * created on demand when the first timeout is tracked.
+     *
+     * @param wheel The wheel.
+     */
+    void setTimeoutWheel(final HashedTimeoutWheel wheel) {
+        this.timeoutWheel = wheel;
+    }
+
+    /**
+     * Stops tracking the timeouts for the delivery updates of messages sent over this
+     * sender's link.
+     * <p>
+     * The handlers of all pending timeouts are invoked immediately because no more
+     * delivery updates will be received once the link has been closed.
+     */
+    private void stopDeliveryTimeouts() {
+        if (timeoutWheel != null) {
+            timeoutWheel.close();
+        }
+    }
+
+    /**
+     * Creates a sender link and a client for sending messages over it.
+     * <p>
+     * The timeouts for the delivery updates of the messages sent by the client
+     * are stopped when the link gets detached by the peer.
+     *
+     * @param <T> The type of client.
+     * @param con The connection to create the link on.
+     * @param targetAddress The target address of the link.
+     * @param closeHook The handler to invoke when the link is closed by the peer (may be {@code null}).
+     * @param clientFactory The factory to use for creating the client for the link.
+     * @return A future indicating the outcome of creating the link and the client.
+     * @throws NullPointerException if any of connection or factory are {@code null}.
+     */
+    protected static <T extends AbstractSender> Future<T> createSender(
+            final HonoConnection con,
+            final String targetAddress,
+            final Handler<String> closeHook,
+            final Function<ProtonSender, T> clientFactory) {
+
+        Objects.requireNonNull(con);
+        Objects.requireNonNull(clientFactory);
+
+        final AtomicReference<T> client = new AtomicReference<>();
+        return con.createSender(targetAddress, ProtonQoS.AT_LEAST_ONCE, address -> {
+            Optional.ofNullable(client.get()).ifPresent(AbstractSender::stopDeliveryTimeouts);
+            if (closeHook != null) {
+                closeHook.handle(address);
+            }
+        }).map(sender -> {
+            final T newClient = clientFactory.apply(sender);
+            client.set(newClient);
+            return newClient;
+        });
+    }
+
     /**
      * Creates a log entry in the given span with the message id and information about the sender (credits, QOS).
      * 
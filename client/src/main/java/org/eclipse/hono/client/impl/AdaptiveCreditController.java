@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.core.Handler;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Manages the credit of a receiver link based on the rate at which the
+ * application processes the received messages.
+ * <p>
+ * The controller keeps track of the (exponentially weighted) average time that the
+ * application's message handler takes to process a message. From that, it determines
+ * the number of messages that can be processed within {@link #TARGET_BACKLOG_PROCESSING_TIME}
+ * and uses this number as the <em>credit window</em>, i.e. the maximum number of messages
+ * that may be in flight to or queued at the receiver. The window is bounded by a
+ * maximum credit which corresponds to a fixed pre-fetch size.
+ * <p>
+ * Credit is replenished in batches once the outstanding credit and the backlog of
+ * queued messages have dropped to half of the window.
+ * <p>
+ * The current credit and the number of queued messages are reported by means of
+ * gauges named {@value #METER_CREDIT} and {@value #METER_QUEUED} having tags for
+ * the endpoint, the tenant and the name of the link. The gauges are removed when the
+ * controller is closed.
+ * <p>
+ * Instances of this class are not thread safe and are expected to be used on the
+ * vert.x context of the receiver only.
+ */
+final class AdaptiveCreditController {
+
+    /**
+     * The name of the gauge that is used for reporting the credit of the receiver.
+     */
+    static final String METER_CREDIT = "hono.client.consumer.credit";
+    /**
+     * The name of the gauge that is used for reporting the number of queued messages.
+     */
+    static final String METER_QUEUED = "hono.client.consumer.queued";
+    /**
+     * The amount of time (nanoseconds) that the application should need for
+     * processing all messages in the credit window.
+     */
+    static final long TARGET_BACKLOG_PROCESSING_TIME = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private final int maxCredit;
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final LongSupplier clock;
+    private final List<Meter> meters = new ArrayList<>(2);
+
+    private ProtonReceiver receiver;
+    private double averageProcessingTime = -1;
+    private int window;
+
+    /**
+     * Creates a new controller.
+     *
+     * @param maxCredit The maximum credit to issue.
+     * @param registry The registry to report the credit and queue depth to.
+     * @param endpoint The endpoint of the link.
+     * @param tenantId The tenant of the link.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if max credit is &lt; 1.
+     */
+    AdaptiveCreditController(
+            final int maxCredit,
+            final MeterRegistry registry,
+            final String endpoint,
+            final String tenantId) {
+        this(maxCredit, registry, endpoint, tenantId, System::nanoTime);
+    }
+
+    /**
+     * Creates a new controller using a given clock.
+     *
+     * @param maxCredit The maximum credit to issue.
+     * @param registry The registry to report the credit and queue depth to.
+     * @param endpoint The endpoint of the link.
+     * @param tenantId The tenant of the link.
+     * @param clock The clock to measure processing time with (nanoseconds).
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if max credit is &lt; 1.
+     */
+    AdaptiveCreditController(
+            final int maxCredit,
+            final MeterRegistry registry,
+            final String endpoint,
+            final String tenantId,
+            final LongSupplier clock) {
+
+        if (maxCredit < 1) {
+            throw new IllegalArgumentException("max credit must be at least 1");
+        }
+        this.maxCredit = maxCredit;
+        this.registry = Objects.requireNonNull(registry);
+        this.tags = Tags.of("endpoint", Objects.requireNonNull(endpoint), "tenant", Objects.requireNonNull(tenantId));
+        this.clock = Objects.requireNonNull(clock);
+        this.window = maxCredit;
+    }
+
+    /**
+     * Wraps a message handler so that its processing time is measured and
+     * credit is replenished after each message.
+     *
+     * @param handler The handler to wrap.
+     * @return The wrapped handler.
+     * @throws NullPointerException if handler is {@code null}.
+     */
+    ProtonMessageHandler wrap(final ProtonMessageHandler handler) {
+
+        Objects.requireNonNull(handler);
+        return (delivery, message) -> {
+            final long start = clock.getAsLong();
+            try {
+                handler.handle(delivery, message);
+            } finally {
+                onMessageProcessed(clock.getAsLong() - start);
+            }
+        };
+    }
+
+    /**
+     * Wraps a hook to be invoked when the link is closed by the peer so that
+     * this controller is closed as well.
+     *
+     * @param closeHook The hook to wrap (may be {@code null}).
+     * @return The wrapped hook.
+     */
+    Handler<String> wrapCloseHook(final Handler<String> closeHook) {
+
+        return address -> {
+            close();
+            if (closeHook != null) {
+                closeHook.handle(address);
+            }
+        };
+    }
+
+    /**
+     * Starts managing the credit of a receiver.
+     * <p>
+     * Issues the initial credit and registers the gauges for the receiver, tagged
+     * with the receiver's link name.
+     *
+     * @param receiver The receiver. The receiver is expected to have been created
+     *                 with a pre-fetch size of 0.
+     * @throws NullPointerException if receiver is {@code null}.
+     */
+    void start(final ProtonReceiver receiver) {
+
+        this.receiver = Objects.requireNonNull(receiver);
+        final Tags linkTags = tags.and("link", receiver.getName());
+        meters.add(Gauge.builder(METER_CREDIT, receiver, ProtonReceiver::getCredit)
+                .tags(linkTags)
+                .register(registry));
+        meters.add(Gauge.builder(METER_QUEUED, receiver, ProtonReceiver::getQueued)
+                .tags(linkTags)
+                .register(registry));
+        replenish();
+    }
+
+    /**
+     * Removes the gauges registered for the receiver.
+     * <p>
+     * This method may be invoked multiple times.
+     */
+    void close() {
+        meters.forEach(registry::remove);
+        meters.clear();
+    }
+
+    /**
+     * Gets the current credit window.
+     *
+     * @return The maximum number of messages that may be in flight or queued.
+     */
+    int getWindow() {
+        return window;
+    }
+
+    private void onMessageProcessed(final long processingTime) {
+
+        if (averageProcessingTime < 0) {
+            averageProcessingTime = processingTime;
+        } else {
+            averageProcessingTime += SMOOTHING_FACTOR * (processingTime - averageProcessingTime);
+        }
+        final double affordableMessages = TARGET_BACKLOG_PROCESSING_TIME / Math.max(1d, averageProcessingTime);
+        window = (int) Math.max(1, Math.min(maxCredit, affordableMessages));
+        if (receiver != null) {
+            replenish();
+        }
+    }
+
+    private void replenish() {
+
+        final int committed = receiver.getCredit() + receiver.getQueued();
+        if (committed <= window / 2) {
+            receiver.flow(window - committed);
+        }
+    }
+}
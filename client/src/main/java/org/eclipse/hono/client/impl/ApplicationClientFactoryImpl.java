@@ -14,10 +14,14 @@
 
 package org.eclipse.hono.client.impl;
 
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.ApplicationClientFactory;
@@ -27,6 +31,8 @@ import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.client.MessageConsumer;
 import org.eclipse.hono.util.CommandConstants;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.proton.ProtonDelivery;
@@ -41,14 +47,31 @@ public class ApplicationClientFactoryImpl extends AbstractHonoClientFactory impl
     private final ClientFactory<MessageConsumer> consumerFactory;
     private final CachingClientFactory<CommandClient> commandClientFactory;
     private final CachingClientFactory<AsyncCommandClient> asyncCommandClientFactory;
+    private final MeterRegistry meterRegistry;
+    private final Set<AbstractConsumer> consumers = new HashSet<>();
 
     /**
      * Creates a new factory for an existing connection.
+     * <p>
+     * Metrics of the consumers created by this factory are reported
+     * to Micrometer's global registry.
      * 
      * @param connection The connection to use.
      */
     public ApplicationClientFactoryImpl(final HonoConnection connection) {
+        this(connection, Metrics.globalRegistry);
+    }
+
+    /**
+     * Creates a new factory for an existing connection.
+     * 
+     * @param connection The connection to use.
+     * @param meterRegistry The registry to report metrics of the consumers created by this factory to.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    public ApplicationClientFactoryImpl(final HonoConnection connection, final MeterRegistry meterRegistry) {
         super(connection);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
         consumerFactory = new ClientFactory<>();
         commandClientFactory = new CachingClientFactory<>(connection.getVertx(), c -> c.isOpen());
         asyncCommandClientFactory = new CachingClientFactory<>(connection.getVertx(), c -> c.isOpen());
@@ -65,11 +88,12 @@ public class ApplicationClientFactoryImpl extends AbstractHonoClientFactory impl
 
         return connection.executeOrRunOnContext(result -> {
             consumerFactory.createClient(
-                    () -> TelemetryConsumerImpl.create(
+                    () -> trackConsumer(closeHook -> TelemetryConsumerImpl.create(
                             connection,
                             tenantId,
                             messageConsumer,
-                            closeHook -> closeHandler.handle(null)),
+                            closeHook,
+                            meterRegistry), closeHandler),
                     result);
         });
     }
@@ -97,15 +121,47 @@ public class ApplicationClientFactoryImpl extends AbstractHonoClientFactory impl
 
         return connection.executeOrRunOnContext(result -> {
             consumerFactory.createClient(
-                    () -> EventConsumerImpl.create(
+                    () -> trackConsumer(closeHook -> EventConsumerImpl.create(
                             connection,
                             tenantId,
                             messageConsumer,
-                            closeHook -> closeHandler.handle(null)),
+                            closeHook,
+                            meterRegistry), closeHandler),
                     result);
         });
     }
 
+    /**
+     * Creates a consumer and keeps track of it until its link is closed.
+     * <p>
+     * The resources held for the tracked consumers are released when
+     * the connection to the server is lost.
+     *
+     * @param consumerFactory The function to create the consumer with. The function
+     *                        is invoked with the hook to be run when the peer closes the link.
+     * @param closeHandler The handler to invoke when the peer closes the link.
+     * @return A future indicating the outcome of creating the consumer.
+     */
+    private Future<MessageConsumer> trackConsumer(
+            final Function<Handler<String>, Future<MessageConsumer>> consumerFactory,
+            final Handler<Void> closeHandler) {
+
+        final AtomicReference<AbstractConsumer> createdConsumer = new AtomicReference<>();
+        return consumerFactory.apply(address -> {
+            final AbstractConsumer consumer = createdConsumer.get();
+            if (consumer != null) {
+                consumers.remove(consumer);
+            }
+            closeHandler.handle(null);
+        }).map(c -> {
+            final AbstractConsumer consumer = (AbstractConsumer) c;
+            createdConsumer.set(consumer);
+            consumer.setLocalCloseHandler(address -> consumers.remove(consumer));
+            consumers.add(consumer);
+            return c;
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -216,11 +272,16 @@ public class ApplicationClientFactoryImpl extends AbstractHonoClientFactory impl
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Also releases the resources held for the links of the telemetry
+     * and event consumers that have been created by this factory.
      */
     @Override
     protected void onDisconnect() {
         asyncCommandClientFactory.clearState();
         commandClientFactory.clearState();
         consumerFactory.clearState();
+        consumers.forEach(AbstractConsumer::onDisconnect);
+        consumers.clear();
     }
 }
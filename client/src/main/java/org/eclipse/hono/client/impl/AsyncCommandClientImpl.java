@@ -30,7 +30,6 @@ import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.proton.ProtonDelivery;
 import io.vertx.proton.ProtonHelper;
-import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonSender;
 
 /**
@@ -145,7 +144,8 @@ public class AsyncCommandClientImpl extends AbstractSender implements AsyncComma
         Objects.requireNonNull(tenantId);
 
         final String linkTargetAddress = AsyncCommandClientImpl.getLinkTargetAddress(tenantId);
-        return con.createSender(linkTargetAddress, ProtonQoS.AT_LEAST_ONCE, closeHook)
-                .compose(sender -> Future.succeededFuture(new AsyncCommandClientImpl(con, sender, tenantId, linkTargetAddress)));
+        return createSender(con, linkTargetAddress, closeHook,
+                sender -> new AsyncCommandClientImpl(con, sender, tenantId, linkTargetAddress))
+                .map(AsyncCommandClient.class::cast);
     }
 }
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.DownstreamSender;
+import org.eclipse.hono.tracing.TracingHelper;
+import org.eclipse.hono.util.MessageHelper;
+
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.proton.ProtonDelivery;
+
+/**
+ * A sender which combines messages into batches before forwarding them downstream.
+ * <p>
+ * Messages sent by means of {@link #send(Message)} and {@link #send(Message, SpanContext)}
+ * are held back until either the maximum number of messages per batch has been reached or
+ * the maximum delay has elapsed since the first message has been added to the batch.
+ * The batch is then forwarded using the underlying sender as a single message created by
+ * means of {@link MessageHelper#newBatch(List)}. A batch containing a single message only
+ * is forwarded as is.
+ * <p>
+ * All other operations flush the pending batch before being delegated to the underlying
+ * sender so that the order of the messages is retained.
+ * <p>
+ * Instances of this class are not thread safe and are expected to be used on the vert.x
+ * context of the underlying sender only.
+ */
+public final class BatchingDownstreamSender implements DownstreamSender {
+
+    private final DownstreamSender delegate;
+    private final Vertx vertx;
+    private final Tracer tracer;
+    private final int maxMessages;
+    private final long maxDelayMillis;
+
+    private List<Message> pendingMessages;
+    private List<Future<ProtonDelivery>> pendingResults;
+    private List<SpanContext> pendingSpanContexts;
+    private long timerId = -1;
+
+    /**
+     * Creates a new sender.
+     *
+     * @param delegate The sender to forward the batches with.
+     * @param vertx The vert.x instance to run the batch timer on.
+     * @param tracer The tracer to inject the span contexts of batched messages with.
+     * @param maxMessages The maximum number of messages per batch.
+     * @param maxDelayMillis The maximum number of milliseconds to hold back a message.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if max messages or max delay are &lt; 1.
+     */
+    public BatchingDownstreamSender(
+            final DownstreamSender delegate,
+            final Vertx vertx,
+            final Tracer tracer,
+            final int maxMessages,
+            final long maxDelayMillis) {
+
+        this.delegate = Objects.requireNonNull(delegate);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.tracer = Objects.requireNonNull(tracer);
+        if (maxMessages < 1) {
+            throw new IllegalArgumentException("max messages must be at least 1");
+        }
+        if (maxDelayMillis < 1) {
+            throw new IllegalArgumentException("max delay must be at least 1ms");
+        }
+        this.maxMessages = maxMessages;
+        this.maxDelayMillis = maxDelayMillis;
+        newBatch();
+    }
+
+    /**
+     * Gets the sender that the batches are forwarded with.
+     *
+     * @return The sender.
+     */
+    public DownstreamSender getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Gets the maximum number of messages per batch.
+     *
+     * @return The number of messages.
+     */
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    private void newBatch() {
+        pendingMessages = new ArrayList<>(maxMessages);
+        pendingResults = new ArrayList<>(maxMessages);
+        pendingSpanContexts = new ArrayList<>(maxMessages);
+    }
+
+    /**
+     * Forwards the pending batch.
+     * <p>
+     * The futures returned for the batched messages are completed with the
+     * outcome of forwarding the batch. A batch containing a single message only
+     * is forwarded using the span context that the message has been sent with.
+     */
+    public void flush() {
+
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+        if (pendingMessages.isEmpty()) {
+            return;
+        }
+        final List<Message> messages = pendingMessages;
+        final List<Future<ProtonDelivery>> results = pendingResults;
+        final List<SpanContext> spanContexts = pendingSpanContexts;
+        newBatch();
+        final Future<ProtonDelivery> sendAttempt;
+        if (messages.size() == 1 && spanContexts.get(0) != null) {
+            sendAttempt = delegate.send(messages.get(0), spanContexts.get(0));
+        } else if (messages.size() == 1) {
+            sendAttempt = delegate.send(messages.get(0));
+        } else {
+            sendAttempt = delegate.send(MessageHelper.newBatch(messages));
+        }
+        sendAttempt.setHandler(outcome -> results.forEach(result -> result.handle(outcome)));
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(final Message message) {
+        return send(message, null);
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(final Message message, final SpanContext context) {
+
+        Objects.requireNonNull(message);
+        if (context != null) {
+            TracingHelper.injectSpanContext(tracer, context, message);
+        }
+        final Future<ProtonDelivery> result = Future.future();
+        pendingMessages.add(message);
+        pendingResults.add(result);
+        pendingSpanContexts.add(context);
+        if (pendingMessages.size() >= maxMessages) {
+            flush();
+        } else if (timerId == -1) {
+            timerId = vertx.setTimer(maxDelayMillis, tid -> {
+                timerId = -1;
+                flush();
+            });
+        }
+        return result;
+    }
+
+    @Override
+    public Future<ProtonDelivery> sendAndWaitForOutcome(final Message message) {
+        flush();
+        return delegate.sendAndWaitForOutcome(message);
+    }
+
+    @Override
+    public Future<ProtonDelivery> sendAndWaitForOutcome(final Message message, final SpanContext context) {
+        flush();
+        return delegate.sendAndWaitForOutcome(message, context);
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(final String deviceId, final String payload, final String contentType) {
+        flush();
+        return delegate.send(deviceId, payload, contentType);
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(final String deviceId, final byte[] payload, final String contentType) {
+        flush();
+        return delegate.send(deviceId, payload, contentType);
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(
+            final String deviceId,
+            final Map<String, ?> properties,
+            final String payload,
+            final String contentType) {
+        flush();
+        return delegate.send(deviceId, properties, payload, contentType);
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(
+            final String deviceId,
+            final Map<String, ?> properties,
+            final byte[] payload,
+            final String contentType) {
+        flush();
+        return delegate.send(deviceId, properties, payload, contentType);
+    }
+
+    @Override
+    public int getCredit() {
+        return delegate.getCredit();
+    }
+
+    @Override
+    public void sendQueueDrainHandler(final Handler<Void> handler) {
+        delegate.sendQueueDrainHandler(handler);
+    }
+
+    @Override
+    public String getEndpoint() {
+        return delegate.getEndpoint();
+    }
+
+    @Override
+    public void close(final Handler<AsyncResult<Void>> closeHandler) {
+        flush();
+        delegate.close(closeHandler);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+}
@@ -13,13 +13,20 @@
 
 package org.eclipse.hono.client.impl;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
@@ -41,6 +48,10 @@ import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.ResourceIdentifier;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.vertx.core.AsyncResult;
@@ -59,6 +70,15 @@ import io.vertx.proton.ProtonReceiver;
  * command is mapped to the id of the gateway through which the device has last sent messages. Then the command message
  * is either handled by an already existing command handler for the (mapped) gateway id, or the message is sent back to
  * the downstream peer to be handled by a gateway specific consumer.
+ * <p>
+ * The liveness of the gateway or device specific consumers that have been created with a check interval is checked
+ * by means of a single periodic timer. Each run of the timer checks at most {@link #MAX_LIVENESS_CHECKS_PER_SWEEP}
+ * consumers whose check is due. The checks of a consumer are scheduled with a random jitter so that the checks of
+ * consumers that have been created at the same time get spread out. Consumers that need to be re-created are put to
+ * a queue from which at most {@link #MAX_CONCURRENT_RECREATIONS} consumers are re-created concurrently. The number of
+ * queued and running re-creations are reported to a meter registry by means of gauges named
+ * {@value #METER_RECREATIONS_PENDING} and {@value #METER_RECREATIONS_RUNNING}. The gauges of each factory instance
+ * are tagged with a {@value #TAG_FACTORY} tag containing a sequence number that is unique within the JVM.
  */
 public class CommandConsumerFactoryImpl extends AbstractHonoClientFactory implements CommandConsumerFactory {
 
@@ -67,6 +87,38 @@ public class CommandConsumerFactoryImpl extends AbstractHonoClientFactory implem
      * command consumer link's liveness.
      */
     public static final long MIN_LIVENESS_CHECK_INTERVAL_MILLIS = 2000;
+    /**
+     * The number of milliseconds between runs of the timer that checks
+     * the liveness of command consumer links.
+     */
+    public static final long LIVENESS_CHECK_SWEEP_INTERVAL_MILLIS = 200;
+    /**
+     * The maximum number of command consumer links to check during a single
+     * run of the liveness check timer.
+     */
+    public static final int MAX_LIVENESS_CHECKS_PER_SWEEP = 1000;
+    /**
+     * The maximum number of command consumer links being re-created concurrently.
+     */
+    public static final int MAX_CONCURRENT_RECREATIONS = 100;
+    /**
+     * The name of the gauge that is used for reporting the number of command consumer
+     * links waiting to be re-created.
+     */
+    public static final String METER_RECREATIONS_PENDING = "hono.client.command.consumer.recreations.pending";
+    /**
+     * The name of the gauge that is used for reporting the number of command consumer
+     * links being re-created.
+     */
+    public static final String METER_RECREATIONS_RUNNING = "hono.client.command.consumer.recreations.running";
+
+    /**
+     * The name of the tag that is used for distinguishing the gauges of the factory
+     * instances reporting to the same registry.
+     */
+    public static final String TAG_FACTORY = "factory";
+
+    private static final AtomicInteger FACTORY_SEQUENCE = new AtomicInteger();
 
     /**
      * Used for integration tests (with only a single instance of each protocol adapter):
@@ -104,8 +156,26 @@ public class CommandConsumerFactoryImpl extends AbstractHonoClientFactory implem
      * to the object representing the liveness check for a destination command consumer.
      */
     private final Map<String, LivenessCheckData> destinationCommandConsumerLivenessChecks = new HashMap<>();
+    /**
+     * The liveness checks ordered by the time they are due. The queue may contain checks that
+     * have been removed from {@link #destinationCommandConsumerLivenessChecks} already.
+     */
+    private final Queue<LivenessCheckData> scheduledLivenessChecks = new PriorityQueue<>(
+            Comparator.comparingLong(LivenessCheckData::getNextCheck));
+    /**
+     * The liveness checks of the destination command consumers that need to be re-created.
+     */
+    private final Queue<LivenessCheckData> pendingRecreations = new ArrayDeque<>();
+    /**
+     * The tenants for which the mapping and delegating command consumer is being re-created.
+     */
+    private final Set<String> tenantsBeingRecreated = new HashSet<>();
 
     private final GatewayMapper gatewayMapper;
+    private final LongSupplier clock;
+    private final AtomicInteger pendingRecreationsCount = new AtomicInteger();
+    private final AtomicInteger runningRecreations = new AtomicInteger();
+    private long livenessCheckTimerId = -1;
 
     /**
      * Creates a new factory for an existing connection.
@@ -119,8 +189,53 @@ public class CommandConsumerFactoryImpl extends AbstractHonoClientFactory implem
      * @throws NullPointerException if connection or gatewayMapper is {@code null}.
      */
     public CommandConsumerFactoryImpl(final HonoConnection connection, final GatewayMapper gatewayMapper) {
+        this(connection, gatewayMapper, Metrics.globalRegistry);
+    }
+
+    /**
+     * Creates a new factory for an existing connection.
+     * <p>
+     * Note: The connection lifecycle of the given {@link GatewayMapper} instance will be managed by this
+     * <em>CommandConsumerFactoryImpl</em> instance via the {@link ConnectionLifecycle#connect()} and
+     * {@link ConnectionLifecycle#disconnect()} methods.
+     * 
+     * @param connection The connection to the AMQP network.
+     * @param gatewayMapper The component mapping a command device id to the corresponding gateway device id.
+     * @param meterRegistry The registry to report the number of queued and running re-creations to.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public CommandConsumerFactoryImpl(
+            final HonoConnection connection,
+            final GatewayMapper gatewayMapper,
+            final MeterRegistry meterRegistry) {
+        this(connection, gatewayMapper, meterRegistry, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a new factory for an existing connection using a given clock.
+     *
+     * @param connection The connection to the AMQP network.
+     * @param gatewayMapper The component mapping a command device id to the corresponding gateway device id.
+     * @param meterRegistry The registry to report the number of queued and running re-creations to.
+     * @param clock The clock to schedule the liveness checks with (milliseconds).
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    CommandConsumerFactoryImpl(
+            final HonoConnection connection,
+            final GatewayMapper gatewayMapper,
+            final MeterRegistry meterRegistry,
+            final LongSupplier clock) {
         super(connection);
         this.gatewayMapper = Objects.requireNonNull(gatewayMapper);
+        Objects.requireNonNull(meterRegistry);
+        this.clock = Objects.requireNonNull(clock);
+        final Tags tags = Tags.of(TAG_FACTORY, String.valueOf(FACTORY_SEQUENCE.getAndIncrement()));
+        Gauge.builder(METER_RECREATIONS_PENDING, pendingRecreationsCount, AtomicInteger::get)
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder(METER_RECREATIONS_RUNNING, runningRecreations, AtomicInteger::get)
+                .tags(tags)
+                .register(meterRegistry);
         destinationCommandConsumerFactory = new CachingClientFactory<>(connection.getVertx(), c -> c.isAlive());
         mappingAndDelegatingCommandConsumerFactory = new CachingClientFactory<>(connection.getVertx(), c -> true);
         delegatedCommandSenderFactory = new CachingClientFactory<>(connection.getVertx(), s -> s.isOpen());
@@ -179,7 +294,7 @@ public class CommandConsumerFactoryImpl extends AbstractHonoClientFactory implem
     /**
      * {@inheritDoc}
      * <p>
-     * The interval used for creating the periodic liveness check will be the maximum
+     * The interval used for the periodic liveness check will be the maximum
      * of the given interval length and {@link #MIN_LIVENESS_CHECK_INTERVAL_MILLIS}.
      */
     @Override
@@ -203,7 +318,7 @@ public class CommandConsumerFactoryImpl extends AbstractHonoClientFactory implem
     /**
      * {@inheritDoc}
      * <p>
-     * The interval used for creating the periodic liveness check will be the maximum
+     * The interval used for the periodic liveness check will be the maximum
      * of the given interval length and {@link #MIN_LIVENESS_CHECK_INTERVAL_MILLIS}.
      */
     @Override
@@ -306,8 +421,10 @@ public class CommandConsumerFactoryImpl extends AbstractHonoClientFactory implem
                 gatewayOrDeviceId,
                 sourceAddress -> { // local close hook
                     // stop liveness check
-                    Optional.ofNullable(destinationCommandConsumerLivenessChecks.remove(gatewayOrDeviceKey))
-                            .ifPresent(livenessCheck -> connection.getVertx().cancelTimer(livenessCheck.getTimerId()));
+                    if (destinationCommandConsumerLivenessChecks.remove(gatewayOrDeviceKey) != null
+                            && destinationCommandConsumerLivenessChecks.isEmpty()) {
+                        stopLivenessChecks();
+                    }
                     destinationCommandConsumerFactory.removeClient(gatewayOrDeviceKey);
                 },
                 sourceAddress -> { // remote close hook
@@ -444,81 +561,161 @@ public class CommandConsumerFactoryImpl extends AbstractHonoClientFactory implem
                 return existingLivenessCheckData;
             }
             final long effectiveCheckInterval = Math.max(MIN_LIVENESS_CHECK_INTERVAL_MILLIS, checkInterval);
-            final long timerId = connection.getVertx().setPeriodic(effectiveCheckInterval,
-                    newLivenessCheck(tenantId, gatewayOrDeviceId));
-            return new LivenessCheckData(timerId, commandHandlersSupplier);
+            final LivenessCheckData livenessCheck = new LivenessCheckData(tenantId, gatewayOrDeviceId,
+                    effectiveCheckInterval, commandHandlersSupplier);
+            scheduleLivenessCheck(livenessCheck, clock.getAsLong());
+            return livenessCheck;
         });
+        if (livenessCheckTimerId == -1) {
+            livenessCheckTimerId = connection.getVertx().setPeriodic(LIVENESS_CHECK_SWEEP_INTERVAL_MILLIS,
+                    id -> checkLiveness());
+        }
     }
 
-    Handler<Long> newLivenessCheck(final String tenantId, final String gatewayOrDeviceId) {
+    private void scheduleLivenessCheck(final LivenessCheckData livenessCheck, final long now) {
+        // add a random jitter of up to a quarter of the interval in order to
+        // spread out the checks of consumers that have been created at the same time
+        final long jitter = ThreadLocalRandom.current().nextLong(livenessCheck.getCheckInterval() / 4 + 1);
+        livenessCheck.setNextCheck(now + livenessCheck.getCheckInterval() + jitter);
+        scheduledLivenessChecks.add(livenessCheck);
+    }
 
-        final String gatewayOrDeviceKey = getDeviceKey(tenantId, gatewayOrDeviceId);
-        final AtomicBoolean recreatingDestinationConsumer = new AtomicBoolean(false);
-        final AtomicBoolean recreatingMappingAndDelegatingConsumer = new AtomicBoolean(false);
-        return timerId -> {
-            final LivenessCheckData livenessCheck = destinationCommandConsumerLivenessChecks.get(gatewayOrDeviceKey);
-            if (connection.isShutdown() || livenessCheck == null) {
-                connection.getVertx().cancelTimer(timerId);
+    private void stopLivenessChecks() {
+        if (livenessCheckTimerId != -1) {
+            connection.getVertx().cancelTimer(livenessCheckTimerId);
+            livenessCheckTimerId = -1;
+        }
+        scheduledLivenessChecks.clear();
+        pendingRecreationsCount.addAndGet(-pendingRecreations.size());
+        pendingRecreations.clear();
+    }
+
+    /**
+     * Checks the liveness of the command consumers whose check is due.
+     * <p>
+     * This method is invoked periodically by the liveness check timer.
+     */
+    void checkLiveness() {
+
+        if (connection.isShutdown()) {
+            destinationCommandConsumerLivenessChecks.clear();
+        }
+        if (destinationCommandConsumerLivenessChecks.isEmpty()) {
+            stopLivenessChecks();
+            return;
+        }
+        connection.isConnected().map(ok -> {
+            final long now = clock.getAsLong();
+            int checked = 0;
+            while (checked < MAX_LIVENESS_CHECKS_PER_SWEEP) {
+                final LivenessCheckData livenessCheck = scheduledLivenessChecks.peek();
+                if (livenessCheck == null || livenessCheck.getNextCheck() > now) {
+                    break;
+                }
+                scheduledLivenessChecks.poll();
+                if (destinationCommandConsumerLivenessChecks.get(livenessCheck.getKey()) == livenessCheck) {
+                    checkLiveness(livenessCheck);
+                    scheduleLivenessCheck(livenessCheck, now);
+                    checked++;
+                }
+            }
+            startPendingRecreations();
+            return null;
+        });
+    }
+
+    private void checkLiveness(final LivenessCheckData livenessCheck) {
+
+        final String tenantId = livenessCheck.getTenantId();
+        if (!livenessCheck.isRecreationPending()
+                && destinationCommandConsumerFactory.getClient(livenessCheck.getKey()) == null) {
+            // when a connection is lost unexpectedly,
+            // all consumers will have been removed from the cache
+            // so we need to recreate the consumer
+            livenessCheck.setRecreationPending(true);
+            pendingRecreations.add(livenessCheck);
+            pendingRecreationsCount.incrementAndGet();
+        }
+
+        if (mappingAndDelegatingCommandConsumerFactory.getClient(tenantId) == null) {
+            if (tenantsBeingRecreated.add(tenantId)) {
+                log.debug("trying to re-create MappingAndDelegatingCommandConsumer [tenant: {}]", tenantId);
+                getOrCreateMappingAndDelegatingCommandConsumer(tenantId)
+                        .map(consumer -> {
+                            log.debug("successfully re-created MappingAndDelegatingCommandConsumer [tenant: {}]", tenantId);
+                            return consumer;
+                        })
+                        .otherwise(t -> {
+                            log.info("failed to re-create MappingAndDelegatingCommandConsumer [tenant: {}]: {}",
+                                    tenantId, t.getMessage());
+                            return null;
+                        })
+                        .setHandler(s -> tenantsBeingRecreated.remove(tenantId));
             } else {
-                connection.isConnected().map(ok -> {
-                    if (destinationCommandConsumerFactory.getClient(gatewayOrDeviceKey) == null) {
-                        // when a connection is lost unexpectedly,
-                        // all consumers will have been removed from the cache
-                        // so we need to recreate the consumer
-                        if (recreatingDestinationConsumer.compareAndSet(false, true)) {
-                            // set a lock in order to prevent spawning multiple attempts
-                            // to re-create the consumer
-                            log.debug("trying to re-create destination command consumer [tenant: {}, device-id: {}]",
-                                    tenantId, gatewayOrDeviceId);
-                            final Future<DestinationCommandConsumer> destinationCommandConsumerFuture = Future.future();
-                            destinationCommandConsumerFactory.getOrCreateClient(
-                                    gatewayOrDeviceKey,
-                                    () -> newDestinationCommandConsumer(tenantId, gatewayOrDeviceId),
-                                    destinationCommandConsumerFuture);
-                            destinationCommandConsumerFuture.map(consumer -> {
-                                livenessCheck.getCommandHandlers().forEach(handler -> {
-                                    log.debug("adding {} to created destination command consumer [tenant: {}, device-id: {}]",
-                                            handler, tenantId, gatewayOrDeviceId);
-                                    consumer.addDeviceSpecificCommandHandler(handler);
-                                });
-                                livenessCheck.setCommandHandlersSupplier(() -> consumer.getCommandHandlers());
-                                recreatingDestinationConsumer.compareAndSet(true, false);
-                                return consumer;
-                            })
-                            .otherwise(t -> {
-                                log.info("failed to re-create destination command consumer [tenant: {}, device-id: {}]: {}",
-                                        tenantId, gatewayOrDeviceId, t.getMessage());
-                                return null;
-                            })
-                            .setHandler(s -> recreatingDestinationConsumer.compareAndSet(true, false));
-                        } else {
-                            log.debug("already trying to re-create destination command consumer [tenant: {}, device-id: {}], yielding ...",
-                                    tenantId, gatewayOrDeviceId);
-                        }
-                    }
+                log.debug("already trying to re-create MappingAndDelegatingCommandConsumer [tenant: {}], yielding ...", tenantId);
+            }
+        }
+    }
 
-                    if (mappingAndDelegatingCommandConsumerFactory.getClient(tenantId) == null) {
-                        if (recreatingMappingAndDelegatingConsumer.compareAndSet(false, true)) {
-                            log.debug("trying to re-create MappingAndDelegatingCommandConsumer [tenant: {}]", tenantId);
-                            getOrCreateMappingAndDelegatingCommandConsumer(tenantId)
-                                    .map(consumer -> {
-                                        log.debug("successfully re-created MappingAndDelegatingCommandConsumer [tenant: {}]", tenantId);
-                                        return consumer;
-                                    })
-                                    .otherwise(t -> {
-                                        log.info("failed to re-create MappingAndDelegatingCommandConsumer [tenant: {}]: {}",
-                                                tenantId, t.getMessage());
-                                        return null;
-                                    })
-                                    .setHandler(s -> recreatingMappingAndDelegatingConsumer.compareAndSet(true, false));
-                        } else {
-                            log.debug("already trying to re-create MappingAndDelegatingCommandConsumer [tenant: {}], yielding ...", tenantId);
-                        }
-                    }
+    private void startPendingRecreations() {
+
+        while (runningRecreations.get() < MAX_CONCURRENT_RECREATIONS) {
+            final LivenessCheckData livenessCheck = pendingRecreations.poll();
+            if (livenessCheck == null) {
+                return;
+            }
+            pendingRecreationsCount.decrementAndGet();
+            if (destinationCommandConsumerLivenessChecks.get(livenessCheck.getKey()) == livenessCheck) {
+                recreateDestinationCommandConsumer(livenessCheck);
+            }
+        }
+    }
+
+    private void recreateDestinationCommandConsumer(final LivenessCheckData livenessCheck) {
+
+        final String tenantId = livenessCheck.getTenantId();
+        final String gatewayOrDeviceId = livenessCheck.getGatewayOrDeviceId();
+        log.debug("trying to re-create destination command consumer [tenant: {}, device-id: {}]",
+                tenantId, gatewayOrDeviceId);
+        runningRecreations.incrementAndGet();
+        final Future<DestinationCommandConsumer> destinationCommandConsumerFuture = Future.future();
+        destinationCommandConsumerFactory.getOrCreateClient(
+                livenessCheck.getKey(),
+                () -> newDestinationCommandConsumer(tenantId, gatewayOrDeviceId),
+                destinationCommandConsumerFuture);
+        destinationCommandConsumerFuture.map(consumer -> {
+            livenessCheck.getCommandHandlers().forEach(handler -> {
+                log.debug("adding {} to created destination command consumer [tenant: {}, device-id: {}]",
+                        handler, tenantId, gatewayOrDeviceId);
+                consumer.addDeviceSpecificCommandHandler(handler);
+            });
+            livenessCheck.setCommandHandlersSupplier(() -> consumer.getCommandHandlers());
+            return consumer;
+        })
+        .otherwise(t -> {
+            log.info("failed to re-create destination command consumer [tenant: {}, device-id: {}]: {}",
+                    tenantId, gatewayOrDeviceId, t.getMessage());
+            return null;
+        })
+        .setHandler(s -> {
+            livenessCheck.setRecreationPending(false);
+            runningRecreations.decrementAndGet();
+            if (!connection.isShutdown()) {
+                connection.isConnected().map(ok -> {
+                    startPendingRecreations();
                     return null;
                 });
             }
-        };
+        });
+    }
+
+    /**
+     * Gets the number of command consumers waiting to be re-created.
+     *
+     * @return The number of consumers.
+     */
+    int getPendingRecreations() {
+        return pendingRecreations.size();
     }
 
     /**
@@ -601,24 +798,64 @@ public class CommandConsumerFactoryImpl extends AbstractHonoClientFactory implem
 
     /**
      * Represents a liveness check corresponding to a destination command consumer.
-     * Contains the id of the Vert.x timer that invokes the liveness check.
+     * Contains the time at which the liveness check is due next.
      */
     static class LivenessCheckData {
-        private final long timerId;
+        private final String tenantId;
+        private final String gatewayOrDeviceId;
+        private final String key;
+        private final long checkInterval;
         private Supplier<Collection<CommandHandlerWrapper>> commandHandlersSupplier;
-
-        LivenessCheckData(final long timerId, final Supplier<Collection<CommandHandlerWrapper>> commandHandlersSupplier) {
-            this.timerId = Objects.requireNonNull(timerId);
+        private long nextCheck;
+        private boolean recreationPending;
+
+        LivenessCheckData(
+                final String tenantId,
+                final String gatewayOrDeviceId,
+                final long checkInterval,
+                final Supplier<Collection<CommandHandlerWrapper>> commandHandlersSupplier) {
+            this.tenantId = Objects.requireNonNull(tenantId);
+            this.gatewayOrDeviceId = Objects.requireNonNull(gatewayOrDeviceId);
+            this.key = Device.asAddress(tenantId, gatewayOrDeviceId);
+            this.checkInterval = checkInterval;
             this.commandHandlersSupplier = Objects.requireNonNull(commandHandlersSupplier);
         }
 
+        String getTenantId() {
+            return tenantId;
+        }
+
+        String getGatewayOrDeviceId() {
+            return gatewayOrDeviceId;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        long getCheckInterval() {
+            return checkInterval;
+        }
+
+        long getNextCheck() {
+            return nextCheck;
+        }
+
+        void setNextCheck(final long nextCheck) {
+            this.nextCheck = nextCheck;
+        }
+
         /**
-         * Gets the id of the Vert.x timer that invokes the liveness check.
+         * Checks if the command consumer is waiting to be or being re-created.
          *
-         * @return The timer id.
+         * @return {@code true} if the consumer is waiting to be or being re-created.
          */
-        public long getTimerId() {
-            return timerId;
+        boolean isRecreationPending() {
+            return recreationPending;
+        }
+
+        void setRecreationPending(final boolean recreationPending) {
+            this.recreationPending = recreationPending;
         }
 
         /**
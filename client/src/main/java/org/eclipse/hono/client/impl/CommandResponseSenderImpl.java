@@ -27,7 +27,6 @@ import io.opentracing.tag.Tags;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.proton.ProtonDelivery;
-import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonSender;
 
 /**
@@ -126,9 +125,9 @@ public class CommandResponseSenderImpl extends AbstractSender implements Command
             props.setFlowLatency(DEFAULT_COMMAND_FLOW_LATENCY);
         }
 
-        return con.createSender(targetAddress, ProtonQoS.AT_LEAST_ONCE, closeHook)
-                .map(sender -> (CommandResponseSender) new CommandResponseSenderImpl(con, sender, tenantId,
-                        targetAddress));
+        return createSender(con, targetAddress, closeHook,
+                sender -> new CommandResponseSenderImpl(con, sender, tenantId, targetAddress))
+                .map(CommandResponseSender.class::cast);
     }
 
     @Override
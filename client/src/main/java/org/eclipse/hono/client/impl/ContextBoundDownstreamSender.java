@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.DownstreamSender;
+
+import io.opentracing.SpanContext;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.proton.ProtonDelivery;
+
+/**
+ * A sender which is used on another vert.x context than the connection of the sender's link.
+ * <p>
+ * This is used for handing out senders that are bound to a connection running on
+ * another context than the code using the sender. All interactions with the link
+ * are run on the connection's context, while all handlers are invoked on the
+ * context of the code using the sender.
+ */
+final class ContextBoundDownstreamSender implements DownstreamSender {
+
+    private final DownstreamSender delegate;
+    private final Context senderContext;
+    private final Context context;
+    /**
+     * The sender's credit as of the last interaction with the link.
+     */
+    private volatile int credit;
+
+    /**
+     * Creates a new sender.
+     * <p>
+     * This constructor is expected to be invoked on the sender context.
+     *
+     * @param delegate The sender to delegate to.
+     * @param senderContext The context of the connection that the delegate's link belongs to.
+     * @param context The context to run handlers on.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    ContextBoundDownstreamSender(final DownstreamSender delegate, final Context senderContext, final Context context) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.senderContext = Objects.requireNonNull(senderContext);
+        this.context = Objects.requireNonNull(context);
+        this.credit = delegate.getCredit();
+    }
+
+    /**
+     * Completes a future on a given context with the outcome of another future.
+     *
+     * @param <T> The type of the future's result.
+     * @param context The context to complete the future on.
+     * @param outcome The future to get the outcome from.
+     * @return The future.
+     */
+    static <T> Future<T> onContext(final Context context, final Future<T> outcome) {
+
+        final Future<T> result = Future.future();
+        outcome.setHandler(attempt -> runOnContext(context, attempt, result));
+        return result;
+    }
+
+    private static <T> void runOnContext(final Context context, final T event, final Handler<T> handler) {
+
+        if (Vertx.currentContext() == context) {
+            handler.handle(event);
+        } else {
+            context.runOnContext(go -> handler.handle(event));
+        }
+    }
+
+    /**
+     * Runs an operation on the delegate on the sender context.
+     *
+     * @param <T> The type of the operation's result.
+     * @param operation The operation to run.
+     * @return A future which is completed on this sender's context with the outcome of the operation.
+     */
+    private <T> Future<T> execute(final Supplier<Future<T>> operation) {
+
+        final Future<T> result = Future.future();
+        runOnContext(senderContext, null, go -> {
+            final Future<T> outcome = operation.get();
+            credit = delegate.getCredit();
+            outcome.setHandler(attempt -> runOnContext(context, attempt, result));
+        });
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The link is not accessed from the calling thread. The value returned is the
+     * credit of the link as of the last interaction with the link on the sender context.
+     */
+    @Override
+    public int getCredit() {
+        return credit;
+    }
+
+    @Override
+    public void sendQueueDrainHandler(final Handler<Void> handler) {
+        runOnContext(senderContext, null, go -> {
+            delegate.sendQueueDrainHandler(replenished -> {
+                credit = delegate.getCredit();
+                runOnContext(context, replenished, handler);
+            });
+        });
+    }
+
+    @Override
+    public String getEndpoint() {
+        return delegate.getEndpoint();
+    }
+
+    @Override
+    public void close(final Handler<AsyncResult<Void>> closeHandler) {
+        runOnContext(senderContext, null, go -> {
+            delegate.close(closeAttempt -> {
+                if (closeHandler != null) {
+                    runOnContext(context, closeAttempt, closeHandler);
+                }
+            });
+        });
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(final Message message) {
+        return execute(() -> delegate.send(message));
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(final Message message, final SpanContext spanContext) {
+        return execute(() -> delegate.send(message, spanContext));
+    }
+
+    @Override
+    public Future<ProtonDelivery> sendAndWaitForOutcome(final Message message) {
+        return execute(() -> delegate.sendAndWaitForOutcome(message));
+    }
+
+    @Override
+    public Future<ProtonDelivery> sendAndWaitForOutcome(final Message message, final SpanContext spanContext) {
+        return execute(() -> delegate.sendAndWaitForOutcome(message, spanContext));
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(final String deviceId, final String payload, final String contentType) {
+        return execute(() -> delegate.send(deviceId, payload, contentType));
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(final String deviceId, final byte[] payload, final String contentType) {
+        return execute(() -> delegate.send(deviceId, payload, contentType));
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(
+            final String deviceId,
+            final Map<String, ?> properties,
+            final String payload,
+            final String contentType) {
+        return execute(() -> delegate.send(deviceId, properties, payload, contentType));
+    }
+
+    @Override
+    public Future<ProtonDelivery> send(
+            final String deviceId,
+            final Map<String, ?> properties,
+            final byte[] payload,
+            final String contentType) {
+        return execute(() -> delegate.send(deviceId, properties, payload, contentType));
+    }
+}
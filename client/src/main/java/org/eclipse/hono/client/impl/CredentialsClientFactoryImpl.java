@@ -22,6 +22,8 @@ import org.eclipse.hono.client.CredentialsClientFactory;
 import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.util.Constants;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.vertx.core.Future;
 import io.vertx.core.eventbus.Message;
 
@@ -35,6 +37,7 @@ public class CredentialsClientFactoryImpl extends AbstractHonoClientFactory impl
 
     private final CachingClientFactory<CredentialsClient> credentialsClientFactory;
     private final CacheProvider cacheProvider;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Creates a new factory for an existing connection.
@@ -42,9 +45,28 @@ public class CredentialsClientFactoryImpl extends AbstractHonoClientFactory impl
      * @param connection The connection to use.
      * @param cacheProvider The cache provider to use for creating caches for credential objects
      *                      or {@code null} if credentials objects should not be cached.
+     * @throws NullPointerException if connection is {@code null}
      */
     public CredentialsClientFactoryImpl(final HonoConnection connection, final CacheProvider cacheProvider) {
+        this(connection, cacheProvider, Metrics.globalRegistry);
+    }
+
+    /**
+     * Creates a new factory for an existing connection.
+     *
+     * @param connection The connection to use.
+     * @param cacheProvider The cache provider to use for creating caches for credential objects
+     *                      or {@code null} if credentials objects should not be cached.
+     * @param meterRegistry The registry that the clients created by this factory report
+     *                      response cache lookups to.
+     * @throws NullPointerException if connection or meter registry are {@code null}.
+     */
+    public CredentialsClientFactoryImpl(
+            final HonoConnection connection,
+            final CacheProvider cacheProvider,
+            final MeterRegistry meterRegistry) {
         super(connection);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
         credentialsClientFactory = new CachingClientFactory<>(connection.getVertx(), c -> c.isOpen());
         this.cacheProvider = cacheProvider;
         connection.getVertx().eventBus().consumer(Constants.EVENT_BUS_ADDRESS_TENANT_TIMED_OUT,
@@ -72,6 +94,7 @@ public class CredentialsClientFactoryImpl extends AbstractHonoClientFactory impl
                     CredentialsClientImpl.getTargetAddress(tenantId),
                     () -> CredentialsClientImpl.create(
                             cacheProvider,
+                            meterRegistry,
                             connection,
                             tenantId,
                             this::removeCredentialsClient,
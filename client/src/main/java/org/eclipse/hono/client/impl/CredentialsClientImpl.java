@@ -38,6 +38,7 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.vertx.core.Future;
@@ -135,6 +136,7 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
      *
      * @param cacheProvider The cache provider to use for creating caches for credential objects
      *                      or {@code null} if credential objects should not be cached.
+     * @param meterRegistry The registry to report response cache lookups to.
      * @param con The connection to the server.
      * @param tenantId The tenant for which credentials are handled.
      * @param senderCloseHook A handler to invoke if the peer closes the sender link unexpectedly.
@@ -144,6 +146,7 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
      */
     public static final Future<CredentialsClient> create(
             final CacheProvider cacheProvider,
+            final MeterRegistry meterRegistry,
             final HonoConnection con,
             final String tenantId,
             final Handler<String> senderCloseHook,
@@ -151,6 +154,7 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
 
         LOG.debug("creating new credentials client for [{}]", tenantId);
         final CredentialsClientImpl client = new CredentialsClientImpl(con, tenantId);
+        client.setMeterRegistry(meterRegistry);
         if (cacheProvider != null) {
             client.setResponseCache(cacheProvider.getCache(CredentialsClientImpl.getTargetAddress(tenantId)));
         }
@@ -197,7 +201,6 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
         Objects.requireNonNull(authId);
         Objects.requireNonNull(clientContext);
 
-        final Future<CredentialsResult<CredentialsObject>> responseTracker = Future.future();
         final JsonObject specification = CredentialsConstants
                 .getSearchCriteria(type, authId)
                 .mergeIn(clientContext);
@@ -209,8 +212,9 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
         span.setTag(TAG_CREDENTIALS_TYPE, type);
         span.setTag(TAG_AUTH_ID, authId);
 
-        final Future<CredentialsResult<CredentialsObject>> resultTracker = getResponseFromCache(key, span)
-                .recover(cacheMiss -> {
+        final Future<CredentialsResult<CredentialsObject>> resultTracker = getResponseFromCacheOrPeer(key, span,
+                requestSpan -> {
+                    final Future<CredentialsResult<CredentialsObject>> responseTracker = Future.future();
                     createAndSendRequest(
                             CredentialsConstants.CredentialsAction.get.toString(),
                             null,
@@ -218,7 +222,7 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
                             RequestResponseApiConstants.CONTENT_TYPE_APPLICATION_JSON,
                             responseTracker,
                             key,
-                            span);
+                            requestSpan);
                     return responseTracker;
                 });
         return mapResultAndFinishSpan(resultTracker, result -> {
@@ -34,7 +34,6 @@ import io.opentracing.tag.Tags;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.proton.ProtonDelivery;
-import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonSender;
 
 /**
@@ -123,28 +122,24 @@ public class DelegatedCommandSenderImpl extends AbstractSender implements Delega
         Objects.requireNonNull(currentSpan);
 
         final Future<ProtonDelivery> result = Future.future();
-        final String messageId = String.format("%s-%d", getClass().getSimpleName(), MESSAGE_COUNTER.getAndIncrement());
+        final String messageId = newMessageId();
         message.setMessageId(messageId);
         logMessageIdAndSenderInfo(currentSpan, messageId);
 
-        final Long timerId = connection.getConfig().getSendMessageTimeout() > 0
-                ? connection.getVertx().setTimer(connection.getConfig().getSendMessageTimeout(), id -> {
-                    if (!result.isComplete()) {
-                        final ServerErrorException exception = new ServerErrorException(
-                                HttpURLConnection.HTTP_UNAVAILABLE,
-                                "waiting for delivery update timed out after "
-                                        + connection.getConfig().getSendMessageTimeout() + "ms");
-                        log.debug("waiting for delivery update timed out for message [message ID: {}] after {}ms",
-                                messageId, connection.getConfig().getSendMessageTimeout());
-                        result.fail(exception);
-                    }
-                })
-                : null;
+        final HashedTimeoutWheel.Timeout timeout = startDeliveryTimeout(timeoutReached -> {
+            if (!result.isComplete()) {
+                final ServerErrorException exception = new ServerErrorException(
+                        HttpURLConnection.HTTP_UNAVAILABLE,
+                        "waiting for delivery update timed out after "
+                                + connection.getConfig().getSendMessageTimeout() + "ms");
+                log.debug("waiting for delivery update timed out for message [message ID: {}] after {}ms",
+                        messageId, connection.getConfig().getSendMessageTimeout());
+                result.fail(exception);
+            }
+        });
 
         sender.send(message, deliveryUpdated -> {
-            if (timerId != null) {
-                connection.getVertx().cancelTimer(timerId);
-            }
+            timeout.cancel();
             final DeliveryState remoteState = deliveryUpdated.getRemoteState();
             if (result.isComplete()) {
                 log.debug("ignoring received delivery update for message [message ID: {}]: waiting for the update has already timed out", messageId);
@@ -226,8 +221,9 @@ public class DelegatedCommandSenderImpl extends AbstractSender implements Delega
         Objects.requireNonNull(con);
 
         final String targetAddress = getTargetAddress(tenantId, deviceId);
-        return con.createSender(targetAddress, ProtonQoS.AT_LEAST_ONCE, closeHook)
-                .map(sender -> new DelegatedCommandSenderImpl(con, sender));
+        return createSender(con, targetAddress, closeHook,
+                sender -> new DelegatedCommandSenderImpl(con, sender))
+                .map(DelegatedCommandSender.class::cast);
     }
 
     @Override
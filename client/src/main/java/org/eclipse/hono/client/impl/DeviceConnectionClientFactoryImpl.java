@@ -16,11 +16,14 @@ package org.eclipse.hono.client.impl;
 
 import java.util.Objects;
 
+import org.eclipse.hono.cache.CacheProvider;
 import org.eclipse.hono.client.DeviceConnectionClient;
 import org.eclipse.hono.client.DeviceConnectionClientFactory;
 import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.util.Constants;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.vertx.core.Future;
 import io.vertx.core.eventbus.Message;
 
@@ -33,15 +36,38 @@ import io.vertx.core.eventbus.Message;
 public class DeviceConnectionClientFactoryImpl extends AbstractHonoClientFactory implements DeviceConnectionClientFactory {
 
     private final CachingClientFactory<DeviceConnectionClient> deviceConnectionClientFactory;
+    private final CacheProvider cacheProvider;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Creates a new factory for an existing connection.
      * 
      * @param connection The connection to use.
+     * @param cacheProvider The cache provider to use for creating the near caches
+     *                      or {@code null} if last known gateways should not be cached.
      * @throws NullPointerException if connection is {@code null}
      */
-    public DeviceConnectionClientFactoryImpl(final HonoConnection connection) {
+    public DeviceConnectionClientFactoryImpl(final HonoConnection connection, final CacheProvider cacheProvider) {
+        this(connection, cacheProvider, Metrics.globalRegistry);
+    }
+
+    /**
+     * Creates a new factory for an existing connection.
+     * 
+     * @param connection The connection to use.
+     * @param cacheProvider The cache provider to use for creating the near caches
+     *                      or {@code null} if last known gateways should not be cached.
+     * @param meterRegistry The registry that the clients created by this factory report
+     *                      response cache lookups to.
+     * @throws NullPointerException if connection or meter registry are {@code null}.
+     */
+    public DeviceConnectionClientFactoryImpl(
+            final HonoConnection connection,
+            final CacheProvider cacheProvider,
+            final MeterRegistry meterRegistry) {
         super(connection);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.cacheProvider = cacheProvider;
         this.deviceConnectionClientFactory = new CachingClientFactory<>(connection.getVertx(), c -> c.isOpen());
         connection.getVertx().eventBus().consumer(Constants.EVENT_BUS_ADDRESS_TENANT_TIMED_OUT,
                 this::handleTenantTimeout);
@@ -69,6 +95,8 @@ public class DeviceConnectionClientFactoryImpl extends AbstractHonoClientFactory
                     () -> DeviceConnectionClientImpl.create(
                             connection,
                             tenantId,
+                            cacheProvider,
+                            meterRegistry,
                             this::removeDeviceConnectionClient,
                             this::removeDeviceConnectionClient),
                     result);
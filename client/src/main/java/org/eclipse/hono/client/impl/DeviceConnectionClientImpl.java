@@ -14,12 +14,19 @@
 package org.eclipse.hono.client.impl;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import org.apache.qpid.proton.amqp.UnsignedLong;
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.eclipse.hono.cache.CacheProvider;
 import org.eclipse.hono.client.DeviceConnectionClient;
 import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.client.StatusCodeMapper;
@@ -30,12 +37,16 @@ import org.eclipse.hono.util.MessageHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonReceiver;
 import io.vertx.proton.ProtonSender;
@@ -46,6 +57,13 @@ import io.vertx.proton.ProtonSender;
  */
 public class DeviceConnectionClientImpl extends AbstractRequestResponseClient<DeviceConnectionResult> implements DeviceConnectionClient {
 
+    /**
+     * The number of bytes of a request message that are reserved for the message's properties
+     * when splitting up a <em>set last known gateways</em> request that exceeds the sender link's
+     * maximum message size.
+     */
+    static final int REQUEST_PROPERTIES_RESERVE = 1024;
+
     private static final Logger LOG = LoggerFactory.getLogger(DeviceConnectionClientImpl.class);
 
     /**
@@ -113,8 +131,9 @@ public class DeviceConnectionClientImpl extends AbstractRequestResponseClient<De
             return DeviceConnectionResult.from(status, null, null, applicationProperties);
         } else {
             try {
-                // ignoring given cacheDirective param here - device connection results shall not be cached
-                return DeviceConnectionResult.from(status, new JsonObject(payload), CacheDirective.noCacheDirective(), applicationProperties);
+                // ignoring given cacheDirective param here - device connection results are only
+                // kept in the near cache for a short period of time
+                return DeviceConnectionResult.from(status, new JsonObject(payload), getNearCacheDirective(status), applicationProperties);
             } catch (final DecodeException e) {
                 LOG.warn("received malformed payload from Device Connection service", e);
                 return DeviceConnectionResult.from(HttpURLConnection.HTTP_INTERNAL_ERROR, null, null, applicationProperties);
@@ -130,17 +149,49 @@ public class DeviceConnectionClientImpl extends AbstractRequestResponseClient<De
      * @param senderCloseHook A handler to invoke if the peer closes the sender link unexpectedly.
      * @param receiverCloseHook A handler to invoke if the peer closes the receiver link unexpectedly.
      * @return A future indicating the outcome of the creation attempt.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static final Future<DeviceConnectionClient> create(
+            final HonoConnection con,
+            final String tenantId,
+            final Handler<String> senderCloseHook,
+            final Handler<String> receiverCloseHook) {
+
+        return create(con, tenantId, null, Metrics.globalRegistry, senderCloseHook, receiverCloseHook);
+    }
+
+    /**
+     * Creates a new device connection client for a tenant.
+     * <p>
+     * If a cache provider is given, the client keeps the last known gateways of devices in a
+     * near cache for the connection's <em>responseCacheDefaultTimeout</em>. The gateways set by
+     * means of the client are put to the near cache as well. The near cache for a tenant is shared
+     * by all clients that have been created using the same cache provider.
+     * 
+     * @param con The connection to the server.
+     * @param tenantId The tenant to consumer events for.
+     * @param cacheProvider The cache provider to use for creating the near cache or {@code null}
+     *                      if last known gateways should not be cached.
+     * @param meterRegistry The registry to report near cache lookups to.
+     * @param senderCloseHook A handler to invoke if the peer closes the sender link unexpectedly.
+     * @param receiverCloseHook A handler to invoke if the peer closes the receiver link unexpectedly.
+     * @return A future indicating the outcome of the creation attempt.
      * @throws NullPointerException if any of the parameters other than cache provider is {@code null}.
      */
     public static final Future<DeviceConnectionClient> create(
             final HonoConnection con,
             final String tenantId,
+            final CacheProvider cacheProvider,
+            final MeterRegistry meterRegistry,
             final Handler<String> senderCloseHook,
             final Handler<String> receiverCloseHook) {
 
         LOG.debug("creating new device connection client for [{}]", tenantId);
         final DeviceConnectionClientImpl client = new DeviceConnectionClientImpl(con, tenantId);
-        // no response cache being set on client here - device connection results shall not be cached
+        client.setMeterRegistry(meterRegistry);
+        if (cacheProvider != null) {
+            client.setResponseCache(cacheProvider.getCache(DeviceConnectionClientImpl.getTargetAddress(tenantId)));
+        }
         return client.createLinks(senderCloseHook, receiverCloseHook)
                 .map(ok -> {
                     LOG.debug("successfully created device connection client for [{}]", tenantId);
@@ -151,6 +202,39 @@ public class DeviceConnectionClientImpl extends AbstractRequestResponseClient<De
                 });
     }
 
+    private CacheDirective getNearCacheDirective(final int status) {
+        if (status == HttpURLConnection.HTTP_OK) {
+            return CacheDirective.maxAgeDirective(getResponseCacheDefaultTimeout());
+        } else {
+            return CacheDirective.noCacheDirective();
+        }
+    }
+
+    /**
+     * Puts a gateway that has been set for a device to the near cache.
+     */
+    private void addToNearCache(final String deviceId, final String gatewayId) {
+        if (isCachingEnabled()) {
+            addToCache(deviceId, DeviceConnectionResult.from(
+                    HttpURLConnection.HTTP_OK,
+                    new JsonObject().put(DeviceConnectionConstants.FIELD_GATEWAY_ID, gatewayId),
+                    getNearCacheDirective(HttpURLConnection.HTTP_OK)));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Puts the gateway to the near cache if caching is enabled.
+     */
+    @Override
+    public void updateLastKnownGatewayInCache(final String deviceId, final String gatewayId) {
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(gatewayId);
+
+        addToNearCache(deviceId, gatewayId);
+    }
+
     private Map<String, Object> createDeviceIdProperties(final String deviceId) {
         final Map<String, Object> properties = new HashMap<>();
         properties.put(MessageHelper.APP_PROPERTY_DEVICE_ID, deviceId);
@@ -184,6 +268,7 @@ public class DeviceConnectionClientImpl extends AbstractRequestResponseClient<De
         return mapResultAndFinishSpan(resultTracker, result -> {
             switch (result.getStatus()) {
             case HttpURLConnection.HTTP_NO_CONTENT:
+                addToNearCache(deviceId, gatewayId);
                 return null;
             default:
                 throw StatusCodeMapper.from(result);
@@ -195,18 +280,156 @@ public class DeviceConnectionClientImpl extends AbstractRequestResponseClient<De
      * Invokes the <em>Get Last Known Gateway for Device</em> operation of Hono's
      * <a href="https://www.eclipse.org/hono/docs/api/device-connection-api">Device Connection API</a>
      * on the service represented by the <em>sender</em> and <em>receiver</em> links.
+     * <p>
+     * The gateway is taken from the near cache if it contains an unexpired entry for the device.
      */
     @Override
     public Future<JsonObject> getLastKnownGatewayForDevice(final String deviceId, final SpanContext context) {
         Objects.requireNonNull(deviceId);
-        final Future<DeviceConnectionResult> resultTracker = Future.future();
 
         final Span currentSpan = newChildSpan(context, "get last known gateway for device");
+        final Future<DeviceConnectionResult> resultTracker = getResponseFromCacheOrPeer(deviceId, currentSpan, span -> {
+            final Future<DeviceConnectionResult> result = Future.future();
+            createAndSendRequest(
+                    DeviceConnectionConstants.DeviceConnectionAction.GET_LAST_GATEWAY.getSubject(),
+                    createDeviceIdProperties(deviceId),
+                    null,
+                    null,
+                    result,
+                    deviceId,
+                    span);
+            return result;
+        });
+        return mapResultAndFinishSpan(resultTracker, result -> {
+            switch (result.getStatus()) {
+            case HttpURLConnection.HTTP_OK:
+                return result.getPayload();
+            default:
+                throw StatusCodeMapper.from(result);
+            }
+        }, currentSpan);
+    }
+
+    /**
+     * Invokes the <em>Set Last Known Gateways for Devices</em> operation
+     * on the service represented by the <em>sender</em> and <em>receiver</em> links.
+     * <p>
+     * The gateways are split up into multiple requests if the payload of a single
+     * request would exceed the maximum message size supported by the sender link
+     * minus {@link #REQUEST_PROPERTIES_RESERVE} bytes.
+     */
+    @Override
+    public Future<Void> setLastKnownGatewaysForDevices(final Map<String, String> gatewayIdsByDeviceId,
+            final SpanContext context) {
+        Objects.requireNonNull(gatewayIdsByDeviceId);
+
+        final long maxPayloadSize = getMaxRequestPayloadSize();
+        final Buffer payload = newSetLastKnownGatewaysPayload(gatewayIdsByDeviceId).toBuffer();
+        if (payload.length() <= maxPayloadSize) {
+            return setLastKnownGatewaysForDevices(gatewayIdsByDeviceId, payload, context);
+        }
+
+        final JsonObject emptyPayload = newSetLastKnownGatewaysPayload(Collections.emptyMap());
+        final int emptyPayloadSize = emptyPayload.toBuffer().length();
+        @SuppressWarnings("rawtypes")
+        final List<Future> results = new ArrayList<>();
+        Map<String, String> batch = new HashMap<>();
+        long batchPayloadSize = emptyPayloadSize;
+        for (final Map.Entry<String, String> entry : gatewayIdsByDeviceId.entrySet()) {
+            // the size of the device's entry including the separating comma
+            final int entrySize = newSetLastKnownGatewaysEntry(entry.getKey(), entry.getValue()).toBuffer().length() + 1;
+            if (!batch.isEmpty() && batchPayloadSize + entrySize > maxPayloadSize) {
+                results.add(setLastKnownGatewaysForDevices(batch,
+                        newSetLastKnownGatewaysPayload(batch).toBuffer(), context));
+                batch = new HashMap<>();
+                batchPayloadSize = emptyPayloadSize;
+            }
+            batch.put(entry.getKey(), entry.getValue());
+            batchPayloadSize += entrySize;
+        }
+        results.add(setLastKnownGatewaysForDevices(batch, newSetLastKnownGatewaysPayload(batch).toBuffer(), context));
+        LOG.debug("split up update of last known gateways of {} devices into {} requests",
+                gatewayIdsByDeviceId.size(), results.size());
+        return CompositeFuture.all(results).map(ok -> (Void) null);
+    }
+
+    private Future<Void> setLastKnownGatewaysForDevices(
+            final Map<String, String> gatewayIdsByDeviceId,
+            final Buffer payload,
+            final SpanContext context) {
+
+        // using FollowsFrom instead of ChildOf reference here as invoking methods usually don't depend and wait on the result of this method
+        final Span currentSpan = newFollowingSpan(context, "set last known gateways for devices");
+        final Future<DeviceConnectionResult> resultTracker = Future.future();
         createAndSendRequest(
-                DeviceConnectionConstants.DeviceConnectionAction.GET_LAST_GATEWAY.getSubject(),
-                createDeviceIdProperties(deviceId),
+                DeviceConnectionConstants.DeviceConnectionAction.SET_LAST_GATEWAYS.getSubject(),
                 null,
+                payload,
+                DeviceConnectionConstants.CONTENT_TYPE_APPLICATION_JSON,
+                resultTracker,
+                null,
+                currentSpan);
+        return mapResultAndFinishSpan(resultTracker, result -> {
+            switch (result.getStatus()) {
+            case HttpURLConnection.HTTP_NO_CONTENT:
+                gatewayIdsByDeviceId.forEach(this::addToNearCache);
+                return null;
+            default:
+                throw StatusCodeMapper.from(result);
+            }
+        }, currentSpan);
+    }
+
+    private static JsonObject newSetLastKnownGatewaysPayload(final Map<String, String> gatewayIdsByDeviceId) {
+
+        final JsonArray devices = new JsonArray();
+        gatewayIdsByDeviceId.forEach((deviceId, gatewayId) -> devices.add(newSetLastKnownGatewaysEntry(deviceId, gatewayId)));
+        return new JsonObject().put(DeviceConnectionConstants.FIELD_DEVICES, devices);
+    }
+
+    private static JsonObject newSetLastKnownGatewaysEntry(final String deviceId, final String gatewayId) {
+
+        return new JsonObject()
+                .put(DeviceConnectionConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId)
+                .put(DeviceConnectionConstants.FIELD_GATEWAY_ID, gatewayId);
+    }
+
+    /**
+     * Gets the maximum size of a request's payload.
+     *
+     * @return The maximum message size supported by the sender link minus {@link #REQUEST_PROPERTIES_RESERVE}
+     *         or {@link Long#MAX_VALUE} if the peer has not set a maximum message size.
+     */
+    private long getMaxRequestPayloadSize() {
+
+        final UnsignedLong maxMessageSize = Optional.ofNullable(sender)
+                .map(ProtonSender::getRemoteMaxMessageSize)
+                .orElse(null);
+        if (maxMessageSize == null || maxMessageSize.longValue() <= 0) {
+            // no limit or a limit that exceeds the range of long
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, maxMessageSize.longValue() - REQUEST_PROPERTIES_RESERVE);
+    }
+
+    /**
+     * Invokes the <em>Get Last Known Gateways for Devices</em> operation
+     * on the service represented by the <em>sender</em> and <em>receiver</em> links.
+     */
+    @Override
+    public Future<JsonObject> getLastKnownGatewaysForDevices(final Set<String> deviceIds, final SpanContext context) {
+        Objects.requireNonNull(deviceIds);
+
+        final JsonObject payload = new JsonObject()
+                .put(DeviceConnectionConstants.FIELD_DEVICE_IDS, new JsonArray(new ArrayList<>(deviceIds)));
+        final Future<DeviceConnectionResult> resultTracker = Future.future();
+
+        final Span currentSpan = newChildSpan(context, "get last known gateways for devices");
+        createAndSendRequest(
+                DeviceConnectionConstants.DeviceConnectionAction.GET_LAST_GATEWAYS.getSubject(),
                 null,
+                payload.toBuffer(),
+                DeviceConnectionConstants.CONTENT_TYPE_APPLICATION_JSON,
                 resultTracker,
                 null,
                 currentSpan);
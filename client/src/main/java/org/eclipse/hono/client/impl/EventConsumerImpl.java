@@ -21,10 +21,10 @@ import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.client.MessageConsumer;
 import org.eclipse.hono.util.EventConstants;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.proton.ProtonDelivery;
-import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonReceiver;
 
 /**
@@ -43,6 +43,7 @@ public class EventConsumerImpl extends AbstractConsumer implements MessageConsum
      * @param tenantId The tenant to consumer events for.
      * @param eventConsumer The consumer to invoke with each event received.
      * @param closeHook The handler to invoke when the link is closed by the peer (may be {@code null}).
+     * @param meterRegistry The registry to report the link's credit to if adaptive credit is enabled.
      * @return A future indicating the outcome.
      * @throws NullPointerException if any of the parameters except the closeHook are {@code null}.
      */
@@ -50,19 +51,22 @@ public class EventConsumerImpl extends AbstractConsumer implements MessageConsum
             final HonoConnection con,
             final String tenantId,
             final BiConsumer<ProtonDelivery, Message> eventConsumer,
-            final Handler<String> closeHook) {
+            final Handler<String> closeHook,
+            final MeterRegistry meterRegistry) {
 
         Objects.requireNonNull(con);
         Objects.requireNonNull(tenantId);
         Objects.requireNonNull(eventConsumer);
+        Objects.requireNonNull(meterRegistry);
 
-        final String sourceAddress = String.format("%s/%s", EventConstants.EVENT_ENDPOINT, tenantId);
-        return con.createReceiver(
-                sourceAddress,
-                ProtonQoS.AT_LEAST_ONCE,
+        return create(
+                con,
+                EventConstants.EVENT_ENDPOINT,
+                tenantId,
                 eventConsumer::accept,
-                closeHook)
-                .compose(receiver -> Future.succeededFuture(new EventConsumerImpl(con, receiver)));
+                closeHook,
+                EventConsumerImpl::new,
+                meterRegistry);
     }
 
 }
@@ -28,7 +28,6 @@ import io.opentracing.tag.Tags;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.proton.ProtonDelivery;
-import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonSender;
 
 /**
@@ -91,8 +90,9 @@ public final class EventSenderImpl extends AbstractDownstreamSender {
         Objects.requireNonNull(tenantId);
 
         final String targetAddress = getTargetAddress(tenantId, null);
-        return con.createSender(targetAddress, ProtonQoS.AT_LEAST_ONCE, closeHook)
-        .compose(sender -> Future.succeededFuture(new EventSenderImpl(con, sender, tenantId, targetAddress)));
+        return createSender(con, targetAddress, closeHook,
+                sender -> new EventSenderImpl(con, sender, tenantId, targetAddress))
+                .map(DownstreamSender.class::cast);
     }
 
     /**
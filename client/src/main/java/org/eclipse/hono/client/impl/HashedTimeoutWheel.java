@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * A hashed timing wheel for tracking a large number of timeouts using a single
+ * vert.x timer.
+ * <p>
+ * Timeouts are put into one of a fixed number of buckets based on their deadline.
+ * A periodic timer advances the wheel by one bucket per <em>tick</em> and expires all
+ * timeouts of the current bucket whose deadline has been reached. The periodic timer
+ * is only running while there are pending timeouts.
+ * <p>
+ * A timeout is never triggered before the requested delay has elapsed. However, it may be
+ * triggered up to one tick duration later than requested.
+ * <p>
+ * Instances of this class are not thread safe. All methods are expected to be invoked
+ * on the vert.x context that the wheel is used on, e.g. the context of the
+ * connection that a sender link has been established on.
+ */
+public final class HashedTimeoutWheel {
+
+    /**
+     * The default duration of a tick in milliseconds.
+     */
+    public static final long DEFAULT_TICK_DURATION = 10L; // ms
+    /**
+     * The default number of buckets.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 128;
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashedTimeoutWheel.class);
+
+    private final Vertx vertx;
+    private final long tickDuration;
+    private final Entry[] wheel;
+    private final int mask;
+    private final LongSupplier nanoClock;
+
+    private long startTime;
+    private long currentTick;
+    private int pending;
+    private long timerId = -1;
+
+    /**
+     * Creates a new wheel using default values for tick duration and wheel size.
+     *
+     * @param vertx The vert.x instance to use for running the periodic timer.
+     * @throws NullPointerException if vertx is {@code null}.
+     */
+    public HashedTimeoutWheel(final Vertx vertx) {
+        this(vertx, DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Creates a new wheel.
+     *
+     * @param vertx The vert.x instance to use for running the periodic timer.
+     * @param tickDuration The duration of a tick in milliseconds.
+     * @param wheelSize The number of buckets. The value will be rounded up to the next power of two.
+     * @throws NullPointerException if vertx is {@code null}.
+     * @throws IllegalArgumentException if tick duration or wheel size are not positive.
+     */
+    public HashedTimeoutWheel(final Vertx vertx, final long tickDuration, final int wheelSize) {
+        this(vertx, tickDuration, wheelSize, System::nanoTime);
+    }
+
+    HashedTimeoutWheel(final Vertx vertx, final long tickDuration, final int wheelSize, final LongSupplier nanoClock) {
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tick duration must be > 0");
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheel size must be > 0 and <= 2^30");
+        }
+        this.tickDuration = tickDuration;
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Schedules a timeout.
+     *
+     * @param delay The number of milliseconds after which the handler should be invoked.
+     * @param timeoutHandler The handler to invoke once the timeout has been reached.
+     * @return A handle for cancelling the timeout.
+     * @throws NullPointerException if handler is {@code null}.
+     * @throws IllegalArgumentException if delay is not positive.
+     */
+    public Timeout schedule(final long delay, final Handler<Void> timeoutHandler) {
+
+        Objects.requireNonNull(timeoutHandler);
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be > 0");
+        }
+
+        if (timerId == -1) {
+            start();
+        }
+        final long elapsed = elapsedMillis();
+        // round up so that the timeout never fires before the delay has elapsed
+        final long deadlineTick = Math.max(currentTick + 1, (elapsed + delay + tickDuration - 1) / tickDuration);
+        final Entry entry = new Entry(deadlineTick, timeoutHandler);
+        link(entry);
+        pending++;
+        return entry;
+    }
+
+    /**
+     * Gets the number of timeouts that have neither been reached nor cancelled yet.
+     *
+     * @return The number of timeouts.
+     */
+    public int getPendingTimeouts() {
+        return pending;
+    }
+
+    /**
+     * Stops the wheel's periodic timer and triggers all pending timeouts.
+     * <p>
+     * This method is supposed to be invoked once no more delivery updates can be
+     * received for the messages that the timeouts are tracked for, e.g. because the
+     * link has been closed. The handlers of the pending timeouts are invoked
+     * immediately so that the outcome of these messages does not remain undetermined.
+     * <p>
+     * Scheduling a timeout after this method has been invoked restarts the wheel.
+     */
+    public void close() {
+
+        if (timerId == -1) {
+            return;
+        }
+        stop();
+        for (int i = 0; i < wheel.length; i++) {
+            expireBucket(i, Long.MAX_VALUE);
+        }
+    }
+
+    private void start() {
+        startTime = nanoClock.getAsLong();
+        currentTick = 0;
+        timerId = vertx.setPeriodic(tickDuration, id -> advance());
+        LOG.trace("started timeout wheel [tick duration: {}ms, buckets: {}]", tickDuration, wheel.length);
+    }
+
+    private void stop() {
+        vertx.cancelTimer(timerId);
+        timerId = -1;
+        LOG.trace("stopped timeout wheel [pending timeouts: {}]", pending);
+    }
+
+    private long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - startTime);
+    }
+
+    private void advance() {
+
+        if (timerId == -1) {
+            return;
+        }
+        final long targetTick = elapsedMillis() / tickDuration;
+        if (targetTick - currentTick >= wheel.length) {
+            // the timer has been delayed by more than a full round,
+            // so we need to check each bucket exactly once
+            for (int i = 0; i < wheel.length; i++) {
+                expireBucket(i, targetTick);
+            }
+            currentTick = targetTick;
+        } else {
+            while (currentTick < targetTick) {
+                currentTick++;
+                expireBucket((int) (currentTick & mask), currentTick);
+            }
+        }
+        if (pending == 0) {
+            stop();
+        }
+    }
+
+    private void expireBucket(final int index, final long tick) {
+
+        // first remove all expired entries from the bucket so that
+        // the handlers are free to cancel or schedule other timeouts
+        Entry expired = null;
+        Entry entry = wheel[index];
+        while (entry != null) {
+            final Entry next = entry.next;
+            if (entry.deadlineTick <= tick) {
+                unlink(entry);
+                pending--;
+                entry.next = expired;
+                expired = entry;
+            }
+            entry = next;
+        }
+        while (expired != null) {
+            final Entry next = expired.next;
+            expired.next = null;
+            try {
+                expired.handler.handle(null);
+            } catch (final RuntimeException e) {
+                LOG.warn("error running timeout handler", e);
+            }
+            expired = next;
+        }
+    }
+
+    private void link(final Entry entry) {
+        final int index = (int) (entry.deadlineTick & mask);
+        entry.bucket = index;
+        entry.next = wheel[index];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        wheel[index] = entry;
+    }
+
+    private void unlink(final Entry entry) {
+        if (entry.prev == null) {
+            wheel[entry.bucket] = entry.next;
+        } else {
+            entry.prev.next = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.bucket = -1;
+    }
+
+    /**
+     * A handle for a scheduled timeout.
+     */
+    @FunctionalInterface
+    public interface Timeout {
+
+        /**
+         * A timeout that does nothing when cancelled.
+         */
+        Timeout NOOP = () -> {};
+
+        /**
+         * Cancels this timeout.
+         * <p>
+         * This method has no effect if the timeout has already been reached
+         * or has already been cancelled.
+         */
+        void cancel();
+    }
+
+    private final class Entry implements Timeout {
+
+        private final long deadlineTick;
+        private final Handler<Void> handler;
+        private Entry prev;
+        private Entry next;
+        private int bucket = -1;
+
+        Entry(final long deadlineTick, final Handler<Void> handler) {
+            this.deadlineTick = deadlineTick;
+            this.handler = handler;
+        }
+
+        @Override
+        public void cancel() {
+            if (bucket >= 0) {
+                unlink(this);
+                pending--;
+            }
+        }
+    }
+}
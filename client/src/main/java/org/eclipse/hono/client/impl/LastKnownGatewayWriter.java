@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.eclipse.hono.client.DeviceConnectionClient;
+import org.eclipse.hono.tracing.TracingHelper;
+import org.eclipse.hono.util.MessageHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.opentracing.References;
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.tag.Tags;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * A write-behind layer for updating the last known gateway of devices.
+ * <p>
+ * The writer remembers the gateway that has last been written for each device and
+ * does not write it again unless the gateway has changed or the <em>refresh interval</em>
+ * has elapsed since it has last been written. Updates are not written immediately but are
+ * collected for up to the <em>flush delay</em>. Multiple updates for the same device within
+ * that period are coalesced into a single update having the most recent gateway. The
+ * collected updates are written once the delay has elapsed or as soon as the maximum number
+ * of pending updates has been reached. All updates of a tenant are written by means of a single
+ * <em>set last known gateways for devices</em> request which is traced by means of a new span that
+ * has a <em>follows from</em> reference to the span of each of the updates.
+ * <p>
+ * The local cache of the tenant's Device Connection client is updated with the gateway as soon
+ * as an update has been scheduled so that look ups by means of the client do not return the
+ * previous gateway while the update has not been written yet.
+ * <p>
+ * A failure to write an update is logged and causes the next update for the device
+ * to be written regardless of the gateway having changed or not.
+ * <p>
+ * Instances of this class are not thread safe and are expected to be used on a single
+ * vert.x context only.
+ */
+public final class LastKnownGatewayWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LastKnownGatewayWriter.class);
+    /**
+     * The name of the span tag containing the number of devices that are updated by a single request.
+     */
+    private static final String TAG_DEVICES = "devices";
+
+    private final Vertx vertx;
+    private final Tracer tracer;
+    private final Function<String, Future<DeviceConnectionClient>> clientProvider;
+    private final long refreshIntervalMillis;
+    private final long flushDelayMillis;
+    private final int maxPendingUpdates;
+    private final LongSupplier clock;
+    /**
+     * The last written gateway per device per tenant.
+     */
+    private final Map<String, Map<String, WrittenGateway>> writtenGateways = new HashMap<>();
+
+    private Map<String, Map<String, PendingUpdate>> pendingUpdates = new LinkedHashMap<>();
+    private int pendingUpdateCount;
+    private long timerId = -1;
+    private long lastPurge;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param vertx The vert.x instance to run the flush timer on.
+     * @param tracer The tracer to use for tracing the writing of multiple updates.
+     * @param clientProvider The function to get a Device Connection client for a tenant with.
+     * @param refreshIntervalMillis The number of milliseconds after which an unchanged gateway
+     *                              is written again.
+     * @param flushDelayMillis The maximum number of milliseconds to hold back an update.
+     * @param maxPendingUpdates The maximum number of updates to hold back.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if any of the numbers are &lt; 1.
+     */
+    public LastKnownGatewayWriter(
+            final Vertx vertx,
+            final Tracer tracer,
+            final Function<String, Future<DeviceConnectionClient>> clientProvider,
+            final long refreshIntervalMillis,
+            final long flushDelayMillis,
+            final int maxPendingUpdates) {
+        this(vertx, tracer, clientProvider, refreshIntervalMillis, flushDelayMillis, maxPendingUpdates,
+                System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a new writer using a given clock.
+     *
+     * @param vertx The vert.x instance to run the flush timer on.
+     * @param tracer The tracer to use for tracing the writing of multiple updates.
+     * @param clientProvider The function to get a Device Connection client for a tenant with.
+     * @param refreshIntervalMillis The number of milliseconds after which an unchanged gateway
+     *                              is written again.
+     * @param flushDelayMillis The maximum number of milliseconds to hold back an update.
+     * @param maxPendingUpdates The maximum number of updates to hold back.
+     * @param clock The clock to determine the time of writing an update with (milliseconds).
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if any of the numbers are &lt; 1.
+     */
+    LastKnownGatewayWriter(
+            final Vertx vertx,
+            final Tracer tracer,
+            final Function<String, Future<DeviceConnectionClient>> clientProvider,
+            final long refreshIntervalMillis,
+            final long flushDelayMillis,
+            final int maxPendingUpdates,
+            final LongSupplier clock) {
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.tracer = Objects.requireNonNull(tracer);
+        this.clientProvider = Objects.requireNonNull(clientProvider);
+        this.clock = Objects.requireNonNull(clock);
+        if (refreshIntervalMillis < 1) {
+            throw new IllegalArgumentException("refresh interval must be at least 1ms");
+        }
+        if (flushDelayMillis < 1) {
+            throw new IllegalArgumentException("flush delay must be at least 1ms");
+        }
+        if (maxPendingUpdates < 1) {
+            throw new IllegalArgumentException("max pending updates must be at least 1");
+        }
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.flushDelayMillis = flushDelayMillis;
+        this.maxPendingUpdates = maxPendingUpdates;
+        this.lastPurge = clock.getAsLong();
+    }
+
+    /**
+     * Sets the given gateway as the last gateway that acted on behalf of the given device.
+     * <p>
+     * The update is skipped if the same gateway has been written for the device within the
+     * refresh interval or if an update with the same gateway is already pending. Otherwise,
+     * the update is scheduled for being written and the gateway is put to the local cache
+     * of the tenant's Device Connection client.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device id.
+     * @param gatewayId The gateway id (or the device id if the last message came from the device directly).
+     * @param context The currently active OpenTracing span or {@code null} if no span is currently active.
+     * @return {@code true} if the update has been scheduled for being written.
+     * @throws NullPointerException if any of tenant, device or gateway ID are {@code null}.
+     */
+    public boolean setLastKnownGatewayForDevice(
+            final String tenantId,
+            final String deviceId,
+            final String gatewayId,
+            final SpanContext context) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(gatewayId);
+
+        final Map<String, PendingUpdate> pendingUpdatesForTenant = pendingUpdates.get(tenantId);
+        final PendingUpdate pendingUpdate = pendingUpdatesForTenant == null ? null : pendingUpdatesForTenant.get(deviceId);
+        if (pendingUpdate != null) {
+            // coalesce with the update that has not been written yet
+            if (gatewayId.equals(pendingUpdate.gatewayId)) {
+                return false;
+            }
+            pendingUpdate.gatewayId = gatewayId;
+            pendingUpdate.context = context;
+            updateCache(tenantId, deviceId, gatewayId);
+            return true;
+        }
+
+        final Map<String, WrittenGateway> writtenGatewaysForTenant = writtenGateways.get(tenantId);
+        final WrittenGateway writtenGateway = writtenGatewaysForTenant == null ? null : writtenGatewaysForTenant.get(deviceId);
+        if (writtenGateway != null && gatewayId.equals(writtenGateway.gatewayId)
+                && clock.getAsLong() - writtenGateway.writtenAt < refreshIntervalMillis) {
+            return false;
+        }
+
+        pendingUpdates.computeIfAbsent(tenantId, k -> new LinkedHashMap<>())
+            .put(deviceId, new PendingUpdate(gatewayId, context));
+        pendingUpdateCount++;
+        updateCache(tenantId, deviceId, gatewayId);
+        if (pendingUpdateCount >= maxPendingUpdates) {
+            flush();
+        } else if (timerId == -1) {
+            timerId = vertx.setTimer(flushDelayMillis, id -> {
+                timerId = -1;
+                flush();
+            });
+        }
+        return true;
+    }
+
+    private void updateCache(final String tenantId, final String deviceId, final String gatewayId) {
+        clientProvider.apply(tenantId).setHandler(attempt -> {
+            if (attempt.succeeded()) {
+                attempt.result().updateLastKnownGatewayInCache(deviceId, gatewayId);
+            } else {
+                LOG.debug("cannot update cached last gateway of device [tenantId: {}, deviceId: {}]",
+                        tenantId, deviceId, attempt.cause());
+            }
+        });
+    }
+
+    /**
+     * Writes all pending updates.
+     */
+    public void flush() {
+
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+        final long now = clock.getAsLong();
+        purgeExpiredEntries(now);
+        if (pendingUpdateCount == 0) {
+            return;
+        }
+        final Map<String, Map<String, PendingUpdate>> updates = pendingUpdates;
+        pendingUpdates = new LinkedHashMap<>();
+        pendingUpdateCount = 0;
+
+        updates.forEach((tenantId, updatesForTenant) -> {
+            final Map<String, WrittenGateway> writtenGatewaysForTenant = writtenGateways
+                    .computeIfAbsent(tenantId, k -> new HashMap<>());
+            // consider the gateways as written already in order to prevent
+            // concurrent updates while the outcome is not known yet
+            updatesForTenant.forEach((deviceId, update) -> writtenGatewaysForTenant.put(deviceId,
+                    new WrittenGateway(update.gatewayId, now)));
+
+            clientProvider.apply(tenantId)
+                .compose(client -> write(client, tenantId, updatesForTenant))
+                .otherwise(t -> {
+                    LOG.warn("failed to update last gateway of {} device(s) [tenantId: {}]",
+                            updatesForTenant.size(), tenantId, t);
+                    updatesForTenant.forEach((deviceId, update) -> {
+                        final WrittenGateway writtenGateway = writtenGatewaysForTenant.get(deviceId);
+                        if (writtenGateway != null && update.gatewayId.equals(writtenGateway.gatewayId)) {
+                            writtenGatewaysForTenant.remove(deviceId);
+                        }
+                    });
+                    return null;
+                });
+        });
+    }
+
+    private Future<Void> write(
+            final DeviceConnectionClient client,
+            final String tenantId,
+            final Map<String, PendingUpdate> updates) {
+
+        if (updates.size() == 1) {
+            final Map.Entry<String, PendingUpdate> update = updates.entrySet().iterator().next();
+            return client.setLastKnownGatewayForDevice(update.getKey(), update.getValue().gatewayId,
+                    update.getValue().context);
+        }
+        final Map<String, String> gatewayIds = new HashMap<>(updates.size());
+        final Tracer.SpanBuilder spanBuilder = tracer.buildSpan("update last known gateways")
+                .ignoreActiveSpan()
+                .withTag(Tags.COMPONENT.getKey(), "hono-client")
+                .withTag(MessageHelper.APP_PROPERTY_TENANT_ID, tenantId)
+                .withTag(TAG_DEVICES, updates.size());
+        for (final Map.Entry<String, PendingUpdate> update : updates.entrySet()) {
+            gatewayIds.put(update.getKey(), update.getValue().gatewayId);
+            if (update.getValue().context != null) {
+                spanBuilder.addReference(References.FOLLOWS_FROM, update.getValue().context);
+            }
+        }
+        final Span span = spanBuilder.start();
+        return client.setLastKnownGatewaysForDevices(gatewayIds, span.context())
+                .recover(t -> {
+                    TracingHelper.logError(span, t);
+                    span.finish();
+                    return Future.failedFuture(t);
+                })
+                .map(ok -> {
+                    span.finish();
+                    return ok;
+                });
+    }
+
+    /**
+     * Removes the entries for gateways that would be written again anyway.
+     */
+    private void purgeExpiredEntries(final long now) {
+
+        if (now - lastPurge < refreshIntervalMillis) {
+            return;
+        }
+        lastPurge = now;
+        final Iterator<Map<String, WrittenGateway>> tenants = writtenGateways.values().iterator();
+        while (tenants.hasNext()) {
+            final Map<String, WrittenGateway> writtenGatewaysForTenant = tenants.next();
+            writtenGatewaysForTenant.values().removeIf(written -> now - written.writtenAt >= refreshIntervalMillis);
+            if (writtenGatewaysForTenant.isEmpty()) {
+                tenants.remove();
+            }
+        }
+    }
+
+    private static final class WrittenGateway {
+
+        private final String gatewayId;
+        private final long writtenAt;
+
+        WrittenGateway(final String gatewayId, final long writtenAt) {
+            this.gatewayId = gatewayId;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    private static final class PendingUpdate {
+
+        private String gatewayId;
+        private SpanContext context;
+
+        PendingUpdate(final String gatewayId, final SpanContext context) {
+            this.gatewayId = gatewayId;
+            this.context = context;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.hono.client.DisconnectListener;
+import org.eclipse.hono.client.DownstreamSender;
+import org.eclipse.hono.client.DownstreamSenderFactory;
+import org.eclipse.hono.client.HonoConnection;
+import org.eclipse.hono.client.ReconnectListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * A factory for creating downstream senders which distributes the sender links
+ * among multiple AMQP connections.
+ * <p>
+ * Each connection is established on its own vert.x event loop so that the AMQP framing
+ * and TLS processing for the links can be performed on multiple cores. The links of a
+ * particular tenant are always created on the same connection, which is determined
+ * based on the hash code of the tenant identifier.
+ * <p>
+ * The first connection is established on the vert.x context that the {@link #connect()}
+ * method is invoked on. Each of the other connections is established on the context of a
+ * verticle that is deployed by this factory when connecting and that is undeployed once
+ * the connections have been disconnected. The senders created for the links of other
+ * connections interact with their link on the connection's context only and invoke all
+ * handlers on the vert.x context that the sender has been requested on.
+ */
+public final class PooledDownstreamSenderFactory implements DownstreamSenderFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PooledDownstreamSenderFactory.class);
+
+    private final Vertx vertx;
+    private final List<HonoConnection> connections;
+    private final List<DownstreamSenderFactory> factories;
+    private final Context[] contexts;
+    private final List<String> deploymentIds = new ArrayList<>();
+
+    /**
+     * Creates a new factory for a set of connections.
+     *
+     * @param connections The connections to distribute the sender links among.
+     *                    The connections are expected to use the same configuration.
+     * @throws NullPointerException if connections is {@code null}.
+     * @throws IllegalArgumentException if the list of connections is empty.
+     */
+    public PooledDownstreamSenderFactory(final List<HonoConnection> connections) {
+
+        Objects.requireNonNull(connections);
+        if (connections.isEmpty()) {
+            throw new IllegalArgumentException("at least one connection is required");
+        }
+        this.connections = Collections.unmodifiableList(new ArrayList<>(connections));
+        this.factories = this.connections.stream()
+                .map(DownstreamSenderFactory::create)
+                .collect(Collectors.toList());
+        this.vertx = this.connections.get(0).getVertx();
+        this.contexts = new Context[connections.size()];
+    }
+
+    private int getIndex(final String tenantId) {
+        return Math.floorMod(tenantId.hashCode(), factories.size());
+    }
+
+    /**
+     * Gets the context to establish a connection on.
+     *
+     * @param index The index of the connection.
+     * @param currentContext The context that the first connection should be established on.
+     * @return A future completed with the context.
+     */
+    private Future<Context> getOrCreateContext(final int index, final Context currentContext) {
+
+        final Context context = getContext(index);
+        if (context != null) {
+            return Future.succeededFuture(context);
+        } else if (index == 0) {
+            setContext(index, currentContext);
+            return Future.succeededFuture(currentContext);
+        }
+
+        // use a separate event loop for each connection
+        final ConnectionContextVerticle verticle = new ConnectionContextVerticle();
+        final Future<String> deployment = Future.future();
+        vertx.deployVerticle(verticle, deployment);
+        return deployment.map(deploymentId -> {
+            synchronized (this) {
+                deploymentIds.add(deploymentId);
+            }
+            setContext(index, verticle.getContext());
+            return verticle.getContext();
+        });
+    }
+
+    private synchronized Context getContext(final int index) {
+        return contexts[index];
+    }
+
+    private synchronized void setContext(final int index, final Context context) {
+        contexts[index] = context;
+    }
+
+    /**
+     * Undeploys the verticles providing the contexts of the connections.
+     *
+     * @return A future indicating the outcome of the operation.
+     */
+    private Future<Void> undeployContexts() {
+
+        final List<String> ids;
+        synchronized (this) {
+            ids = new ArrayList<>(deploymentIds);
+            deploymentIds.clear();
+            Arrays.fill(contexts, null);
+        }
+        final List<Future> undeployments = ids.stream()
+                .map(id -> {
+                    final Future<Void> result = Future.future();
+                    vertx.undeploy(id, result);
+                    return result;
+                })
+                .collect(Collectors.toList());
+        return CompositeFuture.all(undeployments).mapEmpty();
+    }
+
+    @Override
+    public Future<DownstreamSender> getOrCreateTelemetrySender(final String tenantId) {
+
+        Objects.requireNonNull(tenantId);
+        final int index = getIndex(tenantId);
+        return bindToCurrentContext(index, factories.get(index).getOrCreateTelemetrySender(tenantId));
+    }
+
+    @Override
+    public Future<DownstreamSender> getOrCreateEventSender(final String tenantId) {
+
+        Objects.requireNonNull(tenantId);
+        final int index = getIndex(tenantId);
+        return bindToCurrentContext(index, factories.get(index).getOrCreateEventSender(tenantId));
+    }
+
+    private Future<DownstreamSender> bindToCurrentContext(final int index, final Future<DownstreamSender> sender) {
+
+        final Context currentContext = Vertx.currentContext();
+        final Context senderContext = getContext(index);
+        if (currentContext == null || senderContext == null || currentContext == senderContext) {
+            return sender;
+        } else {
+            return ContextBoundDownstreamSender.onContext(
+                    currentContext,
+                    ContextBoundDownstreamSender.onContext(senderContext, sender)
+                        .map(s -> new ContextBoundDownstreamSender(s, senderContext, currentContext)));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Establishes all connections, each one on its own vert.x event loop.
+     * The event loops of all but the first connection are provided by verticles
+     * that are deployed by this method.
+     *
+     * @return A future indicating the outcome of the operation. The future will be
+     *         succeeded with the first connection if all connections have been established.
+     */
+    @Override
+    public Future<HonoConnection> connect() {
+
+        final Context currentContext = vertx.getOrCreateContext();
+        final List<Future> attempts = new ArrayList<>(connections.size());
+        for (int i = 0; i < connections.size(); i++) {
+            final HonoConnection connection = connections.get(i);
+            final Future<HonoConnection> attempt = Future.future();
+            getOrCreateContext(i, currentContext).setHandler(context -> {
+                if (context.succeeded()) {
+                    context.result().runOnContext(go -> connection.connect().setHandler(attempt));
+                } else {
+                    attempt.fail(context.cause());
+                }
+            });
+            attempts.add(ContextBoundDownstreamSender.onContext(currentContext, attempt));
+        }
+        return CompositeFuture.all(attempts).map(ok -> {
+            LOG.debug("established {} connections to peer", connections.size());
+            return connections.get(0);
+        });
+    }
+
+    @Override
+    public void addDisconnectListener(final DisconnectListener<HonoConnection> listener) {
+        connections.forEach(connection -> connection.addDisconnectListener(listener));
+    }
+
+    @Override
+    public void addReconnectListener(final ReconnectListener<HonoConnection> listener) {
+        connections.forEach(connection -> connection.addReconnectListener(listener));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The future will be succeeded only if all connections are established.
+     */
+    @Override
+    public Future<Void> isConnected() {
+        return forAll(HonoConnection::isConnected);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Also undeploys the verticles providing the event loops of the connections
+     * once all connections have been disconnected.
+     */
+    @Override
+    public void disconnect() {
+        disconnect(result -> {});
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Also undeploys the verticles providing the event loops of the connections
+     * once all connections have been disconnected.
+     */
+    @Override
+    public void disconnect(final Handler<AsyncResult<Void>> completionHandler) {
+
+        Objects.requireNonNull(completionHandler);
+        forAll(connection -> {
+            final Future<Void> result = Future.future();
+            connection.disconnect(result);
+            return result;
+        }).setHandler(disconnected -> {
+            undeployContexts().setHandler(undeployed -> {
+                if (undeployed.failed()) {
+                    LOG.debug("failed to undeploy connection contexts", undeployed.cause());
+                }
+                completionHandler.handle(disconnected);
+            });
+        });
+    }
+
+    private Future<Void> forAll(final Function<HonoConnection, Future<Void>> operation) {
+
+        final List<Future> results = connections.stream().map(operation).collect(Collectors.toList());
+        return CompositeFuture.all(results).mapEmpty();
+    }
+
+    /**
+     * A verticle that provides the vert.x context for a connection.
+     */
+    private static final class ConnectionContextVerticle extends AbstractVerticle {
+
+        Context getContext() {
+            return context;
+        }
+    }
+}
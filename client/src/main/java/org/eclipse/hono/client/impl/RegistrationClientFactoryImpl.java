@@ -22,6 +22,8 @@ import org.eclipse.hono.client.RegistrationClient;
 import org.eclipse.hono.client.RegistrationClientFactory;
 import org.eclipse.hono.util.Constants;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.vertx.core.Future;
 import io.vertx.core.eventbus.Message;
 
@@ -35,6 +37,7 @@ public class RegistrationClientFactoryImpl extends AbstractHonoClientFactory imp
 
     private final CachingClientFactory<RegistrationClient> registrationClientFactory;
     private final CacheProvider cacheProvider;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Creates a new factory for an existing connection.
@@ -45,7 +48,25 @@ public class RegistrationClientFactoryImpl extends AbstractHonoClientFactory imp
      * @throws NullPointerException if connection is {@code null}
      */
     public RegistrationClientFactoryImpl(final HonoConnection connection, final CacheProvider cacheProvider) {
+        this(connection, cacheProvider, Metrics.globalRegistry);
+    }
+
+    /**
+     * Creates a new factory for an existing connection.
+     * 
+     * @param connection The connection to use.
+     * @param cacheProvider The cache provider to use for creating caches for tenant objects
+     *                      or {@code null} if tenant objects should not be cached.
+     * @param meterRegistry The registry that the clients created by this factory report
+     *                      response cache lookups to.
+     * @throws NullPointerException if connection or meter registry are {@code null}.
+     */
+    public RegistrationClientFactoryImpl(
+            final HonoConnection connection,
+            final CacheProvider cacheProvider,
+            final MeterRegistry meterRegistry) {
         super(connection);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
         this.registrationClientFactory = new CachingClientFactory<>(connection.getVertx(), c -> c.isOpen());
         this.cacheProvider = cacheProvider;
         connection.getVertx().eventBus().consumer(Constants.EVENT_BUS_ADDRESS_TENANT_TIMED_OUT,
@@ -73,6 +94,7 @@ public class RegistrationClientFactoryImpl extends AbstractHonoClientFactory imp
                     RegistrationClientImpl.getTargetAddress(tenantId),
                     () -> RegistrationClientImpl.create(
                             cacheProvider,
+                            meterRegistry,
                             connection,
                             tenantId,
                             this::removeRegistrationClient,
@@ -33,6 +33,7 @@ import org.eclipse.hono.util.TriTuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.vertx.core.Future;
@@ -129,6 +130,7 @@ public class RegistrationClientImpl extends AbstractRequestResponseClient<Regist
      * 
      * @param cacheProvider A factory for cache instances for registration results. If {@code null}
      *                     the client will not cache any results from the Device Registration service.
+     * @param meterRegistry The registry to report response cache lookups to.
      * @param con The connection to the server.
      * @param tenantId The tenant to consumer events for.
      * @param senderCloseHook A handler to invoke if the peer closes the sender link unexpectedly.
@@ -138,6 +140,7 @@ public class RegistrationClientImpl extends AbstractRequestResponseClient<Regist
      */
     public static final Future<RegistrationClient> create(
             final CacheProvider cacheProvider,
+            final MeterRegistry meterRegistry,
             final HonoConnection con,
             final String tenantId,
             final Handler<String> senderCloseHook,
@@ -145,6 +148,7 @@ public class RegistrationClientImpl extends AbstractRequestResponseClient<Regist
 
         LOG.debug("creating new registration client for [{}]", tenantId);
         final RegistrationClientImpl client = new RegistrationClientImpl(con, tenantId);
+        client.setMeterRegistry(meterRegistry);
         if (cacheProvider != null) {
             client.setResponseCache(cacheProvider.getCache(RegistrationClientImpl.getTargetAddress(tenantId)));
         }
@@ -249,8 +253,8 @@ public class RegistrationClientImpl extends AbstractRequestResponseClient<Regist
         span.setTag(MessageHelper.APP_PROPERTY_DEVICE_ID, deviceId);
         span.setTag(MessageHelper.APP_PROPERTY_GATEWAY_ID, gatewayId);
 
-        final Future<RegistrationResult> resultTracker = getResponseFromCache(key, span)
-                .recover(t -> {
+        final Future<RegistrationResult> resultTracker = getResponseFromCacheOrPeer(key, span,
+                requestSpan -> {
                     final Future<RegistrationResult> regResult = Future.future();
                     final Map<String, Object> properties = createDeviceIdProperties(deviceId);
                     if (gatewayId != null) {
@@ -263,7 +267,7 @@ public class RegistrationClientImpl extends AbstractRequestResponseClient<Regist
                             RegistrationConstants.CONTENT_TYPE_APPLICATION_JSON,
                             regResult,
                             key,
-                            span);
+                            requestSpan);
                     return regResult;
                 });
         return mapResultAndFinishSpan(resultTracker, result -> {
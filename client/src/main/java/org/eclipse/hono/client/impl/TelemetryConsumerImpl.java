@@ -19,11 +19,12 @@ import java.util.function.Consumer;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.client.MessageConsumer;
+import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.TelemetryConstants;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
-import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonReceiver;
 
 /**
@@ -37,11 +38,15 @@ public class TelemetryConsumerImpl extends AbstractConsumer implements MessageCo
 
     /**
      * Creates a new telemetry data consumer for a tenant.
+     * <p>
+     * Messages containing a batch of telemetry messages (see {@link MessageHelper#newBatch(java.util.List)})
+     * are unpacked and the consumer is invoked with each of the batched messages in turn.
      * 
      * @param con The connection to the server.
      * @param tenantId The tenant to consumer events for.
      * @param telemetryConsumer The consumer to invoke with each telemetry message received.
      * @param closeHook The handler to invoke when the link is closed by the peer (may be {@code null}).
+     * @param meterRegistry The registry to report the link's credit to if adaptive credit is enabled.
      * @return A future indicating the outcome.
      * @throws NullPointerException if any of the parameters is {@code null}.
      */
@@ -49,18 +54,27 @@ public class TelemetryConsumerImpl extends AbstractConsumer implements MessageCo
             final HonoConnection con,
             final String tenantId,
             final Consumer<Message> telemetryConsumer,
-            final Handler<String> closeHook ) {
+            final Handler<String> closeHook,
+            final MeterRegistry meterRegistry) {
 
         Objects.requireNonNull(con);
         Objects.requireNonNull(tenantId);
         Objects.requireNonNull(telemetryConsumer);
+        Objects.requireNonNull(meterRegistry);
 
-        final String sourceAddress = String.format("%s/%s", TelemetryConstants.TELEMETRY_ENDPOINT, tenantId);
-        return con.createReceiver(
-                sourceAddress,
-                ProtonQoS.AT_LEAST_ONCE,
-                (delivery, message) -> telemetryConsumer.accept(message),
-                closeHook)
-                .compose(receiver -> Future.succeededFuture(new TelemetryConsumerImpl(con, receiver)));
+        return create(
+                con,
+                TelemetryConstants.TELEMETRY_ENDPOINT,
+                tenantId,
+                (delivery, message) -> {
+                    if (MessageHelper.isBatch(message)) {
+                        MessageHelper.getBatchedMessages(message).forEach(telemetryConsumer);
+                    } else {
+                        telemetryConsumer.accept(message);
+                    }
+                },
+                closeHook,
+                TelemetryConsumerImpl::new,
+                meterRegistry);
     }
 }
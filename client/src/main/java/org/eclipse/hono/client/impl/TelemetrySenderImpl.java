@@ -34,7 +34,6 @@ import io.opentracing.tag.Tags;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.proton.ProtonDelivery;
-import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonSender;
 
 /**
@@ -98,8 +97,9 @@ public final class TelemetrySenderImpl extends AbstractDownstreamSender {
         Objects.requireNonNull(tenantId);
 
         final String targetAddress = getTargetAddress(tenantId, null);
-        return con.createSender(targetAddress, ProtonQoS.AT_LEAST_ONCE, remoteCloseHook)
-        .compose(sender -> Future.succeededFuture(new TelemetrySenderImpl(con, sender, tenantId, targetAddress)));
+        return createSender(con, targetAddress, remoteCloseHook,
+                sender -> new TelemetrySenderImpl(con, sender, tenantId, targetAddress))
+                .map(DownstreamSender.class::cast);
     }
 
     /**
@@ -163,31 +163,27 @@ public final class TelemetrySenderImpl extends AbstractDownstreamSender {
         Objects.requireNonNull(message);
         Objects.requireNonNull(currentSpan);
 
-        final String messageId = String.format("%s-%d", getClass().getSimpleName(), MESSAGE_COUNTER.getAndIncrement());
+        final String messageId = newMessageId();
         message.setMessageId(messageId);
         logMessageIdAndSenderInfo(currentSpan, messageId);
 
         final ClientConfigProperties config = connection.getConfig();
         final AtomicBoolean timeoutReached = new AtomicBoolean(false);
-        final Long timerId = config.getSendMessageTimeout() > 0
-                ? connection.getVertx().setTimer(config.getSendMessageTimeout(), id -> {
-                    if (timeoutReached.compareAndSet(false, true)) {
-                        final ServerErrorException exception = new ServerErrorException(
-                                HttpURLConnection.HTTP_UNAVAILABLE,
-                                "waiting for delivery update timed out after " + config.getSendMessageTimeout() + "ms");
-                        log.debug("waiting for delivery update timed out for message [message ID: {}] after {}ms",
-                                messageId, config.getSendMessageTimeout());
-                        TracingHelper.logError(currentSpan, exception.getMessage());
-                        Tags.HTTP_STATUS.set(currentSpan, HttpURLConnection.HTTP_UNAVAILABLE);
-                        currentSpan.finish();
-                    }
-                })
-                : null;
+        final HashedTimeoutWheel.Timeout timeout = startDeliveryTimeout(v -> {
+            if (timeoutReached.compareAndSet(false, true)) {
+                final ServerErrorException exception = new ServerErrorException(
+                        HttpURLConnection.HTTP_UNAVAILABLE,
+                        "waiting for delivery update timed out after " + config.getSendMessageTimeout() + "ms");
+                log.debug("waiting for delivery update timed out for message [message ID: {}] after {}ms",
+                        messageId, config.getSendMessageTimeout());
+                TracingHelper.logError(currentSpan, exception.getMessage());
+                Tags.HTTP_STATUS.set(currentSpan, HttpURLConnection.HTTP_UNAVAILABLE);
+                currentSpan.finish();
+            }
+        });
 
         final ProtonDelivery result = sender.send(message, deliveryUpdated -> {
-            if (timerId != null) {
-                connection.getVertx().cancelTimer(timerId);
-            }
+            timeout.cancel();
             final DeliveryState remoteState = deliveryUpdated.getRemoteState();
             if (timeoutReached.get()) {
                 log.debug("ignoring received delivery update for message [message ID: {}]: waiting for the update has already timed out", messageId);
@@ -14,11 +14,15 @@
 
 package org.eclipse.hono.client.impl;
 
+import java.util.Objects;
+
 import org.eclipse.hono.cache.CacheProvider;
 import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.client.TenantClient;
 import org.eclipse.hono.client.TenantClientFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.vertx.core.Future;
 
 
@@ -30,6 +34,7 @@ public class TenantClientFactoryImpl extends AbstractHonoClientFactory implement
 
     private final CachingClientFactory<TenantClient> tenantClientFactory;
     private final CacheProvider cacheProvider;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Creates a new factory for an existing connection.
@@ -40,7 +45,25 @@ public class TenantClientFactoryImpl extends AbstractHonoClientFactory implement
      * @throws NullPointerException if connection is {@code null}
      */
     public TenantClientFactoryImpl(final HonoConnection connection, final CacheProvider cacheProvider) {
+        this(connection, cacheProvider, Metrics.globalRegistry);
+    }
+
+    /**
+     * Creates a new factory for an existing connection.
+     * 
+     * @param connection The connection to use.
+     * @param cacheProvider The cache provider to use for creating caches for tenant objects
+     *                      or {@code null} if tenant objects should not be cached.
+     * @param meterRegistry The registry that the clients created by this factory report
+     *                      response cache lookups to.
+     * @throws NullPointerException if connection or meter registry are {@code null}.
+     */
+    public TenantClientFactoryImpl(
+            final HonoConnection connection,
+            final CacheProvider cacheProvider,
+            final MeterRegistry meterRegistry) {
         super(connection);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
         this.tenantClientFactory = new CachingClientFactory<>(connection.getVertx(), c -> c.isOpen());
         this.cacheProvider = cacheProvider;
     }
@@ -64,6 +87,7 @@ public class TenantClientFactoryImpl extends AbstractHonoClientFactory implement
                     TenantClientImpl.getTargetAddress(),
                     () -> TenantClientImpl.create(
                             cacheProvider,
+                            meterRegistry,
                             connection,
                             this::removeTenantClient,
                             this::removeTenantClient),
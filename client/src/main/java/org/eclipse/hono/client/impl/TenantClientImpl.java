@@ -41,6 +41,7 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.tag.StringTag;
@@ -115,7 +116,7 @@ public class TenantClientImpl extends AbstractRequestResponseClient<TenantResult
             try {
                 return TenantResult.from(
                         status,
-                        OBJECT_MAPPER.readValue(payload.getBytes(), TenantObject.class),
+                        OBJECT_MAPPER.readValue(payload.getBytes(), TenantObject.class).precompile(),
                         cacheDirective,
                         applicationProperties);
             } catch (final IOException e) {
@@ -141,6 +142,7 @@ public class TenantClientImpl extends AbstractRequestResponseClient<TenantResult
      *
      * @param cacheProvider A factory for cache instances for tenant configuration results. If {@code null}
      *                     the client will not cache any results from the Tenant service.
+     * @param meterRegistry The registry to report response cache lookups to.
      * @param con The connection to the server.
      * @param senderCloseHook A handler to invoke if the peer closes the sender link unexpectedly.
      * @param receiverCloseHook A handler to invoke if the peer closes the receiver link unexpectedly.
@@ -149,12 +151,14 @@ public class TenantClientImpl extends AbstractRequestResponseClient<TenantResult
      */
     public static final Future<TenantClient> create(
             final CacheProvider cacheProvider,
+            final MeterRegistry meterRegistry,
             final HonoConnection con,
             final Handler<String> senderCloseHook,
             final Handler<String> receiverCloseHook) {
 
         LOG.debug("creating new tenant client");
         final TenantClientImpl client = new TenantClientImpl(con);
+        client.setMeterRegistry(meterRegistry);
         if (cacheProvider != null) {
             client.setResponseCache(cacheProvider.getCache(TenantClientImpl.getTargetAddress()));
         }
@@ -225,8 +229,8 @@ public class TenantClientImpl extends AbstractRequestResponseClient<TenantResult
             final Supplier<JsonObject> payloadSupplier,
             final Span currentSpan) {
 
-        final Future<TenantResult<TenantObject>> resultTracker = getResponseFromCache(key, currentSpan)
-                .recover(cacheMiss -> {
+        final Future<TenantResult<TenantObject>> resultTracker = getResponseFromCacheOrPeer(key, currentSpan,
+                requestSpan -> {
                     final Future<TenantResult<TenantObject>> tenantResult = Future.future();
                     createAndSendRequest(
                             TenantAction.get.toString(),
@@ -235,7 +239,7 @@ public class TenantClientImpl extends AbstractRequestResponseClient<TenantResult
                             RegistrationConstants.CONTENT_TYPE_APPLICATION_JSON,
                             tenantResult,
                             key,
-                            currentSpan);
+                            requestSpan);
                     return tenantResult;
                 });
         return mapResultAndFinishSpan(resultTracker, tenantResult -> {
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.auth.HonoUser;
+import org.eclipse.hono.connection.ConnectionFactory;
+import org.eclipse.hono.util.AuthenticationConstants;
+import org.eclipse.hono.util.MessageHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.proton.ProtonClientOptions;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Tests verifying behavior of {@link AuthenticationServerClient}.
+ *
+ */
+public class AuthenticationServerClientTest {
+
+    private ConnectionFactory factory;
+    private ProtonReceiver receiver;
+    private MeterRegistry meterRegistry;
+    private AuthenticationServerClient client;
+    private List<Handler<AsyncResult<ProtonConnection>>> connectionResultHandlers;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    public void setUp() {
+
+        receiver = mock(ProtonReceiver.class);
+        doAnswer(invocation -> {
+            final Handler<AsyncResult<ProtonReceiver>> openHandler = invocation.getArgument(0);
+            openHandler.handle(Future.succeededFuture(receiver));
+            return receiver;
+        }).when(receiver).openHandler(any(Handler.class));
+
+        connectionResultHandlers = new ArrayList<>();
+        factory = mock(ConnectionFactory.class);
+        doAnswer(invocation -> {
+            connectionResultHandlers.add(invocation.getArgument(5));
+            return null;
+        }).when(factory).connect(any(ProtonClientOptions.class), anyString(), anyString(), any(), any(), any(Handler.class));
+
+        meterRegistry = new SimpleMeterRegistry();
+        client = new AuthenticationServerClient(mock(Vertx.class), factory);
+        client.setMeterRegistry(meterRegistry);
+    }
+
+    /**
+     * Verifies that concurrent requests to verify the same credentials are
+     * processed using a single connection and that the token issued by
+     * the authentication service is cached.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testVerifyPlainUsesSingleConnectionAndCachesToken() {
+
+        final String token = createToken(Instant.now().plusSeconds(600));
+        final List<AsyncResult<HonoUser>> results = new ArrayList<>();
+
+        client.verifyPlain(null, "user", "pwd", results::add);
+        client.verifyPlain(null, "user", "pwd", results::add);
+
+        // only one connection is established for both requests
+        verify(factory).connect(any(ProtonClientOptions.class), eq("user"), eq("pwd"), any(), any(), any(Handler.class));
+        issueToken(token);
+        assertEquals(2, results.size());
+        results.forEach(result -> assertEquals(token, result.result().getToken()));
+
+        // a subsequent request is served from the cache
+        client.verifyPlain(null, "user", "pwd", results::add);
+        assertEquals(3, results.size());
+        assertEquals(token, results.get(2).result().getToken());
+        verify(factory).connect(any(ProtonClientOptions.class), eq("user"), eq("pwd"), any(), any(), any(Handler.class));
+        assertEquals(1, meterRegistry.find(AuthenticationServerClient.METER_AUTHENTICATION_DURATION)
+                .tag("outcome", "success").timer().count());
+        assertEquals(1.0, meterRegistry.find(AuthenticationServerClient.METER_TOKEN_CACHE_LOOKUPS)
+                .tag("result", "hit").counter().count());
+
+        // but not a request for other credentials
+        client.verifyPlain(null, "user", "other-pwd", results::add);
+        verify(factory).connect(any(ProtonClientOptions.class), eq("user"), eq("other-pwd"), any(), any(), any(Handler.class));
+    }
+
+    /**
+     * Verifies that tokens are not cached if caching is disabled or if the
+     * authentication fails.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testVerifyPlainDoesNotCacheFailedAuthentication() {
+
+        final List<AsyncResult<HonoUser>> results = new ArrayList<>();
+
+        client.verifyPlain(null, "user", "pwd", results::add);
+        connectionResultHandlers.get(0).handle(Future.failedFuture("connection refused"));
+        assertTrue(results.get(0).failed());
+        assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, ((ServiceInvocationException) results.get(0).cause()).getErrorCode());
+        assertEquals(1, meterRegistry.find(AuthenticationServerClient.METER_AUTHENTICATION_DURATION)
+                .tag("outcome", "failure").timer().count());
+
+        client.setTokenCacheMaxSize(0);
+        client.verifyPlain(null, "user", "pwd", results::add);
+        issueToken(createToken(Instant.now().plusSeconds(600)));
+        client.verifyPlain(null, "user", "pwd", results::add);
+        verify(factory, times(3)).connect(any(ProtonClientOptions.class), eq("user"), eq("pwd"), any(), any(), any(Handler.class));
+    }
+
+    /**
+     * Verifies that a token is not cached for longer than the configured
+     * timeout, regardless of the expiration time contained in the token.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testVerifyPlainLimitsCachingOfToken() {
+
+        final Clock clock = mock(Clock.class);
+        final Instant now = Instant.now();
+        when(clock.instant()).thenReturn(now);
+        client = new AuthenticationServerClient(mock(Vertx.class), factory, clock);
+        client.setMeterRegistry(meterRegistry);
+        client.setTokenCacheTimeout(Duration.ofSeconds(30));
+        final List<AsyncResult<HonoUser>> results = new ArrayList<>();
+
+        // GIVEN a token that claims to be valid for a day
+        client.verifyPlain(null, "user", "pwd", results::add);
+        issueToken(createToken(now.plus(Duration.ofDays(1))));
+
+        // WHEN verifying the same credentials within the cache timeout
+        when(clock.instant()).thenReturn(now.plusSeconds(29));
+        client.verifyPlain(null, "user", "pwd", results::add);
+        // THEN the cached token is used
+        verify(factory).connect(any(ProtonClientOptions.class), eq("user"), eq("pwd"), any(), any(), any(Handler.class));
+
+        // but after the cache timeout has elapsed
+        when(clock.instant()).thenReturn(now.plusSeconds(31));
+        client.verifyPlain(null, "user", "pwd", results::add);
+        // the token is requested again
+        verify(factory, times(2)).connect(any(ProtonClientOptions.class), eq("user"), eq("pwd"), any(), any(), any(Handler.class));
+    }
+
+    private void issueToken(final String token) {
+
+        final ArgumentCaptor<ProtonMessageHandler> messageHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        final ProtonConnection con = mock(ProtonConnection.class);
+        when(con.createReceiver(anyString())).thenReturn(receiver);
+        connectionResultHandlers.get(connectionResultHandlers.size() - 1).handle(Future.succeededFuture(con));
+        verify(receiver, atLeastOnce()).handler(messageHandler.capture());
+
+        final Message message = ProtonHelper.message(token);
+        MessageHelper.addProperty(message, AuthenticationConstants.APPLICATION_PROPERTY_TYPE, AuthenticationConstants.TYPE_AMQP_JWT);
+        messageHandler.getValue().handle(mock(ProtonDelivery.class), message);
+    }
+
+    private static String createToken(final Instant expirationTime) {
+
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        final String header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        final String claims = encoder.encodeToString(new JsonObject()
+                .put("sub", "user")
+                .put("exp", expirationTime.getEpochSecond())
+                .encode().getBytes(StandardCharsets.UTF_8));
+        return header + "." + claims + ".";
+    }
+}
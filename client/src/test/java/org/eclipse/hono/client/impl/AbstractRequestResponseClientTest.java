@@ -21,10 +21,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +35,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.qpid.proton.amqp.messaging.Accepted;
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
@@ -53,8 +56,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
@@ -82,6 +88,7 @@ public class AbstractRequestResponseClientTest  {
     private ProtonReceiver receiver;
     private ProtonSender sender;
     private Span span;
+    private RequestResponseClientConfigProperties config;
 
     /**
      * Sets up the fixture.
@@ -106,6 +113,7 @@ public class AbstractRequestResponseClientTest  {
         when(sender.getRemoteTarget()).thenReturn(target);
 
         cache = mock(ExpiringValueCache.class);
+        config = new RequestResponseClientConfigProperties();
 
         client = getClient("tenant", sender, receiver);
         // do not time out requests by default
@@ -430,6 +438,166 @@ public class AbstractRequestResponseClientTest  {
         client.handleResponse(delivery, response);
     }
 
+    /**
+     * Verifies that a <em>404 Not Found</em> response that is not put to the cache because
+     * negative caching is disabled removes the response that has been cached for the key before,
+     * including the copy kept for being served while revalidating.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testCreateAndSendRequestRemovesCachedResponseOnNotFound(final VertxTestContext ctx) {
+
+        // GIVEN an adapter that does not cache negative responses but
+        // serves expired responses while revalidating them
+        config.setResponseCacheNegativeTimeout(0);
+        config.setResponseCacheStaleTimeout(30);
+        client = getClient("tenant", sender, receiver);
+        client.setResponseCache(cache);
+
+        // WHEN getting a 404 response to a request for a key that has been cached before
+        client.createAndSendRequest("get", (Buffer) null, ctx.succeeding(result -> {
+            ctx.verify(() -> {
+                // THEN the response is not put to the cache
+                verify(cache, never()).put(any(), any(SimpleRequestResponseResult.class), any(Duration.class));
+                // and the previously cached responses are removed
+                verify(cache).remove("cacheKey");
+                verify(cache).remove(argThat(key -> !"cacheKey".equals(key)));
+            });
+            ctx.completeNow();
+        }), "cacheKey");
+
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender).send(messageCaptor.capture(), VertxMockSupport.anyHandler());
+        final Message response = ProtonHelper.message();
+        response.setCorrelationId(messageCaptor.getValue().getMessageId());
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_NOT_FOUND);
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        client.handleResponse(delivery, response);
+    }
+
+    /**
+     * Verifies that the adapter puts a <em>404 Not Found</em> response that does not contain
+     * any cache directive to the cache using the negative cache timeout and keeps an additional
+     * copy of the response for the stale timeout.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testCreateAndSendRequestAddsNotFoundResponseToCacheUsingNegativeTimeout(final VertxTestContext ctx) {
+
+        // GIVEN an adapter with an empty cache that is configured to cache negative
+        // responses and to serve expired responses while revalidating them
+        config.setResponseCacheNegativeTimeout(10);
+        config.setResponseCacheStaleTimeout(30);
+        client = getClient("tenant", sender, receiver);
+        client.setResponseCache(cache);
+
+        // WHEN getting a 404 response to a request which contains
+        // no cache directive
+        client.createAndSendRequest("get", (Buffer) null, ctx.succeeding(result -> {
+            ctx.verify(() -> {
+                // THEN the response is put to the cache using the negative timeout
+                verify(cache).put(eq("cacheKey"), any(SimpleRequestResponseResult.class), eq(Duration.ofSeconds(10)));
+                // and is kept for another 30 seconds for being served while revalidating
+                verify(cache).put(argThat(key -> !"cacheKey".equals(key)), any(SimpleRequestResponseResult.class),
+                        eq(Duration.ofSeconds(40)));
+            });
+            ctx.completeNow();
+        }), "cacheKey");
+
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender).send(messageCaptor.capture(), VertxMockSupport.anyHandler());
+        final Message response = ProtonHelper.message();
+        response.setCorrelationId(messageCaptor.getValue().getMessageId());
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_NOT_FOUND);
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        client.handleResponse(delivery, response);
+    }
+
+    /**
+     * Verifies that the client serves an expired response from the cache while
+     * revalidating it and that only a single revalidation request is sent to the peer
+     * for concurrent lookups of the same key.
+     */
+    @Test
+    public void testGetResponseFromCacheOrPeerServesStaleResponseWhileRevalidating() {
+
+        // GIVEN a client with a cache that only contains an expired response
+        config.setResponseCacheStaleTimeout(30);
+        client = getClient("tenant", sender, receiver);
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        client.setMeterRegistry(registry);
+        client.setResponseCache(cache);
+        final SimpleRequestResponseResult staleResult = SimpleRequestResponseResult.from(
+                HttpURLConnection.HTTP_OK, null, null, null);
+        when(cache.get(argThat(key -> !"cacheKey".equals(key)))).thenReturn(staleResult);
+        final AtomicInteger requests = new AtomicInteger();
+        final Future<SimpleRequestResponseResult> revalidation = Future.future();
+
+        // WHEN looking up the response multiple times
+        for (int i = 0; i < 3; i++) {
+            final Future<SimpleRequestResponseResult> result = client.getResponseFromCacheOrPeer("cacheKey", span,
+                    requestSpan -> {
+                        requests.incrementAndGet();
+                        return revalidation;
+                    });
+            // THEN the expired response is returned right away
+            assertTrue(result.succeeded());
+            assertEquals(staleResult, result.result());
+        }
+        // and only a single request is sent to the peer
+        assertEquals(1, requests.get());
+        assertEquals(3.0, registry.get(AbstractRequestResponseClient.METER_CACHE_LOOKUPS)
+                .tag("result", "stale").counter().count());
+
+        // and another request is sent once the revalidation has completed
+        revalidation.complete(staleResult);
+        client.getResponseFromCacheOrPeer("cacheKey", span, requestSpan -> {
+            requests.incrementAndGet();
+            return Future.future();
+        });
+        assertEquals(2, requests.get());
+    }
+
+    /**
+     * Verifies that the client reports cache hits and misses and
+     * sends a request to the peer on a cache miss only.
+     */
+    @Test
+    public void testGetResponseFromCacheOrPeerReportsHitsAndMisses() {
+
+        // GIVEN a client with a cache containing a response for a key
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        client.setMeterRegistry(registry);
+        client.setResponseCache(cache);
+        final SimpleRequestResponseResult cachedResult = SimpleRequestResponseResult.from(
+                HttpURLConnection.HTTP_OK, null, null, null);
+        when(cache.get("cached")).thenReturn(cachedResult);
+        final AtomicInteger requests = new AtomicInteger();
+
+        // WHEN looking up the cached and a non-cached key
+        final Future<SimpleRequestResponseResult> hit = client.getResponseFromCacheOrPeer("cached", span,
+                requestSpan -> {
+                    requests.incrementAndGet();
+                    return Future.future();
+                });
+        client.getResponseFromCacheOrPeer("notCached", span, requestSpan -> {
+            requests.incrementAndGet();
+            return Future.future();
+        });
+
+        // THEN the cached response is returned
+        assertEquals(cachedResult, hit.result());
+        // and a single request has been sent for the non-cached key
+        assertEquals(1, requests.get());
+        verify(cache, times(1)).get("notCached");
+        assertEquals(1.0, registry.get(AbstractRequestResponseClient.METER_CACHE_LOOKUPS)
+                .tag("result", "hit").counter().count());
+        assertEquals(1.0, registry.get(AbstractRequestResponseClient.METER_CACHE_LOOKUPS)
+                .tag("result", "miss").counter().count());
+    }
+
     /**
      * Verifies that the client succeeds the result handler if the peer accepts
      * the request message for a one-way request.
@@ -484,7 +652,7 @@ public class AbstractRequestResponseClientTest  {
 
     private AbstractRequestResponseClient<SimpleRequestResponseResult> getClient(final String tenant, final ProtonSender sender, final ProtonReceiver receiver) {
 
-        final HonoConnection connection = HonoClientUnitTestHelper.mockHonoConnection(vertx);
+        final HonoConnection connection = HonoClientUnitTestHelper.mockHonoConnection(vertx, config);
         return new AbstractRequestResponseClient<SimpleRequestResponseResult>(connection, tenant, sender, receiver) {
 
             @Override
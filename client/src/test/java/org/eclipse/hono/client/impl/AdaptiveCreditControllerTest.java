@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.qpid.proton.message.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Tests verifying behavior of {@link AdaptiveCreditController}.
+ *
+ */
+public class AdaptiveCreditControllerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private MeterRegistry registry;
+    private ProtonReceiver receiver;
+    private AdaptiveCreditController controller;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+
+        registry = new SimpleMeterRegistry();
+        receiver = mock(ProtonReceiver.class);
+        when(receiver.getName()).thenReturn("link-1");
+        controller = new AdaptiveCreditController(1000, registry, "telemetry", "tenant", clock::get);
+    }
+
+    private ProtonMessageHandler handlerTaking(final long millis) {
+        return controller.wrap((delivery, message) -> clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    /**
+     * Verifies that the maximum credit is issued initially and that the
+     * window shrinks for a slow message handler.
+     */
+    @Test
+    public void testWindowShrinksForSlowHandler() {
+
+        controller.start(receiver);
+        verify(receiver).flow(1000);
+
+        // WHEN the handler needs 10ms for processing a message
+        when(receiver.getCredit()).thenReturn(999);
+        handlerTaking(10).handle(mock(ProtonDelivery.class), mock(Message.class));
+
+        // THEN the window is reduced to the messages that can be processed within the target time
+        assertEquals(10, controller.getWindow());
+        // AND no more credit is issued while the outstanding credit exceeds the window
+        reset(receiver);
+        when(receiver.getCredit()).thenReturn(998);
+        handlerTaking(10).handle(mock(ProtonDelivery.class), mock(Message.class));
+        verify(receiver, never()).flow(anyInt());
+
+        // AND credit is replenished up to the window once the outstanding credit is used up
+        reset(receiver);
+        when(receiver.getCredit()).thenReturn(3);
+        when(receiver.getQueued()).thenReturn(1);
+        handlerTaking(10).handle(mock(ProtonDelivery.class), mock(Message.class));
+        verify(receiver).flow(6);
+    }
+
+    /**
+     * Verifies that the window is bounded by the maximum credit for a fast message handler.
+     */
+    @Test
+    public void testWindowIsBoundedByMaxCredit() {
+
+        controller.start(receiver);
+        reset(receiver);
+        when(receiver.getCredit()).thenReturn(100);
+        handlerTaking(0).handle(mock(ProtonDelivery.class), mock(Message.class));
+
+        assertEquals(1000, controller.getWindow());
+        verify(receiver).flow(900);
+    }
+
+    /**
+     * Verifies that the credit and queue depth gauges are registered on start
+     * and removed on close.
+     */
+    @Test
+    public void testGaugesAreRemovedOnClose() {
+
+        when(receiver.getCredit()).thenReturn(5);
+        when(receiver.getQueued()).thenReturn(2);
+        controller.start(receiver);
+
+        assertEquals(5d, registry.get(AdaptiveCreditController.METER_CREDIT)
+                .tag("tenant", "tenant").gauge().value());
+        assertEquals(2d, registry.get(AdaptiveCreditController.METER_QUEUED)
+                .tag("endpoint", "telemetry").gauge().value());
+
+        controller.close();
+        assertNull(registry.find(AdaptiveCreditController.METER_CREDIT).gauge());
+        assertNull(registry.find(AdaptiveCreditController.METER_QUEUED).gauge());
+    }
+
+    /**
+     * Verifies that the gauges of links for the same endpoint and tenant are
+     * reported separately and that closing one controller does not remove the
+     * gauges of the other link.
+     */
+    @Test
+    public void testGaugesAreReportedPerLink() {
+
+        when(receiver.getCredit()).thenReturn(5);
+        controller.start(receiver);
+        final ProtonReceiver otherReceiver = mock(ProtonReceiver.class);
+        when(otherReceiver.getName()).thenReturn("link-2");
+        when(otherReceiver.getCredit()).thenReturn(7);
+        final AdaptiveCreditController otherController = new AdaptiveCreditController(
+                1000, registry, "telemetry", "tenant", clock::get);
+        otherController.start(otherReceiver);
+
+        assertEquals(5d, registry.get(AdaptiveCreditController.METER_CREDIT)
+                .tag("link", "link-1").gauge().value());
+        assertEquals(7d, registry.get(AdaptiveCreditController.METER_CREDIT)
+                .tag("link", "link-2").gauge().value());
+
+        controller.close();
+        assertNull(registry.find(AdaptiveCreditController.METER_CREDIT).tag("link", "link-1").gauge());
+        assertEquals(7d, registry.get(AdaptiveCreditController.METER_CREDIT)
+                .tag("link", "link-2").gauge().value());
+    }
+}
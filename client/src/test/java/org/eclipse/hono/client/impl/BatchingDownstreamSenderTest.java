@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.DownstreamSender;
+import org.eclipse.hono.util.MessageHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import io.opentracing.SpanContext;
+import io.opentracing.noop.NoopTracerFactory;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonHelper;
+
+/**
+ * Tests verifying behavior of {@link BatchingDownstreamSender}.
+ *
+ */
+public class BatchingDownstreamSenderTest {
+
+    private DownstreamSender delegate;
+    private Vertx vertx;
+    private BatchingDownstreamSender sender;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+
+        delegate = mock(DownstreamSender.class);
+        when(delegate.send(any(Message.class))).thenReturn(Future.succeededFuture(mock(ProtonDelivery.class)));
+        vertx = mock(Vertx.class);
+        when(vertx.setTimer(anyLong(), VertxMockSupport.anyHandler())).thenReturn(1L);
+        sender = new BatchingDownstreamSender(delegate, vertx, NoopTracerFactory.create(), 3, 20);
+    }
+
+    /**
+     * Verifies that messages are forwarded as a single batch once the maximum
+     * number of messages has been reached.
+     */
+    @Test
+    public void testSendForwardsBatchWhenFull() {
+
+        final Future<ProtonDelivery> first = sender.send(ProtonHelper.message("one"));
+        final Future<ProtonDelivery> second = sender.send(ProtonHelper.message("two"));
+        verify(delegate, never()).send(any(Message.class));
+        assertFalse(first.isComplete());
+
+        final Future<ProtonDelivery> third = sender.send(ProtonHelper.message("three"));
+
+        final ArgumentCaptor<Message> batch = ArgumentCaptor.forClass(Message.class);
+        verify(delegate).send(batch.capture());
+        final List<Message> messages = MessageHelper.getBatchedMessages(batch.getValue());
+        assertEquals(3, messages.size());
+        assertEquals("two", MessageHelper.getPayloadAsString(messages.get(1)));
+        assertTrue(first.succeeded());
+        assertTrue(second.succeeded());
+        assertTrue(third.succeeded());
+        verify(vertx).cancelTimer(1L);
+    }
+
+    /**
+     * Verifies that a single pending message is forwarded as is once
+     * the maximum delay has elapsed.
+     */
+    @Test
+    public void testTimerForwardsPendingMessage() {
+
+        final Message message = ProtonHelper.message("one");
+        final Future<ProtonDelivery> result = sender.send(message);
+
+        final ArgumentCaptor<Handler<Long>> timerHandler = VertxMockSupport.argumentCaptorHandler();
+        verify(vertx).setTimer(eq(20L), timerHandler.capture());
+        timerHandler.getValue().handle(1L);
+
+        verify(delegate).send(message);
+        assertTrue(result.succeeded());
+    }
+
+    /**
+     * Verifies that a single pending message is forwarded using the span context
+     * that it has been sent with.
+     */
+    @Test
+    public void testFlushForwardsSingleMessageWithSpanContext() {
+
+        final SpanContext spanContext = mock(SpanContext.class);
+        when(delegate.send(any(Message.class), any(SpanContext.class)))
+            .thenReturn(Future.succeededFuture(mock(ProtonDelivery.class)));
+        final Message message = ProtonHelper.message("one");
+        final Future<ProtonDelivery> result = sender.send(message, spanContext);
+
+        sender.flush();
+
+        verify(delegate).send(message, spanContext);
+        verify(delegate, never()).send(any(Message.class));
+        assertTrue(result.succeeded());
+    }
+
+    /**
+     * Verifies that pending messages are forwarded before a message that requires
+     * the outcome to be waited for.
+     */
+    @Test
+    public void testSendAndWaitForOutcomeFlushesPendingMessages() {
+
+        final Message pending = ProtonHelper.message("one");
+        final Message message = ProtonHelper.message("two");
+        sender.send(pending);
+        sender.sendAndWaitForOutcome(message);
+
+        final InOrder order = inOrder(delegate);
+        order.verify(delegate).send(pending);
+        order.verify(delegate).sendAndWaitForOutcome(message);
+        assertSame(delegate, sender.getDelegate());
+    }
+}
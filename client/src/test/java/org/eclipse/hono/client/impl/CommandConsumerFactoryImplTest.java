@@ -13,6 +13,7 @@
 
 package org.eclipse.hono.client.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -20,6 +21,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -27,7 +29,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.HttpURLConnection;
-import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.qpid.proton.amqp.transport.Source;
 import org.eclipse.hono.auth.Device;
@@ -48,6 +50,8 @@ import org.junit.rules.Timeout;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -87,6 +91,8 @@ public class CommandConsumerFactoryImplTest {
     private String tenantId;
     private String deviceId;
     private String gatewayId;
+    private AtomicLong now;
+    private MeterRegistry meterRegistry;
 
     /**
      * Sets up fixture.
@@ -139,7 +145,9 @@ public class CommandConsumerFactoryImplTest {
                 anyBoolean(),
                 VertxMockSupport.anyHandler())).thenReturn(Future.succeededFuture(tenantScopedCommandReceiver));
         gatewayMapper = mock(GatewayMapper.class);
-        commandConsumerFactory = new CommandConsumerFactoryImpl(connection, gatewayMapper);
+        now = new AtomicLong(0);
+        meterRegistry = new SimpleMeterRegistry();
+        commandConsumerFactory = new CommandConsumerFactoryImpl(connection, gatewayMapper, meterRegistry, now::get);
     }
 
     /**
@@ -246,7 +254,7 @@ public class CommandConsumerFactoryImplTest {
      * <ul>
      * <li>the underlying link is closed,</li>
      * <li>the consumer is removed from the cache and</li>
-     * <li>the corresponding liveness check is canceled.</li>
+     * <li>the liveness check timer is canceled if no other liveness checks are registered.</li>
      * </ul>
      *
      * @param ctx The test context.
@@ -265,7 +273,9 @@ public class CommandConsumerFactoryImplTest {
         // GIVEN a command consumer
         commandConsumerFactory.createCommandConsumer(tenantId, deviceId, commandHandler, null, 5000L)
         .map(consumer -> {
-                    verify(vertx).setPeriodic(eq(5000L), VertxMockSupport.anyHandler());
+                    verify(vertx).setPeriodic(
+                            eq(CommandConsumerFactoryImpl.LIVENESS_CHECK_SWEEP_INTERVAL_MILLIS),
+                            VertxMockSupport.anyHandler());
             // WHEN closing the link locally
             final Future<Void> localCloseHandler = Future.future();
             consumer.close(localCloseHandler);
@@ -322,8 +332,12 @@ public class CommandConsumerFactoryImplTest {
                 tenantId, deviceId, commandHandler, closeHandler, livenessCheckInterval);
         assertTrue(commandConsumer.isComplete());
         final ArgumentCaptor<Handler<Long>> livenessCheck = VertxMockSupport.argumentCaptorHandler();
+        verify(vertx).setPeriodic(eq(CommandConsumerFactoryImpl.LIVENESS_CHECK_SWEEP_INTERVAL_MILLIS), livenessCheck.capture());
         // the liveness check is registered with the minimum interval length
-        verify(vertx).setPeriodic(eq(CommandConsumerFactoryImpl.MIN_LIVENESS_CHECK_INTERVAL_MILLIS), livenessCheck.capture());
+        assertEquals(
+                CommandConsumerFactoryImpl.MIN_LIVENESS_CHECK_INTERVAL_MILLIS,
+                commandConsumerFactory.getDestinationCommandConsumerLivenessChecks()
+                    .get(Device.asAddress(tenantId, deviceId)).getCheckInterval());
 
         // WHEN the command connection fails
         @SuppressWarnings("unchecked")
@@ -333,7 +347,8 @@ public class CommandConsumerFactoryImplTest {
 
         // THEN the connection is re-established
         when(connection.isConnected()).thenReturn(Future.succeededFuture());
-        // and the liveness check re-creates the command consumer
+        // and the liveness check re-creates the command consumer once it is due
+        now.addAndGet(2 * CommandConsumerFactoryImpl.MIN_LIVENESS_CHECK_INTERVAL_MILLIS);
         livenessCheck.getValue().handle(10L);
         verify(connection, times(2)).createReceiver(
                 eq(deviceSpecificCommandAddress),
@@ -345,7 +360,7 @@ public class CommandConsumerFactoryImplTest {
 
         // and when the consumer is finally closed locally
         commandConsumer.result().close(null);
-        // then the liveness check has been canceled
+        // then the liveness check timer has been canceled
         verify(vertx).cancelTimer(10L);
     }
 
@@ -359,18 +374,19 @@ public class CommandConsumerFactoryImplTest {
     @Test
     public void testLivenessCheckLocksRecreationAttempt(final TestContext ctx) {
 
-        // GIVEN a liveness check for a command consumer
+        // GIVEN a command consumer which is checked periodically for liveness
         final Handler<CommandContext> commandHandler = VertxMockSupport.mockHandler();
-        final Handler<Void> remoteCloseHandler = VertxMockSupport.mockHandler();
-        final CommandHandlerWrapper commandHandlerWrapper = new CommandHandlerWrapper(deviceId, null, commandHandler,
-                remoteCloseHandler);
-        final String gatewayOrDeviceKey = Device.asAddress(tenantId, deviceId);
-        commandConsumerFactory.getDestinationCommandConsumerLivenessChecks().put(gatewayOrDeviceKey,
-                new CommandConsumerFactoryImpl.LivenessCheckData(10L, () -> Collections.singletonList(commandHandlerWrapper)));
-
-        final Handler<Long> livenessCheck = commandConsumerFactory.newLivenessCheck(tenantId, deviceId);
-        final Future<ProtonReceiver> createdReceiver = Future.future();
+        when(vertx.setPeriodic(anyLong(), VertxMockSupport.anyHandler())).thenReturn(10L);
+        commandConsumerFactory.createCommandConsumer(tenantId, deviceId, commandHandler, null,
+                CommandConsumerFactoryImpl.MIN_LIVENESS_CHECK_INTERVAL_MILLIS);
+
+        // and a command connection that has been lost and re-established
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<DisconnectListener<HonoConnection>> disconnectListener = ArgumentCaptor.forClass(DisconnectListener.class);
+        verify(connection).addDisconnectListener(disconnectListener.capture());
+        disconnectListener.getValue().onDisconnect(connection);
         when(connection.isConnected()).thenReturn(Future.succeededFuture());
+        final Future<ProtonReceiver> createdReceiver = Future.future();
         when(connection.createReceiver(
                 eq(deviceSpecificCommandAddress),
                 eq(ProtonQoS.AT_LEAST_ONCE),
@@ -380,12 +396,15 @@ public class CommandConsumerFactoryImplTest {
                 VertxMockSupport.anyHandler())).thenReturn(createdReceiver);
 
         // WHEN the liveness check fires
-        livenessCheck.handle(10L);
+        now.addAndGet(2 * CommandConsumerFactoryImpl.MIN_LIVENESS_CHECK_INTERVAL_MILLIS);
+        commandConsumerFactory.checkLiveness();
         // and the peer does not open the link before the check fires again
-        livenessCheck.handle(10L);
+        now.addAndGet(2 * CommandConsumerFactoryImpl.MIN_LIVENESS_CHECK_INTERVAL_MILLIS);
+        commandConsumerFactory.checkLiveness();
 
         // THEN only one attempt has been made to recreate the consumer link
-        verify(connection, times(1)).createReceiver(
+        // in addition to the initial creation of the link
+        verify(connection, times(2)).createReceiver(
                 eq(deviceSpecificCommandAddress),
                 eq(ProtonQoS.AT_LEAST_ONCE),
                 any(ProtonMessageHandler.class),
@@ -397,9 +416,10 @@ public class CommandConsumerFactoryImplTest {
         createdReceiver.fail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE));
 
         // then the next run of the liveness check
-        livenessCheck.handle(10L);
+        now.addAndGet(2 * CommandConsumerFactoryImpl.MIN_LIVENESS_CHECK_INTERVAL_MILLIS);
+        commandConsumerFactory.checkLiveness();
         // will start a new attempt to re-create the consumer link 
-        verify(connection, times(2)).createReceiver(
+        verify(connection, times(3)).createReceiver(
                 eq(deviceSpecificCommandAddress),
                 eq(ProtonQoS.AT_LEAST_ONCE),
                 any(ProtonMessageHandler.class),
@@ -407,4 +427,81 @@ public class CommandConsumerFactoryImplTest {
                 eq(false),
                 VertxMockSupport.anyHandler());
     }
+
+    /**
+     * Verifies that the liveness checks of all command consumers are run by a single
+     * timer and that the number of consumers being re-created concurrently is limited.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testLivenessCheckLimitsConcurrentRecreations(final TestContext ctx) {
+
+        final Handler<CommandContext> commandHandler = VertxMockSupport.mockHandler();
+        final String addressPrefix = ResourceIdentifier.from(
+                CommandConstants.NORTHBOUND_COMMAND_LEGACY_ENDPOINT, tenantId, "device-").toString();
+        when(connection.createReceiver(
+                startsWith(addressPrefix),
+                any(ProtonQoS.class),
+                any(ProtonMessageHandler.class),
+                anyInt(),
+                anyBoolean(),
+                VertxMockSupport.anyHandler())).thenReturn(Future.succeededFuture(deviceSpecificCommandReceiver));
+        when(vertx.setPeriodic(anyLong(), VertxMockSupport.anyHandler())).thenReturn(10L);
+
+        // GIVEN more command consumers than can be re-created concurrently
+        final int consumers = CommandConsumerFactoryImpl.MAX_CONCURRENT_RECREATIONS + 1;
+        for (int i = 0; i < consumers; i++) {
+            commandConsumerFactory.createCommandConsumer(tenantId, "device-" + i, commandHandler, null,
+                    CommandConsumerFactoryImpl.MIN_LIVENESS_CHECK_INTERVAL_MILLIS);
+        }
+        // which are all checked by means of the same timer
+        verify(vertx).setPeriodic(eq(CommandConsumerFactoryImpl.LIVENESS_CHECK_SWEEP_INTERVAL_MILLIS), VertxMockSupport.anyHandler());
+
+        // WHEN the command connection is lost and re-established
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<DisconnectListener<HonoConnection>> disconnectListener = ArgumentCaptor.forClass(DisconnectListener.class);
+        verify(connection).addDisconnectListener(disconnectListener.capture());
+        disconnectListener.getValue().onDisconnect(connection);
+        when(connection.isConnected()).thenReturn(Future.succeededFuture());
+        when(connection.createReceiver(
+                startsWith(addressPrefix),
+                any(ProtonQoS.class),
+                any(ProtonMessageHandler.class),
+                anyInt(),
+                anyBoolean(),
+                VertxMockSupport.anyHandler())).thenReturn(Future.future());
+
+        // and the liveness checks are due
+        now.addAndGet(2 * CommandConsumerFactoryImpl.MIN_LIVENESS_CHECK_INTERVAL_MILLIS);
+        commandConsumerFactory.checkLiveness();
+
+        // THEN only the maximum number of consumers are being re-created
+        verify(connection, times(consumers + CommandConsumerFactoryImpl.MAX_CONCURRENT_RECREATIONS)).createReceiver(
+                startsWith(addressPrefix),
+                eq(ProtonQoS.AT_LEAST_ONCE),
+                any(ProtonMessageHandler.class),
+                eq(0),
+                eq(false),
+                VertxMockSupport.anyHandler());
+        // and the remaining consumer is waiting to be re-created
+        assertEquals(1, commandConsumerFactory.getPendingRecreations());
+        // which is reported to the meter registry
+        assertEquals(1.0, meterRegistry.get(CommandConsumerFactoryImpl.METER_RECREATIONS_PENDING).gauge().value(), 0.0);
+        assertEquals(CommandConsumerFactoryImpl.MAX_CONCURRENT_RECREATIONS,
+                meterRegistry.get(CommandConsumerFactoryImpl.METER_RECREATIONS_RUNNING).gauge().value(), 0.0);
+    }
+
+    /**
+     * Verifies that factories reporting to the same registry report the number
+     * of re-creations by means of separate gauges.
+     */
+    @Test
+    public void testGaugesAreReportedPerFactory() {
+
+        new CommandConsumerFactoryImpl(connection, gatewayMapper, meterRegistry, now::get);
+
+        assertEquals(2, meterRegistry.find(CommandConsumerFactoryImpl.METER_RECREATIONS_PENDING).gauges().size());
+        assertEquals(2, meterRegistry.find(CommandConsumerFactoryImpl.METER_RECREATIONS_RUNNING).gauges().size());
+    }
 }
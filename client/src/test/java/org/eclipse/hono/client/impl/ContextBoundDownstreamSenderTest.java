@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.DownstreamSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.proton.ProtonDelivery;
+
+/**
+ * Tests verifying behavior of {@link ContextBoundDownstreamSender}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+public class ContextBoundDownstreamSenderTest {
+
+    private Vertx vertx;
+    private Context senderContext;
+    private Context context;
+    private DownstreamSender delegate;
+    private AtomicInteger credit;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        senderContext = vertx.getOrCreateContext();
+        context = vertx.getOrCreateContext();
+        credit = new AtomicInteger(10);
+        delegate = mock(DownstreamSender.class);
+        when(delegate.getCredit()).thenAnswer(invocation -> credit.get());
+    }
+
+    /**
+     * Closes the vert.x instance.
+     */
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
+    }
+
+    /**
+     * Verifies that messages are sent on the sender context, that the outcome
+     * is reported on the context of the code using the sender and that the credit
+     * reflects the message that has been sent.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSendRunsOnSenderContext(final VertxTestContext ctx) {
+
+        final AtomicReference<Context> sendContext = new AtomicReference<>();
+        when(delegate.send(any(Message.class))).thenAnswer(invocation -> {
+            sendContext.set(Vertx.currentContext());
+            credit.decrementAndGet();
+            return Future.succeededFuture(mock(ProtonDelivery.class));
+        });
+        final Future<ContextBoundDownstreamSender> sender = Future.future();
+        senderContext.runOnContext(go -> sender.complete(new ContextBoundDownstreamSender(delegate, senderContext, context)));
+
+        sender.setHandler(ctx.succeeding(s -> context.runOnContext(go -> {
+            s.send(mock(Message.class)).setHandler(ctx.succeeding(delivery -> {
+                ctx.verify(() -> {
+                    assertSame(senderContext, sendContext.get());
+                    assertSame(context, Vertx.currentContext());
+                    assertEquals(9, s.getCredit());
+                });
+                ctx.completeNow();
+            }));
+        })));
+    }
+
+    /**
+     * Verifies that the drain handler is registered on the sender context and
+     * is invoked on the context of the code using the sender.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSendQueueDrainHandlerRunsOnSenderContext(final VertxTestContext ctx) {
+
+        final AtomicReference<Context> registrationContext = new AtomicReference<>();
+        doAnswer(invocation -> {
+            registrationContext.set(Vertx.currentContext());
+            final Handler<Void> handler = invocation.getArgument(0);
+            credit.set(20);
+            handler.handle(null);
+            return null;
+        }).when(delegate).sendQueueDrainHandler(VertxMockSupport.anyHandler());
+        final Future<ContextBoundDownstreamSender> sender = Future.future();
+        senderContext.runOnContext(go -> sender.complete(new ContextBoundDownstreamSender(delegate, senderContext, context)));
+
+        sender.setHandler(ctx.succeeding(s -> context.runOnContext(go -> {
+            s.sendQueueDrainHandler(replenished -> {
+                ctx.verify(() -> {
+                    assertSame(senderContext, registrationContext.get());
+                    assertSame(context, Vertx.currentContext());
+                    assertEquals(20, s.getCredit());
+                });
+                ctx.completeNow();
+            });
+        })));
+    }
+}
@@ -26,6 +26,6 @@ public class DeviceConnectionClientFactoryImplTest
 
     @Override
     protected Future<DeviceConnectionClient> getClientFuture(final HonoConnection connection, final String tenantId) {
-        return new DeviceConnectionClientFactoryImpl(connection).getOrCreateDeviceConnectionClient(tenantId);
+        return new DeviceConnectionClientFactoryImpl(connection, null).getOrCreateDeviceConnectionClient(tenantId);
     }
 }
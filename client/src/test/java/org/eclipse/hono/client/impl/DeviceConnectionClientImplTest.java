@@ -20,20 +20,32 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 
+import org.apache.qpid.proton.amqp.UnsignedLong;
 import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.cache.CacheProvider;
+import org.eclipse.hono.cache.CaffeineCacheProvider;
+import org.eclipse.hono.cache.ExpiringValueCache;
 import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.client.RequestResponseClientConfigProperties;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.DeviceConnectionConstants;
+import org.eclipse.hono.util.DeviceConnectionResult;
 import org.eclipse.hono.util.MessageHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,6 +59,8 @@ import io.opentracing.Tracer.SpanBuilder;
 import io.opentracing.tag.Tags;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -155,6 +169,191 @@ public class DeviceConnectionClientImplTest {
         client.handleResponse(delivery, response);
     }
 
+    /**
+     * Verifies that the client splits up the update of the last known gateways of multiple
+     * devices into multiple requests if a single request would exceed the sender link's
+     * maximum message size.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSetLastKnownGatewaysForDevicesSplitsUpLargeRequests(final VertxTestContext ctx) {
+
+        // GIVEN a sender link that does not accept messages larger than the reserve plus 100 bytes
+        when(sender.getRemoteMaxMessageSize())
+            .thenReturn(UnsignedLong.valueOf(DeviceConnectionClientImpl.REQUEST_PROPERTIES_RESERVE + 100));
+        final Map<String, String> gatewayIds = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            gatewayIds.put("device-" + i, "gw");
+        }
+
+        // WHEN setting the last known gateways of ten devices
+        client.setLastKnownGatewaysForDevices(gatewayIds, span.context())
+                .setHandler(ctx.succeeding(r -> ctx.completeNow()));
+
+        // THEN the update is split up into multiple requests
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender, atLeast(2)).send(messageCaptor.capture(), any(Handler.class));
+        final Map<String, String> sentGatewayIds = new HashMap<>();
+        for (final Message request : messageCaptor.getAllValues()) {
+            // each of which does not exceed the maximum payload size
+            final Buffer payload = MessageHelper.getPayload(request);
+            assertThat(payload.length() <= 100, is(true));
+            payload.toJsonObject().getJsonArray(DeviceConnectionConstants.FIELD_DEVICES).forEach(device -> {
+                final JsonObject entry = (JsonObject) device;
+                sentGatewayIds.put(entry.getString(DeviceConnectionConstants.FIELD_PAYLOAD_DEVICE_ID),
+                        entry.getString(DeviceConnectionConstants.FIELD_GATEWAY_ID));
+            });
+            // and the outcome of all of which determines the overall result
+            final Message response = ProtonHelper.message();
+            MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_NO_CONTENT);
+            response.setCorrelationId(request.getMessageId());
+            client.handleResponse(mock(ProtonDelivery.class), response);
+        }
+        // and all devices are included
+        assertThat(sentGatewayIds, is(gatewayIds));
+    }
+
+    /**
+     * Verifies that the client retrieves the last known gateways of multiple devices
+     * by means of a single request.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetLastKnownGatewaysForDevicesSuccess(final VertxTestContext ctx) {
+
+        final JsonObject getLastGatewaysResult = new JsonObject().put(DeviceConnectionConstants.FIELD_DEVICES,
+                new JsonArray().add(newGetLastGatewayResult("gatewayId")
+                        .put(DeviceConnectionConstants.FIELD_PAYLOAD_DEVICE_ID, "deviceId")));
+
+        // WHEN getting the last known gateways of two devices
+        client.getLastKnownGatewaysForDevices(new HashSet<>(Arrays.asList("deviceId", "otherDeviceId")), span.context())
+                .setHandler(ctx.succeeding(r -> {
+                    // THEN the last known gateways have been retrieved from the service and the span is finished
+                    ctx.verify(() -> {
+                        assertThat(r, is(getLastGatewaysResult));
+                        verify(span).finish();
+                    });
+                    ctx.completeNow();
+                }));
+
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender).send(messageCaptor.capture(), any(Handler.class));
+        final Message request = messageCaptor.getValue();
+        assertThat(request.getSubject(), is(DeviceConnectionConstants.DeviceConnectionAction.GET_LAST_GATEWAYS.getSubject()));
+        assertThat(MessageHelper.getJsonPayload(request).getJsonArray(DeviceConnectionConstants.FIELD_DEVICE_IDS).size(), is(2));
+        final Message response = ProtonHelper.message(getLastGatewaysResult.encode());
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+        response.setCorrelationId(request.getMessageId());
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        client.handleResponse(delivery, response);
+    }
+
+    /**
+     * Verifies that the last known gateway retrieved from the Device Connection service
+     * is put to the near cache.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetLastKnownGatewayForDeviceAddsResultToCache(final VertxTestContext ctx) {
+
+        // GIVEN a client with an empty near cache
+        final ExpiringValueCache<Object, DeviceConnectionResult> cache = mock(ExpiringValueCache.class);
+        client.setResponseCache(cache);
+
+        // WHEN getting the last known gateway
+        client.getLastKnownGatewayForDevice("deviceId", span.context())
+                .setHandler(ctx.succeeding(r -> {
+                    // THEN the result has been put to the cache
+                    ctx.verify(() -> verify(cache).put(eq("deviceId"), any(DeviceConnectionResult.class), any(Duration.class)));
+                    ctx.completeNow();
+                }));
+
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender).send(messageCaptor.capture(), any(Handler.class));
+        final Message response = ProtonHelper.message(newGetLastGatewayResult("gatewayId").encode());
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+        response.setCorrelationId(messageCaptor.getValue().getMessageId());
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        client.handleResponse(delivery, response);
+    }
+
+    /**
+     * Verifies that a gateway that has been set successfully is put to the near cache
+     * and that a subsequent lookup is served from the cache without invoking the
+     * Device Connection service.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetLastKnownGatewayForDeviceUsesGatewaySetBefore(final VertxTestContext ctx) {
+
+        // GIVEN a client with a near cache
+        final CacheProvider cacheProvider = new CaffeineCacheProvider(10, 100);
+        client.setResponseCache(cacheProvider.getCache("device_con"));
+
+        // WHEN setting the last known gateway of a device
+        client.setLastKnownGatewayForDevice("deviceId", "gatewayId", span.context())
+            .compose(ok -> {
+                verify(sender).send(any(Message.class), any(Handler.class));
+                // and getting the last known gateway of the device afterwards
+                return client.getLastKnownGatewayForDevice("deviceId", span.context());
+            })
+            .setHandler(ctx.succeeding(r -> {
+                ctx.verify(() -> {
+                    // THEN the gateway that has been set before is returned
+                    assertThat(r.getString(DeviceConnectionConstants.FIELD_GATEWAY_ID), is("gatewayId"));
+                    // without having sent another request to the service
+                    verify(sender).send(any(Message.class), any(Handler.class));
+                });
+                ctx.completeNow();
+            }));
+
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender).send(messageCaptor.capture(), any(Handler.class));
+        final Message response = ProtonHelper.message();
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_NO_CONTENT);
+        response.setCorrelationId(messageCaptor.getValue().getMessageId());
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        client.handleResponse(delivery, response);
+    }
+
+    /**
+     * Verifies that a gateway that has been put to the near cache directly is returned
+     * by a subsequent lookup without invoking the Device Connection service.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetLastKnownGatewayForDeviceUsesGatewayUpdatedInCache(final VertxTestContext ctx) {
+
+        // GIVEN a client with a near cache
+        final CacheProvider cacheProvider = new CaffeineCacheProvider(10, 100);
+        client.setResponseCache(cacheProvider.getCache("device_con"));
+
+        // WHEN updating the last known gateway of a device in the cache
+        client.updateLastKnownGatewayInCache("deviceId", "gatewayId");
+
+        // and getting the last known gateway of the device afterwards
+        client.getLastKnownGatewayForDevice("deviceId", span.context())
+            .setHandler(ctx.succeeding(r -> {
+                ctx.verify(() -> {
+                    // THEN the gateway is returned
+                    assertThat(r.getString(DeviceConnectionConstants.FIELD_GATEWAY_ID), is("gatewayId"));
+                    // without having sent a request to the service
+                    verify(sender, never()).send(any(Message.class), any(Handler.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+
     /**
      * Verifies that a client invocation of the <em>get last known gateway</em> operation fails
      * if the device connection service cannot be reached.
@@ -14,6 +14,7 @@
 package org.eclipse.hono.client.impl;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -26,6 +27,7 @@ import org.apache.qpid.proton.amqp.messaging.Released;
 import org.apache.qpid.proton.amqp.transport.Source;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.HonoConnection;
+import org.eclipse.hono.config.ClientConfigProperties;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -33,6 +35,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.ext.unit.Async;
@@ -110,7 +113,8 @@ public class EventConsumerImplTest {
                 connection,
                 "tenant",
                 eventConsumer,
-                remoteDetach -> {}).setHandler(ctx.asyncAssertSuccess(rec -> consumerCreation.complete()));
+                remoteDetach -> {},
+                new SimpleMeterRegistry()).setHandler(ctx.asyncAssertSuccess(rec -> consumerCreation.complete()));
 
         final ArgumentCaptor<ProtonMessageHandler> messageHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
         verify(connection).createReceiver(eq("event/tenant"), eq(ProtonQoS.AT_LEAST_ONCE),
@@ -125,4 +129,46 @@ public class EventConsumerImplTest {
         // THEN the message is released and settled
         verify(delivery).disposition(any(Released.class), eq(Boolean.TRUE));
     }
+
+    /**
+     * Verifies that the receiver link is created without pre-fetching and that
+     * the initial credit is issued by the consumer if adaptive credit is enabled.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testCreateIssuesCreditIfAdaptiveCreditIsEnabled(final TestContext ctx) {
+
+        // GIVEN a connection configured for adaptive credit
+        final ClientConfigProperties props = new ClientConfigProperties();
+        props.setAdaptiveCreditEnabled(true);
+        props.setInitialCredits(50);
+        connection = HonoClientUnitTestHelper.mockHonoConnection(vertx, props);
+        final ProtonReceiver receiver = mock(ProtonReceiver.class);
+        when(receiver.getName()).thenReturn("link");
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        when(connection.createReceiver(
+                anyString(),
+                any(ProtonQoS.class),
+                any(ProtonMessageHandler.class),
+                anyInt(),
+                VertxMockSupport.anyHandler())).thenReturn(Future.succeededFuture(receiver));
+
+        // WHEN creating an event consumer
+        EventConsumerImpl.create(
+                connection,
+                "tenant",
+                (delivery, message) -> {},
+                remoteDetach -> {},
+                registry).setHandler(ctx.asyncAssertSuccess(consumer -> {
+                    // THEN the link has been created without pre-fetching
+                    verify(connection).createReceiver(eq("event/tenant"), eq(ProtonQoS.AT_LEAST_ONCE),
+                            any(ProtonMessageHandler.class), eq(0), VertxMockSupport.anyHandler());
+                    // AND the initial credit has been issued by the consumer
+                    verify(receiver).flow(50);
+                    // AND the link's credit is reported to the given registry
+                    ctx.assertNotNull(registry.find(AdaptiveCreditController.METER_CREDIT)
+                            .tag("link", "link").gauge());
+                }));
+    }
 }
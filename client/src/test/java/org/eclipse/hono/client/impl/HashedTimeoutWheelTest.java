@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * Tests verifying behavior of {@link HashedTimeoutWheel}.
+ *
+ */
+public class HashedTimeoutWheelTest {
+
+    private Vertx vertx;
+    private AtomicLong clock;
+    private HashedTimeoutWheel wheel;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        vertx = mock(Vertx.class);
+        when(vertx.setPeriodic(anyLong(), VertxMockSupport.anyHandler())).thenReturn(5L);
+        clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+        wheel = new HashedTimeoutWheel(vertx, 10, 8, clock::get);
+    }
+
+    /**
+     * Verifies that a timeout is triggered once the delay has elapsed but not before.
+     */
+    @Test
+    public void testTimeoutIsTriggeredAfterDelay() {
+
+        final Handler<Void> handler = VertxMockSupport.mockHandler();
+        wheel.schedule(25, handler);
+        final Handler<Long> tick = getTickHandler();
+
+        advance(tick, 20);
+        verify(handler, never()).handle(null);
+        advance(tick, 10);
+        verify(handler).handle(null);
+        assertEquals(0, wheel.getPendingTimeouts());
+    }
+
+    /**
+     * Verifies that timeouts exceeding the wheel's span are triggered correctly.
+     */
+    @Test
+    public void testTimeoutExceedingWheelSpanIsTriggeredAfterDelay() {
+
+        final Handler<Void> handler = VertxMockSupport.mockHandler();
+        // wheel span is 8 buckets * 10ms
+        wheel.schedule(200, handler);
+        final Handler<Long> tick = getTickHandler();
+
+        for (int i = 0; i < 19; i++) {
+            advance(tick, 10);
+        }
+        verify(handler, never()).handle(null);
+        advance(tick, 10);
+        verify(handler).handle(null);
+    }
+
+    /**
+     * Verifies that cancelled timeouts are not triggered and that the
+     * periodic timer is stopped once there are no more pending timeouts.
+     */
+    @Test
+    public void testCancelledTimeoutIsNotTriggered() {
+
+        final Handler<Void> cancelledHandler = VertxMockSupport.mockHandler();
+        final Handler<Void> handler = VertxMockSupport.mockHandler();
+        final HashedTimeoutWheel.Timeout cancelled = wheel.schedule(50, cancelledHandler);
+        wheel.schedule(50, handler);
+        final Handler<Long> tick = getTickHandler();
+        assertEquals(2, wheel.getPendingTimeouts());
+
+        cancelled.cancel();
+        assertEquals(1, wheel.getPendingTimeouts());
+        advance(tick, 50);
+
+        verify(cancelledHandler, never()).handle(null);
+        verify(handler).handle(null);
+        verify(vertx).cancelTimer(5L);
+    }
+
+    /**
+     * Verifies that the wheel only starts a single periodic timer for
+     * multiple timeouts and restarts it when a timeout is scheduled after
+     * the wheel has been stopped.
+     */
+    @Test
+    public void testWheelUsesSinglePeriodicTimer() {
+
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(100, VertxMockSupport.mockHandler());
+        }
+        verify(vertx, times(1)).setPeriodic(eq(10L), VertxMockSupport.anyHandler());
+        final Handler<Long> tick = getTickHandler();
+        advance(tick, 100);
+        assertEquals(0, wheel.getPendingTimeouts());
+        verify(vertx).cancelTimer(5L);
+
+        wheel.schedule(100, VertxMockSupport.mockHandler());
+        verify(vertx, times(2)).setPeriodic(eq(10L), VertxMockSupport.anyHandler());
+    }
+
+    /**
+     * Verifies that closing the wheel stops the periodic timer and triggers
+     * all pending timeouts.
+     */
+    @Test
+    public void testCloseTriggersPendingTimeouts() {
+
+        final Handler<Void> handler = VertxMockSupport.mockHandler();
+        wheel.schedule(50, handler);
+        wheel.schedule(500, handler);
+        final Handler<Long> tick = getTickHandler();
+        advance(tick, 10);
+
+        wheel.close();
+        verify(vertx).cancelTimer(5L);
+        verify(handler, times(2)).handle(null);
+        assertEquals(0, wheel.getPendingTimeouts());
+    }
+
+    private Handler<Long> getTickHandler() {
+        final ArgumentCaptor<Handler<Long>> captor = VertxMockSupport.argumentCaptorHandler();
+        verify(vertx).setPeriodic(anyLong(), captor.capture());
+        return captor.getValue();
+    }
+
+    private void advance(final Handler<Long> tick, final long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        tick.handle(5L);
+    }
+}
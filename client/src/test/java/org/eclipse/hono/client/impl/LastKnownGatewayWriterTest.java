@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.HttpURLConnection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hono.client.DeviceConnectionClient;
+import org.eclipse.hono.client.ServerErrorException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.opentracing.References;
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.Tracer.SpanBuilder;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * Tests verifying behavior of {@link LastKnownGatewayWriter}.
+ *
+ */
+public class LastKnownGatewayWriterTest {
+
+    private DeviceConnectionClient client;
+    private Vertx vertx;
+    private Span span;
+    private SpanBuilder spanBuilder;
+    private AtomicLong now;
+    private LastKnownGatewayWriter writer;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+
+        client = mock(DeviceConnectionClient.class);
+        when(client.setLastKnownGatewayForDevice(anyString(), anyString(), any())).thenReturn(Future.succeededFuture());
+        when(client.setLastKnownGatewaysForDevices(anyMap(), any())).thenReturn(Future.succeededFuture());
+        vertx = mock(Vertx.class);
+        when(vertx.setTimer(anyLong(), VertxMockSupport.anyHandler())).thenReturn(1L);
+        span = mock(Span.class);
+        when(span.context()).thenReturn(mock(SpanContext.class));
+        spanBuilder = HonoClientUnitTestHelper.mockSpanBuilder(span);
+        final Tracer tracer = mock(Tracer.class);
+        when(tracer.buildSpan(anyString())).thenReturn(spanBuilder);
+        now = new AtomicLong(0);
+        writer = new LastKnownGatewayWriter(vertx, tracer, tenantId -> Future.succeededFuture(client), 1000, 100, 3, now::get);
+    }
+
+    /**
+     * Verifies that an unchanged gateway is written again only after the refresh interval has elapsed.
+     */
+    @Test
+    public void testUnchangedGatewayIsWrittenAfterRefreshInterval() {
+
+        assertTrue(writer.setLastKnownGatewayForDevice("tenant", "device", "gw", null));
+        final ArgumentCaptor<Handler<Long>> timerHandler = VertxMockSupport.argumentCaptorHandler();
+        verify(vertx).setTimer(eq(100L), timerHandler.capture());
+        verify(client, never()).setLastKnownGatewayForDevice(anyString(), anyString(), any());
+
+        timerHandler.getValue().handle(1L);
+        verify(client).setLastKnownGatewayForDevice(eq("device"), eq("gw"), any());
+
+        now.set(500);
+        assertFalse(writer.setLastKnownGatewayForDevice("tenant", "device", "gw", null));
+        writer.flush();
+        verify(client).setLastKnownGatewayForDevice(eq("device"), eq("gw"), any());
+
+        now.set(1000);
+        assertTrue(writer.setLastKnownGatewayForDevice("tenant", "device", "gw", null));
+        writer.flush();
+        verify(client, times(2)).setLastKnownGatewayForDevice(eq("device"), eq("gw"), any());
+    }
+
+    /**
+     * Verifies that pending updates for a device are coalesced and that the updates
+     * are written by means of a single request once the maximum number of pending
+     * updates has been reached. The request is traced by means of a new span referencing
+     * the contexts of all updates.
+     */
+    @Test
+    public void testPendingUpdatesAreCoalesced() {
+
+        final SpanContext context = mock(SpanContext.class);
+        final SpanContext otherContext = mock(SpanContext.class);
+        writer.setLastKnownGatewayForDevice("tenant", "device", "gw-1", null);
+        writer.setLastKnownGatewayForDevice("tenant", "device", "gw-2", context);
+        writer.setLastKnownGatewayForDevice("tenant", "other-device", "gw-1", otherContext);
+        verify(client, never()).setLastKnownGatewayForDevice(anyString(), anyString(), any());
+
+        writer.setLastKnownGatewayForDevice("tenant", "third-device", "gw-1", null);
+
+        final Map<String, String> expectedGatewayIds = new HashMap<>();
+        expectedGatewayIds.put("device", "gw-2");
+        expectedGatewayIds.put("other-device", "gw-1");
+        expectedGatewayIds.put("third-device", "gw-1");
+        verify(client).setLastKnownGatewaysForDevices(expectedGatewayIds, span.context());
+        verify(client, never()).setLastKnownGatewayForDevice(anyString(), anyString(), any());
+        verify(vertx).cancelTimer(1L);
+        verify(spanBuilder).addReference(References.FOLLOWS_FROM, context);
+        verify(spanBuilder).addReference(References.FOLLOWS_FROM, otherContext);
+        verify(span).finish();
+    }
+
+    /**
+     * Verifies that the client's cache is updated as soon as an update is scheduled
+     * and not only after the update has been written.
+     */
+    @Test
+    public void testCacheIsUpdatedWhenUpdateIsScheduled() {
+
+        writer.setLastKnownGatewayForDevice("tenant", "device", "gw-1", null);
+        verify(client).updateLastKnownGatewayInCache("device", "gw-1");
+
+        writer.setLastKnownGatewayForDevice("tenant", "device", "gw-2", null);
+        verify(client).updateLastKnownGatewayInCache("device", "gw-2");
+
+        // an update that is skipped does not touch the cache
+        writer.setLastKnownGatewayForDevice("tenant", "device", "gw-2", null);
+        verify(client).updateLastKnownGatewayInCache("device", "gw-2");
+        verify(client, never()).setLastKnownGatewayForDevice(anyString(), anyString(), any());
+        verify(client, never()).setLastKnownGatewaysForDevices(anyMap(), any());
+    }
+
+    /**
+     * Verifies that the gateway is written again after a failed attempt to write it.
+     */
+    @Test
+    public void testGatewayIsWrittenAgainAfterFailure() {
+
+        when(client.setLastKnownGatewayForDevice(anyString(), anyString(), any()))
+            .thenReturn(Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE)));
+        writer.setLastKnownGatewayForDevice("tenant", "device", "gw", null);
+        writer.flush();
+
+        assertTrue(writer.setLastKnownGatewayForDevice("tenant", "device", "gw", null));
+        writer.flush();
+        verify(client, times(2)).setLastKnownGatewayForDevice(eq("device"), eq("gw"), any());
+    }
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.hono.client.HonoConnection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.proton.ProtonQoS;
+
+/**
+ * Tests verifying behavior of {@link PooledDownstreamSenderFactory}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+public class PooledDownstreamSenderFactoryTest {
+
+    /**
+     * Verifies that the links of a tenant are always created on the same connection.
+     */
+    @Test
+    public void testGetOrCreateSenderUsesConnectionOfTenant() {
+
+        final Vertx vertx = mock(Vertx.class);
+        when(vertx.eventBus()).thenReturn(mock(EventBus.class));
+        final List<HonoConnection> connections = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final HonoConnection connection = HonoClientUnitTestHelper.mockHonoConnection(vertx);
+            when(connection.createSender(anyString(), any(ProtonQoS.class), VertxMockSupport.anyHandler()))
+                .thenReturn(Future.future());
+            connections.add(connection);
+        }
+        final PooledDownstreamSenderFactory factory = new PooledDownstreamSenderFactory(connections);
+
+        // "tenant-a".hashCode() is even, "tenant-b".hashCode() is odd
+        factory.getOrCreateTelemetrySender("tenant-a");
+        factory.getOrCreateEventSender("tenant-a");
+        verify(connections.get(0), times(2)).createSender(
+                anyString(), any(ProtonQoS.class), VertxMockSupport.anyHandler());
+        verify(connections.get(1), never()).createSender(
+                anyString(), any(ProtonQoS.class), VertxMockSupport.anyHandler());
+
+        factory.getOrCreateTelemetrySender("tenant-b");
+        verify(connections.get(1)).createSender(
+                anyString(), any(ProtonQoS.class), VertxMockSupport.anyHandler());
+    }
+
+    /**
+     * Verifies that the connections are established on separate vert.x contexts
+     * and that the outcome is reported on the context that the factory has been
+     * connected on.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testConnectUsesSeparateContexts(final VertxTestContext ctx) {
+
+        final Vertx vertx = Vertx.vertx();
+        final Map<HonoConnection, Context> connectContexts = new ConcurrentHashMap<>();
+        final List<HonoConnection> connections = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final HonoConnection connection = HonoClientUnitTestHelper.mockHonoConnection(vertx);
+            when(connection.connect()).thenAnswer(invocation -> {
+                connectContexts.put(connection, Vertx.currentContext());
+                return Future.succeededFuture(connection);
+            });
+            connections.add(connection);
+        }
+        final PooledDownstreamSenderFactory factory = new PooledDownstreamSenderFactory(connections);
+
+        final Context context = vertx.getOrCreateContext();
+        context.runOnContext(go -> {
+            factory.connect().setHandler(ctx.succeeding(con -> {
+                ctx.verify(() -> {
+                    assertSame(context, Vertx.currentContext());
+                    assertSame(connections.get(0), con);
+                    assertEquals(3, connectContexts.size());
+                    assertSame(context, connectContexts.get(connections.get(0)));
+                    assertNotSame(context, connectContexts.get(connections.get(1)));
+                    assertNotSame(connectContexts.get(connections.get(1)), connectContexts.get(connections.get(2)));
+                });
+                vertx.close();
+                ctx.completeNow();
+            }));
+        });
+    }
+
+    /**
+     * Verifies that the verticles providing the contexts of the connections
+     * are undeployed when the factory is disconnected.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testDisconnectUndeploysContexts(final VertxTestContext ctx) {
+
+        final Vertx vertx = Vertx.vertx();
+        final List<HonoConnection> connections = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final HonoConnection connection = HonoClientUnitTestHelper.mockHonoConnection(vertx);
+            when(connection.connect()).thenReturn(Future.succeededFuture(connection));
+            doAnswer(invocation -> {
+                final Handler<AsyncResult<Void>> handler = invocation.getArgument(0);
+                handler.handle(Future.succeededFuture());
+                return null;
+            }).when(connection).disconnect(VertxMockSupport.anyHandler());
+            connections.add(connection);
+        }
+        final PooledDownstreamSenderFactory factory = new PooledDownstreamSenderFactory(connections);
+
+        vertx.getOrCreateContext().runOnContext(go -> {
+            factory.connect()
+            .compose(con -> {
+                ctx.verify(() -> assertEquals(2, vertx.deploymentIDs().size()));
+                final Future<Void> disconnected = Future.future();
+                factory.disconnect(disconnected);
+                return disconnected;
+            })
+            .setHandler(ctx.succeeding(ok -> {
+                ctx.verify(() -> assertTrue(vertx.deploymentIDs().isEmpty()));
+                vertx.close();
+                ctx.completeNow();
+            }));
+        });
+    }
+}
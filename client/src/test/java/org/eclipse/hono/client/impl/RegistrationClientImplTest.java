@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +48,7 @@ import io.opentracing.Tracer;
 import io.opentracing.Tracer.SpanBuilder;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import io.vertx.proton.ProtonDelivery;
@@ -130,6 +132,38 @@ public class RegistrationClientImplTest {
         client.handleResponse(delivery, response);
     }
 
+    /**
+     * Verifies that concurrent requests for asserting the registration status of the
+     * same device result in a single request message being sent to the service.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAssertRegistrationCoalescesConcurrentRequests(final VertxTestContext ctx) {
+
+        // GIVEN an adapter with an empty cache
+        client.setResponseCache(cache);
+        final Checkpoint assertions = ctx.checkpoint(3);
+
+        // WHEN getting registration information for the same device multiple times
+        // before the response to the first request has been received
+        for (int i = 0; i < 3; i++) {
+            client.assertRegistration("myDevice", "gw").setHandler(ctx.succeeding(result -> assertions.flag()));
+        }
+
+        // THEN a single request message has been sent to the service
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender, times(1)).send(messageCaptor.capture(), VertxMockSupport.anyHandler());
+        // and all callers get the response to the request
+        final JsonObject registrationAssertion = newRegistrationAssertionResult();
+        final Message response = ProtonHelper.message(registrationAssertion.encode());
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+        MessageHelper.addCacheDirective(response, CacheDirective.maxAgeDirective(60));
+        response.setCorrelationId(messageCaptor.getValue().getMessageId());
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        client.handleResponse(delivery, response);
+    }
+
     /**
      * Verifies that the client retrieves registration information from the
      * Device Registration service if no cache is configured.
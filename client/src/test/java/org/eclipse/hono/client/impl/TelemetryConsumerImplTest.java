@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.HonoConnection;
+import org.eclipse.hono.client.MessageConsumer;
+import org.eclipse.hono.util.MessageHelper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Test cases verifying the behavior of {@link TelemetryConsumerImpl}.
+ *
+ */
+public class TelemetryConsumerImplTest {
+
+    /**
+     * Verifies that the consumer is invoked with each message contained
+     * in a batch message.
+     */
+    @Test
+    public void testCreateRegistersHandlerUnpackingBatches() {
+
+        final HonoConnection connection = HonoClientUnitTestHelper.mockHonoConnection(mock(Vertx.class));
+        when(connection.createReceiver(
+                anyString(),
+                any(ProtonQoS.class),
+                any(ProtonMessageHandler.class),
+                VertxMockSupport.anyHandler())).thenReturn(Future.succeededFuture(mock(ProtonReceiver.class)));
+        final List<Message> receivedMessages = new ArrayList<>();
+
+        final Future<MessageConsumer> consumer = TelemetryConsumerImpl.create(
+                connection,
+                "tenant",
+                receivedMessages::add,
+                remoteDetach -> {},
+                new SimpleMeterRegistry());
+        assertTrue(consumer.succeeded());
+
+        final ArgumentCaptor<ProtonMessageHandler> messageHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(connection).createReceiver(eq("telemetry/tenant"), eq(ProtonQoS.AT_LEAST_ONCE),
+                messageHandler.capture(), VertxMockSupport.anyHandler());
+
+        // WHEN a regular message and a batch of two messages are received
+        messageHandler.getValue().handle(mock(ProtonDelivery.class), ProtonHelper.message("one"));
+        messageHandler.getValue().handle(mock(ProtonDelivery.class), MessageHelper.newBatch(Arrays.asList(
+                ProtonHelper.message("two"), ProtonHelper.message("three"))));
+
+        // THEN the consumer is invoked with each of the messages
+        assertEquals(3, receivedMessages.size());
+        assertEquals("one", MessageHelper.getPayloadAsString(receivedMessages.get(0)));
+        assertEquals("two", MessageHelper.getPayloadAsString(receivedMessages.get(1)));
+        assertEquals("three", MessageHelper.getPayloadAsString(receivedMessages.get(2)));
+    }
+}
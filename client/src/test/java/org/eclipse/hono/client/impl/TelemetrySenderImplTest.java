@@ -23,6 +23,8 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.qpid.proton.amqp.messaging.Rejected;
@@ -145,4 +147,71 @@ public class TelemetrySenderImplTest {
         // THEN the given Span will nonetheless be finished.
         verify(span).finish();
     }
+
+    /**
+     * Verifies that a sender using the timing wheel finishes the span of a message
+     * for which no delivery update has been received within the send message timeout.
+     */
+    @Test
+    public void testSendMessageUsingTimeoutWheelFailsOnTimeout() {
+
+        // GIVEN a sender that uses a timing wheel for tracking delivery timeouts
+        config.setSendMessageTimeoutWheelEnabled(true);
+        config.setSendMessageTimeout(100);
+        when(sender.send(any(Message.class), VertxMockSupport.anyHandler())).thenReturn(mock(ProtonDelivery.class));
+        final AtomicReference<Handler<Long>> tickHandler = new AtomicReference<>();
+        when(vertx.setPeriodic(anyLong(), VertxMockSupport.anyHandler())).thenAnswer(invocation -> {
+            tickHandler.set(invocation.getArgument(1));
+            return 1L;
+        });
+        final AtomicLong clock = new AtomicLong();
+        final TelemetrySenderImpl messageSender = new TelemetrySenderImpl(connection, sender, "tenant", "telemetry/tenant");
+        messageSender.setTimeoutWheel(new HashedTimeoutWheel(vertx, 10, 8, clock::get));
+
+        // WHEN sending a message
+        final Span span = mock(Span.class);
+        messageSender.sendMessage(mock(Message.class), span);
+
+        // THEN no separate timer is started for the message
+        verify(vertx, never()).setTimer(anyLong(), VertxMockSupport.anyHandler());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(90));
+        tickHandler.get().handle(1L);
+        verify(span, never()).finish();
+
+        // and the span is finished once the timeout has been reached
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        tickHandler.get().handle(1L);
+        verify(span).finish();
+        verify(vertx).cancelTimer(1L);
+    }
+
+    /**
+     * Verifies that closing a sender that uses the timing wheel stops the wheel's
+     * periodic timer and finishes the spans of messages for which no delivery update
+     * has been received yet.
+     */
+    @Test
+    public void testCloseStopsTimeoutWheel() {
+
+        // GIVEN a sender that uses a timing wheel for tracking delivery timeouts
+        config.setSendMessageTimeoutWheelEnabled(true);
+        config.setSendMessageTimeout(100);
+        when(sender.send(any(Message.class), VertxMockSupport.anyHandler())).thenReturn(mock(ProtonDelivery.class));
+        when(vertx.setPeriodic(anyLong(), VertxMockSupport.anyHandler())).thenReturn(1L);
+        final TelemetrySenderImpl messageSender = new TelemetrySenderImpl(connection, sender, "tenant", "telemetry/tenant");
+        messageSender.setTimeoutWheel(new HashedTimeoutWheel(vertx, 10, 8, () -> 0L));
+
+        // and a message for which no delivery update has been received yet
+        final Span span = mock(Span.class);
+        messageSender.sendMessage(mock(Message.class), span);
+        verify(span, never()).finish();
+
+        // WHEN closing the sender
+        messageSender.close(VertxMockSupport.mockHandler());
+
+        // THEN the wheel's periodic timer is cancelled
+        verify(vertx).cancelTimer(1L);
+        // and the message's span is finished
+        verify(span).finish();
+    }
 }
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * A cache for expiring values based on Caffeine's variable expiration.
+ * <p>
+ * In contrast to {@link BasicExpiringValue} based caches, the expiration time of each
+ * entry is tracked by Caffeine. Expired entries are therefore removed from the cache
+ * during Caffeine's regular maintenance and do not need to be read in order to be evicted.
+ *
+ * @param <K> The type of keys that the cache supports.
+ * @param <V> The type of values that the cache supports.
+ */
+public class CaffeineBasedExpiringValueCache<K, V> implements ExpiringValueCache<K, V> {
+
+    private final Cache<K, Entry<V>> cache;
+    private final Ticker ticker;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param cache The Caffeine cache instance to use for storing values.
+     *              The cache must have been created with the {@linkplain #expiry() expiry}
+     *              provided by this class and the given ticker.
+     * @param ticker The ticker that the Caffeine cache uses for determining the current time.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public CaffeineBasedExpiringValueCache(final Cache<K, Entry<V>> cache, final Ticker ticker) {
+        this.cache = Objects.requireNonNull(cache);
+        this.ticker = Objects.requireNonNull(ticker);
+    }
+
+    /**
+     * Gets the expiry to create the Caffeine cache with.
+     * <p>
+     * The expiry determines the remaining lifetime of an entry from the expiration
+     * time that the entry has been put to the cache with.
+     *
+     * @param <K> The type of keys.
+     * @param <V> The type of values.
+     * @return The expiry.
+     */
+    public static <K, V> Expiry<K, Entry<V>> expiry() {
+        return new EntryExpiry<>();
+    }
+
+    @Override
+    public void put(final K key, final V value, final Instant expirationTime) {
+
+        Objects.requireNonNull(expirationTime);
+        put(key, value, Duration.between(Instant.now(), expirationTime));
+    }
+
+    @Override
+    public void put(final K key, final V value, final Duration maxAge) {
+
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(maxAge);
+
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("value is already expired");
+        }
+        cache.put(key, new Entry<>(value, ticker.read() + maxAge.toNanos()));
+    }
+
+    @Override
+    public V get(final K key) {
+
+        if (key == null) {
+            return null;
+        } else {
+            final Entry<V> entry = cache.getIfPresent(key);
+            return entry == null ? null : entry.value;
+        }
+    }
+
+    @Override
+    public void remove(final K key) {
+
+        if (key != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * A cached value along with the point in time at which it expires.
+     *
+     * @param <V> The type of value.
+     */
+    public static final class Entry<V> {
+
+        private final V value;
+        private final long expirationTime;
+
+        private Entry(final V value, final long expirationTime) {
+            this.value = value;
+            this.expirationTime = expirationTime;
+        }
+
+        /**
+         * Gets the cached value.
+         *
+         * @return The value.
+         */
+        public V getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * An expiry that lets an entry expire at the time that it has been put to the cache with.
+     *
+     * @param <K> The type of keys.
+     * @param <V> The type of values.
+     */
+    private static final class EntryExpiry<K, V> implements Expiry<K, Entry<V>> {
+
+        @Override
+        public long expireAfterCreate(final K key, final Entry<V> entry, final long currentTime) {
+            return Math.max(0, entry.expirationTime - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(final K key, final Entry<V> entry, final long currentTime,
+                final long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final K key, final Entry<V> entry, final long currentTime,
+                final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.cache;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * A provider for caches based on Caffeine.
+ * <p>
+ * The caches created by this provider use Caffeine's variable expiration for
+ * tracking the expiration time of each entry and are bounded by a maximum weight.
+ * The maximum weight can be set per cache name and defaults to the maximum weight
+ * that the provider has been created with. By default, each entry has a weight of 1
+ * so that the maximum weight corresponds to the maximum number of entries.
+ * <p>
+ * The provider registers each cache with a Micrometer registry so that its size,
+ * hit and miss counts and evictions are reported as <em>cache.*</em> meters
+ * tagged with the cache name. The meters are also tagged with a {@value #TAG_PROVIDER}
+ * tag containing a sequence number that is unique within the JVM, so that caches of the
+ * same name that have been created by different providers can be told apart.
+ */
+public class CaffeineCacheProvider implements CacheProvider {
+
+    /**
+     * The name of the tag that is used for distinguishing the caches of different providers.
+     */
+    public static final String TAG_PROVIDER = "provider";
+
+    private static final AtomicInteger PROVIDER_SEQUENCE = new AtomicInteger();
+
+    private final Map<String, ExpiringValueCache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final Map<String, Long> maximumWeights = new ConcurrentHashMap<>();
+    private final Tags tags = Tags.of(TAG_PROVIDER, String.valueOf(PROVIDER_SEQUENCE.getAndIncrement()));
+    private final int initialCapacity;
+    private final long defaultMaximumWeight;
+    private final Ticker ticker;
+    private final Executor executor;
+
+    private Weigher<Object, Object> weigher = (key, value) -> 1;
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    /**
+     * Creates a new provider.
+     *
+     * @param initialCapacity The initial capacity of the caches.
+     * @param defaultMaximumWeight The maximum weight of caches that have not been configured
+     *                             with a specific maximum weight. If 0, no such caches are created.
+     * @throws IllegalArgumentException if initial capacity or maximum weight are &lt; 0.
+     */
+    public CaffeineCacheProvider(final int initialCapacity, final long defaultMaximumWeight) {
+        this(initialCapacity, defaultMaximumWeight, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    CaffeineCacheProvider(
+            final int initialCapacity,
+            final long defaultMaximumWeight,
+            final Ticker ticker,
+            final Executor executor) {
+
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initial capacity must not be negative");
+        }
+        if (defaultMaximumWeight < 0) {
+            throw new IllegalArgumentException("maximum weight must not be negative");
+        }
+        this.initialCapacity = initialCapacity;
+        this.defaultMaximumWeight = defaultMaximumWeight;
+        this.ticker = Objects.requireNonNull(ticker);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Sets the maximum weight of a particular cache.
+     * <p>
+     * The value is only considered for caches that are created after this method
+     * has been invoked.
+     *
+     * @param cacheName The name of the cache.
+     * @param maximumWeight The maximum weight. If 0, no cache of the given name is created.
+     * @throws NullPointerException if cache name is {@code null}.
+     * @throws IllegalArgumentException if maximum weight is &lt; 0.
+     */
+    public final void setMaximumWeight(final String cacheName, final long maximumWeight) {
+
+        Objects.requireNonNull(cacheName);
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("maximum weight must not be negative");
+        }
+        maximumWeights.put(cacheName, maximumWeight);
+    }
+
+    /**
+     * Sets the function to use for determining the weight of cache entries.
+     * <p>
+     * The weight of an entry is determined when the entry is put to the cache.
+     * By default, each entry has a weight of 1.
+     *
+     * @param weigher The function.
+     * @throws NullPointerException if weigher is {@code null}.
+     */
+    public final void setWeigher(final Weigher<Object, Object> weigher) {
+        this.weigher = Objects.requireNonNull(weigher);
+    }
+
+    /**
+     * Sets the registry to report the caches' metrics to.
+     * <p>
+     * By default, Micrometer's global registry is used.
+     *
+     * @param registry The registry.
+     * @throws NullPointerException if registry is {@code null}.
+     */
+    public final void setMeterRegistry(final MeterRegistry registry) {
+        this.meterRegistry = Objects.requireNonNull(registry);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns the same instance for subsequent invocations with the same name.
+     *
+     * @return The cache or {@code null} if the maximum weight of the cache is 0.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V> ExpiringValueCache<K, V> getCache(final String cacheName) {
+
+        Objects.requireNonNull(cacheName);
+        final long maximumWeight = maximumWeights.getOrDefault(cacheName, defaultMaximumWeight);
+        if (maximumWeight <= 0) {
+            return null;
+        }
+        return (ExpiringValueCache<K, V>) caches.computeIfAbsent(cacheName, name -> newCache(name, maximumWeight));
+    }
+
+    private ExpiringValueCache<Object, Object> newCache(final String cacheName, final long maximumWeight) {
+
+        final Weigher<Object, Object> valueWeigher = weigher;
+        final Cache<Object, CaffeineBasedExpiringValueCache.Entry<Object>> cache = Caffeine.newBuilder()
+                .initialCapacity((int) Math.min(initialCapacity, maximumWeight))
+                .maximumWeight(maximumWeight)
+                .weigher((final Object key, final CaffeineBasedExpiringValueCache.Entry<Object> entry) ->
+                        valueWeigher.weigh(key, entry.getValue()))
+                .expireAfter(CaffeineBasedExpiringValueCache.expiry())
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName, tags);
+        return new CaffeineBasedExpiringValueCache<>(cache, ticker);
+    }
+}
@@ -60,4 +60,11 @@ public interface ExpiringValueCache<K, V> {
      *         if the value is expired.
      */
     V get(K key);
+
+    /**
+     * Removes a value from the cache.
+     *
+     * @param key The key to remove the value for.
+     */
+    void remove(K key);
 }
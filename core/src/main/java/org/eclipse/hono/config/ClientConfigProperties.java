@@ -74,7 +74,9 @@ public class ClientConfigProperties extends AbstractConfig {
      */
     public static final long DEFAULT_SEND_MESSAGE_TIMEOUT = 1000L; // ms
 
+    private boolean adaptiveCreditEnabled = false;
     private String amqpHostname;
+    private int connectionPoolSize = 1;
     private int connectTimeoutMillis = DEFAULT_CONNECT_TIMEOUT;
     private String credentialsPath;
     private long flowLatency = DEFAULT_FLOW_LATENCY;
@@ -92,6 +94,7 @@ public class ClientConfigProperties extends AbstractConfig {
     private long reconnectDelayIncrementMillis = DEFAULT_RECONNECT_DELAY_INCREMENT;
     private long requestTimeoutMillis = DEFAULT_REQUEST_TIMEOUT;
     private long sendMessageTimeoutMillis = DEFAULT_SEND_MESSAGE_TIMEOUT;
+    private boolean sendMessageTimeoutWheelEnabled = false;
     private boolean tlsEnabled = false;
     private String username;
 
@@ -108,7 +111,9 @@ public class ClientConfigProperties extends AbstractConfig {
      * @param otherProperties The properties to copy.
      */
     public ClientConfigProperties(final ClientConfigProperties otherProperties) {
+        this.adaptiveCreditEnabled = otherProperties.adaptiveCreditEnabled;
         this.amqpHostname = otherProperties.amqpHostname;
+        this.connectionPoolSize = otherProperties.connectionPoolSize;
         this.connectTimeoutMillis = otherProperties.connectTimeoutMillis;
         this.credentialsPath = otherProperties.credentialsPath;
         this.flowLatency = otherProperties.flowLatency;
@@ -126,6 +131,7 @@ public class ClientConfigProperties extends AbstractConfig {
         this.reconnectDelayIncrementMillis = otherProperties.reconnectDelayIncrementMillis;
         this.requestTimeoutMillis = otherProperties.requestTimeoutMillis;
         this.sendMessageTimeoutMillis = otherProperties.sendMessageTimeoutMillis;
+        this.sendMessageTimeoutWheelEnabled = otherProperties.sendMessageTimeoutWheelEnabled;
         this.tlsEnabled = otherProperties.tlsEnabled;
         this.username = otherProperties.username;
     }
@@ -436,6 +442,37 @@ public class ClientConfigProperties extends AbstractConfig {
         }
     }
 
+    /**
+     * Checks if consumers should adapt the credit they issue to the rate at which
+     * the application processes the received messages.
+     * <p>
+     * If disabled, consumers replenish the credit to the number of
+     * {@linkplain #getInitialCredits() initial credits} after each message.
+     * If enabled, consumers issue only as much credit as the application is able to
+     * process within a short period of time, based on the observed processing time of
+     * the messages received so far. The number of initial credits is then used as the
+     * upper bound for the credit issued by a consumer.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if credit should be adapted to the processing rate.
+     */
+    public final boolean isAdaptiveCreditEnabled() {
+        return adaptiveCreditEnabled;
+    }
+
+    /**
+     * Sets whether consumers should adapt the credit they issue to the rate at which
+     * the application processes the received messages.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param enabled {@code true} if credit should be adapted to the processing rate.
+     */
+    public final void setAdaptiveCreditEnabled(final boolean enabled) {
+        this.adaptiveCreditEnabled = enabled;
+    }
+
     /**
      * Gets the maximum amount of time a client should wait for a delivery update after sending an event or command message.
      * If no delivery update is received in that time, the future with the outcome of the send operation will be failed.
@@ -465,6 +502,69 @@ public class ClientConfigProperties extends AbstractConfig {
         }
     }
 
+    /**
+     * Checks if senders should track the timeouts for outstanding delivery updates
+     * using a single timing wheel per link.
+     * <p>
+     * If disabled, a separate vert.x timer is started for every message being sent.
+     * If enabled, all outstanding deliveries of a sender link share a single periodic
+     * timer which is only running while there are unsettled messages. This greatly
+     * reduces the number of live timers when sending messages at high rates.
+     * In both cases the send operation is failed once the {@linkplain #getSendMessageTimeout()
+     * send message timeout} has elapsed.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if the timing wheel should be used.
+     */
+    public final boolean isSendMessageTimeoutWheelEnabled() {
+        return sendMessageTimeoutWheelEnabled;
+    }
+
+    /**
+     * Sets whether senders should track the timeouts for outstanding delivery updates
+     * using a single timing wheel per link.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param enabled {@code true} if the timing wheel should be used.
+     */
+    public final void setSendMessageTimeoutWheelEnabled(final boolean enabled) {
+        this.sendMessageTimeoutWheelEnabled = enabled;
+    }
+
+    /**
+     * Gets the number of AMQP connections that a client should establish to the peer.
+     * <p>
+     * Clients supporting multiple connections distribute their links among the
+     * connections, each one of them being served by its own vert.x event loop.
+     * <p>
+     * The default value of this property is 1.
+     *
+     * @return The number of connections.
+     */
+    public final int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    /**
+     * Sets the number of AMQP connections that a client should establish to the peer.
+     * <p>
+     * Clients supporting multiple connections distribute their links among the
+     * connections, each one of them being served by its own vert.x event loop.
+     * <p>
+     * The default value of this property is 1.
+     *
+     * @param connectionPoolSize The number of connections.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setConnectionPoolSize(final int connectionPoolSize) {
+        if (connectionPoolSize < 1) {
+            throw new IllegalArgumentException("connection pool size must be at least 1");
+        }
+        this.connectionPoolSize = connectionPoolSize;
+    }
+
     /**
      * Gets the maximum amount of time a client should wait for a response to a request before the request
      * is failed.
@@ -27,6 +27,27 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
      * disables automatic tenant timeout.
      */
     public static final Duration DEFAULT_TENANT_IDLE_TIMEOUT = Duration.ZERO;
+    /**
+     * The default period of time after which a successful verification of a device's
+     * password is no longer considered valid.
+     */
+    public static final Duration DEFAULT_PASSWORD_VERIFICATION_CACHE_TIMEOUT = Duration.ofMinutes(10);
+    /**
+     * The default period of time that telemetry messages of a tenant are held back
+     * for being combined into a batch.
+     */
+    public static final Duration DEFAULT_TELEMETRY_BATCH_MAX_DELAY = Duration.ofMillis(20);
+    /**
+     * The default period of time after which an unchanged last known gateway of a device
+     * is written to the Device Connection service again. The default value disables
+     * de-duplication of updates.
+     */
+    public static final Duration DEFAULT_LAST_KNOWN_GATEWAY_REFRESH_INTERVAL = Duration.ZERO;
+    /**
+     * The default period of time that updates of the last known gateway of devices
+     * are held back for being written together.
+     */
+    public static final Duration DEFAULT_LAST_KNOWN_GATEWAY_UPDATE_DELAY = Duration.ofMillis(100);
 
     private boolean authenticationRequired = true;
     private boolean jmsVendorPropsEnabled = false;
@@ -34,6 +55,11 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
     private long eventLoopBlockedCheckTimeout = 5000L;
     private int maxConnections = 0;
     private Duration tenantIdleTimeout = DEFAULT_TENANT_IDLE_TIMEOUT;
+    private int passwordVerificationCacheMaxSize = 0;
+    private Duration passwordVerificationCacheTimeout = DEFAULT_PASSWORD_VERIFICATION_CACHE_TIMEOUT;
+    private Duration telemetryBatchMaxDelay = DEFAULT_TELEMETRY_BATCH_MAX_DELAY;
+    private Duration lastKnownGatewayRefreshInterval = DEFAULT_LAST_KNOWN_GATEWAY_REFRESH_INTERVAL;
+    private Duration lastKnownGatewayUpdateDelay = DEFAULT_LAST_KNOWN_GATEWAY_UPDATE_DELAY;
 
     /**
      * Checks whether the protocol adapter always authenticates devices using their provided credentials as defined
@@ -229,4 +255,175 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
     public void setTenantIdleTimeout(final Duration tenantIdleTimeout) {
         this.tenantIdleTimeout = Objects.requireNonNull(tenantIdleTimeout);
     }
+
+    /**
+     * Gets the maximum number of successful password verifications that the protocol
+     * adapter keeps in memory.
+     * <p>
+     * The default value of this property is 0, which means that no verifications are kept.
+     *
+     * @return The maximum number of verifications.
+     */
+    public final int getPasswordVerificationCacheMaxSize() {
+        return passwordVerificationCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of successful password verifications that the protocol
+     * adapter keeps in memory.
+     * <p>
+     * Devices that authenticate using a password that has already been verified
+     * successfully before are authenticated without checking the password against the
+     * (hashed) password on record again. This considerably reduces the load on the adapter
+     * when a large number of devices reconnects at the same time, given that the
+     * passwords on record are hashed using an expensive hash function like BCrypt.
+     * <p>
+     * The default value of this property is 0, which means that no verifications are kept.
+     *
+     * @param maxSize The maximum number of verifications.
+     * @throws IllegalArgumentException if size is &lt; 0.
+     */
+    public final void setPasswordVerificationCacheMaxSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maximum cache size must not be negative");
+        }
+        this.passwordVerificationCacheMaxSize = maxSize;
+    }
+
+    /**
+     * Gets the period of time after which a successful verification of a device's
+     * password is no longer considered valid.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PASSWORD_VERIFICATION_CACHE_TIMEOUT}.
+     *
+     * @return The period of time.
+     */
+    public final Duration getPasswordVerificationCacheTimeout() {
+        return passwordVerificationCacheTimeout;
+    }
+
+    /**
+     * Sets the period of time after which a successful verification of a device's
+     * password is no longer considered valid.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PASSWORD_VERIFICATION_CACHE_TIMEOUT}.
+     *
+     * @param timeout The period of time.
+     * @throws NullPointerException if timeout is {@code null}.
+     * @throws IllegalArgumentException if timeout is not positive.
+     */
+    public final void setPasswordVerificationCacheTimeout(final Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        this.passwordVerificationCacheTimeout = timeout;
+    }
+
+    /**
+     * Gets the maximum period of time that telemetry messages are held back for being
+     * combined into a batch.
+     * <p>
+     * Telemetry messages are only batched for tenants that have a <em>telemetry-batch-size</em>
+     * greater than 1 configured. A batch is forwarded once it contains that number of messages
+     * or once this period of time has elapsed since the first message has been added to the batch.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TELEMETRY_BATCH_MAX_DELAY}.
+     *
+     * @return The period of time.
+     */
+    public final Duration getTelemetryBatchMaxDelay() {
+        return telemetryBatchMaxDelay;
+    }
+
+    /**
+     * Sets the maximum period of time that telemetry messages are held back for being
+     * combined into a batch.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TELEMETRY_BATCH_MAX_DELAY}.
+     *
+     * @param maxDelay The period of time.
+     * @throws NullPointerException if max delay is {@code null}.
+     * @throws IllegalArgumentException if max delay is not positive.
+     */
+    public final void setTelemetryBatchMaxDelay(final Duration maxDelay) {
+        Objects.requireNonNull(maxDelay);
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException("max delay must be positive");
+        }
+        this.telemetryBatchMaxDelay = maxDelay;
+    }
+
+    /**
+     * Gets the period of time after which an unchanged last known gateway of a device
+     * is written to the Device Connection service again.
+     * <p>
+     * If this property is set to a positive duration, the protocol adapter remembers the
+     * gateway that it has last written for each device and skips writing it again unless
+     * the gateway has changed or this period of time has elapsed. Updates are then also
+     * held back for up to the {@linkplain #getLastKnownGatewayUpdateDelay() update delay}
+     * and are written together. A zero duration disables this behavior and each message
+     * of a device that may be connected via a gateway results in an update being written.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_LAST_KNOWN_GATEWAY_REFRESH_INTERVAL}.
+     *
+     * @return The period of time.
+     */
+    public final Duration getLastKnownGatewayRefreshInterval() {
+        return lastKnownGatewayRefreshInterval;
+    }
+
+    /**
+     * Sets the period of time after which an unchanged last known gateway of a device
+     * is written to the Device Connection service again.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_LAST_KNOWN_GATEWAY_REFRESH_INTERVAL}.
+     *
+     * @param interval The period of time.
+     * @throws NullPointerException if interval is {@code null}.
+     * @throws IllegalArgumentException if interval is negative or is positive but shorter than 1ms.
+     */
+    public final void setLastKnownGatewayRefreshInterval(final Duration interval) {
+        Objects.requireNonNull(interval);
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("refresh interval must not be negative");
+        }
+        if (!interval.isZero() && interval.toMillis() == 0) {
+            throw new IllegalArgumentException("refresh interval must be either 0 or at least 1ms");
+        }
+        this.lastKnownGatewayRefreshInterval = interval;
+    }
+
+    /**
+     * Gets the maximum period of time that updates of the last known gateway of devices
+     * are held back for being written together.
+     * <p>
+     * This property is only relevant if the {@linkplain #getLastKnownGatewayRefreshInterval()
+     * refresh interval} is set to a positive duration.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_LAST_KNOWN_GATEWAY_UPDATE_DELAY}.
+     *
+     * @return The period of time.
+     */
+    public final Duration getLastKnownGatewayUpdateDelay() {
+        return lastKnownGatewayUpdateDelay;
+    }
+
+    /**
+     * Sets the maximum period of time that updates of the last known gateway of devices
+     * are held back for being written together.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_LAST_KNOWN_GATEWAY_UPDATE_DELAY}.
+     *
+     * @param delay The period of time.
+     * @throws NullPointerException if delay is {@code null}.
+     * @throws IllegalArgumentException if delay is shorter than 1ms.
+     */
+    public final void setLastKnownGatewayUpdateDelay(final Duration delay) {
+        Objects.requireNonNull(delay);
+        if (delay.isNegative() || delay.toMillis() == 0) {
+            throw new IllegalArgumentException("update delay must be at least 1ms");
+        }
+        this.lastKnownGatewayUpdateDelay = delay;
+    }
 }
@@ -25,7 +25,9 @@ import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
+import io.opentracing.noop.NoopSpanBuilder;
 import io.opentracing.noop.NoopSpanContext;
+import io.opentracing.noop.NoopTracer;
 import io.opentracing.propagation.Format;
 import io.opentracing.tag.BooleanTag;
 import io.opentracing.tag.IntTag;
@@ -380,6 +382,70 @@ public final class TracingHelper {
         span.setBaggageItem(Tags.SAMPLING_PRIORITY.getKey(), Integer.toString(samplingPriority));
     }
 
+    /**
+     * Checks if a span that is created as a child of a given span context may get sampled.
+     * <p>
+     * A span is known not to be sampled if the tracer is a no-op tracer or if the span
+     * context contains a "sampling.priority" baggage item with value 0, e.g. because the
+     * tenant's tracing configuration has been applied to the parent span.
+     * <p>
+     * Callers may use this method in order to skip the computation of expensive tag values
+     * for spans that are not sampled anyway.
+     *
+     * @param tracer The Tracer to use.
+     * @param spanContext The span context of the span's parent (may be null).
+     * @return {@code false} if the span is known not to be sampled.
+     * @throws NullPointerException if tracer is {@code null}.
+     */
+    public static boolean isSampled(final Tracer tracer, final SpanContext spanContext) {
+        Objects.requireNonNull(tracer);
+        return !(tracer instanceof NoopTracer) && !"0".equals(getSamplingPriority(spanContext));
+    }
+
+    /**
+     * Creates a span builder that is initialized with the given operation name and a child-of reference to the given
+     * span context (if set), deciding whether the span will be sampled first.
+     * <p>
+     * If the span is known not to be sampled (see {@link #isSampled(Tracer, SpanContext)}), the returned builder
+     * ignores all tags and creates a span that does not record anything. In particular,
+     * <ul>
+     * <li>if the tracer is a no-op tracer, the shared no-op builder is returned which does not allocate any objects
+     * and</li>
+     * <li>if the span context's "sampling.priority" is 0, the created span's context is the given span context
+     * so that spans created as children of the span are not sampled either.</li>
+     * </ul>
+     * <p>
+     * Otherwise this method behaves like {@link #buildChildSpan(Tracer, SpanContext, String)}.
+     * <p>
+     * Operation names should therefore be constants instead of being concatenated for each span.
+     *
+     * @param tracer The Tracer to use.
+     * @param spanContext The span context that shall be the parent of the Span being built and that is used to derive
+     *            the sampling priority from (may be null).
+     * @param operationName The operation name to set for the span
+     * @return The span builder.
+     * @throws NullPointerException if tracer or operationName is {@code null}.
+     */
+    public static Tracer.SpanBuilder buildSamplingAwareChildSpan(final Tracer tracer, final SpanContext spanContext,
+            final String operationName) {
+
+        Objects.requireNonNull(tracer);
+        Objects.requireNonNull(operationName);
+        if (tracer instanceof NoopTracer) {
+            return NoopSpanBuilder.INSTANCE;
+        }
+        final String samplingPriority = getSamplingPriority(spanContext);
+        if ("0".equals(samplingPriority)) {
+            return new UnsampledSpan(spanContext);
+        }
+        final Tracer.SpanBuilder spanBuilder = tracer.buildSpan(operationName)
+                .addReference(References.CHILD_OF, spanContext);
+        if (samplingPriority != null) {
+            spanBuilder.withTag(Tags.SAMPLING_PRIORITY.getKey(), samplingPriority);
+        }
+        return spanBuilder;
+    }
+
     /**
      * Gets a "sampling.priority" baggage item from the given span context (if set) and
      * sets a corresponding tag in the given span builder.
@@ -390,13 +456,20 @@ public final class TracingHelper {
      */
     public static void adoptSamplingPriorityFromContext(final SpanContext spanContext, final Tracer.SpanBuilder spanBuilder) {
         Objects.requireNonNull(spanBuilder);
+        final String samplingPriority = getSamplingPriority(spanContext);
+        if (samplingPriority != null) {
+            spanBuilder.withTag(Tags.SAMPLING_PRIORITY.getKey(), samplingPriority);
+        }
+    }
+
+    private static String getSamplingPriority(final SpanContext spanContext) {
         if (spanContext != null) {
             for (Map.Entry<String, String> baggageItem : spanContext.baggageItems()) {
                 if (Tags.SAMPLING_PRIORITY.getKey().equals(baggageItem.getKey())) {
-                    spanBuilder.withTag(Tags.SAMPLING_PRIORITY.getKey(), baggageItem.getValue());
-                    break;
+                    return baggageItem.getValue();
                 }
             }
         }
+        return null;
     }
 }
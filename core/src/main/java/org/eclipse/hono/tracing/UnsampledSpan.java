@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.tracing;
+
+import java.util.Map;
+
+import io.opentracing.Scope;
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.noop.NoopScopeManager;
+
+/**
+ * A span that is known not to be sampled.
+ * <p>
+ * The span does not record any tags or logs. Its context is the context of the
+ * span's parent, so that spans which are created as children of this span are not
+ * sampled either.
+ * <p>
+ * In order to avoid allocating a separate builder, the span also serves as its
+ * own builder.
+ */
+final class UnsampledSpan implements Span, Tracer.SpanBuilder {
+
+    private final SpanContext parentContext;
+
+    /**
+     * Creates a new span.
+     *
+     * @param parentContext The context of the span's parent.
+     */
+    UnsampledSpan(final SpanContext parentContext) {
+        this.parentContext = parentContext;
+    }
+
+    // ------------------------------------------------ Tracer.SpanBuilder
+
+    @Override
+    public Tracer.SpanBuilder asChildOf(final SpanContext parent) {
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder asChildOf(final Span parent) {
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder addReference(final String referenceType, final SpanContext referencedContext) {
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder ignoreActiveSpan() {
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder withTag(final String key, final String value) {
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder withTag(final String key, final boolean value) {
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder withTag(final String key, final Number value) {
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder withStartTimestamp(final long microseconds) {
+        return this;
+    }
+
+    @Override
+    public Scope startActive(final boolean finishSpanOnClose) {
+        return NoopScopeManager.NoopScope.INSTANCE;
+    }
+
+    @Deprecated
+    @Override
+    public Span startManual() {
+        return this;
+    }
+
+    @Override
+    public Span start() {
+        return this;
+    }
+
+    // ------------------------------------------------ Span
+
+    @Override
+    public SpanContext context() {
+        return parentContext;
+    }
+
+    @Override
+    public Span setTag(final String key, final String value) {
+        return this;
+    }
+
+    @Override
+    public Span setTag(final String key, final boolean value) {
+        return this;
+    }
+
+    @Override
+    public Span setTag(final String key, final Number value) {
+        return this;
+    }
+
+    @Override
+    public Span log(final Map<String, ?> fields) {
+        return this;
+    }
+
+    @Override
+    public Span log(final long timestampMicroseconds, final Map<String, ?> fields) {
+        return this;
+    }
+
+    @Override
+    public Span log(final String event) {
+        return this;
+    }
+
+    @Override
+    public Span log(final long timestampMicroseconds, final String event) {
+        return this;
+    }
+
+    @Override
+    public Span setBaggageItem(final String key, final String value) {
+        // the parent's context must not be modified
+        return this;
+    }
+
+    @Override
+    public String getBaggageItem(final String key) {
+        for (final Map.Entry<String, String> baggageItem : parentContext.baggageItems()) {
+            if (baggageItem.getKey().equals(key)) {
+                return baggageItem.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Span setOperationName(final String operationName) {
+        return this;
+    }
+
+    @Override
+    public void finish() {
+        // nothing to report
+    }
+
+    @Override
+    public void finish(final long finishMicros) {
+        // nothing to report
+    }
+}
@@ -28,6 +28,17 @@ public final class DeviceConnectionConstants extends RequestResponseApiConstants
      * that contains the date when the last known gateway id was last updated.
      */
     public static final String FIELD_LAST_UPDATED = "last-updated";
+    /**
+     * The name of the field that contains the entries of the <em>set last known gateways for devices</em>
+     * request and the <em>get last known gateways for devices</em> result. Each entry is a JSON object
+     * containing a <em>device-id</em> and a <em>gateway-id</em> property.
+     */
+    public static final String FIELD_DEVICES = "devices";
+    /**
+     * The name of the field that contains the identifiers of the devices in the
+     * <em>get last known gateways for devices</em> request.
+     */
+    public static final String FIELD_DEVICE_IDS = "device-ids";
 
     /**
      * The name of the Device Connection API endpoint.
@@ -51,6 +62,14 @@ public final class DeviceConnectionConstants extends RequestResponseApiConstants
          * The <em>set last known gateway for device</em> operation.
          */
         SET_LAST_GATEWAY("set-last-gw"),
+        /**
+         * The <em>get last known gateways for devices</em> operation.
+         */
+        GET_LAST_GATEWAYS("get-last-gws"),
+        /**
+         * The <em>set last known gateways for devices</em> operation.
+         */
+        SET_LAST_GATEWAYS("set-last-gws"),
         /**
          * The <em>unknown</em> operation.
          */
@@ -97,6 +116,18 @@ public final class DeviceConnectionConstants extends RequestResponseApiConstants
         public static boolean isValid(final String subject) {
             return DeviceConnectionAction.from(subject) != DeviceConnectionAction.UNKNOWN;
         }
+
+        /**
+         * Checks if this action refers to multiple devices.
+         * <p>
+         * Requests for such an action contain the device identifiers in
+         * the payload instead of the <em>device_id</em> application property.
+         *
+         * @return {@code true} if this action refers to multiple devices.
+         */
+        public boolean isBatchOperation() {
+            return this == GET_LAST_GATEWAYS || this == SET_LAST_GATEWAYS;
+        }
     }
 
     private DeviceConnectionConstants() {
@@ -24,12 +24,17 @@ import org.apache.qpid.proton.amqp.UnsignedLong;
 import org.apache.qpid.proton.message.Message;
 
 import io.opentracing.SpanContext;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
 
 /**
  * A wrapper around a JSON object which can be used to convey request and/or response
  * information for Hono API operations via the vert.x event bus.
+ * <p>
+ * Instances can be sent via the event bus directly once the {@link EventBusMessageCodec}
+ * has been registered. In this case, messages are passed by reference to consumers
+ * within the same JVM and must not be modified after they have been sent.
  *
  */
 public class EventBusMessage {
@@ -136,6 +141,30 @@ public class EventBusMessage {
         return new EventBusMessage(Objects.requireNonNull(json));
     }
 
+    /**
+     * Gets the message contained in the body of a message received via the vert.x event bus.
+     * <p>
+     * The body is expected to be either an {@code EventBusMessage} that has been sent using
+     * the {@link EventBusMessageCodec} or the JSON representation of a message.
+     *
+     * @param body The body.
+     * @return The message.
+     * @throws NullPointerException if body is {@code null}.
+     * @throws IllegalArgumentException if the body is neither an {@code EventBusMessage}
+     *                                  nor a JSON object.
+     */
+    public static EventBusMessage fromBody(final Object body) {
+
+        Objects.requireNonNull(body);
+        if (body instanceof EventBusMessage) {
+            return (EventBusMessage) body;
+        } else if (body instanceof JsonObject) {
+            return fromJson((JsonObject) body);
+        } else {
+            throw new IllegalArgumentException("unsupported body type: " + body.getClass().getName());
+        }
+    }
+
     /**
      * Checks if this (response) message has all properties required
      * for successful delivery to the client.
@@ -584,6 +613,26 @@ public class EventBusMessage {
         return json.copy();
     }
 
+    /**
+     * Creates a (deep) copy of this message.
+     * <p>
+     * The span context is not copied.
+     *
+     * @return The copy.
+     */
+    public EventBusMessage copy() {
+        return new EventBusMessage(json.copy());
+    }
+
+    /**
+     * Encodes this message to a buffer containing its JSON representation.
+     *
+     * @return The buffer.
+     */
+    Buffer toBuffer() {
+        return json.toBuffer();
+    }
+
     /**
      * Serializes a correlation identifier to JSON.
      * <p>
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.util;
+
+import java.util.Objects;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A codec for sending {@link EventBusMessage}s via the vert.x event bus.
+ * <p>
+ * Messages sent to a consumer within the same JVM are passed by reference, i.e. the
+ * consumer receives the very same instance that has been sent. A message must therefore
+ * not be modified by the sender after it has been sent. Only messages sent to a consumer
+ * on another node of a vert.x cluster are serialized to JSON.
+ */
+public final class EventBusMessageCodec implements MessageCodec<EventBusMessage, EventBusMessage> {
+
+    /**
+     * The name of this codec.
+     */
+    public static final String NAME = "hono-event-bus-message";
+
+    private static final EventBusMessageCodec INSTANCE = new EventBusMessageCodec();
+
+    /**
+     * Creates a new codec.
+     * <p>
+     * Use {@link #register(EventBus)} for registering the codec with an event bus.
+     */
+    EventBusMessageCodec() {
+        // nothing to initialize
+    }
+
+    /**
+     * Registers this codec as the default codec for {@link EventBusMessage}s.
+     * <p>
+     * This method may be invoked multiple times for the same event bus.
+     *
+     * @param eventBus The event bus to register the codec with.
+     * @throws NullPointerException if event bus is {@code null}.
+     */
+    public static void register(final EventBus eventBus) {
+
+        Objects.requireNonNull(eventBus);
+        try {
+            eventBus.registerDefaultCodec(EventBusMessage.class, INSTANCE);
+        } catch (final IllegalStateException e) {
+            // codec has already been registered
+        }
+    }
+
+    @Override
+    public void encodeToWire(final Buffer buffer, final EventBusMessage message) {
+        final Buffer encoded = message.toBuffer();
+        buffer.appendInt(encoded.length());
+        buffer.appendBuffer(encoded);
+    }
+
+    @Override
+    public EventBusMessage decodeFromWire(final int pos, final Buffer buffer) {
+        final int length = buffer.getInt(pos);
+        final int start = pos + 4;
+        return EventBusMessage.fromJson(new JsonObject(buffer.getBuffer(start, start + length)));
+    }
+
+    @Override
+    public EventBusMessage transform(final EventBusMessage message) {
+        return message;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
@@ -12,15 +12,20 @@
  *******************************************************************************/
 package org.eclipse.hono.util;
 
+import java.nio.BufferOverflowException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.Symbol;
+import org.apache.qpid.proton.amqp.messaging.AmqpSequence;
 import org.apache.qpid.proton.amqp.messaging.AmqpValue;
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
 import org.apache.qpid.proton.amqp.messaging.Data;
@@ -206,6 +211,13 @@ public final class MessageHelper {
      * The MIME type representing plain text.
      */
     public static final String CONTENT_TYPE_TEXT_PLAIN = "text/plain";
+    /**
+     * The MIME type indicating that a message contains a batch of other messages.
+     * <p>
+     * The body of such a message is an <em>AmqpSequence</em> section containing the
+     * AMQP 1.0 encoding of each of the batched messages as a binary value.
+     */
+    public static final String CONTENT_TYPE_BATCH = "application/vnd.eclipse-hono-batch";
 
     private static final Logger LOG = LoggerFactory.getLogger(MessageHelper.class);
 
@@ -499,6 +511,81 @@ public final class MessageHelper {
         return getApplicationProperty(msg.getApplicationProperties(), APP_PROPERTY_CACHE_CONTROL, String.class);
     }
 
+    /**
+     * Creates a message containing a batch of other messages.
+     * <p>
+     * The returned message has its content type set to {@link #CONTENT_TYPE_BATCH}
+     * and contains the AMQP 1.0 encoding of the given messages in the order of the list.
+     *
+     * @param messages The messages to include in the batch.
+     * @return The batch message.
+     * @throws NullPointerException if messages is {@code null}.
+     */
+    public static Message newBatch(final List<Message> messages) {
+
+        Objects.requireNonNull(messages);
+        final List<Binary> encodedMessages = new ArrayList<>(messages.size());
+        for (final Message message : messages) {
+            encodedMessages.add(encode(message));
+        }
+        final Message batch = ProtonHelper.message();
+        batch.setContentType(CONTENT_TYPE_BATCH);
+        batch.setBody(new AmqpSequence(encodedMessages));
+        return batch;
+    }
+
+    private static Binary encode(final Message message) {
+
+        final Buffer payload = getPayload(message);
+        int size = 256 + (payload == null ? 0 : payload.length());
+        while (true) {
+            final byte[] buffer = new byte[size];
+            try {
+                final int length = message.encode(buffer, 0, size);
+                return new Binary(buffer, 0, length);
+            } catch (final BufferOverflowException e) {
+                size *= 2;
+            }
+        }
+    }
+
+    /**
+     * Checks if a message contains a batch of other messages.
+     *
+     * @param msg The message to check.
+     * @return {@code true} if the message's content type is {@link #CONTENT_TYPE_BATCH}.
+     * @throws NullPointerException if the message is {@code null}.
+     */
+    public static boolean isBatch(final Message msg) {
+        return CONTENT_TYPE_BATCH.equals(Objects.requireNonNull(msg).getContentType());
+    }
+
+    /**
+     * Gets the messages contained in a batch message.
+     *
+     * @param batch The batch message created by means of {@link #newBatch(List)}.
+     * @return The batched messages in the order in which they have been added to the batch.
+     *         The list will be empty if the message does not contain a batch.
+     * @throws NullPointerException if batch is {@code null}.
+     */
+    public static List<Message> getBatchedMessages(final Message batch) {
+
+        if (!isBatch(batch) || !(batch.getBody() instanceof AmqpSequence)) {
+            return Collections.emptyList();
+        }
+        final List<?> encodedMessages = ((AmqpSequence) batch.getBody()).getValue();
+        final List<Message> messages = new ArrayList<>(encodedMessages.size());
+        for (final Object encodedMessage : encodedMessages) {
+            if (encodedMessage instanceof Binary) {
+                final Binary data = (Binary) encodedMessage;
+                final Message message = ProtonHelper.message();
+                message.decode(data.getArray(), data.getArrayOffset(), data.getLength());
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+
     /**
      * Sets the <em>time-to-live</em> of the AMQP 1.0 message.
      * 
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * An immutable view on the properties of a {@link TenantObject} that protocol adapters
+ * check for every message published by a device.
+ * <p>
+ * The view is created once from the tenant's JSON representation so that the checks
+ * do not need to look up and convert JSON properties nor scan the list of adapter
+ * configurations.
+ */
+final class PrecompiledTenant {
+
+    private final boolean enabled;
+    private final boolean allAdaptersEnabled;
+    private final int minimumMessageSize;
+    private final int telemetryBatchSize;
+    private final Map<String, AdapterSettings> adapters;
+
+    /**
+     * Creates a view on a tenant's current properties.
+     *
+     * @param tenant The tenant.
+     */
+    PrecompiledTenant(final TenantObject tenant) {
+
+        this.enabled = tenant.isEnabled();
+        this.minimumMessageSize = tenant.getMinimumMessageSize();
+        this.telemetryBatchSize = tenant.getTelemetryBatchSize();
+
+        final List<Map<String, Object>> configurations = tenant.getAdapterConfigurationsAsMaps();
+        this.allAdaptersEnabled = configurations == null;
+        if (configurations == null || configurations.isEmpty()) {
+            this.adapters = Collections.emptyMap();
+        } else {
+            final Map<String, AdapterSettings> settings = new HashMap<>();
+            for (final Map<String, Object> config : configurations) {
+                final Object type = config.get(TenantConstants.FIELD_ADAPTERS_TYPE);
+                if (type instanceof String) {
+                    final AdapterSettings adapterSettings = new AdapterSettings(config);
+                    // the first configuration for a type takes precedence
+                    settings.putIfAbsent((String) type, adapterSettings);
+                    settings.putIfAbsent(((String) type).toLowerCase(Locale.ROOT), adapterSettings);
+                }
+            }
+            this.adapters = settings;
+        }
+    }
+
+    /**
+     * Checks if the tenant is enabled.
+     *
+     * @return {@code true} if the tenant is enabled.
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the minimum message size in bytes.
+     *
+     * @return The minimum message size.
+     */
+    int getMinimumMessageSize() {
+        return minimumMessageSize;
+    }
+
+    /**
+     * Gets the maximum number of telemetry messages to combine into a batch.
+     *
+     * @return The batch size.
+     */
+    int getTelemetryBatchSize() {
+        return telemetryBatchSize;
+    }
+
+    /**
+     * Checks if a given protocol adapter is enabled for the tenant.
+     *
+     * @param typeName The type name of the adapter.
+     * @return {@code true} if the tenant and the given adapter are enabled.
+     */
+    boolean isAdapterEnabled(final String typeName) {
+
+        if (!enabled) {
+            return false;
+        } else if (allAdaptersEnabled) {
+            return true;
+        } else {
+            final AdapterSettings settings = getAdapterSettings(typeName);
+            // if not explicitly configured, the adapter is disabled by default
+            return settings != null && settings.enabled;
+        }
+    }
+
+    /**
+     * Gets the maximum number of seconds that a protocol adapter should wait for
+     * a command targeted at a device.
+     *
+     * @param typeName The type name of the adapter.
+     * @return The number of seconds.
+     */
+    int getMaxTimeUntilDisconnect(final String typeName) {
+
+        final AdapterSettings settings = getAdapterSettings(typeName);
+        return settings == null ? TenantConstants.DEFAULT_MAX_TTD : settings.maxTtd;
+    }
+
+    /**
+     * Gets the configuration properties for a protocol adapter.
+     *
+     * @param typeName The type name of the adapter.
+     * @return The configuration properties or {@code null} if no specific
+     *         properties have been set.
+     */
+    JsonObject getAdapterConfiguration(final String typeName) {
+
+        final AdapterSettings settings = getAdapterSettings(typeName);
+        return settings == null ? null : new JsonObject(settings.config);
+    }
+
+    private AdapterSettings getAdapterSettings(final String typeName) {
+
+        if (adapters.isEmpty()) {
+            return null;
+        }
+        final AdapterSettings settings = adapters.get(typeName);
+        if (settings == null) {
+            return adapters.get(typeName.toLowerCase(Locale.ROOT));
+        }
+        return settings;
+    }
+
+    /**
+     * The settings for a particular type of protocol adapter.
+     */
+    private static final class AdapterSettings {
+
+        private final Map<String, Object> config;
+        private final boolean enabled;
+        private final int maxTtd;
+
+        AdapterSettings(final Map<String, Object> config) {
+
+            this.config = config;
+            final Object enabledFlag = config.get(TenantConstants.FIELD_ENABLED);
+            this.enabled = enabledFlag instanceof Boolean ? (Boolean) enabledFlag : false;
+            this.maxTtd = getMaxTtd(config.get(TenantConstants.FIELD_EXT));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static int getMaxTtd(final Object extension) {
+
+            final Object maxTtd;
+            if (extension instanceof JsonObject) {
+                maxTtd = ((JsonObject) extension).getValue(TenantConstants.FIELD_MAX_TTD);
+            } else if (extension instanceof Map) {
+                maxTtd = ((Map<String, Object>) extension).get(TenantConstants.FIELD_MAX_TTD);
+            } else {
+                maxTtd = null;
+            }
+            if (maxTtd instanceof Integer && (Integer) maxTtd >= 0) {
+                return (Integer) maxTtd;
+            }
+            return TenantConstants.DEFAULT_MAX_TTD;
+        }
+    }
+}
@@ -28,6 +28,10 @@ public final class TenantConstants extends RequestResponseApiConstants {
      * The default message size is set to 0, which implies no minimum size is defined.
      */
     public static final int DEFAULT_MINIMUM_MESSAGE_SIZE = 0;
+    /**
+     * The default telemetry batch size is set to 1, which implies that telemetry messages are not batched.
+     */
+    public static final int DEFAULT_TELEMETRY_BATCH_SIZE = 1;
 
     /**
      * The value indicating an <em>unlimited</em> number of bytes to be allowed for a tenant.
@@ -122,6 +126,12 @@ public final class TenantConstants extends RequestResponseApiConstants {
      */
     public static final String FIELD_MINIMUM_MESSAGE_SIZE = "minimum-message-size";
 
+    /**
+     * The name of the property that contains the maximum number of telemetry messages
+     * that a protocol adapter may combine into a single batch message.
+     */
+    public static final String FIELD_TELEMETRY_BATCH_SIZE = "telemetry-batch-size";
+
     /**
      * The name of the Tenant API endpoint.
      */
@@ -55,6 +55,8 @@ public final class TenantObject extends JsonBackedValueObject {
     private TenantTracingConfig tracingConfig;
     @JsonIgnore
     private Set<TrustAnchor> trustAnchors;
+    @JsonIgnore
+    private volatile PrecompiledTenant precompiled;
 
     /**
      * Adds a property to this tenant.
@@ -67,6 +69,7 @@ public final class TenantObject extends JsonBackedValueObject {
     @JsonAnySetter
     public TenantObject setProperty(final String name, final Object value) {
         json.put(Objects.requireNonNull(name), value);
+        precompiled = null;
         return this;
     }
 
@@ -98,6 +101,10 @@ public final class TenantObject extends JsonBackedValueObject {
      */
     @JsonIgnore
     public boolean isEnabled() {
+        final PrecompiledTenant view = precompiled;
+        if (view != null) {
+            return view.isEnabled();
+        }
         return getProperty(TenantConstants.FIELD_ENABLED, Boolean.class, true);
     }
 
@@ -254,7 +261,10 @@ public final class TenantObject extends JsonBackedValueObject {
     public JsonObject getAdapterConfiguration(final String type) {
 
         Objects.requireNonNull(type);
-        if (adapterConfigurations == null) {
+        final PrecompiledTenant view = precompiled;
+        if (view != null) {
+            return view.getAdapterConfiguration(type);
+        } else if (adapterConfigurations == null) {
             return null;
         } else {
             return adapterConfigurations.stream()
@@ -282,6 +292,7 @@ public final class TenantObject extends JsonBackedValueObject {
         } else {
             this.adapterConfigurations = new LinkedList<>(configurations);
         }
+        precompiled = null;
         return this;
     }
 
@@ -304,6 +315,7 @@ public final class TenantObject extends JsonBackedValueObject {
                 addAdapterConfiguration((JsonObject) config);
             });
         }
+        precompiled = null;
         return this;
     }
 
@@ -327,6 +339,7 @@ public final class TenantObject extends JsonBackedValueObject {
                 adapterConfigurations = new LinkedList<>();
             }
             adapterConfigurations.add(config.getMap());
+            precompiled = null;
         } else {
             throw new IllegalArgumentException("adapter configuration must contain type field");
         }
@@ -342,7 +355,10 @@ public final class TenantObject extends JsonBackedValueObject {
     @JsonIgnore
     public boolean isAdapterEnabled(final String typeName) {
 
-        if (!isEnabled()) {
+        final PrecompiledTenant view = precompiled;
+        if (view != null) {
+            return view.isAdapterEnabled(typeName);
+        } else if (!isEnabled()) {
             return false;
         } else if (adapterConfigurations == null) {
             // all adapters are enabled
@@ -376,6 +392,10 @@ public final class TenantObject extends JsonBackedValueObject {
 
         Objects.requireNonNull(typeName);
 
+        final PrecompiledTenant view = precompiled;
+        if (view != null) {
+            return view.getMaxTimeUntilDisconnect(typeName);
+        }
         return Optional.ofNullable(getAdapterConfiguration(typeName))
                 .map(conf -> getProperty(conf, TenantConstants.FIELD_EXT, JsonObject.class))
                 .map(extension -> getProperty(extension, TenantConstants.FIELD_MAX_TTD, Integer.class))
@@ -383,6 +403,27 @@ public final class TenantObject extends JsonBackedValueObject {
                 .orElse(TenantConstants.DEFAULT_MAX_TTD);
     }
 
+    /**
+     * Precompiles the properties of this tenant that protocol adapters check
+     * for every message published by a device.
+     * <p>
+     * After this method has been invoked, {@link #isEnabled()}, {@link #isAdapterEnabled(String)},
+     * {@link #getMaxTimeUntilDisconnect(String)}, {@link #getAdapterConfiguration(String)},
+     * {@link #getMinimumMessageSize()} and {@link #getTelemetryBatchSize()} are served from
+     * an immutable view on the tenant's properties instead of looking up the properties in
+     * the tenant's JSON representation. The view is discarded when any of the tenant's properties or
+     * adapter configurations are changed using this object's setters.
+     * <p>
+     * This method should be invoked once when the tenant is put to a cache.
+     *
+     * @return This tenant for command chaining.
+     */
+    public TenantObject precompile() {
+        precompiled = null;
+        precompiled = new PrecompiledTenant(this);
+        return this;
+    }
+
     /**
      * Creates a TenantObject for a tenantId and the enabled property.
      *
@@ -477,6 +518,10 @@ public final class TenantObject extends JsonBackedValueObject {
      */
     @JsonIgnore
     public int getMinimumMessageSize() {
+        final PrecompiledTenant view = precompiled;
+        if (view != null) {
+            return view.getMinimumMessageSize();
+        }
         return getProperty(TenantConstants.FIELD_MINIMUM_MESSAGE_SIZE, Integer.class,
                 TenantConstants.DEFAULT_MINIMUM_MESSAGE_SIZE);
     }
@@ -496,6 +541,40 @@ public final class TenantObject extends JsonBackedValueObject {
         return setProperty(TenantConstants.FIELD_MINIMUM_MESSAGE_SIZE, payloadSize);
     }
 
+    /**
+     * Gets the maximum number of telemetry messages that a protocol adapter may combine
+     * into a single batch message when forwarding them downstream.
+     * <p>
+     * Only telemetry messages that are sent without waiting for the outcome are batched.
+     *
+     * @return The batch size or {@link TenantConstants#DEFAULT_TELEMETRY_BATCH_SIZE} if not set.
+     */
+    @JsonIgnore
+    public int getTelemetryBatchSize() {
+        final PrecompiledTenant view = precompiled;
+        if (view != null) {
+            return view.getTelemetryBatchSize();
+        }
+        return getProperty(TenantConstants.FIELD_TELEMETRY_BATCH_SIZE, Integer.class,
+                TenantConstants.DEFAULT_TELEMETRY_BATCH_SIZE);
+    }
+
+    /**
+     * Sets the maximum number of telemetry messages that a protocol adapter may combine
+     * into a single batch message when forwarding them downstream.
+     *
+     * @param batchSize The batch size. A value of 1 disables batching.
+     * @return The TenantObject.
+     * @throws IllegalArgumentException if the batch size is &lt; 1.
+     */
+    public TenantObject setTelemetryBatchSize(final int batchSize) {
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("telemetry batch size must be >= 1");
+        }
+        return setProperty(TenantConstants.FIELD_TELEMETRY_BATCH_SIZE, batchSize);
+    }
+
     /**
      * Gets the default property values used for all devices of this tenant.
      * 
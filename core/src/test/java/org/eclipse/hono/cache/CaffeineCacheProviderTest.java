@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests verifying behavior of {@link CaffeineCacheProvider}.
+ *
+ */
+public class CaffeineCacheProviderTest {
+
+    private AtomicLong ticker;
+    private MeterRegistry registry;
+    private CaffeineCacheProvider provider;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        ticker = new AtomicLong();
+        registry = new SimpleMeterRegistry();
+        provider = new CaffeineCacheProvider(10, 100, ticker::get, Runnable::run);
+        provider.setMeterRegistry(registry);
+    }
+
+    /**
+     * Verifies that values are removed from the cache once they have expired.
+     */
+    @Test
+    public void testGetReturnsNullForExpiredValue() {
+
+        final ExpiringValueCache<String, String> cache = provider.getCache("test");
+        cache.put("short", "one", Duration.ofSeconds(5));
+        cache.put("long", "two", Duration.ofSeconds(60));
+        assertEquals("one", cache.get("short"));
+
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertNull(cache.get("short"));
+        assertEquals("two", cache.get("long"));
+        assertEquals(1.0, registry.get("cache.size").tag("cache", "test").gauge().value());
+    }
+
+    /**
+     * Verifies that values that are already expired are rejected.
+     */
+    @Test
+    public void testPutFailsForExpiredValue() {
+
+        final ExpiringValueCache<String, String> cache = provider.getCache("test");
+        assertThrows(IllegalArgumentException.class, () -> cache.put("key", "value", Duration.ZERO));
+    }
+
+    /**
+     * Verifies that replacing a value also replaces its expiration time.
+     */
+    @Test
+    public void testPutReplacesExpirationTime() {
+
+        final ExpiringValueCache<String, String> cache = provider.getCache("test");
+        cache.put("key", "one", Duration.ofSeconds(60));
+        cache.put("key", "two", Duration.ofSeconds(5));
+
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertNull(cache.get("key"));
+    }
+
+    /**
+     * Verifies that the provider returns the same instance for a cache name
+     * and evicts entries once the maximum weight has been reached.
+     */
+    @Test
+    public void testGetCacheUsesMaximumWeight() {
+
+        provider = new CaffeineCacheProvider(10, 2, ticker::get, Runnable::run);
+        provider.setMeterRegistry(registry);
+
+        final ExpiringValueCache<String, String> cache = provider.getCache("small");
+        assertSame(cache, provider.getCache("small"));
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value", Duration.ofSeconds(60));
+        }
+        assertEquals(2.0, registry.get("cache.size").tag("cache", "small").gauge().value());
+        assertEquals(8.0, registry.get("cache.evictions").tag("cache", "small").functionCounter().count());
+    }
+
+    /**
+     * Verifies that a maximum weight that has been set for a particular cache name
+     * takes precedence over the provider's default maximum weight.
+     */
+    @Test
+    public void testGetCacheUsesMaximumWeightOfCacheName() {
+
+        provider.setMaximumWeight("small", 2);
+        provider.setMaximumWeight("disabled", 0);
+
+        final ExpiringValueCache<String, String> smallCache = provider.getCache("small");
+        final ExpiringValueCache<String, String> defaultCache = provider.getCache("default");
+        for (int i = 0; i < 10; i++) {
+            smallCache.put("key" + i, "value", Duration.ofSeconds(60));
+            defaultCache.put("key" + i, "value", Duration.ofSeconds(60));
+        }
+        assertEquals(2.0, registry.get("cache.size").tag("cache", "small").gauge().value());
+        assertEquals(10.0, registry.get("cache.size").tag("cache", "default").gauge().value());
+        assertNull(provider.getCache("disabled"));
+    }
+
+    /**
+     * Verifies that the metrics of caches of the same name that have been created
+     * by different providers are reported separately.
+     */
+    @Test
+    public void testMetricsAreReportedPerProvider() {
+
+        final CaffeineCacheProvider otherProvider = new CaffeineCacheProvider(10, 100, ticker::get, Runnable::run);
+        otherProvider.setMeterRegistry(registry);
+
+        provider.getCache("test").put("key", "value", Duration.ofSeconds(60));
+        otherProvider.getCache("test");
+
+        assertEquals(2, registry.find("cache.size").tag("cache", "test").gauges().size());
+        assertEquals(1.0, registry.find("cache.size").tag("cache", "test").gauges().stream()
+                .mapToDouble(gauge -> gauge.value()).sum());
+    }
+
+    /**
+     * Verifies that the provider does not create caches if the maximum weight is 0.
+     */
+    @Test
+    public void testGetCacheReturnsNullForZeroMaximumWeight() {
+
+        provider = new CaffeineCacheProvider(10, 0, ticker::get, Runnable::run);
+        assertNull(provider.getCache("disabled"));
+    }
+
+    /**
+     * Verifies that cache hits and misses are reported.
+     */
+    @Test
+    public void testGetReportsHitsAndMisses() {
+
+        final ExpiringValueCache<String, String> cache = provider.getCache("test");
+        cache.put("key", "value", Duration.ofSeconds(60));
+        cache.get("key");
+        cache.get("key");
+        cache.get("unknown");
+
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "test").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "test").tag("result", "miss")
+                .functionCounter().count());
+    }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.config;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+
+/**
+ * Tests verifying behavior of {@link ProtocolAdapterProperties}.
+ *
+ */
+public class ProtocolAdapterPropertiesTest {
+
+    private final ProtocolAdapterProperties props = new ProtocolAdapterProperties();
+
+    /**
+     * Verifies that the refresh interval of the last known gateway can be disabled
+     * or set to at least one millisecond.
+     */
+    @Test
+    public void testSetLastKnownGatewayRefreshIntervalAcceptsZeroOrMillis() {
+
+        props.setLastKnownGatewayRefreshInterval(Duration.ZERO);
+        assertThat(props.getLastKnownGatewayRefreshInterval(), is(Duration.ZERO));
+        props.setLastKnownGatewayRefreshInterval(Duration.ofMillis(1));
+        assertThat(props.getLastKnownGatewayRefreshInterval(), is(Duration.ofMillis(1)));
+    }
+
+    /**
+     * Verifies that a positive refresh interval of the last known gateway that is
+     * shorter than one millisecond is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetLastKnownGatewayRefreshIntervalRejectsSubMillisecondValue() {
+
+        props.setLastKnownGatewayRefreshInterval(Duration.ofNanos(999_999));
+    }
+
+    /**
+     * Verifies that an update delay of the last known gateway that is shorter
+     * than one millisecond is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetLastKnownGatewayUpdateDelayRejectsSubMillisecondValue() {
+
+        props.setLastKnownGatewayUpdateDelay(Duration.ofNanos(500));
+    }
+}
@@ -14,19 +14,33 @@
 package org.eclipse.hono.tracing;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.util.AbstractMap.SimpleEntry;
 import java.util.Collections;
 import java.util.Map;
 
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import io.opentracing.References;
 import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
+import io.opentracing.noop.NoopSpan;
+import io.opentracing.noop.NoopTracerFactory;
 import io.opentracing.tag.Tags;
 
 /**
@@ -93,4 +107,69 @@ public class TracingHelperTest {
         assertThat(capturedItemsMap.get(Fields.ERROR_OBJECT), is(exception));
         assertThat(capturedItemsMap.get(Fields.EVENT), is(Tags.ERROR.getKey()));
     }
+
+    /**
+     * Verifies that no span is created if the tracer is a no-op tracer.
+     */
+    @Test
+    public void testBuildSamplingAwareChildSpanReturnsNoopSpanForNoopTracer() {
+
+        final Tracer tracer = NoopTracerFactory.create();
+        assertFalse(TracingHelper.isSampled(tracer, null));
+        final Span span = TracingHelper.buildSamplingAwareChildSpan(tracer, null, "upload telemetry")
+                .withTag(Tags.COMPONENT.getKey(), "test")
+                .start();
+        assertThat(span, instanceOf(NoopSpan.class));
+    }
+
+    /**
+     * Verifies that the tracer is not invoked for a span whose parent context indicates
+     * that the span must not be sampled and that the created span propagates the
+     * parent's context.
+     */
+    @Test
+    public void testBuildSamplingAwareChildSpanSkipsUnsampledSpans() {
+
+        final Tracer tracer = mock(Tracer.class);
+        final SpanContext parentContext = newSpanContext("0");
+        assertFalse(TracingHelper.isSampled(tracer, parentContext));
+
+        final Span span = TracingHelper.buildSamplingAwareChildSpan(tracer, parentContext, "upload telemetry")
+                .withTag(Tags.COMPONENT.getKey(), "test")
+                .start();
+        span.setTag(Tags.ERROR.getKey(), true);
+        span.finish();
+
+        verify(tracer, never()).buildSpan(anyString());
+        assertThat(span.context(), sameInstance(parentContext));
+        assertThat(span.getBaggageItem(Tags.SAMPLING_PRIORITY.getKey()), is("0"));
+    }
+
+    /**
+     * Verifies that a span which may be sampled is created by the tracer and adopts
+     * the sampling priority of its parent.
+     */
+    @Test
+    public void testBuildSamplingAwareChildSpanDelegatesToTracer() {
+
+        final Tracer tracer = mock(Tracer.class);
+        final Tracer.SpanBuilder spanBuilder = mock(Tracer.SpanBuilder.class);
+        when(tracer.buildSpan(anyString())).thenReturn(spanBuilder);
+        when(spanBuilder.addReference(anyString(), any())).thenReturn(spanBuilder);
+        final SpanContext parentContext = newSpanContext("1");
+        assertTrue(TracingHelper.isSampled(tracer, parentContext));
+
+        TracingHelper.buildSamplingAwareChildSpan(tracer, parentContext, "upload telemetry");
+
+        verify(tracer).buildSpan("upload telemetry");
+        verify(spanBuilder).addReference(References.CHILD_OF, parentContext);
+        verify(spanBuilder).withTag(Tags.SAMPLING_PRIORITY.getKey(), "1");
+    }
+
+    private static SpanContext newSpanContext(final String samplingPriority) {
+        final SpanContext spanContext = mock(SpanContext.class);
+        when(spanContext.baggageItems()).thenReturn(
+                Collections.singleton(new SimpleEntry<>(Tags.SAMPLING_PRIORITY.getKey(), samplingPriority)));
+        return spanContext;
+    }
 }
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Tests verifying behavior of {@link EventBusMessageCodec}.
+ *
+ */
+public class EventBusMessageCodecTest {
+
+    /**
+     * Verifies that a message that has been encoded to the wire format
+     * can be decoded again.
+     */
+    @Test
+    public void testDecodeFromWireReturnsEncodedMessage() {
+
+        final EventBusMessage message = EventBusMessage.forOperation("get")
+                .setTenant("tenant")
+                .setDeviceId("device")
+                .setCorrelationId("correlation")
+                .setJsonPayload(new JsonObject().put("key", "value"));
+        final EventBusMessageCodec codec = new EventBusMessageCodec();
+
+        final Buffer buffer = Buffer.buffer("prefix");
+        codec.encodeToWire(buffer, message);
+        final EventBusMessage decoded = codec.decodeFromWire("prefix".length(), buffer);
+
+        assertEquals(message.toJson(), decoded.toJson());
+        assertEquals("correlation", decoded.getCorrelationId());
+    }
+
+    /**
+     * Verifies that a message sent to a consumer within the same JVM is
+     * passed by reference.
+     *
+     * @throws Exception if the message could not be sent.
+     */
+    @Test
+    public void testLocalDeliveryPassesMessageByReference() throws Exception {
+
+        final Vertx vertx = Vertx.vertx();
+        try {
+            EventBusMessageCodec.register(vertx.eventBus());
+            // registering the codec again has no effect
+            EventBusMessageCodec.register(vertx.eventBus());
+
+            final EventBusMessage message = EventBusMessage.forOperation("get").setTenant("tenant");
+            final CompletableFuture<Object> received = new CompletableFuture<>();
+            vertx.eventBus().consumer("test", msg -> received.complete(msg.body()))
+                .completionHandler(registered -> vertx.eventBus().send("test", message));
+
+            assertSame(message, received.get(5, TimeUnit.SECONDS));
+            assertSame(message, EventBusMessage.fromBody(message));
+        } finally {
+            vertx.close();
+        }
+    }
+}
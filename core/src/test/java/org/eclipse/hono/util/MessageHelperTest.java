@@ -17,6 +17,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.messaging.Data;
@@ -311,4 +313,43 @@ public class MessageHelperTest {
 
         assertThat(message.getTtl()).isEqualTo(15000L);
     }
+
+    /**
+     * Verifies that the messages contained in a batch can be retrieved
+     * including their properties and payload.
+     */
+    @Test
+    public void testGetBatchedMessagesReturnsMessagesOfBatch() {
+
+        final Message first = ProtonHelper.message();
+        MessageHelper.addDeviceId(first, "4711");
+        first.setContentType(MessageHelper.CONTENT_TYPE_TEXT_PLAIN);
+        first.setBody(new Data(new Binary("hello".getBytes())));
+        final Message second = ProtonHelper.message();
+        MessageHelper.addDeviceId(second, "4712");
+        // a payload exceeding the initially allocated buffer
+        second.setBody(new Data(new Binary(new byte[10_000])));
+
+        final Message batch = MessageHelper.newBatch(Arrays.asList(first, second));
+        assertThat(MessageHelper.isBatch(batch)).isTrue();
+
+        final List<Message> messages = MessageHelper.getBatchedMessages(batch);
+        assertThat(messages).hasSize(2);
+        assertThat(MessageHelper.getDeviceId(messages.get(0))).isEqualTo("4711");
+        assertThat(messages.get(0).getContentType()).isEqualTo(MessageHelper.CONTENT_TYPE_TEXT_PLAIN);
+        assertThat(MessageHelper.getPayloadAsString(messages.get(0))).isEqualTo("hello");
+        assertThat(MessageHelper.getDeviceId(messages.get(1))).isEqualTo("4712");
+        assertThat(MessageHelper.getPayload(messages.get(1)).length()).isEqualTo(10_000);
+    }
+
+    /**
+     * Verifies that no batched messages are returned for a regular message.
+     */
+    @Test
+    public void testGetBatchedMessagesReturnsEmptyListForRegularMessage() {
+
+        final Message msg = ProtonHelper.message("hello");
+        assertThat(MessageHelper.isBatch(msg)).isFalse();
+        assertThat(MessageHelper.getBatchedMessages(msg)).isEmpty();
+    }
 }
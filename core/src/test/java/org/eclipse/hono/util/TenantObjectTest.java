@@ -183,6 +183,51 @@ public class TenantObjectTest {
         assertFalse(obj.isAdapterEnabled("any-other-type"));
     }
 
+    /**
+     * Verifies that a precompiled tenant yields the same results as the
+     * tenant's JSON representation.
+     */
+    @Test
+    public void testPrecompiledTenantReflectsConfiguration() {
+
+        final TenantObject obj = TenantObject.from(Constants.DEFAULT_TENANT, Boolean.TRUE)
+                .setMinimumMessageSize(2048)
+                .addAdapterConfiguration(TenantObject.newAdapterConfig("type-one", true)
+                        .put(TenantConstants.FIELD_EXT, new JsonObject().put(TenantConstants.FIELD_MAX_TTD, 10)))
+                .addAdapterConfiguration(TenantObject.newAdapterConfig("Type-Two", false))
+                .precompile();
+
+        assertTrue(obj.isEnabled());
+        assertTrue(obj.isAdapterEnabled("type-one"));
+        assertTrue(obj.isAdapterEnabled("TYPE-ONE"));
+        assertFalse(obj.isAdapterEnabled("type-two"));
+        assertFalse(obj.isAdapterEnabled("any-other-type"));
+        assertThat(obj.getMaxTimeUntilDisconnect("type-one"), is(10));
+        assertThat(obj.getMaxTimeUntilDisconnect("type-two"), is(TenantConstants.DEFAULT_MAX_TTD));
+        assertThat(obj.getMinimumMessageSize(), is(2048));
+        assertEquals(Boolean.FALSE, obj.getAdapterConfiguration("type-two").getBoolean(TenantConstants.FIELD_ENABLED));
+        assertThat(obj.getAdapterConfiguration("any-other-type"), nullValue());
+    }
+
+    /**
+     * Verifies that changing a precompiled tenant's properties discards the
+     * precompiled view.
+     */
+    @Test
+    public void testPrecompiledTenantIsDiscardedOnChange() {
+
+        final TenantObject obj = TenantObject.from(Constants.DEFAULT_TENANT, Boolean.TRUE).precompile();
+        assertTrue(obj.isAdapterEnabled("type-one"));
+
+        obj.addAdapterConfiguration(TenantObject.newAdapterConfig("type-two", true));
+        assertFalse(obj.isAdapterEnabled("type-one"));
+        assertTrue(obj.isAdapterEnabled("type-two"));
+
+        obj.precompile().setEnabled(false);
+        assertFalse(obj.isEnabled());
+        assertFalse(obj.isAdapterEnabled("type-two"));
+    }
+
     /**
      * Verifies that the trust anchor uses the configured trusted CA's public key and subject DN.
      * 
@@ -13,9 +13,14 @@
 
 package org.eclipse.hono.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.eclipse.hono.cache.CacheProvider;
+import org.eclipse.hono.cache.CaffeineCacheProvider;
 import org.eclipse.hono.client.CommandConsumerFactory;
 import org.eclipse.hono.client.CredentialsClientFactory;
 import org.eclipse.hono.client.DeviceConnectionClientFactory;
@@ -29,7 +34,7 @@ import org.eclipse.hono.config.ApplicationConfigProperties;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.config.ServerConfig;
 import org.eclipse.hono.config.VertxProperties;
-import org.eclipse.hono.service.cache.SpringCacheProvider;
+import org.eclipse.hono.service.resourcelimits.LocalResourceLimitChecks;
 import org.eclipse.hono.service.resourcelimits.PrometheusBasedResourceLimitChecks;
 import org.eclipse.hono.service.resourcelimits.PrometheusBasedResourceLimitChecksConfig;
 import org.eclipse.hono.service.resourcelimits.ResourceLimitChecks;
@@ -39,15 +44,15 @@ import org.eclipse.hono.util.CredentialsConstants;
 import org.eclipse.hono.util.DeviceConnectionConstants;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.TenantConstants;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Scope;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.opentracing.Tracer;
 import io.opentracing.contrib.tracerresolver.TracerResolver;
 import io.opentracing.noop.NoopTracerFactory;
@@ -60,6 +65,29 @@ import io.vertx.ext.web.client.WebClient;
  */
 public abstract class AbstractAdapterConfig {
 
+    /**
+     * The default number of seconds that the last known gateway of a device is kept in the near cache.
+     * <p>
+     * The period is much shorter than the one used for other services because the last known gateway
+     * of a device may be changed by other protocol adapter instances at any time.
+     */
+    public static final int DEFAULT_DEVICE_CONNECTION_RESPONSE_CACHE_TIMEOUT = 10;
+
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    /**
+     * Sets the registry that the clients created by this configuration report metrics to.
+     * <p>
+     * If not set, the metrics are reported to Micrometer's global registry.
+     *
+     * @param registry The registry.
+     * @throws NullPointerException if registry is {@code null}.
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(final MeterRegistry registry) {
+        this.meterRegistry = Objects.requireNonNull(registry);
+    }
+
     /**
      * Exposes an OpenTracing {@code Tracer} as a Spring Bean.
      * <p>
@@ -124,6 +152,8 @@ public abstract class AbstractAdapterConfig {
      * Exposes a factory for creating clients for the <em>AMQP Messaging Network</em> as a Spring bean.
      * <p>
      * The factory is initialized with the connection provided by {@link #downstreamConnection()}.
+     * If the configured connection pool size is greater than 1, the factory distributes the sender
+     * links among the corresponding number of connections.
      *
      * @return The factory.
      */
@@ -131,7 +161,12 @@ public abstract class AbstractAdapterConfig {
     @Bean
     @Scope("prototype")
     public DownstreamSenderFactory downstreamSenderFactory() {
-        return DownstreamSenderFactory.create(downstreamConnection());
+        final int poolSize = downstreamSenderFactoryConfig().getConnectionPoolSize();
+        final List<HonoConnection> connections = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            connections.add(downstreamConnection());
+        }
+        return DownstreamSenderFactory.create(connections);
     }
 
     /**
@@ -186,7 +221,7 @@ public abstract class AbstractAdapterConfig {
     @Qualifier(RegistrationConstants.REGISTRATION_ENDPOINT)
     @Scope("prototype")
     public RegistrationClientFactory registrationClientFactory() {
-        return RegistrationClientFactory.create(registrationServiceConnection(), registrationCacheProvider());
+        return RegistrationClientFactory.create(registrationServiceConnection(), registrationCacheProvider(), meterRegistry);
     }
 
     /**
@@ -249,7 +284,7 @@ public abstract class AbstractAdapterConfig {
     @Qualifier(CredentialsConstants.CREDENTIALS_ENDPOINT)
     @Scope("prototype")
     public CredentialsClientFactory credentialsClientFactory() {
-        return CredentialsClientFactory.create(credentialsServiceConnection(), credentialsCacheProvider());
+        return CredentialsClientFactory.create(credentialsServiceConnection(), credentialsCacheProvider(), meterRegistry);
     }
 
     /**
@@ -312,7 +347,7 @@ public abstract class AbstractAdapterConfig {
     @Qualifier(TenantConstants.TENANT_ENDPOINT)
     @Scope("prototype")
     public TenantClientFactory tenantClientFactory() {
-        return TenantClientFactory.create(tenantServiceConnection(), tenantCacheProvider());
+        return TenantClientFactory.create(tenantServiceConnection(), tenantCacheProvider(), meterRegistry);
     }
 
     /**
@@ -348,7 +383,22 @@ public abstract class AbstractAdapterConfig {
     @Qualifier(DeviceConnectionConstants.DEVICE_CONNECTION_ENDPOINT)
     @Scope("prototype")
     public DeviceConnectionClientFactory deviceConnectionClientFactory() {
-        return DeviceConnectionClientFactory.create(deviceConnectionServiceConnection());
+        return DeviceConnectionClientFactory.create(deviceConnectionServiceConnection(), deviceConnectionCacheProvider(),
+                meterRegistry);
+    }
+
+    /**
+     * Exposes the provider for the near caches of last known gateways as a Spring bean.
+     * <p>
+     * The provider is shared by all Device Connection client factories so that the gateways
+     * set by the protocol adapter are visible to the gateway mapper.
+     *
+     * @return The provider instance.
+     */
+    @Bean
+    @Qualifier(DeviceConnectionConstants.DEVICE_CONNECTION_ENDPOINT)
+    public CacheProvider deviceConnectionCacheProvider() {
+        return newCaffeineCache(deviceConnectionServiceClientConfig());
     }
 
     /**
@@ -373,6 +423,7 @@ public abstract class AbstractAdapterConfig {
     @Bean
     public RequestResponseClientConfigProperties deviceConnectionServiceClientConfig() {
         final RequestResponseClientConfigProperties config = new RequestResponseClientConfigProperties();
+        config.setResponseCacheDefaultTimeout(DEFAULT_DEVICE_CONNECTION_RESPONSE_CACHE_TIMEOUT);
         customizeDeviceConnectionClientFactoryConfig(config);
         return config;
     }
@@ -411,7 +462,7 @@ public abstract class AbstractAdapterConfig {
     @Bean
     @Scope("prototype")
     public CommandConsumerFactory commandConsumerFactory() {
-        return CommandConsumerFactory.create(commandConsumerConnection(), gatewayMapper());
+        return CommandConsumerFactory.create(commandConsumerConnection(), gatewayMapper(), meterRegistry);
     }
 
     /**
@@ -448,37 +499,27 @@ public abstract class AbstractAdapterConfig {
     }
 
     /**
-     * Create a new cache provider based on Caffeine and Spring Cache.
+     * Create a new cache provider for responses received from a service.
+     * <p>
+     * The provider is based on Caffeine's variable expiration and reports
+     * the metrics of the caches it creates to the meter registry set on this configuration.
      *
      * @param config The configuration to use as base for this cache.
      * @return A new cache provider or {@code null} if no cache should be used.
      */
-    private static CacheProvider newCaffeineCache(final RequestResponseClientConfigProperties config) {
-        return newCaffeineCache(config.getResponseCacheMinSize(), config.getResponseCacheMaxSize());
-    }
-
-    /**
-     * Create a new cache provider based on Caffeine and Spring Cache.
-     *
-     * @param minCacheSize The minimum size of the cache.
-     * @param maxCacheSize the maximum size of the cache.
-     * @return A new cache provider or {@code null} if no cache should be used.
-     */
-    private static CacheProvider newCaffeineCache(final int minCacheSize, final long maxCacheSize) {
+    private CacheProvider newCaffeineCache(final RequestResponseClientConfigProperties config) {
 
-        if (maxCacheSize <= 0) {
+        if (config.getResponseCacheMaxSize() <= 0) {
             return null;
         }
+        return newCaffeineCacheProvider(config.getResponseCacheMinSize(), config.getResponseCacheMaxSize());
+    }
 
-        final Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
-                .initialCapacity(minCacheSize)
-                .maximumSize(Math.max(minCacheSize, maxCacheSize));
-
-        final CaffeineCacheManager manager = new CaffeineCacheManager();
-        manager.setAllowNullValues(false);
-        manager.setCaffeine(caffeine);
+    private CaffeineCacheProvider newCaffeineCacheProvider(final int initialCapacity, final long maximumWeight) {
 
-        return new SpringCacheProvider(manager);
+        final CaffeineCacheProvider provider = new CaffeineCacheProvider(initialCapacity, maximumWeight);
+        provider.setMeterRegistry(meterRegistry);
+        return provider;
     }
 
     /**
@@ -527,6 +568,9 @@ public abstract class AbstractAdapterConfig {
 
     /**
      * Creates a new instance of {@link ResourceLimitChecks} based on prometheus metrics data.
+     * <p>
+     * If a reconciliation interval is configured, the checks are performed against
+     * local accounts which are reconciled with the prometheus metrics data periodically.
      * 
      * @return A ResourceLimitChecks instance.
      */
@@ -534,7 +578,15 @@ public abstract class AbstractAdapterConfig {
     @ConditionalOnProperty(name = "hono.resource-limits.prometheus-based.host")
     public ResourceLimitChecks resourceLimitChecks() {
         final PrometheusBasedResourceLimitChecksConfig config = resourceLimitChecksConfig();
-        return new PrometheusBasedResourceLimitChecks(WebClient.create(vertx()), config,
-                newCaffeineCache(config.getCacheMinSize(), config.getCacheMaxSize()));
+        final PrometheusBasedResourceLimitChecks prometheusBasedChecks = new PrometheusBasedResourceLimitChecks(
+                WebClient.create(vertx()), config,
+                config.getCacheMaxSize() > 0
+                        ? newCaffeineCacheProvider(config.getCacheMinSize(), config.getCacheMaxSize())
+                        : null);
+        if (config.getReconciliationInterval() > 0) {
+            return new LocalResourceLimitChecks(prometheusBasedChecks,
+                    Duration.ofSeconds(config.getReconciliationInterval()));
+        }
+        return prometheusBasedChecks;
     }
 }
@@ -15,6 +15,7 @@ package org.eclipse.hono.service;
 import java.util.Objects;
 
 import org.eclipse.hono.tracing.TracingHelper;
+import org.eclipse.hono.util.EventBusMessageCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -77,6 +78,7 @@ public abstract class AbstractEndpoint implements Endpoint {
         if (vertx == null) {
             result.fail(new IllegalStateException("Vert.x instance must be set"));
         } else {
+            EventBusMessageCodec.register(vertx.eventBus());
             doStart(result);
         }
         return result;
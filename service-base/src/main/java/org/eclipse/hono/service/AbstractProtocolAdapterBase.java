@@ -15,6 +15,8 @@ package org.eclipse.hono.service;
 import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiConsumer;
@@ -44,6 +46,8 @@ import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.client.TenantClient;
 import org.eclipse.hono.client.TenantClientFactory;
+import org.eclipse.hono.client.impl.BatchingDownstreamSender;
+import org.eclipse.hono.client.impl.LastKnownGatewayWriter;
 import org.eclipse.hono.config.AbstractConfig;
 import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.auth.ValidityBasedTrustOptions;
@@ -102,6 +106,11 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
      */
     protected static final String KEY_MICROMETER_SAMPLE = "micrometer.sample";
 
+    /**
+     * The maximum number of last known gateway updates to hold back before writing them.
+     */
+    private static final int LAST_KNOWN_GATEWAY_MAX_PENDING_UPDATES = 1000;
+
     private DownstreamSenderFactory downstreamSenderFactory;
     private RegistrationClientFactory registrationClientFactory;
     private TenantClientFactory tenantClientFactory;
@@ -112,6 +121,9 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
 
     private ConnectionEventProducer connectionEventProducer;
     private ResourceLimitChecks resourceLimitChecks = new NoopResourceLimitChecks();
+    private final Map<String, BatchingDownstreamSender> batchingTelemetrySenders = new HashMap<>();
+    private io.vertx.core.eventbus.MessageConsumer<String> tenantTimeoutConsumer;
+    private LastKnownGatewayWriter lastKnownGatewayWriter;
     private final ConnectionEventProducer.Context connectionEventProducerContext = new ConnectionEventProducer.Context() {
 
         @Override
@@ -455,7 +467,11 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         final Future<Void> doStopResult = Future.future();
         doStop(doStopResult);
         doStopResult
-                .compose(s -> closeServiceClients())
+                .compose(s -> {
+                    closeBatchingTelemetrySenders();
+                    Optional.ofNullable(lastKnownGatewayWriter).ifPresent(LastKnownGatewayWriter::flush);
+                    return closeServiceClients();
+                })
                 .recover(t -> {
                     log.info("error while stopping protocol adapter", t);
                     return Future.failedFuture(t);
@@ -466,6 +482,25 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         return result;
     }
 
+    private void closeBatchingTelemetrySender(final String tenantId) {
+
+        final BatchingDownstreamSender batchingSender = batchingTelemetrySenders.remove(tenantId);
+        if (batchingSender != null) {
+            log.debug("closing batching telemetry sender for timed out tenant [{}]", tenantId);
+            batchingSender.close(closeAttempt -> {});
+        }
+    }
+
+    private void closeBatchingTelemetrySenders() {
+
+        if (tenantTimeoutConsumer != null) {
+            tenantTimeoutConsumer.unregister();
+            tenantTimeoutConsumer = null;
+        }
+        batchingTelemetrySenders.values().forEach(batchingSender -> batchingSender.close(closeAttempt -> {}));
+        batchingTelemetrySenders.clear();
+    }
+
     private Future<?> closeServiceClients() {
 
         return CompositeFuture.all(
@@ -894,6 +929,51 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         return getDownstreamSenderFactory().getOrCreateTelemetrySender(tenantId);
     }
 
+    /**
+     * Gets a client for sending telemetry data for a tenant.
+     * <p>
+     * If the tenant has a <em>telemetry-batch-size</em> greater than 1 configured, the returned
+     * client combines the messages sent by means of {@link DownstreamSender#send(Message, SpanContext)}
+     * into batches of up to that number of messages. A batch is forwarded at the latest after
+     * the {@linkplain ProtocolAdapterProperties#getTelemetryBatchMaxDelay() maximum delay}
+     * has elapsed. Messages sent by means of {@link DownstreamSender#sendAndWaitForOutcome(Message, SpanContext)}
+     * are not batched.
+     * <p>
+     * Pending batches are forwarded and the batching client is released when the tenant
+     * has timed out or when the adapter is stopped.
+     *
+     * @param tenant The tenant to send the telemetry data for.
+     * @return The client.
+     * @throws NullPointerException if tenant is {@code null}.
+     */
+    protected final Future<DownstreamSender> getTelemetrySender(final TenantObject tenant) {
+
+        Objects.requireNonNull(tenant);
+        final Future<DownstreamSender> senderTracker = getTelemetrySender(tenant.getTenantId());
+        final int batchSize = tenant.getTelemetryBatchSize();
+        if (batchSize <= 1) {
+            return senderTracker;
+        }
+        return senderTracker.map(sender -> {
+            BatchingDownstreamSender batchingSender = batchingTelemetrySenders.get(tenant.getTenantId());
+            if (batchingSender == null || batchingSender.getDelegate() != sender
+                    || batchingSender.getMaxMessages() != batchSize) {
+                if (batchingSender != null) {
+                    batchingSender.flush();
+                }
+                batchingSender = new BatchingDownstreamSender(sender, vertx, tracer, batchSize,
+                        getConfig().getTelemetryBatchMaxDelay().toMillis());
+                batchingTelemetrySenders.put(tenant.getTenantId(), batchingSender);
+                if (tenantTimeoutConsumer == null) {
+                    tenantTimeoutConsumer = vertx.eventBus().consumer(
+                            Constants.EVENT_BUS_ADDRESS_TENANT_TIMED_OUT,
+                            msg -> closeBatchingTelemetrySender(msg.body()));
+                }
+            }
+            return batchingSender;
+        });
+    }
+
     /**
      * Gets a client for sending events for a tenant.
      *
@@ -963,6 +1043,11 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
 
     /**
      * Updates the last known gateway associated with the given device.
+     * <p>
+     * If the {@linkplain ProtocolAdapterProperties#getLastKnownGatewayRefreshInterval() refresh interval}
+     * is set to a positive duration, the update is written in the background together with other updates
+     * and only if the gateway has changed or the refresh interval has elapsed since the gateway has last
+     * been written. The returned future then does not reflect the outcome of writing the update.
      *
      * @param registrationAssertion The registration assertion JSON object as returned by
      *            {@link #getRegistrationAssertion(String, String, Device, SpanContext)}.
@@ -993,6 +1078,15 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
 
         final Future<String> gatewayId = getGatewayId(tenantId, deviceId, authenticatedDevice);
 
+        final LastKnownGatewayWriter writer = getLastKnownGatewayWriter();
+        if (writer != null) {
+            return gatewayId.map(gwId -> {
+                writer.setLastKnownGatewayForDevice(tenantId, deviceId,
+                        Optional.ofNullable(gwId).orElse(deviceId), context);
+                return registrationAssertion;
+            });
+        }
+
         return gatewayId
                 .compose(gwId -> getDeviceConnectionClient(tenantId))
                 .compose(client -> client.setLastKnownGatewayForDevice(deviceId,
@@ -1000,6 +1094,21 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
                 .map(registrationAssertion);
     }
 
+    private LastKnownGatewayWriter getLastKnownGatewayWriter() {
+
+        final Duration refreshInterval = getConfig().getLastKnownGatewayRefreshInterval();
+        if (lastKnownGatewayWriter == null && !refreshInterval.isZero()) {
+            lastKnownGatewayWriter = new LastKnownGatewayWriter(
+                    vertx,
+                    tracer,
+                    this::getDeviceConnectionClient,
+                    refreshInterval.toMillis(),
+                    getConfig().getLastKnownGatewayUpdateDelay().toMillis(),
+                    LAST_KNOWN_GATEWAY_MAX_PENDING_UPDATES);
+        }
+        return lastKnownGatewayWriter;
+    }
+
     private boolean isGatewaySupportedForDevice(final JsonObject registrationAssertion) {
         final Object viaObj = registrationAssertion.getValue(RegistrationConstants.FIELD_VIA);
         return viaObj instanceof JsonArray && !((JsonArray) viaObj).isEmpty();
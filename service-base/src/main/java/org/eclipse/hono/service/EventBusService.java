@@ -13,12 +13,14 @@
 
 package org.eclipse.hono.service;
 
+import java.net.HttpURLConnection;
 import java.util.Objects;
 import java.util.Optional;
 
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.EventBusMessageCodec;
 import org.eclipse.hono.util.RequestResponseApiConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,7 +55,7 @@ public abstract class EventBusService extends AbstractVerticle {
      */
     protected Tracer tracer = NoopTracerFactory.create();
 
-    private MessageConsumer<JsonObject> requestConsumer;
+    private MessageConsumer<Object> requestConsumer;
 
     /**
      * Sets the OpenTracing {@code Tracer} to use for tracking the processing
@@ -151,18 +153,26 @@ public abstract class EventBusService extends AbstractVerticle {
 
     private void registerConsumer() {
 
+        EventBusMessageCodec.register(vertx.eventBus());
         requestConsumer = vertx.eventBus().consumer(getEventBusAddress());
         requestConsumer.handler(this::processRequestMessage);
         log.info("listening on event bus [address: {}] for requests", getEventBusAddress());
     }
 
-    private void processRequestMessage(final Message<JsonObject> msg) {
+    private void processRequestMessage(final Message<Object> msg) {
 
+        final EventBusMessage request;
+        try {
+            request = EventBusMessage.fromBody(msg.body());
+        } catch (final IllegalArgumentException e) {
+            log.debug("cannot process malformed request message: {}", e.getMessage());
+            msg.fail(HttpURLConnection.HTTP_BAD_REQUEST, e.getMessage());
+            return;
+        }
         if (log.isTraceEnabled()) {
-            log.trace("received request message: {}", msg.body().encodePrettily());
+            log.trace("received request message: {}", request.toJson().encodePrettily());
         }
 
-        final EventBusMessage request = EventBusMessage.fromJson(msg.body());
         final SpanContext spanContext = TracingHelper.extractSpanContext(tracer, msg.headers());
         request.setSpanContext(spanContext);
         processRequest(request).recover(t -> {
@@ -172,11 +182,12 @@ public abstract class EventBusService extends AbstractVerticle {
         }).map(response -> {
             if (response.getReplyToAddress() == null) {
                 log.debug("sending response as direct reply to request [operation: {}]", request.getOperation());
-                msg.reply(response.toJson());
+                // the response may contain data that is still referenced by the service
+                msg.reply(response.copy());
             } else if (response.hasResponseProperties()) {
                 log.debug("sending response [operation: {}, reply-to: {}]",
                         request.getOperation(), request.getReplyToAddress());
-                vertx.eventBus().send(request.getReplyToAddress(), response.toJson());
+                vertx.eventBus().send(request.getReplyToAddress(), response.copy());
             } else {
                 log.warn("discarding response lacking correlation ID or operation");
             }
@@ -245,7 +245,7 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
             final DeliveryOptions options = createEventBusMessageDeliveryOptions(currentSpan.context());
             vertx.eventBus().send(
                     getEventBusServiceAddress(),
-                    request.result().toJson(),
+                    request.result(),
                     options,
                     reply);
             return reply;
@@ -330,10 +330,8 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
 
     private EventBusMessage extractResponse(final io.vertx.core.eventbus.Message<Object> response) {
 
-        if (response.body() instanceof JsonObject) {
-
-            final JsonObject body = (JsonObject) response.body();
-            return EventBusMessage.fromJson(body);
+        if (response.body() instanceof EventBusMessage || response.body() instanceof JsonObject) {
+            return EventBusMessage.fromBody(response.body());
         } else {
             throw new ServerErrorException(HttpURLConnection.HTTP_INTERNAL_ERROR);
         }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2019 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -13,6 +13,10 @@
 
 package org.eclipse.hono.service.auth.delegating;
 
+import java.time.Duration;
+import java.util.Objects;
+
+import org.eclipse.hono.client.AuthenticationServerClient;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.config.SignatureSupportingConfigProperties;
 
@@ -24,6 +28,8 @@ import org.eclipse.hono.config.SignatureSupportingConfigProperties;
 public class AuthenticationServerClientConfigProperties extends ClientConfigProperties {
 
     private final SignatureSupportingConfigProperties validation = new SignatureSupportingConfigProperties();
+    private int tokenCacheMaxSize = AuthenticationServerClient.DEFAULT_TOKEN_CACHE_MAX_SIZE;
+    private Duration tokenCacheTimeout = AuthenticationServerClient.DEFAULT_TOKEN_CACHE_TIMEOUT;
 
     /**
      * Gets the properties for determining key material for validating user tokens.
@@ -33,4 +39,58 @@ public class AuthenticationServerClientConfigProperties extends ClientConfigProp
     public final SignatureSupportingConfigProperties getValidation() {
         return validation;
     }
+
+    /**
+     * Gets the maximum number of tokens issued by the authentication service to cache.
+     * <p>
+     * The default value of this property is {@link AuthenticationServerClient#DEFAULT_TOKEN_CACHE_MAX_SIZE}.
+     *
+     * @return The maximum number of tokens. A value of 0 indicates that tokens are not cached.
+     */
+    public final int getTokenCacheMaxSize() {
+        return tokenCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of tokens issued by the authentication service to cache.
+     * <p>
+     * The default value of this property is {@link AuthenticationServerClient#DEFAULT_TOKEN_CACHE_MAX_SIZE}.
+     *
+     * @param maxSize The maximum number of tokens. A value of 0 disables caching of tokens.
+     * @throws IllegalArgumentException if size is &lt; 0.
+     */
+    public final void setTokenCacheMaxSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("max size must be >= 0");
+        }
+        this.tokenCacheMaxSize = maxSize;
+    }
+
+    /**
+     * Gets the maximum period of time that a token issued by the authentication service is cached for.
+     * <p>
+     * The default value of this property is {@link AuthenticationServerClient#DEFAULT_TOKEN_CACHE_TIMEOUT}.
+     *
+     * @return The maximum period of time.
+     */
+    public final Duration getTokenCacheTimeout() {
+        return tokenCacheTimeout;
+    }
+
+    /**
+     * Sets the maximum period of time that a token issued by the authentication service is cached for.
+     * <p>
+     * The default value of this property is {@link AuthenticationServerClient#DEFAULT_TOKEN_CACHE_TIMEOUT}.
+     *
+     * @param timeout The maximum period of time.
+     * @throws NullPointerException if timeout is {@code null}.
+     * @throws IllegalArgumentException if timeout is negative.
+     */
+    public final void setTokenCacheTimeout(final Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("timeout must not be negative");
+        }
+        this.tokenCacheTimeout = timeout;
+    }
 }
@@ -26,6 +26,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -47,6 +48,7 @@ public class DelegatingAuthenticationService extends AbstractHonoAuthenticationS
     private AuthenticationServerClient client;
     private ConnectionFactory factory;
     private DnsClient dnsClient;
+    private MeterRegistry meterRegistry;
 
     @Autowired
     @Override
@@ -67,6 +69,19 @@ public class DelegatingAuthenticationService extends AbstractHonoAuthenticationS
         this.dnsClient = Objects.requireNonNull(dnsClient);
     }
 
+    /**
+     * Sets the registry to report the duration of the exchanges with the <em>Authentication</em> service to.
+     * <p>
+     * If not set, the metrics are reported to Micrometer's global registry.
+     *
+     * @param registry The registry.
+     * @throws NullPointerException if registry is {@code null}.
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(final MeterRegistry registry) {
+        this.meterRegistry = Objects.requireNonNull(registry);
+    }
+
     /**
      * Sets the factory to use for connecting to the authentication server.
      * 
@@ -136,6 +151,11 @@ public class DelegatingAuthenticationService extends AbstractHonoAuthenticationS
             startFuture.fail("no connection factory for Authentication service set");
         } else {
             client = new AuthenticationServerClient(vertx, factory);
+            client.setTokenCacheMaxSize(getConfig().getTokenCacheMaxSize());
+            client.setTokenCacheTimeout(getConfig().getTokenCacheTimeout());
+            if (meterRegistry != null) {
+                client.setMeterRegistry(meterRegistry);
+            }
             startFuture.complete();
         }
     }
@@ -14,6 +14,8 @@
 package org.eclipse.hono.service.auth.device;
 
 import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.hono.auth.Device;
@@ -21,6 +23,7 @@ import org.eclipse.hono.auth.HonoPasswordEncoder;
 import org.eclipse.hono.auth.SpringBasedHonoPasswordEncoder;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.CredentialsClientFactory;
+import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.util.CredentialsObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,11 +38,18 @@ import io.vertx.core.json.JsonObject;
 /**
  * An authentication provider that verifies username/password credentials using
  * Hono's <em>Credentials</em> API.
+ * <p>
+ * If the provider is configured with {@link ProtocolAdapterProperties} having a
+ * <em>passwordVerificationCacheMaxSize</em> &gt; 0, successful verifications of
+ * passwords are kept in memory for the configured period of time. Subsequent
+ * authentication attempts using the same password and the same secret on record
+ * then succeed without checking the password hash again.
  */
 public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvider<UsernamePasswordCredentials> {
 
     private final ServiceConfigProperties config;
     private final HonoPasswordEncoder pwdEncoder;
+    private final VerifiedPasswordCache verifiedPasswords;
 
     /**
      * Creates a new provider for a given configuration.
@@ -73,6 +83,15 @@ public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvid
         super(credentialsClientFactory, tracer);
         this.config = Objects.requireNonNull(config);
         this.pwdEncoder = Objects.requireNonNull(pwdEncoder);
+        if (config instanceof ProtocolAdapterProperties
+                && ((ProtocolAdapterProperties) config).getPasswordVerificationCacheMaxSize() > 0) {
+            final ProtocolAdapterProperties adapterConfig = (ProtocolAdapterProperties) config;
+            this.verifiedPasswords = new VerifiedPasswordCache(
+                    adapterConfig.getPasswordVerificationCacheMaxSize(),
+                    adapterConfig.getPasswordVerificationCacheTimeout());
+        } else {
+            this.verifiedPasswords = null;
+        }
     }
 
     /**
@@ -111,19 +130,41 @@ public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvid
         final Context currentContext = Vertx.currentContext();
         if (currentContext == null) {
             return Future.failedFuture(new IllegalStateException("not running on vert.x Context"));
+        }
+
+        final List<JsonObject> candidateSecrets = credentialsOnRecord.getCandidateSecrets();
+        final ByteBuffer[] verificationKeys;
+        if (verifiedPasswords == null) {
+            verificationKeys = null;
         } else {
-            final Future<Device> result = Future.future();
-            currentContext.executeBlocking(blockingCodeHandler -> {
-                log.debug("validating password hash on vert.x worker thread [{}]", Thread.currentThread().getName());
-                final boolean isValid = credentialsOnRecord.getCandidateSecrets().stream()
-                        .anyMatch(candidateSecret -> pwdEncoder.matches(deviceCredentials.getPassword(), candidateSecret));
-                if (isValid) {
-                    blockingCodeHandler.complete(new Device(deviceCredentials.getTenantId(), credentialsOnRecord.getDeviceId()));
-                } else {
-                    blockingCodeHandler.fail(new ClientErrorException(HttpURLConnection.HTTP_UNAUTHORIZED, "bad credentials"));
+            verificationKeys = new ByteBuffer[candidateSecrets.size()];
+            for (int i = 0; i < verificationKeys.length; i++) {
+                verificationKeys[i] = verifiedPasswords.getKey(deviceCredentials, candidateSecrets.get(i));
+                if (verifiedPasswords.contains(verificationKeys[i])) {
+                    log.debug("password has already been verified [tenant: {}, auth-id: {}]",
+                            deviceCredentials.getTenantId(), deviceCredentials.getAuthId());
+                    return Future.succeededFuture(new Device(deviceCredentials.getTenantId(), credentialsOnRecord.getDeviceId()));
                 }
-            }, false, result);
-            return result;
+            }
         }
+
+        final Future<Integer> matchingSecret = Future.future();
+        currentContext.executeBlocking(blockingCodeHandler -> {
+            log.debug("validating password hash on vert.x worker thread [{}]", Thread.currentThread().getName());
+            for (int i = 0; i < candidateSecrets.size(); i++) {
+                if (pwdEncoder.matches(deviceCredentials.getPassword(), candidateSecrets.get(i))) {
+                    blockingCodeHandler.complete(i);
+                    return;
+                }
+            }
+            blockingCodeHandler.fail(new ClientErrorException(HttpURLConnection.HTTP_UNAUTHORIZED, "bad credentials"));
+        }, false, matchingSecret);
+
+        return matchingSecret.map(index -> {
+            if (verificationKeys != null) {
+                verifiedPasswords.add(verificationKeys[index]);
+            }
+            return new Device(deviceCredentials.getTenantId(), credentialsOnRecord.getDeviceId());
+        });
     }
 }
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.auth.device;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Objects;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.eclipse.hono.util.CredentialsConstants;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A bounded cache of successful password verifications.
+ * <p>
+ * Each verification is identified by a keyed hash (HMAC-SHA256) of the tenant, auth-id and
+ * password provided by a device and the (hashed) password, salt and hash function of the secret
+ * on record that the password has been verified against. The key for computing the hash is created
+ * randomly when the cache is created, so that the cached values cannot be used for
+ * reconstructing any passwords.
+ * <p>
+ * A changed secret on record results in a different hash. Changing the password of a device
+ * therefore implicitly invalidates all verifications of its former password.
+ */
+final class VerifiedPasswordCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Cache<ByteBuffer, Boolean> verifications;
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize The maximum number of verifications to keep.
+     * @param timeout The period of time after which a verification expires.
+     * @throws NullPointerException if timeout is {@code null}.
+     * @throws IllegalStateException if the JVM does not support HMAC-SHA256.
+     */
+    VerifiedPasswordCache(final int maxSize, final Duration timeout) {
+
+        Objects.requireNonNull(timeout);
+        this.verifications = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeout)
+                .build();
+
+        final byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        final SecretKeySpec keySpec = new SecretKeySpec(key, ALGORITHM);
+        // fail early if the algorithm is not supported
+        newMac(keySpec);
+        this.mac = ThreadLocal.withInitial(() -> newMac(keySpec));
+    }
+
+    private static Mac newMac(final SecretKeySpec keySpec) {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(keySpec);
+            return mac;
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("JVM does not support " + ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Computes the key identifying the verification of a password against a secret.
+     *
+     * @param credentials The credentials provided by the device.
+     * @param secret The secret on record.
+     * @return The key.
+     */
+    ByteBuffer getKey(final UsernamePasswordCredentials credentials, final JsonObject secret) {
+
+        final Mac hmac = mac.get();
+        update(hmac, credentials.getTenantId());
+        update(hmac, credentials.getAuthId());
+        update(hmac, credentials.getPassword());
+        update(hmac, secret.getString(CredentialsConstants.FIELD_SECRETS_PWD_PLAIN));
+        update(hmac, secret.getString(CredentialsConstants.FIELD_SECRETS_PWD_HASH));
+        update(hmac, secret.getString(CredentialsConstants.FIELD_SECRETS_SALT));
+        update(hmac, secret.getString(CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION));
+        return ByteBuffer.wrap(hmac.doFinal());
+    }
+
+    private static void update(final Mac hmac, final String value) {
+        // prefix each value with its length to prevent ambiguous concatenations
+        final byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        hmac.update((byte) (bytes.length >>> 24));
+        hmac.update((byte) (bytes.length >>> 16));
+        hmac.update((byte) (bytes.length >>> 8));
+        hmac.update((byte) bytes.length);
+        hmac.update(bytes);
+    }
+
+    /**
+     * Checks if a verification is contained in the cache.
+     *
+     * @param key The key of the verification.
+     * @return {@code true} if the cache contains a verification for the key.
+     */
+    boolean contains(final ByteBuffer key) {
+        return verifications.getIfPresent(key) != null;
+    }
+
+    /**
+     * Adds a successful verification to the cache.
+     *
+     * @param key The key of the verification.
+     */
+    void add(final ByteBuffer key) {
+        verifications.put(key, Boolean.TRUE);
+    }
+}
@@ -94,4 +94,12 @@ public class SpringBasedExpiringValueCache<K, V> implements ExpiringValueCache<K
         }
     }
 
+    @Override
+    public void remove(final K key) {
+
+        if (key != null) {
+            cache.evict(key);
+        }
+    }
+
 }
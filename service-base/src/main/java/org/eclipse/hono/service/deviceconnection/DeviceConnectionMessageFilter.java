@@ -15,6 +15,7 @@ package org.eclipse.hono.service.deviceconnection;
 
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.util.BaseMessageFilter;
+import org.eclipse.hono.util.DeviceConnectionConstants;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.slf4j.Logger;
@@ -33,6 +34,9 @@ public final class DeviceConnectionMessageFilter extends BaseMessageFilter {
 
     /**
      * Checks whether a given device connection message contains all required properties.
+     * <p>
+     * Messages for operations that refer to multiple devices are not required to
+     * contain a device identifier.
      *
      * @param linkTarget The resource path to check the message's properties against for consistency.
      * @param msg The AMQP 1.0 message to perform the checks on.
@@ -42,7 +46,8 @@ public final class DeviceConnectionMessageFilter extends BaseMessageFilter {
 
         final Object correlationId = MessageHelper.getCorrelationId(msg);
 
-        if (!hasValidDeviceId(linkTarget, msg)) {
+        if (!DeviceConnectionConstants.DeviceConnectionAction.from(msg.getSubject()).isBatchOperation()
+                && !hasValidDeviceId(linkTarget, msg)) {
             return false;
         } else if (correlationId == null) {
             LOG.trace("message has neither a message-id nor correlation-id");
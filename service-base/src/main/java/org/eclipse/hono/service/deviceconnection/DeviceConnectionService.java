@@ -13,11 +13,22 @@
 
 package org.eclipse.hono.service.deviceconnection;
 
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.hono.util.DeviceConnectionConstants;
 import org.eclipse.hono.util.DeviceConnectionResult;
 
 import io.opentracing.Span;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 
 /**
  * A service for keeping record of device connection information.
@@ -72,4 +83,92 @@ public interface DeviceConnectionService {
      */
     void getLastKnownGatewayForDevice(String tenantId, String deviceId, Span span,
             Handler<AsyncResult<DeviceConnectionResult>> resultHandler);
+
+    /**
+     * Sets the last known gateways of multiple devices.
+     * <p>
+     * This default implementation invokes {@link #setLastKnownGatewayForDevice(String, String, String, Span, Handler)}
+     * for each of the devices. Implementations should override this method in order to update all devices
+     * by means of a single operation.
+     *
+     * @param tenantId The tenant id.
+     * @param gatewayIdsByDeviceId The gateway ids (or the device ids if the last message came from the device
+     *            directly) by device id.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method!
+     *            An implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @param resultHandler The handler to invoke with the result of the operation.
+     *             The <em>status</em> will be <em>204 No Content</em> if the operation completed successfully
+     *             for all devices.
+     *             <br>
+     *             An implementation may return a <em>404 Not Found</em> status in order to indicate that
+     *             a device and/or gateway with one of the given identifiers does not exist for the given tenant.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    @SuppressWarnings("rawtypes")
+    default void setLastKnownGatewaysForDevices(final String tenantId, final Map<String, String> gatewayIdsByDeviceId,
+            final Span span, final Handler<AsyncResult<DeviceConnectionResult>> resultHandler) {
+
+        final List<Future> results = new ArrayList<>(gatewayIdsByDeviceId.size());
+        gatewayIdsByDeviceId.forEach((deviceId, gatewayId) -> {
+            final Future<DeviceConnectionResult> result = Future.future();
+            setLastKnownGatewayForDevice(tenantId, deviceId, gatewayId, span, result);
+            results.add(result);
+        });
+        CompositeFuture.all(results).map(ok -> {
+            for (final Future result : results) {
+                final DeviceConnectionResult deviceResult = (DeviceConnectionResult) result.result();
+                if (deviceResult.getStatus() != HttpURLConnection.HTTP_NO_CONTENT) {
+                    return deviceResult;
+                }
+            }
+            return DeviceConnectionResult.from(HttpURLConnection.HTTP_NO_CONTENT);
+        }).setHandler(resultHandler);
+    }
+
+    /**
+     * Gets the last known gateways of multiple devices.
+     * <p>
+     * This default implementation invokes {@link #getLastKnownGatewayForDevice(String, String, Span, Handler)}
+     * for each of the devices. Implementations should override this method in order to look up all devices
+     * by means of a single operation.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceIds The device ids.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method! An
+     *            implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @param resultHandler The handler to invoke with the result of the operation.
+     *            The <em>status</em> will be <em>200 OK</em> and the <em>payload</em> will contain a
+     *            <em>devices</em> property with a JSON object containing a <em>device-id</em> and a
+     *            <em>gateway-id</em> property for each device that a last known gateway is assigned to.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    @SuppressWarnings("rawtypes")
+    default void getLastKnownGatewaysForDevices(final String tenantId, final Set<String> deviceIds,
+            final Span span, final Handler<AsyncResult<DeviceConnectionResult>> resultHandler) {
+
+        final List<Future> results = new ArrayList<>(deviceIds.size());
+        deviceIds.forEach(deviceId -> {
+            final Future<DeviceConnectionResult> result = Future.future();
+            getLastKnownGatewayForDevice(tenantId, deviceId, span, result);
+            results.add(result.map(deviceResult -> {
+                if (deviceResult.getStatus() == HttpURLConnection.HTTP_OK) {
+                    return deviceResult.getPayload().copy()
+                            .put(DeviceConnectionConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId);
+                }
+                return null;
+            }));
+        });
+        CompositeFuture.all(results).map(ok -> {
+            final JsonArray devices = new JsonArray();
+            results.forEach(result -> {
+                if (result.result() != null) {
+                    devices.add(result.result());
+                }
+            });
+            return DeviceConnectionResult.from(HttpURLConnection.HTTP_OK,
+                    new JsonObject().put(DeviceConnectionConstants.FIELD_DEVICES, devices));
+        }).setHandler(resultHandler);
+    }
 }
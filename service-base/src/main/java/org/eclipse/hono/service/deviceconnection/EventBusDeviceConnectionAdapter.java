@@ -14,7 +14,11 @@
 package org.eclipse.hono.service.deviceconnection;
 
 import java.net.HttpURLConnection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.service.EventBusService;
@@ -30,6 +34,8 @@ import io.opentracing.Tracer;
 import io.opentracing.tag.Tags;
 import io.vertx.core.Future;
 import io.vertx.core.Verticle;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 
 /**
  * Adapter to bind {@link DeviceConnectionService} to the vertx event bus.
@@ -42,6 +48,8 @@ public abstract class EventBusDeviceConnectionAdapter extends EventBusService im
 
     private static final String SPAN_NAME_GET_LAST_GATEWAY = "get last known gateway";
     private static final String SPAN_NAME_SET_LAST_GATEWAY = "set last known gateway";
+    private static final String SPAN_NAME_GET_LAST_GATEWAYS = "get last known gateways";
+    private static final String SPAN_NAME_SET_LAST_GATEWAYS = "set last known gateways";
 
     /**
      * The service to forward requests to.
@@ -75,6 +83,10 @@ public abstract class EventBusDeviceConnectionAdapter extends EventBusService im
             return processGetLastGatewayRequest(request);
         case SET_LAST_GATEWAY:
             return processSetLastGatewayRequest(request);
+        case GET_LAST_GATEWAYS:
+            return processGetLastGatewaysRequest(request);
+        case SET_LAST_GATEWAYS:
+            return processSetLastGatewaysRequest(request);
         default:
             return processCustomOperationMessage(request);
         }
@@ -141,6 +153,109 @@ public abstract class EventBusDeviceConnectionAdapter extends EventBusService im
         return finishSpanOnFutureCompletion(span, resultFuture);
     }
 
+    /**
+     * Processes a <em>get last known gateways for devices</em> request message.
+     * <p>
+     * The request payload is expected to contain a {@value DeviceConnectionConstants#FIELD_DEVICE_IDS}
+     * property with an array of device identifiers.
+     *
+     * @param request The request message.
+     * @return The response to send to the client via the event bus.
+     */
+    protected Future<EventBusMessage> processGetLastGatewaysRequest(final EventBusMessage request) {
+        final String tenantId = request.getTenant();
+        final Set<String> deviceIds = getDeviceIds(request.getJsonPayload());
+        final SpanContext spanContext = request.getSpanContext();
+
+        final Span span = newChildSpan(SPAN_NAME_GET_LAST_GATEWAYS, spanContext, tenantId, null, null);
+        final Future<EventBusMessage> resultFuture;
+        if (tenantId == null || deviceIds == null) {
+            TracingHelper.logError(span, "missing tenant and/or devices");
+            resultFuture = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST));
+        } else {
+            final Future<DeviceConnectionResult> result = Future.future();
+            log.debug("getting last known gateways for tenant [{}], {} devices", tenantId, deviceIds.size());
+            getService().getLastKnownGatewaysForDevices(tenantId, deviceIds, span, result);
+
+            resultFuture = result.map(res -> {
+                return request.getResponse(res.getStatus())
+                        .setJsonPayload(res.getPayload())
+                        .setCacheDirective(res.getCacheDirective());
+            });
+        }
+        return finishSpanOnFutureCompletion(span, resultFuture);
+    }
+
+    /**
+     * Processes a <em>set last known gateways for devices</em> request message.
+     * <p>
+     * The request payload is expected to contain a {@value DeviceConnectionConstants#FIELD_DEVICES}
+     * property with an array of JSON objects, each containing a device and a gateway identifier.
+     *
+     * @param request The request message.
+     * @return The response to send to the client via the event bus.
+     */
+    protected Future<EventBusMessage> processSetLastGatewaysRequest(final EventBusMessage request) {
+        final String tenantId = request.getTenant();
+        final Map<String, String> gatewayIds = getGatewayIds(request.getJsonPayload());
+        final SpanContext spanContext = request.getSpanContext();
+
+        final Span span = newChildSpan(SPAN_NAME_SET_LAST_GATEWAYS, spanContext, tenantId, null, null);
+        final Future<EventBusMessage> resultFuture;
+        if (tenantId == null || gatewayIds == null) {
+            TracingHelper.logError(span, "missing tenant and/or devices");
+            resultFuture = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST));
+        } else {
+            final Future<DeviceConnectionResult> result = Future.future();
+            log.debug("setting last known gateways for tenant [{}], {} devices", tenantId, gatewayIds.size());
+            getService().setLastKnownGatewaysForDevices(tenantId, gatewayIds, span, result);
+
+            resultFuture = result.map(res -> {
+                return request.getResponse(res.getStatus())
+                        .setJsonPayload(res.getPayload())
+                        .setCacheDirective(res.getCacheDirective());
+            });
+        }
+        return finishSpanOnFutureCompletion(span, resultFuture);
+    }
+
+    private static Set<String> getDeviceIds(final JsonObject payload) {
+
+        if (payload == null || !(payload.getValue(DeviceConnectionConstants.FIELD_DEVICE_IDS) instanceof JsonArray)) {
+            return null;
+        }
+        final JsonArray deviceIds = payload.getJsonArray(DeviceConnectionConstants.FIELD_DEVICE_IDS);
+        final Set<String> result = new HashSet<>(deviceIds.size());
+        for (final Object deviceId : deviceIds) {
+            if (!(deviceId instanceof String)) {
+                return null;
+            }
+            result.add((String) deviceId);
+        }
+        return result;
+    }
+
+    private static Map<String, String> getGatewayIds(final JsonObject payload) {
+
+        if (payload == null || !(payload.getValue(DeviceConnectionConstants.FIELD_DEVICES) instanceof JsonArray)) {
+            return null;
+        }
+        final JsonArray devices = payload.getJsonArray(DeviceConnectionConstants.FIELD_DEVICES);
+        final Map<String, String> result = new HashMap<>(devices.size());
+        for (final Object device : devices) {
+            if (!(device instanceof JsonObject)) {
+                return null;
+            }
+            final Object deviceId = ((JsonObject) device).getValue(DeviceConnectionConstants.FIELD_PAYLOAD_DEVICE_ID);
+            final Object gatewayId = ((JsonObject) device).getValue(DeviceConnectionConstants.FIELD_GATEWAY_ID);
+            if (!(deviceId instanceof String) || !(gatewayId instanceof String)) {
+                return null;
+            }
+            result.put((String) deviceId, (String) gatewayId);
+        }
+        return result;
+    }
+
     /**
      * Creates a new <em>OpenTracing</em> span for tracing the execution of a device connection service operation.
      * <p>
@@ -307,12 +307,35 @@ public abstract class AbstractHttpEndpoint<T> extends AbstractEndpoint implement
     protected final void sendAction(final RoutingContext ctx, final JsonObject requestMsg,
             final BiConsumer<Integer, EventBusMessage> responseHandler) {
 
+        sendAction(ctx, EventBusMessage.fromJson(requestMsg), responseHandler);
+    }
+
+    /**
+     * Sends a request message to an address via the vert.x event bus for further processing.
+     * <p>
+     * The address is determined by invoking {@link #getEventBusAddress()}.
+     * <p>
+     * The message is passed by reference to the service processing the request
+     * and must therefore not be modified after invoking this method.
+     *
+     * @param ctx The routing context of the request.
+     * @param requestMsg The message to send via the event bus.
+     * @param responseHandler The handler to be invoked for the message received in response to the request.
+     *                        <p>
+     *                        The handler will be invoked with the <em>status code</em> retrieved from the
+     *                        {@link MessageHelper#APP_PROPERTY_STATUS} field and the <em>payload</em>
+     *                        retrieved from the {@link RequestResponseApiConstants#FIELD_PAYLOAD} field.
+     * @throws NullPointerException If the routing context is {@code null}.
+     */
+    protected final void sendAction(final RoutingContext ctx, final EventBusMessage requestMsg,
+            final BiConsumer<Integer, EventBusMessage> responseHandler) {
+
         final DeliveryOptions options = createEventBusMessageDeliveryOptions(TracingHandler.serverSpanContext(ctx));
         vertx.eventBus().send(getEventBusAddress(), requestMsg, options, invocation -> {
             if (invocation.failed()) {
                 HttpUtils.serviceUnavailable(ctx, 2);
             } else {
-                final EventBusMessage response = EventBusMessage.fromJson((JsonObject) invocation.result().body());
+                final EventBusMessage response = EventBusMessage.fromBody(invocation.result().body());
 
                 final Integer status = response.getStatus();
 
@@ -103,12 +103,11 @@ public final class CredentialsManagementHttpEndpoint extends AbstractHttpEndpoin
         final JsonObject payload = new JsonObject();
         payload.put(RegistryManagementConstants.CREDENTIALS_OBJECT, credentials);
 
-        final JsonObject requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_UPDATE)
+        final EventBusMessage requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_UPDATE)
                 .setTenant(tenantId)
                 .setDeviceId(deviceId)
                 .setResourceVersion(resourceVersion)
-                .setJsonPayload(payload)
-                .toJson();
+                .setJsonPayload(payload);
 
         sendAction(ctx, requestMsg, getDefaultResponseHandler(ctx));
     }
@@ -121,10 +120,9 @@ public final class CredentialsManagementHttpEndpoint extends AbstractHttpEndpoin
 
         logger.debug("getCredentialsForDevice [tenant: {}, device-id: {}]]", tenantId, deviceId);
 
-        final JsonObject requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_GET)
+        final EventBusMessage requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_GET)
                 .setTenant(tenantId)
-                .setDeviceId(deviceId)
-                .toJson();
+                .setDeviceId(deviceId);
 
         sendAction(ctx, requestMsg, getCredentialsResponseHandler(ctx,
                 status -> status == HttpURLConnection.HTTP_OK));
@@ -106,10 +106,9 @@ public final class DeviceManagementHttpEndpoint extends AbstractHttpEndpoint<Ser
         final String tenantId = getTenantParam(ctx);
         final HttpServerResponse response = ctx.response();
 
-        final JsonObject requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_GET)
+        final EventBusMessage requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_GET)
                 .setTenant(tenantId)
-                .setDeviceId(deviceId)
-                .toJson();
+                .setDeviceId(deviceId);
 
         sendAction(ctx, requestMsg, (status, result) -> {
             response.setStatusCode(status);
@@ -144,11 +143,10 @@ public final class DeviceManagementHttpEndpoint extends AbstractHttpEndpoint<Ser
         final String tenantId = getTenantParam(ctx);
         logger.debug("creating device [tenant: {}, device: {}, payload: {}]", tenantId, deviceId,
                 payload);
-        final JsonObject requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_CREATE)
+        final EventBusMessage requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_CREATE)
                 .setTenant(tenantId)
                 .setDeviceId(deviceId)
-                .setJsonPayload(payload)
-                .toJson();
+                .setJsonPayload(payload);
 
         sendAction(ctx, requestMsg, getDefaultResponseHandler(ctx,
                 status -> status == HttpURLConnection.HTTP_CREATED,
@@ -168,12 +166,11 @@ public final class DeviceManagementHttpEndpoint extends AbstractHttpEndpoint<Ser
         final String tenantId = getTenantParam(ctx);
         logger.debug("updating device [tenant: {}, device: {}, payload: {}]", tenantId, deviceId,
                 payload);
-        final JsonObject requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_UPDATE)
+        final EventBusMessage requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_UPDATE)
                 .setTenant(tenantId)
                 .setDeviceId(deviceId)
                 .setJsonPayload(payload)
-                .setResourceVersion(ctx.get(KEY_RESOURCE_VERSION))
-                .toJson();
+                .setResourceVersion(ctx.get(KEY_RESOURCE_VERSION));
         sendAction(ctx, requestMsg, getDefaultResponseHandler(ctx));
     }
 
@@ -184,11 +181,10 @@ public final class DeviceManagementHttpEndpoint extends AbstractHttpEndpoint<Ser
 
         logger.debug("removing device [tenant: {}, device: {}]", tenantId, deviceId);
 
-        final JsonObject requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_DELETE)
+        final EventBusMessage requestMsg = EventBusMessage.forOperation(RegistryManagementConstants.ACTION_DELETE)
                 .setTenant(tenantId)
                 .setDeviceId(deviceId)
-                .setResourceVersion(ctx.get(KEY_RESOURCE_VERSION))
-                .toJson();
+                .setResourceVersion(ctx.get(KEY_RESOURCE_VERSION));
 
         sendAction(ctx, requestMsg, getDefaultResponseHandler(ctx));
 
@@ -181,11 +181,10 @@ public final class TenantManagementHttpEndpoint extends AbstractHttpEndpoint<Ser
         logger.debug("http request [{}] for tenant [tenant: {}]", action, tenantId);
 
         final JsonObject payload = ctx.get(KEY_REQUEST_BODY);
-        final JsonObject requestMsg = EventBusMessage.forOperation(action)
+        final EventBusMessage requestMsg = EventBusMessage.forOperation(action)
                 .setTenant(tenantId)
                 .setJsonPayload(payload)
-                .setResourceVersion(ctx.get(KEY_RESOURCE_VERSION))
-                .toJson();
+                .setResourceVersion(ctx.get(KEY_RESOURCE_VERSION));
 
         sendAction(ctx, requestMsg, getDefaultResponseHandler(ctx, successfulOutcomeFilter, httpServerResponseHandler));
     }
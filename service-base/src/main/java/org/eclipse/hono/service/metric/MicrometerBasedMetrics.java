@@ -18,6 +18,7 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Supplier;
 
 import org.eclipse.hono.config.ProtocolAdapterProperties;
@@ -29,6 +30,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.Timer.Sample;
@@ -42,6 +44,11 @@ import io.vertx.core.Vertx;
  * the protocol adapter instance for the configured period, it stops reporting metrics for that tenant and publishes an
  * event on the event bus. The event bus address is {@link Constants#EVENT_BUS_ADDRESS_TENANT_TIMED_OUT} and the body of
  * the message is the tenantId.
+ * <p>
+ * The timers and distribution summaries used for reporting telemetry messages and commands are looked up in the
+ * registry only once per combination of tag values. The meters are then kept per tenant in arrays that are indexed by
+ * the ordinals of the tag values, so reporting a message does neither require any locks nor any objects to be created.
+ * The meters of a tenant are discarded together with the tenant's meters in the registry.
  */
 public class MicrometerBasedMetrics implements Metrics {
 
@@ -73,6 +80,14 @@ public class MicrometerBasedMetrics implements Metrics {
     private static final long DEFAULT_TENANT_IDLE_TIMEOUT = ProtocolAdapterProperties.DEFAULT_TENANT_IDLE_TIMEOUT
             .toMillis();
 
+    private static final int ENDPOINT_TYPES = MetricsTags.EndpointType.values().length;
+    private static final int PROCESSING_OUTCOMES = MetricsTags.ProcessingOutcome.values().length;
+    private static final int QOS_LEVELS = MetricsTags.QoS.values().length;
+    private static final int TTD_STATUSES = MetricsTags.TtdStatus.values().length;
+    private static final int DIRECTIONS = MetricsTags.Direction.values().length;
+    private static final int MESSAGE_METERS = ENDPOINT_TYPES * PROCESSING_OUTCOMES * QOS_LEVELS * TTD_STATUSES;
+    private static final int COMMAND_METERS = DIRECTIONS * PROCESSING_OUTCOMES;
+
     /**
      * The meter registry.
      */
@@ -80,6 +95,7 @@ public class MicrometerBasedMetrics implements Metrics {
 
     private final Map<String, AtomicLong> authenticatedConnections = new ConcurrentHashMap<>();
     private final Map<String, Long> lastSeenTimestampPerTenant = new ConcurrentHashMap<>();
+    private final Map<String, TenantMeters> metersPerTenant = new ConcurrentHashMap<>();
     private final AtomicLong unauthenticatedConnections;
     private final AtomicInteger totalCurrentConnections = new AtomicInteger();
     private final Vertx vertx;
@@ -102,8 +118,17 @@ public class MicrometerBasedMetrics implements Metrics {
 
         this.registry.config().onMeterRemoved(meter -> {
             // execution is synchronized in MeterRegistry#remove(Meter)
-            if (METER_CONNECTIONS_AUTHENTICATED.equals(meter.getId().getName())) {
+            final String name = meter.getId().getName();
+            if (METER_CONNECTIONS_AUTHENTICATED.equals(name)) {
                 authenticatedConnections.remove(meter.getId().getTag(MetricsTags.TAG_TENANT));
+            } else if (METER_MESSAGES_RECEIVED.equals(name) || METER_MESSAGES_PAYLOAD.equals(name)
+                    || METER_COMMANDS_RECEIVED.equals(name) || METER_COMMANDS_PAYLOAD.equals(name)) {
+                // make sure that the meter is looked up (and re-registered) again
+                // when the next message for the tenant is reported
+                final String tenantId = meter.getId().getTag(MetricsTags.TAG_TENANT);
+                if (tenantId != null) {
+                    metersPerTenant.remove(tenantId);
+                }
             }
         });
         this.unauthenticatedConnections = registry.gauge(METER_CONNECTIONS_UNAUTHENTICATED, new AtomicLong());
@@ -201,21 +226,27 @@ public class MicrometerBasedMetrics implements Metrics {
             throw new IllegalArgumentException("payload size must not be negative");
         }
 
-        final Tags tags = Tags.of(type.asTag())
-                .and(MetricsTags.getTenantTag(tenantId))
-                .and(outcome.asTag())
-                .and(qos.asTag())
-                .and(ttdStatus.asTag());
+        final TenantMeters meters = getTenantMeters(tenantId);
+        final int index = ((type.ordinal() * PROCESSING_OUTCOMES + outcome.ordinal())
+                * QOS_LEVELS + qos.ordinal()) * TTD_STATUSES + ttdStatus.ordinal();
+        Timer processingTimer = meters.messagesReceived.get(index);
+        DistributionSummary payloadSummary = meters.messagesPayload.get(index);
+        if (processingTimer == null || payloadSummary == null) {
+            final Tags tags = Tags.of(type.asTag())
+                    .and(meters.tenantTag)
+                    .and(outcome.asTag())
+                    .and(qos.asTag())
+                    .and(ttdStatus.asTag());
+            processingTimer = this.registry.timer(METER_MESSAGES_RECEIVED, tags);
+            payloadSummary = newPayloadSummary(METER_MESSAGES_PAYLOAD, tags);
+            meters.messagesReceived.set(index, processingTimer);
+            meters.messagesPayload.set(index, payloadSummary);
+        }
 
-        timer.stop(this.registry.timer(METER_MESSAGES_RECEIVED, tags));
+        timer.stop(processingTimer);
 
         // record payload size
-        DistributionSummary.builder(METER_MESSAGES_PAYLOAD)
-            .baseUnit("bytes")
-            .minimumExpectedValue(0L)
-            .tags(tags)
-            .register(this.registry)
-            .record(calculatePayloadSize(payloadSize, tenantObject));
+        payloadSummary.record(calculatePayloadSize(payloadSize, tenantObject));
 
         updateLastSeenTimestamp(tenantId);
     }
@@ -238,21 +269,42 @@ public class MicrometerBasedMetrics implements Metrics {
             throw new IllegalArgumentException("payload size must not be negative");
         }
 
-        final Tags tags = Tags.of(direction.asTag())
-                .and(MetricsTags.getTenantTag(tenantId))
-                .and(outcome.asTag());
+        final TenantMeters meters = getTenantMeters(tenantId);
+        final int index = direction.ordinal() * PROCESSING_OUTCOMES + outcome.ordinal();
+        Timer processingTimer = meters.commandsReceived.get(index);
+        DistributionSummary payloadSummary = meters.commandsPayload.get(index);
+        if (processingTimer == null || payloadSummary == null) {
+            final Tags tags = Tags.of(direction.asTag())
+                    .and(meters.tenantTag)
+                    .and(outcome.asTag());
+            processingTimer = this.registry.timer(METER_COMMANDS_RECEIVED, tags);
+            payloadSummary = newPayloadSummary(METER_COMMANDS_PAYLOAD, tags);
+            meters.commandsReceived.set(index, processingTimer);
+            meters.commandsPayload.set(index, payloadSummary);
+        }
 
-        timer.stop(this.registry.timer(METER_COMMANDS_RECEIVED, tags));
+        timer.stop(processingTimer);
 
         // record payload size
-        DistributionSummary.builder(METER_COMMANDS_PAYLOAD)
+        payloadSummary.record(calculatePayloadSize(payloadSize, tenantObject));
+
+        updateLastSeenTimestamp(tenantId);
+    }
+
+    private TenantMeters getTenantMeters(final String tenantId) {
+        final TenantMeters meters = metersPerTenant.get(tenantId);
+        if (meters != null) {
+            return meters;
+        }
+        return metersPerTenant.computeIfAbsent(tenantId, TenantMeters::new);
+    }
+
+    private DistributionSummary newPayloadSummary(final String name, final Tags tags) {
+        return DistributionSummary.builder(name)
             .baseUnit("bytes")
             .minimumExpectedValue(0L)
             .tags(tags)
-            .register(this.registry)
-            .record(calculatePayloadSize(payloadSize, tenantObject));
-
-        updateLastSeenTimestamp(tenantId);
+            .register(this.registry);
     }
 
     /**
@@ -388,6 +440,7 @@ public class MicrometerBasedMetrics implements Metrics {
         // the onMeterRemoved() handler removes it also from this.authenticatedConnections
         registry.find(METER_CONNECTIONS_AUTHENTICATED).tags(tenantTag).meters().forEach(registry::remove);
 
+        // the onMeterRemoved() handler also discards the meters kept in this.metersPerTenant
         registry.find(METER_MESSAGES_PAYLOAD).tags(tenantTag).meters().forEach(registry::remove);
         registry.find(METER_MESSAGES_RECEIVED).tags(tenantTag).meters().forEach(registry::remove);
         registry.find(METER_COMMANDS_PAYLOAD).tags(tenantTag).meters().forEach(registry::remove);
@@ -395,4 +448,24 @@ public class MicrometerBasedMetrics implements Metrics {
 
         vertx.eventBus().publish(Constants.EVENT_BUS_ADDRESS_TENANT_TIMED_OUT, tenantId);
     }
+
+    /**
+     * The meters used for reporting messages and commands of a tenant.
+     * <p>
+     * The meters are registered lazily. Concurrently reporting the first message for the
+     * same combination of tag values results in the same meter being looked up in the
+     * registry more than once, which is harmless.
+     */
+    private static final class TenantMeters {
+
+        private final Tag tenantTag;
+        private final AtomicReferenceArray<Timer> messagesReceived = new AtomicReferenceArray<>(MESSAGE_METERS);
+        private final AtomicReferenceArray<DistributionSummary> messagesPayload = new AtomicReferenceArray<>(MESSAGE_METERS);
+        private final AtomicReferenceArray<Timer> commandsReceived = new AtomicReferenceArray<>(COMMAND_METERS);
+        private final AtomicReferenceArray<DistributionSummary> commandsPayload = new AtomicReferenceArray<>(COMMAND_METERS);
+
+        TenantMeters(final String tenantId) {
+            this.tenantTag = MetricsTags.getTenantTag(tenantId);
+        }
+    }
 }
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.resourcelimits;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.eclipse.hono.util.ResourceLimits;
+import org.eclipse.hono.util.TenantObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Future;
+
+/**
+ * Resource limit checks which account for the connections and data volume of a tenant's
+ * devices locally and which reconcile the local accounts with a {@link ResourceUsageSource}
+ * periodically only.
+ * <p>
+ * For each tenant, the checks keep the number of connections and bytes that have been
+ * granted by this instance since the last reconciliation in lock-free striped counters.
+ * A check compares the sum of these counters with the amount of resources that the
+ * source has reported as remaining during the last reconciliation. Checks are therefore
+ * not blocked by the source unless the source has never been queried for a tenant before.
+ * <p>
+ * Once the reconciliation interval has elapsed, the next check for a tenant triggers a
+ * reconciliation in the background. The check itself is performed using the values from
+ * the previous reconciliation.
+ * <p>
+ * Note that connections which have been closed since the last reconciliation are only
+ * taken into account after the next reconciliation.
+ */
+public final class LocalResourceLimitChecks implements ResourceLimitChecks {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalResourceLimitChecks.class);
+
+    private final ResourceUsageSource source;
+    private final long reconciliationIntervalNanos;
+    private final ConcurrentMap<String, Account> connectionAccounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Account> dataVolumeAccounts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates new checks.
+     *
+     * @param source The source to reconcile the local accounts with.
+     * @param reconciliationInterval The interval after which the local accounts of a tenant
+     *                               are reconciled with the source.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public LocalResourceLimitChecks(final ResourceUsageSource source, final Duration reconciliationInterval) {
+
+        this.source = Objects.requireNonNull(source);
+        Objects.requireNonNull(reconciliationInterval);
+        if (reconciliationInterval.isNegative() || reconciliationInterval.isZero()) {
+            throw new IllegalArgumentException("reconciliation interval must be positive");
+        }
+        this.reconciliationIntervalNanos = reconciliationInterval.toNanos();
+    }
+
+    @Override
+    public Future<Boolean> isConnectionLimitReached(final TenantObject tenant) {
+
+        Objects.requireNonNull(tenant);
+        final ResourceLimits limits = tenant.getResourceLimits();
+        if (limits == null || limits.getMaxConnections() == -1) {
+            return Future.succeededFuture(Boolean.FALSE);
+        }
+        return check(connectionAccounts, tenant, 1L, source::getRemainingConnections);
+    }
+
+    @Override
+    public Future<Boolean> isMessageLimitReached(final TenantObject tenant, final long payloadSize) {
+
+        Objects.requireNonNull(tenant);
+        final ResourceLimits limits = tenant.getResourceLimits();
+        if (limits == null || limits.getDataVolume() == null || limits.getDataVolume().getMaxBytes() == -1
+                || payloadSize <= 0) {
+            return Future.succeededFuture(Boolean.FALSE);
+        }
+        return check(dataVolumeAccounts, tenant, payloadSize, source::getRemainingDataVolume);
+    }
+
+    private Future<Boolean> check(
+            final ConcurrentMap<String, Account> accounts,
+            final TenantObject tenant,
+            final long amount,
+            final Function<TenantObject, Future<Long>> remainingSupplier) {
+
+        final Account account = accounts.computeIfAbsent(tenant.getTenantId(), id -> new Account());
+        final Future<Void> reconciliation = account.reconcileIfDue(tenant, remainingSupplier);
+        if (reconciliation == null) {
+            return Future.succeededFuture(account.tryAcquire(amount));
+        } else {
+            // first check for the tenant, wait for the source
+            return reconciliation.map(ok -> account.tryAcquire(amount)).otherwise(Boolean.FALSE);
+        }
+    }
+
+    /**
+     * The local account of a particular resource of a tenant.
+     */
+    private final class Account {
+
+        private static final long UNKNOWN = -1L;
+
+        private final LongAdder grantedSinceReconciliation = new LongAdder();
+        private final AtomicBoolean reconciling = new AtomicBoolean();
+        private volatile long remaining = UNKNOWN;
+        private volatile long lastReconciliation;
+        private volatile boolean reconciledBefore;
+
+        /**
+         * Reconciles this account with the source if the reconciliation interval has elapsed.
+         *
+         * @return The outcome of the reconciliation if it is the first reconciliation of this
+         *         account or {@code null} otherwise.
+         */
+        Future<Void> reconcileIfDue(final TenantObject tenant, final Function<TenantObject, Future<Long>> remainingSupplier) {
+
+            final long now = System.nanoTime();
+            if (reconciledBefore && now - lastReconciliation < reconciliationIntervalNanos) {
+                return null;
+            } else if (!reconciling.compareAndSet(false, true)) {
+                // another thread is already reconciling
+                return null;
+            } else {
+                final boolean initial = !reconciledBefore;
+                reconciledBefore = true;
+                lastReconciliation = now;
+                final Future<Void> result = reconcile(tenant, remainingSupplier);
+                return initial ? result : null;
+            }
+        }
+
+        private Future<Void> reconcile(final TenantObject tenant, final Function<TenantObject, Future<Long>> remainingSupplier) {
+
+            // the amount granted until now is expected to be reflected by the source
+            final long granted = grantedSinceReconciliation.sum();
+            final Future<Void> result = Future.future();
+            remainingSupplier.apply(tenant).setHandler(attempt -> {
+                if (attempt.succeeded()) {
+                    grantedSinceReconciliation.add(-granted);
+                    remaining = attempt.result();
+                    LOG.trace("reconciled local account [tenant: {}, remaining: {}]", tenant.getTenantId(), remaining);
+                    result.complete();
+                } else {
+                    LOG.debug("failed to reconcile local account [tenant: {}]: {}",
+                            tenant.getTenantId(), attempt.cause().getMessage());
+                    result.fail(attempt.cause());
+                }
+                reconciling.set(false);
+            });
+            return result;
+        }
+
+        /**
+         * Tries to acquire an amount of the resource.
+         *
+         * @return {@code true} if the limit has been reached, i.e. the amount has not been acquired.
+         */
+        Boolean tryAcquire(final long amount) {
+
+            final long remainingAmount = remaining;
+            if (remainingAmount == UNKNOWN) {
+                // the source could not be queried (yet)
+                return Boolean.FALSE;
+            } else if (remainingAmount != Long.MAX_VALUE
+                    && grantedSinceReconciliation.sum() + amount > remainingAmount) {
+                return Boolean.TRUE;
+            } else {
+                grantedSinceReconciliation.add(amount);
+                return Boolean.FALSE;
+            }
+        }
+    }
+}
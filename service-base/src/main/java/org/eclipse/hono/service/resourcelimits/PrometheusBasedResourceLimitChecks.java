@@ -30,6 +30,7 @@ import org.eclipse.hono.service.metric.MetricsTags;
 import org.eclipse.hono.service.metric.MicrometerBasedMetrics;
 import org.eclipse.hono.util.DataVolume;
 import org.eclipse.hono.util.DataVolumePeriod;
+import org.eclipse.hono.util.ResourceLimits;
 import org.eclipse.hono.util.TenantConstants;
 import org.eclipse.hono.util.TenantObject;
 import org.slf4j.Logger;
@@ -46,8 +47,10 @@ import io.vertx.ext.web.codec.BodyCodec;
 /**
  * Resource limit checks which compare configured limits with live metrics retrieved
  * from a <em>Prometheus</em> server.
+ * <p>
+ * This class also serves as a {@link ResourceUsageSource} for {@link LocalResourceLimitChecks}.
  */
-public final class PrometheusBasedResourceLimitChecks implements ResourceLimitChecks {
+public final class PrometheusBasedResourceLimitChecks implements ResourceLimitChecks, ResourceUsageSource {
 
     private static final String CONNECTIONS_METRIC_NAME = MicrometerBasedMetrics.METER_CONNECTIONS_AUTHENTICATED
             .replace(".", "_");
@@ -148,9 +151,7 @@ public final class PrometheusBasedResourceLimitChecks implements ResourceLimitCh
         if (maxConnections == -1) {
             return Future.succeededFuture(Boolean.FALSE);
         } else {
-            final String queryParams = String.format("sum(%s{tenant=\"%s\"})", CONNECTIONS_METRIC_NAME,
-                    tenant.getTenantId());
-            return executeQuery(queryParams)
+            return executeQuery(getConnectionsQuery(tenant.getTenantId()))
                     .map(currentConnections -> {
                         if (currentConnections < maxConnections) {
                             return Boolean.FALSE;
@@ -231,20 +232,7 @@ public final class PrometheusBasedResourceLimitChecks implements ResourceLimitCh
                 return Future.succeededFuture(Boolean.FALSE);
             }
 
-            final String queryParams = String.format(
-                    "floor(sum(increase(%s{status=~\"%s|%s\", tenant=\"%s\"} [%sd]) or %s*0) + sum(increase(%s{status=~\"%s|%s\", tenant=\"%s\"} [%sd]) or %s*0))",
-                    MESSAGES_PAYLOAD_SIZE_METRIC_NAME,
-                    MetricsTags.ProcessingOutcome.FORWARDED.asTag().getValue(),
-                    MetricsTags.ProcessingOutcome.UNPROCESSABLE.asTag().getValue(),
-                    tenant.getTenantId(),
-                    dataUsagePeriod,
-                    COMMANDS_PAYLOAD_SIZE_METRIC_NAME,
-                    COMMANDS_PAYLOAD_SIZE_METRIC_NAME,
-                    MetricsTags.ProcessingOutcome.FORWARDED.asTag().getValue(),
-                    MetricsTags.ProcessingOutcome.UNPROCESSABLE.asTag().getValue(),
-                    tenant.getTenantId(),
-                    dataUsagePeriod,
-                    MESSAGES_PAYLOAD_SIZE_METRIC_NAME);
+            final String queryParams = getDataUsageQuery(tenant.getTenantId(), dataUsagePeriod);
             final String key = String.format("%s_bytes_consumed", tenant.getTenantId());
 
             return Optional.ofNullable(limitsCache)
@@ -268,6 +256,81 @@ public final class PrometheusBasedResourceLimitChecks implements ResourceLimitCh
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The number of remaining connections is determined by means of a query
+     * to the Prometheus server. The result is not cached.
+     */
+    @Override
+    public Future<Long> getRemainingConnections(final TenantObject tenant) {
+
+        Objects.requireNonNull(tenant);
+        if (tenant.getResourceLimits() == null || tenant.getResourceLimits().getMaxConnections() == -1) {
+            return Future.succeededFuture(Long.MAX_VALUE);
+        }
+        final long maxConnections = tenant.getResourceLimits().getMaxConnections();
+        return executeQuery(getConnectionsQuery(tenant.getTenantId()))
+                .map(currentConnections -> Math.max(0L, maxConnections - currentConnections));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The number of remaining bytes is determined by means of a query
+     * to the Prometheus server. The result is not cached.
+     */
+    @Override
+    public Future<Long> getRemainingDataVolume(final TenantObject tenant) {
+
+        Objects.requireNonNull(tenant);
+        final DataVolume dataVolumeConfig = Optional.ofNullable(tenant.getResourceLimits())
+                .map(ResourceLimits::getDataVolume)
+                .orElse(null);
+        if (dataVolumeConfig == null || dataVolumeConfig.getPeriod() == null) {
+            return Future.succeededFuture(Long.MAX_VALUE);
+        }
+
+        final long maxBytes = dataVolumeConfig.getMaxBytes();
+        final Instant effectiveSince = dataVolumeConfig.getEffectiveSince();
+        final PeriodMode periodMode = PeriodMode.from(dataVolumeConfig.getPeriod().getMode());
+        if (maxBytes == -1 || effectiveSince == null || PeriodMode.UNKNOWN.equals(periodMode)) {
+            return Future.succeededFuture(Long.MAX_VALUE);
+        }
+
+        final OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        final OffsetDateTime since = OffsetDateTime.ofInstant(effectiveSince, ZoneOffset.UTC);
+        final long allowedMaxBytes = calculateDataVolume(since, now, periodMode, maxBytes);
+        final long dataUsagePeriod = calculateDataUsagePeriod(since, now, periodMode,
+                dataVolumeConfig.getPeriod().getNoOfDays());
+        if (dataUsagePeriod <= 0) {
+            return Future.succeededFuture(Long.MAX_VALUE);
+        }
+        return executeQuery(getDataUsageQuery(tenant.getTenantId(), dataUsagePeriod))
+                .map(bytesConsumed -> Math.max(0L, allowedMaxBytes - bytesConsumed));
+    }
+
+    private static String getConnectionsQuery(final String tenantId) {
+        return String.format("sum(%s{tenant=\"%s\"})", CONNECTIONS_METRIC_NAME, tenantId);
+    }
+
+    private static String getDataUsageQuery(final String tenantId, final long dataUsagePeriod) {
+        return String.format(
+                "floor(sum(increase(%s{status=~\"%s|%s\", tenant=\"%s\"} [%sd]) or %s*0) + sum(increase(%s{status=~\"%s|%s\", tenant=\"%s\"} [%sd]) or %s*0))",
+                MESSAGES_PAYLOAD_SIZE_METRIC_NAME,
+                MetricsTags.ProcessingOutcome.FORWARDED.asTag().getValue(),
+                MetricsTags.ProcessingOutcome.UNPROCESSABLE.asTag().getValue(),
+                tenantId,
+                dataUsagePeriod,
+                COMMANDS_PAYLOAD_SIZE_METRIC_NAME,
+                COMMANDS_PAYLOAD_SIZE_METRIC_NAME,
+                MetricsTags.ProcessingOutcome.FORWARDED.asTag().getValue(),
+                MetricsTags.ProcessingOutcome.UNPROCESSABLE.asTag().getValue(),
+                tenantId,
+                dataUsagePeriod,
+                MESSAGES_PAYLOAD_SIZE_METRIC_NAME);
+    }
+
     private Future<Long> executeQuery(final String query) {
 
         final Future<Long> result = Future.future();
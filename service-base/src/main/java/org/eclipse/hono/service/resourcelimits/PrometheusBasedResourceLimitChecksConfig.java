@@ -39,6 +39,7 @@ public final class PrometheusBasedResourceLimitChecksConfig {
     private int cacheMinSize = DEFAULT_CACHE_MIN_SIZE;
     private long cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
     private long cacheTimeout = DEFAULT_CACHE_TIMEOUT;
+    private long reconciliationInterval = 0L;
 
     /**
      * Gets the host of the Prometheus server to retrieve metrics from.
@@ -175,4 +176,35 @@ public final class PrometheusBasedResourceLimitChecksConfig {
         this.cacheTimeout = timeout;
     }
 
+    /**
+     * Gets the interval after which the connections and data volume accounted for locally
+     * are reconciled with the metrics retrieved from the Prometheus server.
+     * <p>
+     * The default value of this property is 0, i.e. local accounting is disabled.
+     *
+     * @return The interval in seconds.
+     */
+    public long getReconciliationInterval() {
+        return reconciliationInterval;
+    }
+
+    /**
+     * Sets the interval after which the connections and data volume accounted for locally
+     * are reconciled with the metrics retrieved from the Prometheus server.
+     * <p>
+     * If set to a value &gt; 0, the limits are checked against local accounts which
+     * are reconciled with the Prometheus server only once per interval. Otherwise, the
+     * Prometheus server is queried whenever the cached metrics data has expired.
+     * <p>
+     * The default value of this property is 0, i.e. local accounting is disabled.
+     *
+     * @param interval The interval in seconds.
+     * @throws IllegalArgumentException if interval is &lt; 0.
+     */
+    public void setReconciliationInterval(final long interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("reconciliation interval must not be negative");
+        }
+        this.reconciliationInterval = interval;
+    }
 }
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.resourcelimits;
+
+import org.eclipse.hono.util.TenantObject;
+
+import io.vertx.core.Future;
+
+/**
+ * A source of information about the resources that the devices of a tenant
+ * may still use before the tenant's configured limits are reached.
+ * <p>
+ * The information is expected to cover the usage of the resources across
+ * all protocol adapter instances.
+ */
+public interface ResourceUsageSource {
+
+    /**
+     * Gets the number of connections that devices of a tenant may still establish.
+     *
+     * @param tenant The tenant.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with the number of remaining connections
+     *         or {@link Long#MAX_VALUE} if the number of connections is not limited
+     *         for the tenant. Otherwise, the future will be failed.
+     * @throws NullPointerException if tenant is {@code null}.
+     */
+    Future<Long> getRemainingConnections(TenantObject tenant);
+
+    /**
+     * Gets the number of bytes that devices of a tenant may still exchange in the
+     * current accounting period.
+     *
+     * @param tenant The tenant.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with the number of remaining bytes
+     *         or {@link Long#MAX_VALUE} if the data volume is not limited
+     *         for the tenant. Otherwise, the future will be failed.
+     * @throws NullPointerException if tenant is {@code null}.
+     */
+    Future<Long> getRemainingDataVolume(TenantObject tenant);
+}
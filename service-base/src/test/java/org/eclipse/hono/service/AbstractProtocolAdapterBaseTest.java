@@ -15,6 +15,7 @@ package org.eclipse.hono.service;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -38,6 +39,7 @@ import org.eclipse.hono.client.CommandConsumerFactory;
 import org.eclipse.hono.client.CredentialsClientFactory;
 import org.eclipse.hono.client.DeviceConnectionClientFactory;
 import org.eclipse.hono.client.DisconnectListener;
+import org.eclipse.hono.client.DownstreamSender;
 import org.eclipse.hono.client.DownstreamSenderFactory;
 import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.client.ReconnectListener;
@@ -66,6 +68,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
@@ -558,6 +561,37 @@ public class AbstractProtocolAdapterBaseTest {
         }));
     }
 
+    /**
+     * Verifies that the batching telemetry sender of a tenant is closed and
+     * released when the tenant has timed out.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBatchingTelemetrySenderIsClosedOnTenantTimeout() {
+
+        // GIVEN an adapter that batches telemetry messages for a tenant
+        final EventBus eventBus = mock(EventBus.class);
+        when(vertx.eventBus()).thenReturn(eventBus);
+        final DownstreamSender sender = mock(DownstreamSender.class);
+        when(downstreamSenderFactory.getOrCreateTelemetrySender(anyString())).thenReturn(Future.succeededFuture(sender));
+        final TenantObject tenant = TenantObject.from("my-tenant", Boolean.TRUE).setTelemetryBatchSize(10);
+        final DownstreamSender batchingSender = adapter.getTelemetrySender(tenant).result();
+        final ArgumentCaptor<Handler<io.vertx.core.eventbus.Message<String>>> tenantTimeoutHandler =
+                ArgumentCaptor.forClass(Handler.class);
+        verify(eventBus).consumer(eq(Constants.EVENT_BUS_ADDRESS_TENANT_TIMED_OUT), tenantTimeoutHandler.capture());
+        assertThat(adapter.getTelemetrySender(tenant).result(), is(batchingSender));
+
+        // WHEN the tenant times out
+        final io.vertx.core.eventbus.Message<String> msg = mock(io.vertx.core.eventbus.Message.class);
+        when(msg.body()).thenReturn("my-tenant");
+        tenantTimeoutHandler.getValue().handle(msg);
+
+        // THEN the batching sender is closed
+        verify(sender).close(any(Handler.class));
+        // and a new batching sender is created for the tenant
+        assertThat(adapter.getTelemetrySender(tenant).result(), not(batchingSender));
+    }
+
     private AbstractProtocolAdapterBase<ProtocolAdapterProperties> newProtocolAdapter(final ProtocolAdapterProperties props) {
 
         return newProtocolAdapter(props, ADAPTER_NAME);
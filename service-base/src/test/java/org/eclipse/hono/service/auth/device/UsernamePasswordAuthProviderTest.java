@@ -17,6 +17,8 @@ package org.eclipse.hono.service.auth.device;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.HttpURLConnection;
@@ -27,6 +29,7 @@ import org.eclipse.hono.auth.HonoPasswordEncoder;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.CredentialsClient;
 import org.eclipse.hono.client.CredentialsClientFactory;
+import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.service.auth.DeviceUser;
 import org.eclipse.hono.util.CredentialsConstants;
@@ -187,6 +190,68 @@ public class UsernamePasswordAuthProviderTest {
         }));
     }
 
+    /**
+     * Verifies that the provider does not check the password hash again
+     * if the same password has already been verified successfully against
+     * the same secret on record.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAuthenticateUsesVerifiedPasswordCache(final TestContext ctx) {
+
+        // GIVEN a provider that keeps successful password verifications
+        final ProtocolAdapterProperties config = new ProtocolAdapterProperties();
+        config.setPasswordVerificationCacheMaxSize(100);
+        provider = new UsernamePasswordAuthProvider(credentialsClientFactory, pwdEncoder, config, NoopTracerFactory.create());
+
+        // WHEN a device authenticates twice using the same password
+        final Future<DeviceUser> result = Future.future();
+        vertx.runOnContext(go -> {
+            final Future<DeviceUser> firstAttempt = Future.future();
+            provider.authenticate(deviceCredentials, null, firstAttempt);
+            firstAttempt.setHandler(ok -> provider.authenticate(deviceCredentials, null, result));
+        });
+        result.setHandler(ctx.asyncAssertSuccess(device -> {
+            ctx.assertEquals("4711", device.getDeviceId());
+            // THEN the password hash has been checked only once
+            verify(pwdEncoder, times(1)).matches(eq(PWD), any(JsonObject.class));
+        }));
+    }
+
+    /**
+     * Verifies that the provider checks the password hash again
+     * if the secret on record has changed since the password has been
+     * verified successfully.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAuthenticateChecksPasswordAgainForChangedSecret(final TestContext ctx) {
+
+        // GIVEN a provider that keeps successful password verifications
+        final ProtocolAdapterProperties config = new ProtocolAdapterProperties();
+        config.setPasswordVerificationCacheMaxSize(100);
+        provider = new UsernamePasswordAuthProvider(credentialsClientFactory, pwdEncoder, config, NoopTracerFactory.create());
+
+        // WHEN a device authenticates successfully
+        final Future<DeviceUser> result = Future.future();
+        vertx.runOnContext(go -> {
+            final Future<DeviceUser> firstAttempt = Future.future();
+            provider.authenticate(deviceCredentials, null, firstAttempt);
+            firstAttempt.setHandler(ok -> {
+                // and the secret on record is changed afterwards
+                givenCredentialsOnRecord(CredentialsObject.fromHashedPassword(
+                        "4711", "device", "newHash", CredentialsConstants.HASH_FUNCTION_SHA256, null, null, null));
+                provider.authenticate(deviceCredentials, null, result);
+            });
+        });
+        result.setHandler(ctx.asyncAssertSuccess(device -> {
+            // THEN the password hash is checked again
+            verify(pwdEncoder, times(2)).matches(eq(PWD), any(JsonObject.class));
+        }));
+    }
+
     private void givenCredentialsOnRecord(final CredentialsObject credentials) {
         when(credentialsClient.get(
                 eq(CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD),
@@ -310,6 +310,52 @@ public class MicrometerBasedMetricsTest {
 
     }
 
+    /**
+     * Verifies that the meters used for reporting messages are re-registered
+     * after they have been removed because of the tenant timeout.
+     *
+     * @param registry The registry that the tests should be run against.
+     */
+    @ParameterizedTest
+    @MethodSource("registries")
+    public void testMetersAreReRegisteredAfterTimeout(final MeterRegistry registry) {
+
+        final Tags tenantTags = Tags.of(MetricsTags.getTenantTag(tenant));
+        final Vertx vertx = mock(Vertx.class);
+        when(vertx.eventBus()).thenReturn(mock(EventBus.class));
+        final AtomicReference<Handler<Long>> timerHandler = new AtomicReference<>();
+        when(vertx.setTimer(anyLong(), any())).thenAnswer(invocation -> {
+            final Handler<Long> task = invocation.getArgument(1);
+            timerHandler.set(task);
+            return 1L;
+        });
+
+        // GIVEN a metrics instance with tenantIdleTimeout configured
+        // that has reported two telemetry messages and a command
+        final MicrometerBasedMetrics metrics = new MicrometerBasedMetrics(registry, vertx);
+        metrics.setProtocolAdapterProperties(configWithTenantIdleTimeout(1L));
+        reportTelemetry(metrics);
+        reportTelemetry(metrics);
+        reportCommand(metrics);
+        assertEquals(2, registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(tenantTags).timer().count());
+        assertEquals(2, registry.find(MicrometerBasedMetrics.METER_MESSAGES_PAYLOAD).tags(tenantTags).summary().count());
+
+        // WHEN the tenant times out
+        metrics.getLastSeenTimestampPerTenant().put(tenant, 0L); // fake timeout duration exceeded
+        timerHandler.get().handle(null);
+        assertNull(registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(tenantTags).meter());
+
+        // and another message and command are reported for the tenant
+        reportTelemetry(metrics);
+        reportCommand(metrics);
+
+        // THEN the messages are reported by means of newly registered meters
+        assertEquals(1, registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(tenantTags).timer().count());
+        assertEquals(1, registry.find(MicrometerBasedMetrics.METER_MESSAGES_PAYLOAD).tags(tenantTags).summary().count());
+        assertEquals(1, registry.find(MicrometerBasedMetrics.METER_COMMANDS_RECEIVED).tags(tenantTags).timer().count());
+        assertEquals(1, registry.find(MicrometerBasedMetrics.METER_COMMANDS_PAYLOAD).tags(tenantTags).summary().count());
+    }
+
     /**
      * Verifies that sending messages updates the stored timestamp for the tenant.
      * 
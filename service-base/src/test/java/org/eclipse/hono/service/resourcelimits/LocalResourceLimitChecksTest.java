@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.resourcelimits;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.DataVolume;
+import org.eclipse.hono.util.DataVolumePeriod;
+import org.eclipse.hono.util.ResourceLimits;
+import org.eclipse.hono.util.TenantObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+
+/**
+ * Verifies the behavior of {@link LocalResourceLimitChecks}.
+ */
+public class LocalResourceLimitChecksTest {
+
+    private ResourceUsageSource source;
+    private TenantObject tenant;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+
+        source = mock(ResourceUsageSource.class);
+        tenant = TenantObject.from(Constants.DEFAULT_TENANT, true)
+                .setResourceLimits(new ResourceLimits()
+                        .setMaxConnections(10)
+                        .setDataVolume(new DataVolume()
+                                .setMaxBytes(1000)
+                                .setEffectiveSince(Instant.now())
+                                .setPeriod(new DataVolumePeriod().setMode("monthly"))));
+    }
+
+    /**
+     * Verifies that connections are granted from the local account until the number
+     * of remaining connections reported by the source is reached.
+     */
+    @Test
+    public void testConnectionLimitIsCheckedLocally() {
+
+        when(source.getRemainingConnections(any(TenantObject.class))).thenReturn(Future.succeededFuture(2L));
+        final LocalResourceLimitChecks checks = new LocalResourceLimitChecks(source, Duration.ofHours(1));
+
+        assertFalse(checks.isConnectionLimitReached(tenant).result());
+        assertFalse(checks.isConnectionLimitReached(tenant).result());
+        assertTrue(checks.isConnectionLimitReached(tenant).result());
+        verify(source, times(1)).getRemainingConnections(any(TenantObject.class));
+    }
+
+    /**
+     * Verifies that the data volume accounted for locally is reconciled with the
+     * remaining data volume reported by the source.
+     */
+    @Test
+    public void testMessageLimitIsReconciledWithSource() {
+
+        when(source.getRemainingDataVolume(any(TenantObject.class)))
+            .thenReturn(Future.succeededFuture(100L), Future.succeededFuture(40L));
+        final LocalResourceLimitChecks checks = new LocalResourceLimitChecks(source, Duration.ofNanos(1));
+
+        assertFalse(checks.isMessageLimitReached(tenant, 60).result());
+        // the source now reports the 60 bytes as consumed
+        assertTrue(checks.isMessageLimitReached(tenant, 60).result());
+        assertFalse(checks.isMessageLimitReached(tenant, 40).result());
+        verify(source, times(3)).getRemainingDataVolume(any(TenantObject.class));
+    }
+
+    /**
+     * Verifies that the checks succeed if the source cannot be queried.
+     */
+    @Test
+    public void testChecksSucceedIfSourceIsUnavailable() {
+
+        when(source.getRemainingDataVolume(any(TenantObject.class))).thenReturn(Future.failedFuture("unavailable"));
+        final LocalResourceLimitChecks checks = new LocalResourceLimitChecks(source, Duration.ofHours(1));
+
+        assertFalse(checks.isMessageLimitReached(tenant, 2000).result());
+        assertFalse(checks.isMessageLimitReached(tenant, 2000).result());
+    }
+
+    /**
+     * Verifies that the source is not queried for tenants without resource limits.
+     */
+    @Test
+    public void testSourceIsNotQueriedWithoutLimits() {
+
+        final LocalResourceLimitChecks checks = new LocalResourceLimitChecks(source, Duration.ofHours(1));
+        final TenantObject unlimitedTenant = TenantObject.from(Constants.DEFAULT_TENANT, true);
+
+        assertFalse(checks.isConnectionLimitReached(unlimitedTenant).result());
+        assertFalse(checks.isMessageLimitReached(unlimitedTenant, 100).result());
+        verify(source, never()).getRemainingConnections(any(TenantObject.class));
+        verify(source, never()).getRemainingDataVolume(any(TenantObject.class));
+    }
+}
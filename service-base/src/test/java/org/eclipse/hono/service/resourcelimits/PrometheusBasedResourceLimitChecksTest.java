@@ -145,6 +145,30 @@ public class PrometheusBasedResourceLimitChecksTest {
                 }));
     }
 
+    /**
+     * Verifies that the number of remaining connections is determined from the
+     * current number of connections reported by the Prometheus server.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testGetRemainingConnections(final VertxTestContext ctx) {
+
+        givenCurrentConnections(7);
+        final TenantObject tenant = TenantObject.from(Constants.DEFAULT_TENANT, true)
+                .setResourceLimits(new ResourceLimits()
+                        .setMaxConnections(10));
+
+        limitChecksImpl.getRemainingConnections(tenant).setHandler(
+                ctx.succeeding(remaining -> {
+                    ctx.verify(() -> {
+                        assertEquals(3L, remaining.longValue());
+                        verify(limitsCache, never()).get(any());
+                    });
+                    ctx.completeNow();
+                }));
+    }
+
     /**
      *
      * Verifies that the message limit check returns {@code false} if the limit is not exceeded.
@@ -15,7 +15,11 @@
 package org.eclipse.hono.deviceconnection.infinispan;
 
 import java.net.HttpURLConnection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.service.HealthCheckProvider;
@@ -33,6 +37,7 @@ import io.opentracing.Span;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.healthchecks.HealthCheckHandler;
 import io.vertx.ext.healthchecks.Status;
@@ -166,6 +171,73 @@ public class RemoteCacheBasedDeviceConnectionService extends EventBusDeviceConne
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Puts all mappings into the cache by means of a single <em>putAll</em> operation.
+     */
+    @Override
+    public void setLastKnownGatewaysForDevices(
+            final String tenantId,
+            final Map<String, String> gatewayIdsByDeviceId,
+            final Span span,
+            final Handler<AsyncResult<DeviceConnectionResult>> resultHandler) {
+
+        if (cache == null) {
+            resultHandler.handle(Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "no connection to remote cache")));
+        } else {
+            final Map<String, String> entries = new HashMap<>(gatewayIdsByDeviceId.size());
+            gatewayIdsByDeviceId.forEach((deviceId, gatewayId) -> entries.put(getKey(tenantId, deviceId), gatewayId));
+            cache
+            .putAllAsync(entries)
+            .whenComplete((ok, error) -> {
+                if (error == null) {
+                    log.debug("set last known gateways [tenant: {}, number of devices: {}]", tenantId, entries.size());
+                    resultHandler.handle(Future.succeededFuture(DeviceConnectionResult.from(HttpURLConnection.HTTP_NO_CONTENT)));
+                } else {
+                    resultHandler.handle(Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_INTERNAL_ERROR, error)));
+                }
+            });
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Gets all mappings from the cache by means of a single <em>getAll</em> operation.
+     */
+    @Override
+    public void getLastKnownGatewaysForDevices(
+            final String tenantId,
+            final Set<String> deviceIds,
+            final Span span,
+            final Handler<AsyncResult<DeviceConnectionResult>> resultHandler) {
+
+        if (cache == null) {
+            resultHandler.handle(Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "no connection to remote cache")));
+        } else {
+            final Set<String> keys = new HashSet<>(deviceIds.size());
+            deviceIds.forEach(deviceId -> keys.add(getKey(tenantId, deviceId)));
+            cache.getAllAsync(keys)
+            .whenComplete((gatewayIdsByKey, error) -> {
+                if (error == null) {
+                    final JsonArray devices = new JsonArray();
+                    deviceIds.forEach(deviceId -> {
+                        final String gatewayId = gatewayIdsByKey.get(getKey(tenantId, deviceId));
+                        if (gatewayId != null) {
+                            devices.add(getResult(gatewayId).put(DeviceConnectionConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId));
+                        }
+                    });
+                    log.debug("found last known gateways for {} of {} devices [tenant: {}]", devices.size(), deviceIds.size(), tenantId);
+                    resultHandler.handle(Future.succeededFuture(DeviceConnectionResult.from(HttpURLConnection.HTTP_OK,
+                            new JsonObject().put(DeviceConnectionConstants.FIELD_DEVICES, devices))));
+                } else {
+                    resultHandler.handle(Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_INTERNAL_ERROR, error)));
+                }
+            });
+        }
+    }
+
     private static JsonObject getResult(final String gatewayId) {
         return new JsonObject().put(DeviceConnectionConstants.FIELD_GATEWAY_ID, gatewayId);
     }
@@ -180,8 +252,8 @@ public class RemoteCacheBasedDeviceConnectionService extends EventBusDeviceConne
      * @param deviceId The identifier of the device.
      * @return The key.
      */
-    private String getKey(final String tenantId, final String deviceId) {
-        return String.format("%s@@%s", tenantId, deviceId);
+    private static String getKey(final String tenantId, final String deviceId) {
+        return tenantId + "@@" + deviceId;
     }
 
     /**
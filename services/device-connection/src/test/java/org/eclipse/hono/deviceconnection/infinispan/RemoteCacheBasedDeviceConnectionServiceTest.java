@@ -15,24 +15,34 @@ package org.eclipse.hono.deviceconnection.infinispan;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.HttpURLConnection;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.DeviceConnectionConstants;
 import org.eclipse.hono.util.DeviceConnectionResult;
 import org.infinispan.client.hotrod.RemoteCacheContainer;
 import org.infinispan.commons.api.BasicCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 
 import io.opentracing.Span;
 import io.vertx.core.AsyncResult;
@@ -42,6 +52,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 
@@ -150,4 +161,90 @@ public class RemoteCacheBasedDeviceConnectionServiceTest {
             ctx.completeNow();
         }));
     }
+
+    /**
+     * Verifies that the last known gateways of multiple devices are set by means of a single
+     * <em>putAll</em> operation on the cache.
+     *
+     * @param ctx The vert.x context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSetLastKnownGatewaysForDevicesUsesPutAll(final VertxTestContext ctx) {
+
+        when(cache.putAllAsync(any(Map.class))).thenReturn(CompletableFuture.completedFuture(null));
+        final Map<String, String> gatewayIds = new HashMap<>();
+        gatewayIds.put("device-1", "gw-1");
+        gatewayIds.put("device-2", "gw-2");
+
+        givenAStartedService()
+        .compose(ok -> {
+            final Future<DeviceConnectionResult> setLastGwsResult = Future.future();
+            svc.setLastKnownGatewaysForDevices(Constants.DEFAULT_TENANT, gatewayIds, span, setLastGwsResult);
+            return setLastGwsResult;
+        })
+        .setHandler(ctx.succeeding(result -> {
+            ctx.verify(() -> {
+                assertEquals(HttpURLConnection.HTTP_NO_CONTENT, result.getStatus());
+                final ArgumentCaptor<Map<Object, Object>> entries = ArgumentCaptor.forClass(Map.class);
+                verify(cache).putAllAsync(entries.capture());
+                assertEquals(2, entries.getValue().size());
+                assertTrue(entries.getValue().containsValue("gw-1"));
+                verify(cache, never()).putAsync(any(), any());
+            });
+            ctx.completeNow();
+        }));
+    }
+
+    /**
+     * Verifies that the last known gateways of multiple devices are retrieved by means of
+     * a single <em>getAll</em> operation on the cache and that devices without a last known
+     * gateway are omitted from the result.
+     *
+     * @param ctx The vert.x context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetLastKnownGatewaysForDevicesUsesGetAll(final VertxTestContext ctx) {
+
+        final Map<Object, Object> localCache = new HashMap<>();
+        when(cache.putAllAsync(any(Map.class))).thenAnswer(invocation -> {
+            localCache.putAll(invocation.getArgument(0));
+            return CompletableFuture.completedFuture(null);
+        });
+        when(cache.getAllAsync(any(Set.class))).thenAnswer(invocation -> {
+            final Map<Object, Object> result = new HashMap<>();
+            ((Set<Object>) invocation.getArgument(0)).forEach(key -> {
+                Optional.ofNullable(localCache.get(key)).ifPresent(value -> result.put(key, value));
+            });
+            return CompletableFuture.completedFuture(result);
+        });
+        final Map<String, String> gatewayIds = new HashMap<>();
+        gatewayIds.put("device-1", "gw-1");
+        gatewayIds.put("device-2", "gw-2");
+
+        givenAStartedService()
+        .compose(ok -> {
+            final Future<DeviceConnectionResult> setLastGwsResult = Future.future();
+            svc.setLastKnownGatewaysForDevices(Constants.DEFAULT_TENANT, gatewayIds, span, setLastGwsResult);
+            return setLastGwsResult;
+        })
+        .compose(ok -> {
+            final Future<DeviceConnectionResult> getLastGwsResult = Future.future();
+            svc.getLastKnownGatewaysForDevices(Constants.DEFAULT_TENANT,
+                    new HashSet<>(Arrays.asList("device-1", "unknown-device")), span, getLastGwsResult);
+            return getLastGwsResult;
+        })
+        .setHandler(ctx.succeeding(result -> {
+            ctx.verify(() -> {
+                assertEquals(HttpURLConnection.HTTP_OK, result.getStatus());
+                final JsonArray devices = result.getPayload().getJsonArray(DeviceConnectionConstants.FIELD_DEVICES);
+                assertEquals(1, devices.size());
+                assertEquals("device-1", devices.getJsonObject(0).getString(DeviceConnectionConstants.FIELD_PAYLOAD_DEVICE_ID));
+                assertEquals("gw-1", devices.getJsonObject(0).getString(DeviceConnectionConstants.FIELD_GATEWAY_ID));
+                verify(cache, never()).getAsync(any());
+            });
+            ctx.completeNow();
+        }));
+    }
 }
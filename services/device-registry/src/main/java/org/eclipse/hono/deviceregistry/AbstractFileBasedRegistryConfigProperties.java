@@ -25,12 +25,18 @@ public abstract class AbstractFileBasedRegistryConfigProperties {
      * operations may be cached for.
      */
     public static final int DEFAULT_MAX_AGE_SECONDS = 180;
+    /**
+     * The default number of journal entries after which the journal is compacted.
+     */
+    public static final int DEFAULT_JOURNAL_COMPACTION_THRESHOLD = 10000;
 
     private String filename = getDefaultFileName();
     private boolean saveToFile = false;
     private boolean modificationEnabled = true;
     private boolean startEmpty = false;
     private int cacheMaxAge = DEFAULT_MAX_AGE_SECONDS;
+    private boolean journalEnabled = false;
+    private int journalCompactionThreshold = DEFAULT_JOURNAL_COMPACTION_THRESHOLD;
 
     /**
      * Gets the path to the file that the registry should be persisted to periodically.
@@ -93,6 +99,62 @@ public abstract class AbstractFileBasedRegistryConfigProperties {
         this.saveToFile = enabled;
     }
 
+    /**
+     * Checks whether changes to the registry content should be appended to a journal
+     * instead of periodically rewriting the whole file.
+     * <p>
+     * The journal is written to a file next to the file that the registry is persisted to.
+     * The registry content is written to the latter file only when the journal gets compacted.
+     * This property is only relevant if the registry content should be persisted.
+     * <p>
+     * Default value is {@code false}.
+     *
+     * @return {@code true} if changes should be written to a journal.
+     */
+    public final boolean isJournalEnabled() {
+        return journalEnabled;
+    }
+
+    /**
+     * Sets whether changes to the registry content should be appended to a journal
+     * instead of periodically rewriting the whole file.
+     * <p>
+     * Default value is {@code false}.
+     *
+     * @param enabled {@code true} if changes should be written to a journal.
+     */
+    public final void setJournalEnabled(final boolean enabled) {
+        this.journalEnabled = enabled;
+    }
+
+    /**
+     * Gets the number of journal entries after which the journal gets compacted
+     * into the file that the registry is persisted to.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_JOURNAL_COMPACTION_THRESHOLD}.
+     *
+     * @return The number of entries.
+     */
+    public final int getJournalCompactionThreshold() {
+        return journalCompactionThreshold;
+    }
+
+    /**
+     * Sets the number of journal entries after which the journal gets compacted
+     * into the file that the registry is persisted to.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_JOURNAL_COMPACTION_THRESHOLD}.
+     *
+     * @param threshold The number of entries.
+     * @throws IllegalArgumentException if threshold is &lt; 1.
+     */
+    public final void setJournalCompactionThreshold(final int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("compaction threshold must be > 0");
+        }
+        this.journalCompactionThreshold = threshold;
+    }
+
     /**
      * Checks whether this registry allows the creation, modification and removal of entries.
      * <p>
@@ -13,14 +13,20 @@
 
 package org.eclipse.hono.deviceregistry;
 
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
 import io.vertx.core.CompositeFuture;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Verticle;
 
 import org.eclipse.hono.service.AbstractBaseApplication;
 import org.eclipse.hono.service.HealthCheckProvider;
 
+import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -49,6 +55,11 @@ public class Application extends AbstractBaseApplication {
      */
     private List<Verticle> verticles;
 
+    /**
+     * The factories for verticles that are deployed multiple times.
+     */
+    private Set<ObjectFactory<? extends Verticle>> verticleFactories = Collections.emptySet();
+
     /**
      * All the health check providers.
      */
@@ -59,6 +70,21 @@ public class Application extends AbstractBaseApplication {
         this.verticles = verticles;
     }
 
+    /**
+     * Sets the factories for the verticles of which <em>maxInstances</em>
+     * instances should be deployed.
+     * <p>
+     * This is used for the verticles that only read from the registry
+     * in order to process requests on multiple event loop threads.
+     *
+     * @param factories The factories.
+     * @throws NullPointerException if factories is {@code null}.
+     */
+    @Autowired(required = false)
+    public void setVerticleFactories(final Set<ObjectFactory<? extends Verticle>> factories) {
+        this.verticleFactories = Objects.requireNonNull(factories);
+    }
+
     @Autowired
     public void setHealthCheckProviders(final List<HealthCheckProvider> healthCheckProviders) {
         this.healthCheckProviders = healthCheckProviders;
@@ -79,6 +105,16 @@ public class Application extends AbstractBaseApplication {
                 futures.add(result);
             }
 
+            final DeploymentOptions options = new DeploymentOptions().setInstances(getConfig().getMaxInstances());
+            for (final ObjectFactory<? extends Verticle> factory : this.verticleFactories) {
+                final Future<String> result = Future.future();
+                getVertx().deployVerticle(factory::getObject, options, result);
+                futures.add(result.map(id -> {
+                    log.info("Deployed {} instances of verticle [deployment id: {}]", options.getInstances(), id);
+                    return id;
+                }));
+            }
+
             return CompositeFuture.all(futures);
 
         });
@@ -36,6 +36,7 @@ import org.eclipse.hono.service.registration.RegistrationAmqpEndpoint;
 import org.eclipse.hono.service.tenant.TenantAmqpEndpoint;
 import org.eclipse.hono.util.Constants;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.ObjectFactoryCreatingFactoryBean;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -57,6 +58,10 @@ import io.vertx.core.VertxOptions;
 @Configuration
 public class ApplicationConfig {
 
+    private static final String BEAN_NAME_REGISTRATION_ADAPTER = "registrationAdapter";
+    private static final String BEAN_NAME_CREDENTIALS_ADAPTER = "credentialsAdapter";
+    private static final String BEAN_NAME_TENANT_ADAPTER = "tenantAdapter";
+
     /**
      * Exposes a Vert.x instance as a Spring bean.
      * <p>
@@ -177,6 +182,85 @@ public class ApplicationConfig {
         return new DeviceConnectionAmqpEndpoint(vertx());
     }
 
+    /**
+     * Creates a new instance of the event bus adapter for Hono's <em>Device Registration</em> API.
+     * <p>
+     * The adapter only reads from the registry so that multiple instances can be deployed
+     * in order to process requests on multiple event loop threads. The bean is not a candidate
+     * for autowiring, instances are created using {@link #registrationAdapterFactory()} instead.
+     *
+     * @return The adapter.
+     */
+    @Bean(name = BEAN_NAME_REGISTRATION_ADAPTER, autowireCandidate = false)
+    @Scope("prototype")
+    public AutowiredRegistrationAdapter registrationAdapter() {
+        return new AutowiredRegistrationAdapter();
+    }
+
+    /**
+     * Exposes a factory for creating Device Registration event bus adapter instances.
+     *
+     * @return The factory bean.
+     */
+    @Bean
+    public ObjectFactoryCreatingFactoryBean registrationAdapterFactory() {
+        final ObjectFactoryCreatingFactoryBean factory = new ObjectFactoryCreatingFactoryBean();
+        factory.setTargetBeanName(BEAN_NAME_REGISTRATION_ADAPTER);
+        return factory;
+    }
+
+    /**
+     * Creates a new instance of the event bus adapter for Hono's <em>Credentials</em> API.
+     * <p>
+     * The bean is not a candidate for autowiring, instances are created using
+     * {@link #credentialsAdapterFactory()} instead.
+     *
+     * @return The adapter.
+     */
+    @Bean(name = BEAN_NAME_CREDENTIALS_ADAPTER, autowireCandidate = false)
+    @Scope("prototype")
+    public AutowiredCredentialsAdapter credentialsAdapter() {
+        return new AutowiredCredentialsAdapter();
+    }
+
+    /**
+     * Exposes a factory for creating Credentials event bus adapter instances.
+     *
+     * @return The factory bean.
+     */
+    @Bean
+    public ObjectFactoryCreatingFactoryBean credentialsAdapterFactory() {
+        final ObjectFactoryCreatingFactoryBean factory = new ObjectFactoryCreatingFactoryBean();
+        factory.setTargetBeanName(BEAN_NAME_CREDENTIALS_ADAPTER);
+        return factory;
+    }
+
+    /**
+     * Creates a new instance of the event bus adapter for Hono's <em>Tenant</em> API.
+     * <p>
+     * The bean is not a candidate for autowiring, instances are created using
+     * {@link #tenantAdapterFactory()} instead.
+     *
+     * @return The adapter.
+     */
+    @Bean(name = BEAN_NAME_TENANT_ADAPTER, autowireCandidate = false)
+    @Scope("prototype")
+    public AutowiredTenantAdapter tenantAdapter() {
+        return new AutowiredTenantAdapter();
+    }
+
+    /**
+     * Exposes a factory for creating Tenant event bus adapter instances.
+     *
+     * @return The factory bean.
+     */
+    @Bean
+    public ObjectFactoryCreatingFactoryBean tenantAdapterFactory() {
+        final ObjectFactoryCreatingFactoryBean factory = new ObjectFactoryCreatingFactoryBean();
+        factory.setTargetBeanName(BEAN_NAME_TENANT_ADAPTER);
+        return factory;
+    }
+
     /**
      * Gets properties for configuring the Device Registry's REST endpoint.
      * 
@@ -17,15 +17,15 @@ import org.eclipse.hono.service.credentials.CredentialsService;
 import org.eclipse.hono.service.credentials.EventBusCredentialsAdapter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.stereotype.Component;
 
 /**
  * A default event bus based service implementation of the {@link CredentialsService}.
  * <p>
  * This wires up the actual service instance with the mapping to the event bus implementation. It is intended to be used
  * in a Spring Boot environment.
+ * <p>
+ * Multiple instances of this adapter are deployed, see {@link ApplicationConfig#credentialsAdapter()}.
  */
-@Component
 public final class AutowiredCredentialsAdapter extends EventBusCredentialsAdapter {
 
     private CredentialsService service;
@@ -18,15 +18,15 @@ import org.eclipse.hono.service.registration.EventBusRegistrationAdapter;
 import org.eclipse.hono.service.registration.RegistrationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.stereotype.Component;
 
 /**
  * A default event bus based service implementation of the {@link DeviceManagementService}.
  * <p>
  * This wires up the actual service instance with the mapping to the event bus implementation. It is intended to be used
  * in a Spring Boot environment.
+ * <p>
+ * Multiple instances of this adapter are deployed, see {@link ApplicationConfig#registrationAdapter()}.
  */
-@Component
 public final class AutowiredRegistrationAdapter extends EventBusRegistrationAdapter {
 
     private RegistrationService service;
@@ -15,16 +15,20 @@ package org.eclipse.hono.deviceregistry;
 
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -59,6 +63,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
@@ -68,6 +73,11 @@ import io.vertx.core.json.JsonObject;
  * <p>
  * On startup this adapter tries to load credentials from a file (if configured).
  * On shutdown all credentials kept in memory are written to the file (if configured).
+ * <p>
+ * The credentials are indexed by auth-id and device-id so that look ups do not need to
+ * scan all credentials of a tenant. The data returned by the look ups is precomputed
+ * when the credentials are added and is shared between all callers, i.e. it must not
+ * be modified.
  */
 @Repository
 @Qualifier("serviceImpl")
@@ -87,12 +97,18 @@ public final class FileBasedCredentialsService extends AbstractVerticle
     private static final Logger log = LoggerFactory.getLogger(FileBasedCredentialsService.class);
 
     // <tenantId, <authId, credentialsData[]>>
-    private final Map<String, Map<String, JsonArray>> credentials = new HashMap<>();
+    private final Map<String, Map<String, JsonArray>> credentials = new ConcurrentHashMap<>();
+    // the records and the index are read concurrently by multiple event bus adapter instances
+    // <tenantId, <authId, credentials record>>
+    private final Map<String, Map<String, CredentialsRecord>> records = new ConcurrentHashMap<>();
+    // <tenantId, <deviceId, authId[]>>
+    private final Map<String, Map<String, Set<String>>> authIdsByDevice = new ConcurrentHashMap<>();
     // <tenantId, <deviceId, version>>
     private final Map<String, Map<String, String>> versions = new HashMap<>();
     private boolean running = false;
     private boolean dirty = false;
     private FileBasedCredentialsConfigProperties config;
+    private FileBasedRegistryJournal journal;
 
     private HonoPasswordEncoder passwordEncoder;
 
@@ -142,6 +158,7 @@ public final class FileBasedCredentialsService extends AbstractVerticle
             } else {
                 checkFileExists(getConfig().isSaveToFile())
                         .compose(ok -> loadCredentials())
+                        .compose(ok -> openJournal())
                         .compose(s -> {
                             if (getConfig().isSaveToFile()) {
                                 log.info("saving credentials to file every 3 seconds");
@@ -181,50 +198,175 @@ public final class FileBasedCredentialsService extends AbstractVerticle
     }
 
     private Future<Void> addAll(final Buffer credentials) {
-        final Future<Void> result = Future.future();
-        try {
-            int credentialsCount = 0;
-            final JsonArray allObjects = credentials.toJsonArray();
-            log.debug("trying to load credentials for {} tenants", allObjects.size());
-            for (final Object obj : allObjects) {
-                if (JsonObject.class.isInstance(obj)) {
-                    credentialsCount += addCredentialsForTenant((JsonObject) obj);
-                }
-            }
-            log.info("successfully loaded {} credentials from file [{}]", credentialsCount, getConfig().getFilename());
-            result.complete();
-        } catch (final DecodeException e) {
-            log.warn("cannot read malformed JSON from credentials file [{}]", getConfig().getFilename());
-            result.fail(e);
-        }
-        return result;
+
+        final FileBasedRegistryLoader<Entry<String, Map<String, JsonArray>>> loader =
+                new FileBasedRegistryLoader<>(context, getConfig().getFilename(), this::readCredentialsForTenant);
+        return loader.load(credentials)
+                .map(tenants -> {
+                    log.debug("trying to load credentials for {} tenants", tenants.size());
+                    int credentialsCount = 0;
+                    for (final Entry<String, Map<String, JsonArray>> tenant : tenants) {
+                        credentialsCount += addCredentialsForTenant(tenant.getKey(), tenant.getValue());
+                    }
+                    log.info("successfully loaded {} credentials from file [{}]", credentialsCount, getConfig().getFilename());
+                    return (Void) null;
+                })
+                .recover(t -> {
+                    if (t instanceof DecodeException) {
+                        log.warn("cannot read malformed JSON from credentials file [{}]", getConfig().getFilename());
+                    }
+                    return Future.failedFuture(t);
+                });
     }
 
-    int addCredentialsForTenant(final JsonObject tenant) {
-        int count = 0;
+    /**
+     * Reads the credentials of a tenant contained in the credentials file.
+     * <p>
+     * This method is invoked concurrently for all tenants and must therefore
+     * not access any of the service's state.
+     */
+    private Entry<String, Map<String, JsonArray>> readCredentialsForTenant(final JsonObject tenant) {
         final String tenantId = tenant.getString(FIELD_TENANT);
-        final Map<String, JsonArray> credentialsMap = new HashMap<>();
+        if (tenantId == null) {
+            log.debug("tenant field missing, skipping credentials");
+            return null;
+        }
+        final Map<String, JsonArray> credentialsMap = new ConcurrentHashMap<>();
         for (final Object credentialsObj : tenant.getJsonArray(ARRAY_CREDENTIALS)) {
             final JsonObject credentials = (JsonObject) credentialsObj;
-            final JsonArray authIdCredentials;
-            if (credentialsMap.containsKey(credentials.getString(CredentialsConstants.FIELD_AUTH_ID))) {
-                authIdCredentials = credentialsMap.get(credentials.getString(CredentialsConstants.FIELD_AUTH_ID));
-            } else {
-                authIdCredentials = new JsonArray();
+            final String authId = credentials.getString(CredentialsConstants.FIELD_AUTH_ID);
+            if (authId == null) {
+                log.debug("auth-id missing, skipping credentials of tenant [{}]", tenantId);
+                continue;
             }
-            authIdCredentials.add(credentials);
-            credentialsMap.put(credentials.getString(CredentialsConstants.FIELD_AUTH_ID), authIdCredentials);
-            count++;
+            credentialsMap.computeIfAbsent(authId, id -> new JsonArray()).add(credentials);
         }
+        return new SimpleImmutableEntry<>(tenantId, credentialsMap);
+    }
+
+    private int addCredentialsForTenant(final String tenantId, final Map<String, JsonArray> credentialsMap) {
         credentials.put(tenantId, credentialsMap);
+        records.remove(tenantId);
+        authIdsByDevice.remove(tenantId);
+        int count = 0;
+        for (final Entry<String, JsonArray> authIdCredentials : credentialsMap.entrySet()) {
+            updateIndex(tenantId, authIdCredentials.getKey());
+            count += authIdCredentials.getValue().size();
+        }
         return count;
     }
 
+    private Future<Void> openJournal() {
+
+        if (!getConfig().isSaveToFile() || !getConfig().isJournalEnabled()) {
+            return Future.succeededFuture();
+        }
+
+        log.info("appending changes of credentials to journal");
+        journal = new FileBasedRegistryJournal(vertx, getConfig().getFilename(), getConfig().getJournalCompactionThreshold());
+        if (getConfig().isStartEmpty()) {
+            // discard the entries of the existing journal
+            return journal.open().compose(ok -> journal.compact(newSnapshotWriter()));
+        } else {
+            return journal.replay(this::applyJournalEntry).compose(ok -> journal.open());
+        }
+    }
+
+    private void applyJournalEntry(final JsonObject entry) {
+
+        final String tenantId = entry.getString(FIELD_TENANT);
+        final String deviceId = entry.getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID);
+        switch (entry.getString(FileBasedRegistryJournal.FIELD_OPERATION, "")) {
+        case FileBasedRegistryJournal.OPERATION_PUT:
+            doRemoveAllForDevice(tenantId, deviceId);
+            final Map<String, JsonArray> credentialsForTenant = createOrGetCredentialsForTenant(tenantId);
+            for (final Object obj : entry.getJsonArray(ARRAY_CREDENTIALS, new JsonArray())) {
+                if (obj instanceof JsonObject) {
+                    final String authId = ((JsonObject) obj).getString(CredentialsConstants.FIELD_AUTH_ID);
+                    createOrGetAuthIdCredentials(authId, credentialsForTenant).add(obj);
+                    updateIndex(tenantId, authId);
+                }
+            }
+            break;
+        case FileBasedRegistryJournal.OPERATION_REMOVE:
+            doRemoveAllForDevice(tenantId, deviceId);
+            break;
+        case FileBasedRegistryJournal.OPERATION_CLEAR:
+            clearAll();
+            break;
+        default:
+            log.debug("ignoring unsupported journal entry");
+        }
+    }
+
+    private void appendToJournal(final String operation, final String tenantId, final String deviceId) {
+
+        if (journal != null) {
+            final JsonObject entry = new JsonObject()
+                    .put(FileBasedRegistryJournal.FIELD_OPERATION, operation)
+                    .put(FIELD_TENANT, tenantId)
+                    .put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId);
+            if (FileBasedRegistryJournal.OPERATION_PUT.equals(operation)) {
+                final JsonArray credentialsOfDevice = new JsonArray();
+                final Map<String, JsonArray> credentialsForTenant = credentials.getOrDefault(tenantId, Collections.emptyMap());
+                for (final String authId : authIdsByDevice.getOrDefault(tenantId, Collections.emptyMap())
+                        .getOrDefault(deviceId, Collections.emptySet())) {
+                    for (final Object obj : credentialsForTenant.getOrDefault(authId, new JsonArray())) {
+                        if (obj instanceof JsonObject
+                                && deviceId.equals(((JsonObject) obj).getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID))) {
+                            credentialsOfDevice.add(obj);
+                        }
+                    }
+                }
+                entry.put(ARRAY_CREDENTIALS, credentialsOfDevice);
+            }
+            journal.append(entry);
+        }
+    }
+
+    /**
+     * Creates a writer for a snapshot of the credentials.
+     * <p>
+     * The writer uses a copy of the credentials maps and can thus be run on
+     * a different thread.
+     */
+    private FileBasedRegistryJournal.SnapshotWriter newSnapshotWriter() {
+
+        // credentials objects are never modified once they have been added
+        // so that a shallow copy is sufficient
+        final Map<String, List<Object>> snapshot = new HashMap<>(credentials.size());
+        credentials.forEach((tenantId, credentialsForTenant) -> {
+            final List<Object> credentialsList = new ArrayList<>();
+            credentialsForTenant.values().forEach(array -> credentialsList.addAll(array.getList()));
+            snapshot.put(tenantId, credentialsList);
+        });
+
+        return out -> {
+            out.write('[');
+            String tenantSeparator = "\n";
+            for (final Entry<String, List<Object>> entry : snapshot.entrySet()) {
+                out.write(tenantSeparator);
+                out.write("{\"" + FIELD_TENANT + "\":" + Json.encode(entry.getKey()) + ",\"" + ARRAY_CREDENTIALS + "\":[");
+                String credentialsSeparator = "\n";
+                for (final Object credentialsObject : entry.getValue()) {
+                    out.write(credentialsSeparator);
+                    out.write(Json.encode(credentialsObject));
+                    credentialsSeparator = ",\n";
+                }
+                out.write("]}");
+                tenantSeparator = ",\n";
+            }
+            out.write("\n]\n");
+        };
+    }
+
     @Override
     public void stop(final Future<Void> stopFuture) {
 
         if (running) {
-            saveToFile().compose(s -> {
+            saveToFile()
+            .compose(s -> journal == null ? Future.<Void> succeededFuture() : journal.close())
+            .compose(s -> {
                 running = false;
                 stopFuture.complete();
             }, stopFuture);
@@ -238,6 +380,12 @@ public final class FileBasedCredentialsService extends AbstractVerticle
 
         if (!getConfig().isSaveToFile()) {
             return Future.succeededFuture();
+        } else if (journal != null) {
+            // changes have already been appended to the journal
+            if (journal.isCompactionRequired()) {
+                return journal.compact(newSnapshotWriter());
+            }
+            return Future.succeededFuture();
         } else if (dirty) {
             return checkFileExists(true).compose(s -> {
                 final AtomicInteger idCount = new AtomicInteger();
@@ -314,20 +462,6 @@ public final class FileBasedCredentialsService extends AbstractVerticle
         }
     }
 
-    private void findCredentialsForDevice(final JsonArray credentials, final String deviceId, final JsonArray result) {
-
-        for (final Object obj : credentials) {
-            if (obj instanceof JsonObject) {
-                final JsonObject currentCredentials = (JsonObject) obj;
-                if (deviceId.equals(getTypesafeValueForField(String.class, currentCredentials,
-                        CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID))) {
-                    // device ID matches, add a copy of credentials to result
-                    result.add(currentCredentials.copy());
-                }
-            }
-        }
-    }
-
     /**
      * Gets a property value of a given type from a JSON object.
      *
@@ -371,30 +505,19 @@ public final class FileBasedCredentialsService extends AbstractVerticle
         Objects.requireNonNull(authId);
         Objects.requireNonNull(type);
 
-        final Map<String, JsonArray> credentialsForTenant = credentials.get(tenantId);
-        if (credentialsForTenant == null) {
+        final Map<String, CredentialsRecord> recordsForTenant = records.get(tenantId);
+        if (recordsForTenant == null) {
             TracingHelper.logError(span, "no credentials found for tenant");
             return null;
         }
 
-        final JsonArray authIdCredentials = credentialsForTenant.get(authId);
-        if (authIdCredentials == null) {
+        final CredentialsRecord record = recordsForTenant.get(authId);
+        if (record == null) {
             TracingHelper.logError(span, "no credentials found for auth-id");
             return null;
         }
 
-        for (final Object authIdCredentialEntry : authIdCredentials) {
-            final JsonObject authIdCredential = (JsonObject) authIdCredentialEntry;
-
-            if (!type.equals(authIdCredential.getString(CredentialsConstants.FIELD_TYPE))) {
-                // auth-id doesn't match ... continue search
-                continue;
-            }
-
-            if (Boolean.FALSE.equals(authIdCredential.getBoolean(CredentialsConstants.FIELD_ENABLED, true))) {
-                // do not report disabled
-                continue;
-            }
+        for (final JsonObject authIdCredential : record.getEnabledCredentials(type)) {
 
             if (clientContext != null) {
                 final AtomicBoolean match = new AtomicBoolean(true);
@@ -412,31 +535,8 @@ public final class FileBasedCredentialsService extends AbstractVerticle
                 }
             }
 
-            // copy
-            final var authIdCredentialCopy = authIdCredential.copy();
-            final var secrets = authIdCredentialCopy.getJsonArray(CredentialsConstants.FIELD_SECRETS);
-
-            for (final Iterator<Object> i = secrets.iterator(); i.hasNext();) {
-
-                final Object o = i.next();
-                if (!(o instanceof JsonObject)) {
-                    i.remove();
-                    continue;
-                }
-
-                final JsonObject secret = (JsonObject) o;
-                if (Boolean.FALSE.equals(secret.getBoolean(CredentialsConstants.FIELD_ENABLED, true))) {
-                    i.remove();
-                }
-            }
-
-            if (secrets.isEmpty()) {
-                // no more secrets left
-                continue;
-            }
-
             // return the first entry that matches
-            return authIdCredentialCopy;
+            return authIdCredential;
         }
 
         // we ended up with no match
@@ -453,7 +553,11 @@ public final class FileBasedCredentialsService extends AbstractVerticle
     public void set(final String tenantId, final String deviceId, final Optional<String> resourceVersion,
                     final List<CommonCredential> secrets, final Span span, final Handler<AsyncResult<OperationResult<Void>>> resultHandler) {
 
-        resultHandler.handle(Future.succeededFuture(set(tenantId, deviceId, resourceVersion, span, secrets)));
+        final OperationResult<Void> result = set(tenantId, deviceId, resourceVersion, span, secrets);
+        if (result.getStatus() != HttpURLConnection.HTTP_PRECON_FAILED) {
+            appendToJournal(FileBasedRegistryJournal.OPERATION_PUT, tenantId, deviceId);
+        }
+        resultHandler.handle(Future.succeededFuture(result));
 
     }
 
@@ -530,6 +634,7 @@ public final class FileBasedCredentialsService extends AbstractVerticle
             }
             secretsJson.addAll(credentialObject.getJsonArray(CredentialsConstants.FIELD_SECRETS));
             credentialsForTenant.put(authId, json);
+            updateIndex(tenantId, authId);
         }
 
         return OperationResult.ok(HttpURLConnection.HTTP_NO_CONTENT, null, Optional.empty(), Optional.of(newVersion));
@@ -585,11 +690,36 @@ public final class FileBasedCredentialsService extends AbstractVerticle
      */
     private void removeAllForDevice(final String tenantId, final String deviceId, final Span span) {
 
-        final boolean canModify = getConfig().isModificationEnabled();
+        final Set<String> authIds = authIdsByDevice.getOrDefault(tenantId, Collections.emptyMap()).get(deviceId);
+        if (authIds == null) {
+            return;
+        }
+
+        // check if we may overwrite
+        if (!getConfig().isModificationEnabled()) {
+            TracingHelper.logError(span, "Modification is disabled for the Credentials service.");
+            throw new ClientErrorException(HttpURLConnection.HTTP_FORBIDDEN);
+        }
+
+        doRemoveAllForDevice(tenantId, deviceId);
+    }
+
+    private void doRemoveAllForDevice(final String tenantId, final String deviceId) {
+
+        final Set<String> authIds = authIdsByDevice.getOrDefault(tenantId, Collections.emptyMap()).get(deviceId);
+        if (authIds == null) {
+            return;
+        }
 
         final Map<String, JsonArray> credentialsForTenant = createOrGetCredentialsForTenant(tenantId);
 
-        for (final JsonArray versionedCredentials : credentialsForTenant.values()) {
+        // updating the index modifies the set of auth IDs
+        for (final String authId : new ArrayList<>(authIds)) {
+
+            final JsonArray versionedCredentials = credentialsForTenant.get(authId);
+            if (versionedCredentials == null) {
+                continue;
+            }
 
             for (final Iterator<Object> i = versionedCredentials.iterator(); i.hasNext();) {
 
@@ -605,17 +735,58 @@ public final class FileBasedCredentialsService extends AbstractVerticle
                     continue;
                 }
 
-                // check if we may overwrite
-
-                if (!canModify) {
-                    TracingHelper.logError(span, "Modification is disabled for the Credentials service.");
-                    throw new ClientErrorException(HttpURLConnection.HTTP_FORBIDDEN);
-                }
-
                 // remove device from credentials set
                 i.remove();
                 this.dirty = true;
             }
+            updateIndex(tenantId, authId);
+        }
+    }
+
+    /**
+     * Updates the precomputed record and the device index for an auth-id
+     * based on the credentials on record for the auth-id.
+     * <p>
+     * This method needs to be invoked after the credentials of an auth-id
+     * have been changed.
+     *
+     * @param tenantId The tenant that the auth-id belongs to.
+     * @param authId The auth-id.
+     */
+    private void updateIndex(final String tenantId, final String authId) {
+
+        final Map<String, CredentialsRecord> recordsForTenant = records.computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>());
+        final Map<String, Set<String>> authIdsForTenant = authIdsByDevice.computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>());
+
+        final JsonArray credentialsForAuthId = credentials.getOrDefault(tenantId, Collections.emptyMap()).get(authId);
+        final CredentialsRecord newRecord;
+        final CredentialsRecord oldRecord;
+        // replace the record instead of removing it first so that concurrent readers
+        // never (temporarily) fail to find the credentials of the auth-id
+        if (credentialsForAuthId != null && !credentialsForAuthId.isEmpty()) {
+            newRecord = new CredentialsRecord(credentialsForAuthId);
+            oldRecord = recordsForTenant.put(authId, newRecord);
+            for (final String deviceId : newRecord.getDeviceIds()) {
+                authIdsForTenant.computeIfAbsent(deviceId, id -> ConcurrentHashMap.newKeySet()).add(authId);
+            }
+        } else {
+            newRecord = null;
+            oldRecord = recordsForTenant.remove(authId);
+        }
+
+        if (oldRecord != null) {
+            for (final String deviceId : oldRecord.getDeviceIds()) {
+                if (newRecord != null && newRecord.getDeviceIds().contains(deviceId)) {
+                    continue;
+                }
+                final Set<String> authIds = authIdsForTenant.get(deviceId);
+                if (authIds != null) {
+                    authIds.remove(authId);
+                    if (authIds.isEmpty()) {
+                        authIdsForTenant.remove(deviceId);
+                    }
+                }
+            }
         }
     }
 
@@ -627,36 +798,30 @@ public final class FileBasedCredentialsService extends AbstractVerticle
         Objects.requireNonNull(deviceId);
         Objects.requireNonNull(resultHandler);
 
-        final Map<String, JsonArray> credentialsForTenant = credentials.get(tenantId);
-        if (credentialsForTenant == null) {
+        final Map<String, CredentialsRecord> recordsForTenant = records.get(tenantId);
+        if (recordsForTenant == null) {
             TracingHelper.logError(span, "No credentials found for tenant");
             resultHandler.handle(Future.succeededFuture(OperationResult.ok(HttpURLConnection.HTTP_NOT_FOUND, null, Optional.empty(),
                     Optional.of(getOrCreateResourceVersion(tenantId, deviceId)))));
             return;
         }
 
-        final JsonArray matchingCredentials = new JsonArray();
-        // iterate over all credentials per auth-id in order to find credentials matching the given device
-        for (final JsonArray credentialsForAuthId : credentialsForTenant.values()) {
-            findCredentialsForDevice(credentialsForAuthId, deviceId, matchingCredentials);
+        final List<CommonCredential> credentials = new ArrayList<>();
+        // only look at the auth-ids that are used by the device
+        for (final String authId : authIdsByDevice.getOrDefault(tenantId, Collections.emptyMap())
+                .getOrDefault(deviceId, Collections.emptySet())) {
+            final CredentialsRecord record = recordsForTenant.get(authId);
+            if (record != null) {
+                credentials.addAll(record.getCredentials(deviceId));
+            }
         }
-        if (matchingCredentials.isEmpty()) {
+        if (credentials.isEmpty()) {
             TracingHelper.logError(span, "No credentials found for device");
             resultHandler.handle(Future.succeededFuture(OperationResult.ok(HttpURLConnection.HTTP_NOT_FOUND, null, Optional.empty(),
                     Optional.of(getOrCreateResourceVersion(tenantId, deviceId)))));
             return;
         }
 
-        // convert credentials
-
-        final List<CommonCredential> credentials = new ArrayList<>();
-        for (final Object credential : matchingCredentials) {
-            final JsonObject credentialsObject = (JsonObject) credential;
-            credentialsObject.remove(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID);
-            final CommonCredential cred = credentialsObject.mapTo(CommonCredential.class);
-            credentials.add(cred);
-        }
-
         resultHandler.handle(Future.succeededFuture(
                 OperationResult.ok(HttpURLConnection.HTTP_OK,
                         credentials,
@@ -681,7 +846,11 @@ public final class FileBasedCredentialsService extends AbstractVerticle
 
         log.debug("removing credentials for device [tenant-id: {}, device-id: {}]", tenantId, deviceId);
 
-        resultHandler.handle(Future.succeededFuture(remove(tenantId, deviceId, span)));
+        final Result<Void> result = remove(tenantId, deviceId, span);
+        if (result.getStatus() == HttpURLConnection.HTTP_NO_CONTENT) {
+            appendToJournal(FileBasedRegistryJournal.OPERATION_REMOVE, tenantId, deviceId);
+        }
+        resultHandler.handle(Future.succeededFuture(result));
     }
 
     private Result<Void> remove(final String tenantId, final String deviceId, final Span span) {
@@ -755,7 +924,7 @@ public final class FileBasedCredentialsService extends AbstractVerticle
      * @return The map, never returns {@code null}.
      */
     private Map<String, JsonArray> createOrGetCredentialsForTenant(final String tenantId) {
-        return credentials.computeIfAbsent(tenantId, id -> new HashMap<>());
+        return credentials.computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>());
     }
 
     private JsonArray createOrGetAuthIdCredentials(final String authId,
@@ -782,8 +951,17 @@ public final class FileBasedCredentialsService extends AbstractVerticle
      * Removes all credentials from the registry.
      */
     public void clear() {
+        clearAll();
+        if (journal != null) {
+            journal.append(new JsonObject().put(FileBasedRegistryJournal.FIELD_OPERATION, FileBasedRegistryJournal.OPERATION_CLEAR));
+        }
+    }
+
+    private void clearAll() {
         dirty = true;
         credentials.clear();
+        records.clear();
+        authIdsByDevice.clear();
     }
 
     @Override
@@ -794,4 +972,99 @@ public final class FileBasedCredentialsService extends AbstractVerticle
     protected int getMaxBcryptIterations() {
         return getConfig().getMaxBcryptIterations();
     }
+
+    /**
+     * A precomputed view on the credentials on record for an auth-id.
+     * <p>
+     * The view contains the enabled credentials per type with all disabled secrets
+     * removed, so that look ups by auth-id and type do not need to filter
+     * the credentials on record. It also contains all credentials per device
+     * without the device identifier.
+     * <p>
+     * The view is created from the credentials on record when the record is created
+     * and does not share any objects with them. Objects obtained from the view must
+     * be copied before being handed out.
+     */
+    private static final class CredentialsRecord {
+
+        private final Map<String, List<JsonObject>> enabledCredentials = new HashMap<>();
+        private final Set<String> deviceIds = new HashSet<>();
+        // <deviceId, credentials[]>
+        private final Map<String, List<JsonObject>> credentialsByDevice = new HashMap<>();
+
+        CredentialsRecord(final JsonArray credentialsOnRecord) {
+
+            for (final Object obj : credentialsOnRecord) {
+                if (!(obj instanceof JsonObject)) {
+                    continue;
+                }
+                final JsonObject credentials = (JsonObject) obj;
+                final String deviceId = getTypesafeValueForField(String.class, credentials,
+                        CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID);
+                if (deviceId != null) {
+                    deviceIds.add(deviceId);
+                    final JsonObject credentialsOfDevice = credentials.copy();
+                    credentialsOfDevice.remove(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID);
+                    credentialsByDevice.computeIfAbsent(deviceId, id -> new ArrayList<>(1)).add(credentialsOfDevice);
+                }
+                final String type = credentials.getString(CredentialsConstants.FIELD_TYPE);
+                if (type == null || Boolean.FALSE.equals(credentials.getBoolean(CredentialsConstants.FIELD_ENABLED, true))) {
+                    // do not report disabled
+                    continue;
+                }
+                final JsonObject enabledCredentials = withEnabledSecretsOnly(credentials);
+                if (enabledCredentials != null) {
+                    this.enabledCredentials.computeIfAbsent(type, t -> new ArrayList<>(1)).add(enabledCredentials);
+                }
+            }
+        }
+
+        /**
+         * Gets the credentials with only the enabled secrets.
+         *
+         * @param credentials The credentials.
+         * @return A copy of the credentials containing the enabled secrets only
+         *         or {@code null} if no secret is enabled.
+         */
+        private static JsonObject withEnabledSecretsOnly(final JsonObject credentials) {
+
+            final JsonArray secrets = credentials.getJsonArray(CredentialsConstants.FIELD_SECRETS);
+            if (secrets == null) {
+                return null;
+            }
+            final JsonArray enabledSecrets = new JsonArray();
+            for (final Object o : secrets) {
+                if (o instanceof JsonObject
+                        && !Boolean.FALSE.equals(((JsonObject) o).getBoolean(CredentialsConstants.FIELD_ENABLED, true))) {
+                    enabledSecrets.add(o);
+                }
+            }
+            if (enabledSecrets.isEmpty()) {
+                // no more secrets left
+                return null;
+            } else if (enabledSecrets.size() == secrets.size()) {
+                return credentials.copy();
+            } else {
+                return credentials.copy().put(CredentialsConstants.FIELD_SECRETS, enabledSecrets.copy());
+            }
+        }
+
+        Set<String> getDeviceIds() {
+            return deviceIds;
+        }
+
+        List<JsonObject> getEnabledCredentials(final String type) {
+            return enabledCredentials.getOrDefault(type, Collections.emptyList());
+        }
+
+        List<CommonCredential> getCredentials(final String deviceId) {
+
+            final List<CommonCredential> result = new ArrayList<>();
+            for (final JsonObject credentialsObject : credentialsByDevice.getOrDefault(deviceId, Collections.emptyList())) {
+                // map for each request so that callers cannot modify the view
+                result.add(credentialsObject.mapTo(CommonCredential.class));
+            }
+            return result;
+        }
+    }
 }
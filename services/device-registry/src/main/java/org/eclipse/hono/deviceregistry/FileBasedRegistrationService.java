@@ -13,6 +13,7 @@
 package org.eclipse.hono.deviceregistry;
 
 import java.net.HttpURLConnection;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -49,6 +50,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
@@ -75,10 +77,12 @@ public class FileBasedRegistrationService extends AbstractVerticle
     private static final Logger log = LoggerFactory.getLogger(FileBasedRegistrationService.class);
 
     // <tenantId, <deviceId, registrationData>>
-    private final Map<String, Map<String, Versioned<Device>>> identities = new HashMap<>();
+    // the registration data is read concurrently by multiple event bus adapter instances
+    private final Map<String, Map<String, Versioned<Device>>> identities = new ConcurrentHashMap<>();
     private boolean running = false;
     private boolean dirty = false;
     private FileBasedRegistrationConfigProperties config;
+    private FileBasedRegistryJournal journal;
 
     /**
      * Registration service, based on {@link AbstractRegistrationService}.
@@ -123,6 +127,7 @@ public class FileBasedRegistrationService extends AbstractVerticle
             } else {
                 checkFileExists(getConfig().isSaveToFile())
                         .compose(ok -> loadRegistrationData())
+                        .compose(ok -> openJournal())
                         .compose(s -> {
                             if (getConfig().isSaveToFile()) {
                                 log.info("saving device identities to file every 3 seconds");
@@ -162,6 +167,90 @@ public class FileBasedRegistrationService extends AbstractVerticle
                 });
     }
 
+    private Future<Void> openJournal() {
+
+        if (!getConfig().isSaveToFile() || !getConfig().isJournalEnabled()) {
+            return Future.succeededFuture();
+        }
+
+        log.info("appending changes of device identities to journal");
+        journal = new FileBasedRegistryJournal(vertx, getConfig().getFilename(), getConfig().getJournalCompactionThreshold());
+        if (getConfig().isStartEmpty()) {
+            // discard the entries of the existing journal
+            return journal.open().compose(ok -> journal.compact(newSnapshotWriter()));
+        } else {
+            return journal.replay(this::applyJournalEntry).compose(ok -> journal.open());
+        }
+    }
+
+    private void applyJournalEntry(final JsonObject entry) {
+
+        final String tenantId = entry.getString(FIELD_TENANT);
+        final String deviceId = entry.getString(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID);
+        switch (entry.getString(FileBasedRegistryJournal.FIELD_OPERATION, "")) {
+        case FileBasedRegistryJournal.OPERATION_PUT:
+            final JsonObject data = entry.getJsonObject(RegistrationConstants.FIELD_DATA);
+            getDevicesForTenant(tenantId).put(deviceId, new Versioned<>(data == null ? null : mapFromStoredJson(data)));
+            break;
+        case FileBasedRegistryJournal.OPERATION_REMOVE:
+            Optional.ofNullable(identities.get(tenantId)).ifPresent(devices -> devices.remove(deviceId));
+            break;
+        case FileBasedRegistryJournal.OPERATION_CLEAR:
+            identities.clear();
+            break;
+        default:
+            log.debug("ignoring unsupported journal entry");
+        }
+    }
+
+    private void appendToJournal(final String operation, final String tenantId, final String deviceId, final Device device) {
+
+        if (journal != null) {
+            final JsonObject entry = new JsonObject()
+                    .put(FileBasedRegistryJournal.FIELD_OPERATION, operation)
+                    .put(FIELD_TENANT, tenantId)
+                    .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId);
+            if (device != null) {
+                entry.put(RegistrationConstants.FIELD_DATA, mapToStoredJson(device));
+            }
+            journal.append(entry);
+        }
+    }
+
+    /**
+     * Creates a writer for a snapshot of the registered devices.
+     * <p>
+     * The writer uses a copy of the device maps and can thus be run on
+     * a different thread.
+     */
+    private FileBasedRegistryJournal.SnapshotWriter newSnapshotWriter() {
+
+        // the versioned devices are never modified but replaced so that a shallow copy is sufficient
+        final Map<String, Map<String, Versioned<Device>>> snapshot = new HashMap<>(identities.size());
+        identities.forEach((tenantId, devices) -> snapshot.put(tenantId, new HashMap<>(devices)));
+
+        return out -> {
+            out.write('[');
+            String tenantSeparator = "\n";
+            for (final Entry<String, Map<String, Versioned<Device>>> entry : snapshot.entrySet()) {
+                out.write(tenantSeparator);
+                out.write("{\"" + FIELD_TENANT + "\":" + Json.encode(entry.getKey()) + ",\"" + ARRAY_DEVICES + "\":[");
+                String deviceSeparator = "\n";
+                for (final Entry<String, Versioned<Device>> deviceEntry : entry.getValue().entrySet()) {
+                    out.write(deviceSeparator);
+                    out.write(new JsonObject()
+                            .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, deviceEntry.getKey())
+                            .put(RegistrationConstants.FIELD_DATA, mapToStoredJson(deviceEntry.getValue().getValue()))
+                            .encode());
+                    deviceSeparator = ",\n";
+                }
+                out.write("]}");
+                tenantSeparator = ",\n";
+            }
+            out.write("\n]\n");
+        };
+    }
+
     private Future<Void> checkFileExists(final boolean createIfMissing) {
 
         final Future<Void> result = Future.future();
@@ -181,35 +270,42 @@ public class FileBasedRegistrationService extends AbstractVerticle
 
     private Future<Void> addAll(final Buffer deviceIdentities) {
 
-        final Future<Void> result = Future.future();
-        try {
-            int deviceCount = 0;
-            final JsonArray allObjects = deviceIdentities.toJsonArray();
-            for (final Object obj : allObjects) {
-                if (obj instanceof JsonObject) {
-                    deviceCount += addDevicesForTenant((JsonObject) obj);
-                }
-            }
-            log.info("successfully loaded {} device identities from file [{}]", deviceCount, getConfig().getFilename());
-            result.complete();
-        } catch (final DecodeException e) {
-            log.warn("cannot read malformed JSON from device identity file [{}]", getConfig().getFilename());
-            result.fail(e);
-        }
-        return result;
+        final FileBasedRegistryLoader<Entry<String, Map<String, Versioned<Device>>>> loader =
+                new FileBasedRegistryLoader<>(context, getConfig().getFilename(), this::readDevicesForTenant);
+        return loader.load(deviceIdentities)
+                .map(tenants -> {
+                    int deviceCount = 0;
+                    for (final Entry<String, Map<String, Versioned<Device>>> tenant : tenants) {
+                        identities.put(tenant.getKey(), tenant.getValue());
+                        deviceCount += tenant.getValue().size();
+                    }
+                    log.info("successfully loaded {} device identities from file [{}]", deviceCount, getConfig().getFilename());
+                    return (Void) null;
+                })
+                .recover(t -> {
+                    if (t instanceof DecodeException) {
+                        log.warn("cannot read malformed JSON from device identity file [{}]", getConfig().getFilename());
+                    }
+                    return Future.failedFuture(t);
+                });
     }
 
-    private int addDevicesForTenant(final JsonObject tenant) {
+    /**
+     * Reads the devices of a tenant contained in the device identities file.
+     * <p>
+     * This method is invoked concurrently for all tenants and must therefore
+     * not access any of the service's state.
+     */
+    private Entry<String, Map<String, Versioned<Device>>> readDevicesForTenant(final JsonObject tenant) {
 
         final String tenantId = tenant.getString(FIELD_TENANT);
         if (tenantId == null) {
             log.debug("Tenant field missing, skipping!");
-            return 0;
+            return null;
         }
 
-        int count = 0;
         log.debug("loading devices for tenant [{}]", tenantId);
-        final Map<String, Versioned<Device>> deviceMap = new HashMap<>();
+        final Map<String, Versioned<Device>> deviceMap = new ConcurrentHashMap<>();
         for (final Object deviceObj : tenant.getJsonArray(ARRAY_DEVICES)) {
             if (deviceObj instanceof JsonObject) {
                 final JsonObject entry = (JsonObject) deviceObj;
@@ -218,14 +314,12 @@ public class FileBasedRegistrationService extends AbstractVerticle
                     log.trace("loading device [{}]", deviceId);
                     final Device device = mapFromStoredJson(entry.getJsonObject(RegistrationConstants.FIELD_DATA));
                     deviceMap.put(deviceId, new Versioned<>(device));
-                    count++;
                 }
             }
         }
-        identities.put(tenantId, deviceMap);
 
-        log.debug("Loaded {} devices for tenant {}", count, tenantId);
-        return count;
+        log.debug("Loaded {} devices for tenant {}", deviceMap.size(), tenantId);
+        return new SimpleImmutableEntry<>(tenantId, deviceMap);
     }
 
     private static Device mapFromStoredJson(final JsonObject json) {
@@ -246,7 +340,9 @@ public class FileBasedRegistrationService extends AbstractVerticle
     public void stop(final Future<Void> stopFuture) {
 
         if (running) {
-            saveToFile().compose(s -> {
+            saveToFile()
+            .compose(s -> journal == null ? Future.<Void> succeededFuture() : journal.close())
+            .compose(s -> {
                 running = false;
                 stopFuture.complete();
             }, stopFuture);
@@ -261,6 +357,14 @@ public class FileBasedRegistrationService extends AbstractVerticle
             return Future.succeededFuture();
         }
 
+        if (journal != null) {
+            // changes have already been appended to the journal
+            if (journal.isCompactionRequired()) {
+                return journal.compact(newSnapshotWriter());
+            }
+            return Future.succeededFuture();
+        }
+
         if (!dirty) {
             log.trace("registry does not need to be persisted");
             return Future.succeededFuture();
@@ -422,6 +526,7 @@ public class FileBasedRegistrationService extends AbstractVerticle
 
         devices.remove(deviceId);
         dirty = true;
+        appendToJournal(FileBasedRegistryJournal.OPERATION_REMOVE, tenantId, deviceId, null);
         return Result.from(HttpURLConnection.HTTP_NO_CONTENT);
 
     }
@@ -461,6 +566,7 @@ public class FileBasedRegistrationService extends AbstractVerticle
         final Versioned<Device> newDevice = new Versioned<>(device);
         if (devices.putIfAbsent(deviceIdValue, newDevice) == null) {
             dirty = true;
+            appendToJournal(FileBasedRegistryJournal.OPERATION_PUT, tenantId, deviceIdValue, device);
             return OperationResult.ok(HttpURLConnection.HTTP_CREATED,
                     Id.of(deviceIdValue), Optional.empty(), Optional.of(newDevice.getVersion()));
         } else {
@@ -520,6 +626,7 @@ public class FileBasedRegistrationService extends AbstractVerticle
 
         devices.put(deviceId, newDevice);
         dirty = true;
+        appendToJournal(FileBasedRegistryJournal.OPERATION_PUT, tenantId, deviceId, device);
 
         return OperationResult.ok(HttpURLConnection.HTTP_NO_CONTENT, Id.of(deviceId), Optional.empty(),
                 Optional.ofNullable(newDevice.getVersion()));
@@ -543,6 +650,9 @@ public class FileBasedRegistrationService extends AbstractVerticle
     public void clear() {
         dirty = true;
         identities.clear();
+        if (journal != null) {
+            journal.append(new JsonObject().put(FileBasedRegistryJournal.FIELD_OPERATION, FileBasedRegistryJournal.OPERATION_CLEAR));
+        }
     }
 
     @Override
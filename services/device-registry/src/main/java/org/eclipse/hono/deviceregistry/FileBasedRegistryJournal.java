@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.parsetools.RecordParser;
+
+/**
+ * An append-only journal of the changes made to the content of a file based registry.
+ * <p>
+ * Each change is appended to the journal file as a single line of JSON instead of
+ * rewriting the registry's (snapshot) file. Once the number of entries in the journal
+ * exceeds a threshold, the journal is compacted by writing a new snapshot on a worker
+ * thread and removing the journal entries that are contained in the snapshot.
+ * <p>
+ * The registry's content is restored by loading the snapshot and then replaying the
+ * journal entries in the order they have been appended.
+ * <p>
+ * If an entry cannot be written to the journal file, the journal requires compaction
+ * regardless of the number of entries, so that the next snapshot contains the change
+ * that has not been persisted.
+ * <p>
+ * Instances of this class are not thread safe. All methods except for the snapshot
+ * writers passed in to {@link #compact(SnapshotWriter)} are expected to be invoked
+ * on the vert.x context of the registry.
+ */
+final class FileBasedRegistryJournal {
+
+    /**
+     * The name of the field that contains the type of change of a journal entry.
+     */
+    static final String FIELD_OPERATION = "op";
+    /**
+     * The name of the field that contains the data of the entry that has been added or replaced.
+     */
+    static final String FIELD_DATA = "data";
+    /**
+     * The operation for adding or replacing an entry.
+     */
+    static final String OPERATION_PUT = "put";
+    /**
+     * The operation for removing an entry.
+     */
+    static final String OPERATION_REMOVE = "remove";
+    /**
+     * The operation for removing all entries.
+     */
+    static final String OPERATION_CLEAR = "clear";
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileBasedRegistryJournal.class);
+    private static final Buffer NEW_LINE = Buffer.buffer("\n");
+
+    private final Vertx vertx;
+    private final String snapshotFile;
+    private final String journalFile;
+    private final String compactingJournalFile;
+    private final int compactionThreshold;
+    private final List<Buffer> pendingEntries = new ArrayList<>();
+
+    private AsyncFile file;
+    private int entries;
+    private boolean compacting;
+    private boolean writeFailed;
+
+    /**
+     * Creates a new journal for a snapshot file.
+     * <p>
+     * The journal entries are written to a file in the same directory as the snapshot
+     * that has the snapshot's file name with a <em>.journal</em> suffix.
+     *
+     * @param vertx The vert.x instance to use for accessing the file system.
+     * @param snapshotFile The path to the file containing the snapshot.
+     * @param compactionThreshold The number of entries after which the journal should be compacted.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if the threshold is &lt; 1.
+     */
+    FileBasedRegistryJournal(final Vertx vertx, final String snapshotFile, final int compactionThreshold) {
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.snapshotFile = Objects.requireNonNull(snapshotFile);
+        if (compactionThreshold < 1) {
+            throw new IllegalArgumentException("compaction threshold must be > 0");
+        }
+        this.journalFile = snapshotFile + ".journal";
+        this.compactingJournalFile = journalFile + ".compacting";
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Replays the entries of the journal.
+     * <p>
+     * The journal files are parsed line by line so that the journal never needs to
+     * be kept in memory as a whole. Malformed entries, e.g. an entry that could only
+     * partially be written before the registry has crashed, are skipped.
+     *
+     * @param entryHandler The handler to invoke for each entry.
+     * @return A future indicating the outcome of the operation.
+     * @throws NullPointerException if handler is {@code null}.
+     */
+    Future<Void> replay(final Handler<JsonObject> entryHandler) {
+
+        Objects.requireNonNull(entryHandler);
+        // the journal that has been compacted before a crash contains the older entries
+        return replay(compactingJournalFile, entryHandler)
+                .compose(ok -> replay(journalFile, entryHandler))
+                .map(ok -> {
+                    LOG.info("successfully replayed {} entries from journal [{}]", entries, journalFile);
+                    return (Void) null;
+                });
+    }
+
+    private Future<Void> replay(final String filename, final Handler<JsonObject> entryHandler) {
+
+        final Future<Boolean> exists = Future.future();
+        vertx.fileSystem().exists(filename, exists);
+        return exists.compose(fileExists -> {
+            if (!fileExists) {
+                return Future.succeededFuture();
+            }
+            final Future<AsyncFile> openResult = Future.future();
+            vertx.fileSystem().open(filename, new OpenOptions().setRead(true).setWrite(false), openResult);
+            return openResult.compose(asyncFile -> {
+                final Future<Void> result = Future.future();
+                final RecordParser parser = RecordParser.newDelimited(NEW_LINE, asyncFile);
+                parser.exceptionHandler(t -> {
+                    asyncFile.close();
+                    result.tryFail(t);
+                });
+                parser.endHandler(end -> {
+                    asyncFile.close();
+                    result.tryComplete();
+                });
+                parser.handler(line -> {
+                    if (line.length() == 0) {
+                        return;
+                    }
+                    try {
+                        entryHandler.handle(new JsonObject(line));
+                        entries++;
+                    } catch (final RuntimeException e) {
+                        // e.g. a DecodeException or an entry lacking mandatory fields
+                        LOG.warn("skipping malformed entry in journal [{}]", filename, e);
+                    }
+                });
+                return result;
+            });
+        });
+    }
+
+    /**
+     * Opens the journal for appending entries.
+     *
+     * @return A future indicating the outcome of the operation.
+     */
+    Future<Void> open() {
+
+        final Future<AsyncFile> result = Future.future();
+        vertx.fileSystem().open(journalFile, new OpenOptions().setAppend(true).setCreate(true), result);
+        return result.map(asyncFile -> {
+            file = asyncFile;
+            asyncFile.exceptionHandler(this::handleWriteFailure);
+            // terminate an entry that could only partially be written before a crash
+            // so that it does not get merged with the next entry, empty lines are skipped
+            // during replay
+            asyncFile.write(NEW_LINE);
+            pendingEntries.forEach(asyncFile::write);
+            pendingEntries.clear();
+            return (Void) null;
+        });
+    }
+
+    /**
+     * Handles the failure to write to the journal file.
+     * <p>
+     * The journal is marked as requiring compaction so that the registry's content
+     * gets persisted in a new snapshot.
+     *
+     * @param error The cause of the failure.
+     */
+    void handleWriteFailure(final Throwable error) {
+        LOG.error("could not append entry to journal [{}], changes will be persisted with next snapshot",
+                journalFile, error);
+        writeFailed = true;
+    }
+
+    /**
+     * Closes the journal.
+     *
+     * @return A future indicating the outcome of the operation.
+     */
+    Future<Void> close() {
+
+        final Future<Void> result = Future.future();
+        if (file == null) {
+            result.complete();
+        } else {
+            file.close(result);
+            file = null;
+        }
+        return result;
+    }
+
+    /**
+     * Appends an entry to the journal.
+     * <p>
+     * The entry is written asynchronously.
+     *
+     * @param entry The entry to append.
+     * @throws NullPointerException if entry is {@code null}.
+     */
+    void append(final JsonObject entry) {
+
+        Objects.requireNonNull(entry);
+        final Buffer line = entry.toBuffer().appendBuffer(NEW_LINE);
+        if (file == null) {
+            // journal is being rotated
+            pendingEntries.add(line);
+        } else {
+            file.write(line);
+        }
+        entries++;
+    }
+
+    /**
+     * Checks if the journal needs to be compacted.
+     * <p>
+     * This is the case if the number of entries in the journal has exceeded the
+     * compaction threshold or if an entry could not be written to the journal file.
+     *
+     * @return {@code true} if the journal should be compacted.
+     */
+    boolean isCompactionRequired() {
+        return writeFailed || entries >= compactionThreshold;
+    }
+
+    /**
+     * Compacts the journal.
+     * <p>
+     * The current journal is closed and a new journal is opened for the entries
+     * that are appended from now on. The given writer is then run on a worker thread
+     * in order to create a new snapshot. Once the snapshot has been written, the entries
+     * of the old journal are removed.
+     * <p>
+     * The writer is expected to write the registry's content as of the time of invoking
+     * this method, i.e. it must not access any data that may be modified on the
+     * vert.x context.
+     *
+     * @param snapshotWriter The writer to use for writing the new snapshot.
+     * @return A future indicating the outcome of the operation.
+     * @throws NullPointerException if writer is {@code null}.
+     */
+    Future<Void> compact(final SnapshotWriter snapshotWriter) {
+
+        Objects.requireNonNull(snapshotWriter);
+        if (compacting) {
+            return Future.succeededFuture();
+        }
+        compacting = true;
+        final int compactedEntries = entries;
+        final boolean compactedWriteFailure = writeFailed;
+        entries = 0;
+        writeFailed = false;
+
+        final Future<Void> result = Future.future();
+        close()
+                .compose(ok -> {
+                    final Future<Void> rotated = Future.future();
+                    vertx.<Void> executeBlocking(blockingCodeHandler -> {
+                        try {
+                            rotate();
+                            blockingCodeHandler.complete();
+                        } catch (final IOException e) {
+                            blockingCodeHandler.fail(e);
+                        }
+                    }, rotated);
+                    return rotated;
+                })
+                .compose(ok -> open())
+                .compose(ok -> {
+                    final Future<Void> written = Future.future();
+                    final AtomicInteger bytes = new AtomicInteger();
+                    vertx.<Void> executeBlocking(blockingCodeHandler -> {
+                        try {
+                            bytes.set(writeSnapshot(snapshotWriter));
+                            blockingCodeHandler.complete();
+                        } catch (final IOException | RuntimeException e) {
+                            blockingCodeHandler.fail(e);
+                        }
+                    }, false, written);
+                    return written.map(done -> {
+                        LOG.debug("compacted {} journal entries into snapshot [{}, {} bytes]",
+                                compactedEntries, snapshotFile, bytes.get());
+                        return done;
+                    });
+                })
+                .recover(t -> {
+                    LOG.warn("could not compact journal [{}]", journalFile, t);
+                    // try again with the next compaction
+                    entries += compactedEntries;
+                    writeFailed |= compactedWriteFailure;
+                    if (file == null) {
+                        return open();
+                    }
+                    return Future.succeededFuture();
+                })
+                .setHandler(ar -> {
+                    compacting = false;
+                    result.handle(ar);
+                });
+        return result;
+    }
+
+    /**
+     * Moves the entries of the current journal to the journal that is being compacted.
+     */
+    private void rotate() throws IOException {
+
+        final Path journal = Paths.get(journalFile);
+        final Path compactingJournal = Paths.get(compactingJournalFile);
+        if (Files.notExists(journal)) {
+            return;
+        }
+        if (Files.exists(compactingJournal)) {
+            // a previous compaction has failed, keep the entries of both journals
+            try (OutputStream out = Files.newOutputStream(compactingJournal, StandardOpenOption.APPEND)) {
+                Files.copy(journal, out);
+            }
+            Files.delete(journal);
+        } else {
+            Files.move(journal, compactingJournal, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private int writeSnapshot(final SnapshotWriter snapshotWriter) throws IOException {
+
+        final Path snapshot = Paths.get(snapshotFile);
+        final Path tmpSnapshot = Paths.get(snapshotFile + ".tmp");
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(tmpSnapshot), StandardCharsets.UTF_8))) {
+            snapshotWriter.writeTo(out);
+        }
+        final int size = (int) Files.size(tmpSnapshot);
+        Files.move(tmpSnapshot, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(Paths.get(compactingJournalFile));
+        return size;
+    }
+
+    /**
+     * Writes a snapshot of a registry's content.
+     */
+    @FunctionalInterface
+    interface SnapshotWriter {
+
+        /**
+         * Writes the snapshot.
+         *
+         * @param out The writer to write the snapshot to.
+         * @throws IOException if the snapshot could not be written.
+         */
+        void writeTo(Writer out) throws IOException;
+    }
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A loader for the content of a file based registry.
+ * <p>
+ * The registry's file is expected to contain a JSON array of objects, e.g. one object
+ * per tenant. Instead of decoding the whole array at once, the loader uses Jackson's
+ * streaming parser to read the objects one after the other on a worker thread and
+ * converts them in parallel. This way the decoded JSON of only a limited number of
+ * objects needs to be kept in memory at the same time.
+ *
+ * @param <T> The type of object that the entries are converted to.
+ */
+final class FileBasedRegistryLoader<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileBasedRegistryLoader.class);
+    private static final int PROGRESS_STEPS = 10;
+
+    private final Context context;
+    private final String filename;
+    private final Function<JsonObject, T> converter;
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates a new loader.
+     *
+     * @param context The vert.x context to run the loader on.
+     * @param filename The name of the file that is being loaded (used for logging).
+     * @param converter The function to convert each object contained in the file with.
+     *                  The function is invoked concurrently and may return {@code null}
+     *                  in order to skip an object.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    FileBasedRegistryLoader(final Context context, final String filename, final Function<JsonObject, T> converter) {
+        this.context = Objects.requireNonNull(context);
+        this.filename = Objects.requireNonNull(filename);
+        this.converter = Objects.requireNonNull(converter);
+    }
+
+    /**
+     * Loads the objects contained in a file's content.
+     * <p>
+     * Elements of the array which are not JSON objects are skipped.
+     * An empty file is considered to contain an empty array.
+     *
+     * @param content The file's content.
+     * @return A future indicating the outcome of the operation.
+     *         The future will be completed on this loader's context with
+     *         the (non-{@code null}) results of the converter in the order
+     *         of the objects in the file.
+     *         The future will be failed with a {@link DecodeException} if
+     *         the content is not a JSON array.
+     * @throws NullPointerException if content is {@code null}.
+     */
+    Future<List<T>> load(final Buffer content) {
+
+        Objects.requireNonNull(content);
+        final Future<List<T>> result = Future.future();
+        context.executeBlocking(blockingCodeHandler -> {
+            try {
+                blockingCodeHandler.complete(parse(content));
+            } catch (final DecodeException e) {
+                blockingCodeHandler.fail(e);
+            } catch (final IOException e) {
+                blockingCodeHandler.fail(new DecodeException(e.getMessage()));
+            } catch (final CompletionException e) {
+                blockingCodeHandler.fail(e.getCause());
+            }
+        }, result);
+        return result;
+    }
+
+    private List<T> parse(final Buffer content) throws IOException {
+
+        final long start = System.nanoTime();
+        final long size = content.length();
+        final Semaphore pendingConversions = new Semaphore(parallelism * 2);
+        final List<CompletableFuture<T>> conversions = new ArrayList<>();
+        int reportedProgress = 0;
+
+        try (InputStream in = new ByteBufInputStream(content.getByteBuf());
+                JsonParser parser = Json.mapper.getFactory().createParser(in)) {
+
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                LOG.debug("file [{}] is empty", filename);
+                return new ArrayList<>();
+            } else if (token != JsonToken.START_ARRAY) {
+                throw new DecodeException("file does not contain a JSON array");
+            }
+
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new DecodeException("unexpected end of JSON array");
+                } else if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                @SuppressWarnings("unchecked")
+                final JsonObject entry = new JsonObject(parser.readValueAs(Map.class));
+                pendingConversions.acquireUninterruptibly();
+                conversions.add(CompletableFuture.supplyAsync(() -> converter.apply(entry), ForkJoinPool.commonPool())
+                        .whenComplete((converted, error) -> pendingConversions.release()));
+
+                final int progress = (int) (parser.getCurrentLocation().getByteOffset() * PROGRESS_STEPS / size);
+                if (progress > reportedProgress) {
+                    reportedProgress = progress;
+                    LOG.debug("loading file [{}]: {}% done", filename, progress * 100 / PROGRESS_STEPS);
+                }
+            }
+        }
+
+        final List<T> result = new ArrayList<>(conversions.size());
+        for (final CompletableFuture<T> conversion : conversions) {
+            final T converted = conversion.join();
+            if (converted != null) {
+                result.add(converted);
+            }
+        }
+        LOG.info("parsed {} entries from file [{}, {} bytes] in {}ms", conversions.size(), filename, size,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return result;
+    }
+}
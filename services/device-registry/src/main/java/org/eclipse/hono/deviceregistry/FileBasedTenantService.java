@@ -15,12 +15,14 @@ package org.eclipse.hono.deviceregistry;
 
 import java.net.HttpURLConnection;
 import java.time.Instant;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.security.auth.x500.X500Principal;
 
@@ -67,10 +69,12 @@ public final class FileBasedTenantService extends AbstractVerticle implements Te
     private static final Logger log = LoggerFactory.getLogger(FileBasedTenantService.class);
 
     // <ID, tenant>
-    private final Map<String, Versioned<Tenant>> tenants = new HashMap<>();
+    // the tenants are read concurrently by multiple event bus adapter instances
+    private final Map<String, Versioned<Tenant>> tenants = new ConcurrentHashMap<>();
     private boolean running = false;
     private boolean dirty = false;
     private FileBasedTenantsConfigProperties config;
+    private FileBasedRegistryJournal journal;
 
     /**
      * Sets the configuration properties for this service.
@@ -111,6 +115,7 @@ public final class FileBasedTenantService extends AbstractVerticle implements Te
                 .compose(ok -> {
                     return loadTenantData();
                 })
+                .compose(ok -> openJournal())
                 .compose(s -> {
                     if (getConfig().isSaveToFile()) {
                         log.info("saving tenants to file every 3 seconds");
@@ -144,6 +149,81 @@ public final class FileBasedTenantService extends AbstractVerticle implements Te
         }
     }
 
+    private Future<Void> openJournal() {
+
+        if (!getConfig().isSaveToFile() || !getConfig().isJournalEnabled()) {
+            return Future.succeededFuture();
+        }
+
+        log.info("appending changes of tenants to journal");
+        journal = new FileBasedRegistryJournal(vertx, getConfig().getFilename(), getConfig().getJournalCompactionThreshold());
+        if (getConfig().isStartEmpty()) {
+            // discard the entries of the existing journal
+            return journal.open().compose(ok -> journal.compact(newSnapshotWriter()));
+        } else {
+            return journal.replay(this::applyJournalEntry).compose(ok -> journal.open());
+        }
+    }
+
+    private void applyJournalEntry(final JsonObject entry) {
+
+        switch (entry.getString(FileBasedRegistryJournal.FIELD_OPERATION, "")) {
+        case FileBasedRegistryJournal.OPERATION_PUT:
+            addTenant(entry.getJsonObject(FileBasedRegistryJournal.FIELD_DATA, new JsonObject()));
+            break;
+        case FileBasedRegistryJournal.OPERATION_REMOVE:
+            tenants.remove(entry.getString(TenantConstants.FIELD_PAYLOAD_TENANT_ID));
+            break;
+        case FileBasedRegistryJournal.OPERATION_CLEAR:
+            tenants.clear();
+            break;
+        default:
+            log.debug("ignoring unsupported journal entry");
+        }
+    }
+
+    private void appendToJournal(final String operation, final String tenantId, final Tenant tenant) {
+
+        if (journal != null) {
+            final JsonObject entry = new JsonObject()
+                    .put(FileBasedRegistryJournal.FIELD_OPERATION, operation)
+                    .put(TenantConstants.FIELD_PAYLOAD_TENANT_ID, tenantId);
+            if (tenant != null) {
+                entry.put(FileBasedRegistryJournal.FIELD_DATA, toStoredJson(tenantId, tenant));
+            }
+            journal.append(entry);
+        }
+    }
+
+    private static JsonObject toStoredJson(final String tenantId, final Tenant tenant) {
+        final JsonObject json = JsonObject.mapFrom(tenant);
+        json.put(TenantConstants.FIELD_PAYLOAD_TENANT_ID, tenantId);
+        return json;
+    }
+
+    /**
+     * Creates a writer for a snapshot of the tenants.
+     * <p>
+     * The writer uses a copy of the tenants map and can thus be run on
+     * a different thread.
+     */
+    private FileBasedRegistryJournal.SnapshotWriter newSnapshotWriter() {
+
+        // the versioned tenants are never modified but replaced so that a shallow copy is sufficient
+        final Map<String, Versioned<Tenant>> snapshot = new HashMap<>(tenants);
+
+        return out -> {
+            out.write('[');
+            String separator = "\n";
+            for (final Entry<String, Versioned<Tenant>> entry : snapshot.entrySet()) {
+                out.write(separator);
+                out.write(toStoredJson(entry.getKey(), entry.getValue().getValue()).encode());
+                separator = ",\n";
+            }
+            out.write("\n]\n");
+        };
+    }
+
     private Future<Void> checkFileExists(final boolean createIfMissing) {
 
         final Future<Void> result = Future.future();
@@ -162,40 +242,56 @@ public final class FileBasedTenantService extends AbstractVerticle implements Te
 
     private Future<Void> addAll(final Buffer tenantsBuffer) {
 
-        final Future<Void> result = Future.future();
-        try {
-            if (tenantsBuffer.length() > 0) {
-                int tenantCount = 0;
-                final JsonArray allObjects = tenantsBuffer.toJsonArray();
-                for (final Object obj : allObjects) {
-                    if (JsonObject.class.isInstance(obj)) {
-                        tenantCount++;
-                        addTenant((JsonObject) obj);
+        final FileBasedRegistryLoader<Entry<String, Versioned<Tenant>>> loader =
+                new FileBasedRegistryLoader<>(context, getConfig().getFilename(), this::readTenant);
+        return loader.load(tenantsBuffer)
+                .map(loadedTenants -> {
+                    loadedTenants.forEach(tenant -> tenants.put(tenant.getKey(), tenant.getValue()));
+                    log.info("successfully loaded {} tenants from file [{}]", loadedTenants.size(), getConfig().getFilename());
+                    return (Void) null;
+                })
+                .recover(t -> {
+                    if (t instanceof DecodeException) {
+                        log.warn("cannot read malformed JSON from tenants file [{}]", getConfig().getFilename());
                     }
-                }
-                log.info("successfully loaded {} tenants from file [{}]", tenantCount, getConfig().getFilename());
-            }
-            result.complete();
-        } catch (final DecodeException e) {
-            log.warn("cannot read malformed JSON from tenants file [{}]", getConfig().getFilename());
-            result.fail(e);
-        }
-        return result;
+                    return Future.failedFuture(t);
+                });
     }
 
     private void addTenant(final JsonObject tenantToAdd) {
 
+        final Entry<String, Versioned<Tenant>> tenant = readTenant(tenantToAdd);
+        if (tenant != null) {
+            tenants.put(tenant.getKey(), tenant.getValue());
+        }
+    }
+
+    /**
+     * Reads a tenant from its JSON representation.
+     * <p>
+     * This method is invoked concurrently while loading the tenants file
+     * and must therefore not access any of the service's state.
+     *
+     * @return The tenant or {@code null} if the JSON does not represent a valid tenant.
+     */
+    private Entry<String, Versioned<Tenant>> readTenant(final JsonObject tenantToAdd) {
+
         try {
             final Object trustedCas = tenantToAdd.getValue(TenantConstants.FIELD_PAYLOAD_TRUSTED_CA);
             if (trustedCas instanceof JsonObject) {
                 tenantToAdd.put(TenantConstants.FIELD_PAYLOAD_TRUSTED_CA, new JsonArray().add(trustedCas));
             }
             final String tenantId = tenantToAdd.getString(TenantConstants.FIELD_PAYLOAD_TENANT_ID);
+            if (tenantId == null) {
+                log.debug("tenant ID missing, skipping tenant");
+                return null;
+            }
             final Versioned<Tenant> tenant = new Versioned<>(tenantToAdd.mapTo(Tenant.class));
             log.debug("loading tenant [{}]", tenantId);
-            tenants.put(tenantId, tenant);
+            return new SimpleImmutableEntry<>(tenantId, tenant);
         } catch (final IllegalArgumentException | ClassCastException e) {
             log.warn("cannot deserialize tenant", e);
+            return null;
         }
     }
 
@@ -203,7 +299,9 @@ public final class FileBasedTenantService extends AbstractVerticle implements Te
     public void stop(final Future<Void> stopFuture) {
 
         if (running) {
-            saveToFile().compose(s -> {
+            saveToFile()
+            .compose(s -> journal == null ? Future.<Void> succeededFuture() : journal.close())
+            .compose(s -> {
                 running = false;
                 stopFuture.complete();
             }, stopFuture);
@@ -216,14 +314,18 @@ public final class FileBasedTenantService extends AbstractVerticle implements Te
 
         if (!getConfig().isSaveToFile()) {
             return Future.succeededFuture();
+        } else if (journal != null) {
+            // changes have already been appended to the journal
+            if (journal.isCompactionRequired()) {
+                return journal.compact(newSnapshotWriter());
+            }
+            return Future.succeededFuture();
         } else if (dirty) {
             return checkFileExists(true).compose(s -> {
 
                 final JsonArray tenantsJson = new JsonArray();
                 tenants.forEach((tenantId, versionedTenant) -> {
-                    final JsonObject json = JsonObject.mapFrom(versionedTenant.getValue());
-                    json.put(TenantConstants.FIELD_PAYLOAD_TENANT_ID, tenantId);
-                    tenantsJson.add(json);
+                    tenantsJson.add(toStoredJson(tenantId, versionedTenant.getValue()));
                 });
 
                 final Future<Void> writeHandler = Future.future();
@@ -355,6 +457,7 @@ public final class FileBasedTenantService extends AbstractVerticle implements Te
                 if (checkResourceVersion(resourceVersion, actualVersion)) {
                     tenants.remove(tenantId);
                     dirty = true;
+                    appendToJournal(FileBasedRegistryJournal.OPERATION_REMOVE, tenantId, null);
                     return Result.from(HttpURLConnection.HTTP_NO_CONTENT);
                 } else {
                     TracingHelper.logError(span, "Resource Version mismatch.");
@@ -415,6 +518,7 @@ public final class FileBasedTenantService extends AbstractVerticle implements Te
                 final Versioned<Tenant> tenant = new Versioned<>(tenantToAdd);
                 tenants.put(tenantId, tenant);
                 dirty = true;
+                appendToJournal(FileBasedRegistryJournal.OPERATION_PUT, tenantId, tenantToAdd);
                 return OperationResult.ok(HttpURLConnection.HTTP_CREATED,
                         Id.of(tenantId), Optional.empty(), Optional.of(tenant.getVersion()));
             }
@@ -486,6 +590,7 @@ public final class FileBasedTenantService extends AbstractVerticle implements Te
 
                             tenants.put(tenantId, updatedTenant);
                             dirty = true;
+                            appendToJournal(FileBasedRegistryJournal.OPERATION_PUT, tenantId, updatedTenant.getValue());
                             return OperationResult.ok(HttpURLConnection.HTTP_NO_CONTENT,
                                     null, Optional.empty(),
                                     Optional.of(updatedTenant.getVersion()));
@@ -590,6 +695,9 @@ public final class FileBasedTenantService extends AbstractVerticle implements Te
     public void clear() {
         tenants.clear();
         dirty = true;
+        if (journal != null) {
+            journal.append(new JsonObject().put(FileBasedRegistryJournal.FIELD_OPERATION, FileBasedRegistryJournal.OPERATION_CLEAR));
+        }
     }
 
     @Override
@@ -33,9 +33,10 @@ import java.util.OptionalInt;
 
 import org.eclipse.hono.auth.SpringBasedHonoPasswordEncoder;
 import org.eclipse.hono.client.ClientErrorException;
-import org.eclipse.hono.service.management.OperationResult;
 import org.eclipse.hono.service.credentials.AbstractCredentialsServiceTest;
 import org.eclipse.hono.service.credentials.CredentialsService;
+import org.eclipse.hono.service.management.OperationResult;
+import org.eclipse.hono.service.management.Result;
 import org.eclipse.hono.service.management.credentials.CommonCredential;
 import org.eclipse.hono.service.management.credentials.CredentialsManagementService;
 import org.eclipse.hono.service.management.credentials.PasswordCredential;
@@ -46,6 +47,7 @@ import org.eclipse.hono.service.management.device.DeviceManagementService;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.CredentialsConstants;
+import org.eclipse.hono.util.CredentialsResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -62,6 +64,7 @@ import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.file.FileSystem;
+import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 
@@ -92,10 +95,19 @@ public class FileBasedCredentialsServiceTest extends AbstractCredentialsServiceT
     /**
      * Sets up fixture.
      */
+    @SuppressWarnings("unchecked")
     @BeforeEach
     public void setUp() {
         fileSystem = mock(FileSystem.class);
         final Context ctx = mock(Context.class);
+        doAnswer(invocation -> {
+            final Future<?> result = Future.future();
+            final Handler<Future<?>> blockingCode = invocation.getArgument(0);
+            final Handler<AsyncResult<?>> resultHandler = invocation.getArgument(1);
+            blockingCode.handle(result);
+            resultHandler.handle(result);
+            return null;
+        }).when(ctx).executeBlocking(any(Handler.class), any(Handler.class));
         eventBus = mock(EventBus.class);
         vertx = mock(Vertx.class);
         when(vertx.eventBus()).thenReturn(eventBus);
@@ -501,4 +513,92 @@ public class FileBasedCredentialsServiceTest extends AbstractCredentialsServiceT
                 })));
     }
 
+    /**
+     * Verifies that removing the credentials of a device does not affect the
+     * credentials of other devices and that the removed credentials can no longer
+     * be found by auth-id or device-id.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testRemoveCredentialsOnlyRemovesCredentialsOfDevice(final VertxTestContext ctx) {
+
+        // GIVEN two devices with credentials
+        setCredentials(getCredentialsManagementService(), "tenant", "device1",
+                Collections.singletonList(createPasswordCredential("auth1", "bar", OptionalInt.empty())))
+        .compose(ok -> setCredentials(getCredentialsManagementService(), "tenant", "device2",
+                Collections.singletonList(createPasswordCredential("auth2", "bar", OptionalInt.empty()))))
+        .compose(ok -> {
+            // WHEN removing the credentials of the first device
+            final Future<Result<Void>> result = Future.future();
+            credentialsService.remove("tenant", "device1", NoopSpan.INSTANCE, result);
+            return result;
+        })
+        .compose(r -> {
+            assertEquals(HttpURLConnection.HTTP_NO_CONTENT, r.getStatus());
+            // THEN the credentials of the first device can no longer be found
+            final Future<CredentialsResult<JsonObject>> result = Future.future();
+            credentialsService.get("tenant", CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD, "auth1", result);
+            return result;
+        })
+        .compose(r -> {
+            assertEquals(HttpURLConnection.HTTP_NOT_FOUND, r.getStatus());
+            final Future<OperationResult<List<CommonCredential>>> result = Future.future();
+            credentialsService.get("tenant", "device1", NoopSpan.INSTANCE, result);
+            return result;
+        })
+        .compose(r -> {
+            assertEquals(HttpURLConnection.HTTP_NOT_FOUND, r.getStatus());
+            // but the credentials of the second device are still there
+            final Future<CredentialsResult<JsonObject>> result = Future.future();
+            credentialsService.get("tenant", CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD, "auth2", result);
+            return result;
+        })
+        .compose(r -> {
+            assertEquals(HttpURLConnection.HTTP_OK, r.getStatus());
+            assertEquals("device2", r.getPayload().getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID));
+            final Future<OperationResult<List<CommonCredential>>> result = Future.future();
+            credentialsService.get("tenant", "device2", NoopSpan.INSTANCE, result);
+            return result;
+        })
+        .setHandler(ctx.succeeding(r -> ctx.verify(() -> {
+            assertEquals(HttpURLConnection.HTTP_OK, r.getStatus());
+            assertEquals(1, r.getPayload().size());
+            assertEquals("auth2", r.getPayload().get(0).getAuthId());
+            ctx.completeNow();
+        })));
+    }
+
+    /**
+     * Verifies that modifying the credentials returned by a look up does not
+     * affect the credentials on record.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testGetReturnsCopyOfCredentials(final VertxTestContext ctx) {
+
+        // GIVEN a device with credentials
+        setCredentials(getCredentialsManagementService(), "tenant", "device",
+                Collections.singletonList(createPasswordCredential("auth", "bar", OptionalInt.empty())))
+        .compose(ok -> {
+            final Future<CredentialsResult<JsonObject>> result = Future.future();
+            credentialsService.get("tenant", CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD, "auth", result);
+            return result;
+        })
+        .compose(r -> {
+            // WHEN modifying the returned credentials
+            assertEquals(HttpURLConnection.HTTP_OK, r.getStatus());
+            r.getPayload().put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, "other-device");
+            final Future<CredentialsResult<JsonObject>> result = Future.future();
+            credentialsService.get("tenant", CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD, "auth", result);
+            return result;
+        })
+        .setHandler(ctx.succeeding(r -> ctx.verify(() -> {
+            // THEN a subsequent look up still returns the credentials on record
+            assertEquals(HttpURLConnection.HTTP_OK, r.getStatus());
+            assertEquals("device", r.getPayload().getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID));
+            ctx.completeNow();
+        })));
+    }
 }
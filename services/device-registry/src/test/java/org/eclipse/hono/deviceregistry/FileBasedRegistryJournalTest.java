@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+/**
+ * Tests verifying behavior of {@link FileBasedRegistryJournal}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+public class FileBasedRegistryJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private Path snapshot;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        snapshot = dir.resolve("registry.json");
+    }
+
+    /**
+     * Verifies that appended entries are replayed in order and that entries which
+     * have only partially been written are skipped.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testReplayReturnsAppendedEntries(final Vertx vertx, final VertxTestContext ctx) {
+
+        final FileBasedRegistryJournal journal = new FileBasedRegistryJournal(vertx, snapshot.toString(), 10);
+        final List<JsonObject> replayed = new ArrayList<>();
+
+        journal.replay(replayed::add)
+        .compose(ok -> journal.open())
+        .compose(ok -> {
+            journal.append(new JsonObject().put("id", 1));
+            journal.append(new JsonObject().put("id", 2));
+            return journal.close();
+        })
+        .compose(ok -> {
+            // simulate a crash while writing an entry
+            final Future<Void> result = Future.future();
+            vertx.fileSystem().writeFile(snapshot + ".journal",
+                    vertx.fileSystem().readFileBlocking(snapshot + ".journal").appendString("{\"id\":"),
+                    result);
+            return result;
+        })
+        .compose(ok -> {
+            final FileBasedRegistryJournal restartedJournal = new FileBasedRegistryJournal(vertx, snapshot.toString(), 10);
+            return restartedJournal.replay(replayed::add)
+                    .compose(replayedEntries -> restartedJournal.open())
+                    .compose(opened -> {
+                        restartedJournal.append(new JsonObject().put("id", 3));
+                        return restartedJournal.close();
+                    });
+        })
+        .compose(ok -> new FileBasedRegistryJournal(vertx, snapshot.toString(), 10).replay(replayed::add))
+        .setHandler(ctx.succeeding(ok -> ctx.verify(() -> {
+            assertEquals(5, replayed.size());
+            assertEquals(1, replayed.get(0).getInteger("id"));
+            assertEquals(2, replayed.get(1).getInteger("id"));
+            assertEquals(1, replayed.get(2).getInteger("id"));
+            assertEquals(2, replayed.get(3).getInteger("id"));
+            assertEquals(3, replayed.get(4).getInteger("id"));
+            ctx.completeNow();
+        })));
+    }
+
+    /**
+     * Verifies that compacting the journal writes a new snapshot and only keeps
+     * the entries that have been appended after the compaction has been started.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testCompactWritesSnapshot(final Vertx vertx, final VertxTestContext ctx) {
+
+        final FileBasedRegistryJournal journal = new FileBasedRegistryJournal(vertx, snapshot.toString(), 2);
+        final List<JsonObject> replayed = new ArrayList<>();
+
+        journal.open()
+        .compose(ok -> {
+            journal.append(new JsonObject().put("id", 1));
+            assertFalse(journal.isCompactionRequired());
+            journal.append(new JsonObject().put("id", 2));
+            assertTrue(journal.isCompactionRequired());
+            final Future<Void> compaction = journal.compact(out -> out.write("[1,2]"));
+            journal.append(new JsonObject().put("id", 3));
+            return compaction;
+        })
+        .compose(ok -> journal.close())
+        .compose(ok -> new FileBasedRegistryJournal(vertx, snapshot.toString(), 2).replay(replayed::add))
+        .setHandler(ctx.succeeding(ok -> ctx.verify(() -> {
+            assertFalse(journal.isCompactionRequired());
+            assertEquals("[1,2]", Files.readString(snapshot));
+            assertFalse(Files.exists(Path.of(snapshot + ".journal.compacting")));
+            assertEquals(1, replayed.size());
+            assertEquals(3, replayed.get(0).getInteger("id"));
+            ctx.completeNow();
+        })));
+    }
+
+    /**
+     * Verifies that a failure to write to the journal file requires the journal
+     * to be compacted so that the change gets persisted in the next snapshot.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testWriteFailureRequiresCompaction(final Vertx vertx, final VertxTestContext ctx) {
+
+        final FileBasedRegistryJournal journal = new FileBasedRegistryJournal(vertx, snapshot.toString(), 10);
+
+        journal.open()
+        .compose(ok -> {
+            journal.append(new JsonObject().put("id", 1));
+            assertFalse(journal.isCompactionRequired());
+            journal.handleWriteFailure(new IOException("disk full"));
+            assertTrue(journal.isCompactionRequired());
+            return journal.compact(out -> out.write("[1]"));
+        })
+        .compose(ok -> journal.close())
+        .setHandler(ctx.succeeding(ok -> ctx.verify(() -> {
+            assertFalse(journal.isCompactionRequired());
+            assertEquals("[1]", Files.readString(snapshot));
+            ctx.completeNow();
+        })));
+    }
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+/**
+ * Tests verifying behavior of {@link FileBasedRegistryLoader}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+public class FileBasedRegistryLoaderTest {
+
+    /**
+     * Verifies that the loader converts all objects contained in the array
+     * and returns the results in the order of the objects.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testLoadConvertsAllObjects(final Vertx vertx, final VertxTestContext ctx) {
+
+        final JsonArray content = new JsonArray();
+        for (int i = 0; i < 100; i++) {
+            content.add(new JsonObject().put("id", i).put("nested", new JsonObject().put("value", i)));
+        }
+        // elements that are not objects and objects that are skipped by the converter are ignored
+        content.add("unsupported").add(new JsonArray().add(1)).add(new JsonObject());
+
+        final FileBasedRegistryLoader<Integer> loader = new FileBasedRegistryLoader<>(vertx.getOrCreateContext(),
+                "test.json", entry -> entry.getJsonObject("nested") == null ? null : entry.getJsonObject("nested").getInteger("value"));
+        loader.load(content.toBuffer()).setHandler(ctx.succeeding(result -> ctx.verify(() -> {
+            assertEquals(100, result.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, result.get(i));
+            }
+            ctx.completeNow();
+        })));
+    }
+
+    /**
+     * Verifies that an empty file is considered to contain an empty array.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testLoadSucceedsForEmptyFile(final Vertx vertx, final VertxTestContext ctx) {
+
+        final FileBasedRegistryLoader<JsonObject> loader = new FileBasedRegistryLoader<>(vertx.getOrCreateContext(),
+                "test.json", entry -> entry);
+        loader.load(Buffer.buffer()).setHandler(ctx.succeeding(result -> ctx.verify(() -> {
+            assertTrue(result.isEmpty());
+            ctx.completeNow();
+        })));
+    }
+
+    /**
+     * Verifies that loading fails if the content is not a JSON array.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testLoadFailsForMalformedContent(final Vertx vertx, final VertxTestContext ctx) {
+
+        final FileBasedRegistryLoader<JsonObject> loader = new FileBasedRegistryLoader<>(vertx.getOrCreateContext(),
+                "test.json", entry -> entry);
+        final Buffer truncatedArray = Buffer.buffer("[{\"id\": 1}, {\"id\": ");
+        loader.load(new JsonObject().toBuffer()).setHandler(ctx.failing(t -> {
+            ctx.verify(() -> assertTrue(t instanceof DecodeException));
+            loader.load(truncatedArray).setHandler(ctx.failing(e -> ctx.verify(() -> {
+                assertTrue(e instanceof DecodeException);
+                ctx.completeNow();
+            })));
+        }));
+    }
+}
@@ -82,10 +82,19 @@ public class FileBasedTenantServiceTest extends AbstractTenantServiceTest {
     /**
      * Sets up fixture.
      */
+    @SuppressWarnings("unchecked")
     @BeforeEach
     public void setUp() {
         fileSystem = mock(FileSystem.class);
         final Context ctx = mock(Context.class);
+        doAnswer(invocation -> {
+            final Future<?> result = Future.future();
+            final Handler<Future<?>> blockingCode = invocation.getArgument(0);
+            final Handler<AsyncResult<?>> resultHandler = invocation.getArgument(1);
+            blockingCode.handle(result);
+            resultHandler.handle(result);
+            return null;
+        }).when(ctx).executeBlocking(any(Handler.class), any(Handler.class));
         eventBus = mock(EventBus.class);
         vertx = mock(Vertx.class);
         when(vertx.eventBus()).thenReturn(eventBus);